@@ -0,0 +1,147 @@
+package com.rentkar.controller;
+
+import com.rentkar.service.AICircuitBreaker;
+import com.rentkar.service.AIRequestCoalescer;
+import com.rentkar.service.AIResponseCache;
+import com.rentkar.service.AIUsageLedger;
+import com.rentkar.service.ItemSearchIndex;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+public class AdminController {
+    
+    private final ItemSearchIndex searchIndex;
+    private final AIResponseCache aiResponseCache;
+    private final AIRequestCoalescer aiRequestCoalescer;
+    private final AICircuitBreaker aiCircuitBreaker;
+    private final AIUsageLedger aiUsageLedger;
+    
+    public AdminController(ItemSearchIndex searchIndex, AIResponseCache aiResponseCache,
+                           AIRequestCoalescer aiRequestCoalescer, AICircuitBreaker aiCircuitBreaker,
+                           AIUsageLedger aiUsageLedger) {
+        this.searchIndex = searchIndex;
+        this.aiResponseCache = aiResponseCache;
+        this.aiRequestCoalescer = aiRequestCoalescer;
+        this.aiCircuitBreaker = aiCircuitBreaker;
+        this.aiUsageLedger = aiUsageLedger;
+    }
+    
+    /**
+     * Get item search index statistics
+     * GET /api/admin/search-index
+     */
+    @GetMapping("/search-index")
+    public ResponseEntity<?> getSearchIndexStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("ready", searchIndex.isReady());
+        stats.put("indexedItems", searchIndex.size());
+        stats.put("terms", searchIndex.termCount());
+        return ResponseEntity.ok(createSuccessResponse(stats, "Search index statistics retrieved successfully"));
+    }
+    
+    /**
+     * Rebuild the item search index from the database
+     * POST /api/admin/search-index/rebuild
+     */
+    @PostMapping("/search-index/rebuild")
+    public ResponseEntity<?> rebuildSearchIndex() {
+        try {
+            long startTime = System.currentTimeMillis();
+            int indexed = searchIndex.rebuild();
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("indexedItems", indexed);
+            result.put("durationMs", System.currentTimeMillis() - startTime);
+            return ResponseEntity.ok(createSuccessResponse(result, "Search index rebuilt successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to rebuild search index: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Get AI generation metrics
+     * GET /api/admin/ai-metrics
+     */
+    @GetMapping("/ai-metrics")
+    public ResponseEntity<?> getAIMetrics() {
+        Map<String, Object> cache = new HashMap<>();
+        cache.put("enabled", aiResponseCache.isEnabled());
+        cache.put("entries", aiResponseCache.size());
+        cache.put("hits", aiResponseCache.getHits());
+        cache.put("misses", aiResponseCache.getMisses());
+        cache.put("evictions", aiResponseCache.getEvictions());
+        cache.put("hitRate", aiResponseCache.getHitRate());
+        
+        Map<String, Object> coalescing = new HashMap<>();
+        coalescing.put("upstreamCalls", aiRequestCoalescer.getUpstreamCalls());
+        coalescing.put("savedCalls", aiRequestCoalescer.getCoalescedCalls());
+        coalescing.put("inFlight", aiRequestCoalescer.getInFlight());
+        
+        Map<String, Object> circuitBreaker = new HashMap<>();
+        circuitBreaker.put("state", aiCircuitBreaker.getState().name());
+        circuitBreaker.put("consecutiveFailures", aiCircuitBreaker.getConsecutiveFailures());
+        circuitBreaker.put("rejectedCalls", aiCircuitBreaker.getRejectedCalls());
+        circuitBreaker.put("bulkheadRejections", aiCircuitBreaker.getBulkheadRejections());
+        circuitBreaker.put("activeCalls", aiCircuitBreaker.getActiveCalls());
+        
+        Map<String, Object> usageLedger = new HashMap<>();
+        usageLedger.put("pendingKeys", aiUsageLedger.getPendingKeys());
+        usageLedger.put("flushedEntries", aiUsageLedger.getFlushedEntries());
+        usageLedger.put("failedFlushes", aiUsageLedger.getFailedFlushes());
+        usageLedger.put("dailyTokenBudget", aiUsageLedger.getDailyTokenBudget());
+        
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("cache", cache);
+        metrics.put("coalescing", coalescing);
+        metrics.put("circuitBreaker", circuitBreaker);
+        metrics.put("usageLedger", usageLedger);
+        return ResponseEntity.ok(createSuccessResponse(metrics, "AI metrics retrieved successfully"));
+    }
+    
+    /**
+     * Get AI usage of one user ("user_{id}") or IP address ("ip_{address}")
+     * GET /api/admin/ai-usage/{usageKey}?days=7
+     */
+    @GetMapping("/ai-usage/{usageKey}")
+    public ResponseEntity<?> getAIUsage(@PathVariable String usageKey, @RequestParam(defaultValue = "1") int days) {
+        if (days < 1 || days > 31) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(createErrorResponse("Days must be between 1 and 31"));
+        }
+        return ResponseEntity.ok(createSuccessResponse(aiUsageLedger.getUsage(usageKey, days),
+                "AI usage retrieved successfully"));
+    }
+    
+    /**
+     * Clear the AI response cache
+     * DELETE /api/admin/ai-cache
+     */
+    @DeleteMapping("/ai-cache")
+    public ResponseEntity<?> clearAICache() {
+        aiResponseCache.clear();
+        return ResponseEntity.ok(createSuccessResponse(null, "AI response cache cleared successfully"));
+    }
+    
+    private Map<String, Object> createSuccessResponse(Object data, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", message);
+        response.put("data", data);
+        return response;
+    }
+    
+    private Map<String, Object> createErrorResponse(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", message);
+        return response;
+    }
+}
@@ -2,11 +2,12 @@ package com.rentkar.controller;
 
 import com.rentkar.dto.BorrowRequestDTO;
 import com.rentkar.dto.CreateBorrowRequestDTO;
+import com.rentkar.dto.CursorPage;
 import com.rentkar.dto.RequestStatistics;
 import com.rentkar.model.BorrowRequest;
 import com.rentkar.model.RequestStatus;
 import com.rentkar.model.User;
-import com.rentkar.repository.UserRepository;
+import com.rentkar.security.CurrentUser;
 import com.rentkar.service.BorrowRequestMapper;
 import com.rentkar.service.BorrowRequestService;
 import jakarta.persistence.EntityNotFoundException;
@@ -14,8 +15,6 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -28,16 +27,15 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class BorrowRequestController {
     
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    
     private final BorrowRequestService borrowRequestService;
     private final BorrowRequestMapper borrowRequestMapper;
-    private final UserRepository userRepository;
     
     public BorrowRequestController(BorrowRequestService borrowRequestService,
-                                  BorrowRequestMapper borrowRequestMapper,
-                                  UserRepository userRepository) {
+                                  BorrowRequestMapper borrowRequestMapper) {
         this.borrowRequestService = borrowRequestService;
         this.borrowRequestMapper = borrowRequestMapper;
-        this.userRepository = userRepository;
     }
     
     /**
@@ -46,10 +44,10 @@ public class BorrowRequestController {
      */
     @PostMapping
     public ResponseEntity<?> createRequest(
+            @CurrentUser User borrower,
             @RequestParam Long itemId,
             @Valid @RequestBody CreateBorrowRequestDTO dto) {
         try {
-            User borrower = getCurrentUser();
             BorrowRequestDTO request = borrowRequestService.createRequest(itemId, dto, borrower);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(createSuccessResponse(request, "Borrow request created successfully"));
@@ -67,18 +65,31 @@ public class BorrowRequestController {
     
     /**
      * Get all requests sent by the current user (borrower view)
-     * GET /api/requests/sent?status={status}
+     * GET /api/requests/sent?status={status}&cursor={cursor}&size={size}
+     * Passing cursor or size returns one page with a nextCursor instead of the full list
      */
     @GetMapping("/sent")
     public ResponseEntity<?> getSentRequests(
-            @RequestParam(required = false) RequestStatus status) {
+            @CurrentUser User borrower,
+            @RequestParam(required = false) RequestStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            User borrower = getCurrentUser();
+            if (cursor != null || size != null) {
+                CursorPage<BorrowRequestDTO> page = borrowRequestService.getSentRequests(
+                        borrower, status, cursor, size != null ? size : DEFAULT_PAGE_SIZE);
+                return ResponseEntity.ok(createSuccessResponse(createCursorResponse(page),
+                        "Sent requests retrieved successfully"));
+            }
+            
             List<BorrowRequest> requests = borrowRequestService.getSentRequests(borrower, status);
             List<BorrowRequestDTO> requestDTOs = requests.stream()
                     .map(borrowRequestMapper::toDTO)
                     .collect(Collectors.toList());
             return ResponseEntity.ok(createSuccessResponse(requestDTOs, "Sent requests retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Failed to retrieve sent requests"));
@@ -87,18 +98,31 @@ public class BorrowRequestController {
     
     /**
      * Get all requests received by the current user (lender view)
-     * GET /api/requests/received?status={status}
+     * GET /api/requests/received?status={status}&cursor={cursor}&size={size}
+     * Passing cursor or size returns one page with a nextCursor instead of the full list
      */
     @GetMapping("/received")
     public ResponseEntity<?> getReceivedRequests(
-            @RequestParam(required = false) RequestStatus status) {
+            @CurrentUser User lender,
+            @RequestParam(required = false) RequestStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            User lender = getCurrentUser();
+            if (cursor != null || size != null) {
+                CursorPage<BorrowRequestDTO> page = borrowRequestService.getReceivedRequests(
+                        lender, status, cursor, size != null ? size : DEFAULT_PAGE_SIZE);
+                return ResponseEntity.ok(createSuccessResponse(createCursorResponse(page),
+                        "Received requests retrieved successfully"));
+            }
+            
             List<BorrowRequest> requests = borrowRequestService.getReceivedRequests(lender, status);
             List<BorrowRequestDTO> requestDTOs = requests.stream()
                     .map(borrowRequestMapper::toDTO)
                     .collect(Collectors.toList());
             return ResponseEntity.ok(createSuccessResponse(requestDTOs, "Received requests retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(createErrorResponse("Failed to retrieve received requests"));
@@ -110,9 +134,8 @@ public class BorrowRequestController {
      * GET /api/requests/{id}
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getRequestById(@PathVariable Long id) {
+    public ResponseEntity<?> getRequestById(@CurrentUser User user, @PathVariable Long id) {
         try {
-            User user = getCurrentUser();
             BorrowRequest request = borrowRequestService.getRequestById(id, user);
             BorrowRequestDTO requestDTO = borrowRequestMapper.toDTO(request);
             return ResponseEntity.ok(createSuccessResponse(requestDTO, "Request retrieved successfully"));
@@ -134,10 +157,10 @@ public class BorrowRequestController {
      */
     @PostMapping("/{id}/approve")
     public ResponseEntity<?> approveRequest(
+            @CurrentUser User lender,
             @PathVariable Long id,
             @RequestBody(required = false) Map<String, String> body) {
         try {
-            User lender = getCurrentUser();
             String responseMessage = body != null ? body.get("responseMessage") : null;
             BorrowRequest request = borrowRequestService.approveRequest(id, responseMessage, lender);
             BorrowRequestDTO requestDTO = borrowRequestMapper.toDTO(request);
@@ -163,10 +186,10 @@ public class BorrowRequestController {
      */
     @PostMapping("/{id}/reject")
     public ResponseEntity<?> rejectRequest(
+            @CurrentUser User lender,
             @PathVariable Long id,
             @RequestBody(required = false) Map<String, String> body) {
         try {
-            User lender = getCurrentUser();
             String responseMessage = body != null ? body.get("responseMessage") : null;
             BorrowRequest request = borrowRequestService.rejectRequest(id, responseMessage, lender);
             BorrowRequestDTO requestDTO = borrowRequestMapper.toDTO(request);
@@ -191,9 +214,8 @@ public class BorrowRequestController {
      * POST /api/requests/{id}/return
      */
     @PostMapping("/{id}/return")
-    public ResponseEntity<?> markAsReturned(@PathVariable Long id) {
+    public ResponseEntity<?> markAsReturned(@CurrentUser User lender, @PathVariable Long id) {
         try {
-            User lender = getCurrentUser();
             BorrowRequest request = borrowRequestService.markAsReturned(id, lender);
             BorrowRequestDTO requestDTO = borrowRequestMapper.toDTO(request);
             return ResponseEntity.ok(createSuccessResponse(requestDTO, "Item marked as returned successfully"));
@@ -217,9 +239,8 @@ public class BorrowRequestController {
      * POST /api/requests/{id}/confirm
      */
     @PostMapping("/{id}/confirm")
-    public ResponseEntity<?> confirmReturn(@PathVariable Long id) {
+    public ResponseEntity<?> confirmReturn(@CurrentUser User borrower, @PathVariable Long id) {
         try {
-            User borrower = getCurrentUser();
             BorrowRequest request = borrowRequestService.confirmReturn(id, borrower);
             BorrowRequestDTO requestDTO = borrowRequestMapper.toDTO(request);
             return ResponseEntity.ok(createSuccessResponse(requestDTO, "Return confirmed successfully"));
@@ -243,9 +264,8 @@ public class BorrowRequestController {
      * DELETE /api/requests/{id}
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> cancelRequest(@PathVariable Long id) {
+    public ResponseEntity<?> cancelRequest(@CurrentUser User borrower, @PathVariable Long id) {
         try {
-            User borrower = getCurrentUser();
             borrowRequestService.cancelRequest(id, borrower);
             return ResponseEntity.ok(createSuccessResponse(null, "Request canceled successfully"));
         } catch (EntityNotFoundException e) {
@@ -268,9 +288,8 @@ public class BorrowRequestController {
      * GET /api/requests/statistics
      */
     @GetMapping("/statistics")
-    public ResponseEntity<?> getStatistics() {
+    public ResponseEntity<?> getStatistics(@CurrentUser User user) {
         try {
-            User user = getCurrentUser();
             RequestStatistics statistics = borrowRequestService.getStatistics(user);
             return ResponseEntity.ok(createSuccessResponse(statistics, "Statistics retrieved successfully"));
         } catch (Exception e) {
@@ -279,22 +298,6 @@ public class BorrowRequestController {
         }
     }
     
-    /**
-     * Get the currently authenticated user
-     */
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        
-        if (authentication == null || !authentication.isAuthenticated() || 
-            authentication.getPrincipal().equals("anonymousUser")) {
-            throw new IllegalStateException("User not authenticated");
-        }
-        
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-    }
-    
     /**
      * Create a success response
      */
@@ -315,4 +318,19 @@ public class BorrowRequestController {
         response.put("message", message);
         return response;
     }
+    
+    /**
+     * Create a cursor page response
+     */
+    private Map<String, Object> createCursorResponse(CursorPage<BorrowRequestDTO> page) {
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("nextCursor", page.getNextCursor());
+        pagination.put("hasNext", page.isHasNext());
+        pagination.put("pageSize", page.getPageSize());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("requests", page.getItems());
+        response.put("pagination", pagination);
+        return response;
+    }
 }
@@ -0,0 +1,80 @@
+package com.rentkar.controller;
+
+import com.rentkar.service.LocalImageStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Serves images kept by LocalImageStorage.
+ * Stored images never change, so responses may be cached for a year without revalidation.
+ * Full responses are sent with the container's sendfile support where available, which copies the file to the
+ * socket in the kernel. Range and conditional requests, or containers without sendfile, stream the file as a
+ * Resource, with Spring answering 206 and 304 from the headers set here.
+ */
+@RestController
+@RequestMapping("/api/images")
+@CrossOrigin(origins = "*")
+@ConditionalOnProperty(name = "image.storage.type", havingValue = "local")
+public class ImageController {
+
+    // Request attributes of Tomcat's sendfile support
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalImageStorage imageStorage;
+
+    public ImageController(LocalImageStorage imageStorage) {
+        this.imageStorage = imageStorage;
+    }
+
+    @GetMapping("/{name}")
+    public ResponseEntity<Resource> getImage(@PathVariable String name, HttpServletRequest request) throws IOException {
+        Path file = imageStorage.resolve(name);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        long length = Files.size(file);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM));
+        headers.setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+        // The name is unique to the content, so it makes a strong ETag
+        headers.setETag("\"" + name + "\"");
+        headers.setLastModified(Files.getLastModifiedTime(file).toMillis());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (canSendFile(request)) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return ResponseEntity.ok().headers(headers).contentLength(length).build();
+        }
+        return ResponseEntity.ok().headers(headers).body(new FileSystemResource(file));
+    }
+
+    /**
+     * Whether the container can send the whole file itself; Range and conditional requests are left to Spring
+     */
+    private boolean canSendFile(HttpServletRequest request) {
+        return "GET".equals(request.getMethod())
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))
+                && request.getHeader(HttpHeaders.RANGE) == null
+                && request.getHeader(HttpHeaders.IF_NONE_MATCH) == null
+                && request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) == null;
+    }
+}
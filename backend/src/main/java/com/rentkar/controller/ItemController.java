@@ -1,16 +1,25 @@
 package com.rentkar.controller;
 
+import com.rentkar.dto.AIBatchRequest;
+import com.rentkar.dto.AIBatchResult;
 import com.rentkar.dto.AIGenerationRequest;
 import com.rentkar.dto.AIGenerationResponse;
+import com.rentkar.dto.AIJobDTO;
+import com.rentkar.dto.AIListingResponse;
 import com.rentkar.dto.CreateItemRequest;
+import com.rentkar.dto.CursorPage;
+import com.rentkar.dto.ImageUploadDTO;
 import com.rentkar.dto.ItemDTO;
 import com.rentkar.dto.UpdateItemRequest;
+import com.rentkar.exception.AIGenerationException;
 import com.rentkar.exception.RateLimitExceededException;
 import com.rentkar.model.ItemStatus;
-import com.rentkar.model.User;
-import com.rentkar.repository.UserRepository;
+import com.rentkar.security.CurrentUser;
+import com.rentkar.service.AIJobService;
 import com.rentkar.service.AIService;
-import com.rentkar.service.CloudinaryService;
+import com.rentkar.service.AIUsageLedger;
+import com.rentkar.service.ImageSimilarityIndex;
+import com.rentkar.service.ImageUploadService;
 import com.rentkar.service.ItemService;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,15 +30,23 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
 
+import java.net.URI;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/items")
@@ -37,22 +54,24 @@ import java.util.Map;
 public class ItemController {
     
     private final ItemService itemService;
-    private final CloudinaryService cloudinaryService;
-    private final UserRepository userRepository;
+    private final ImageUploadService imageUploadService;
     private final AIService aiService;
+    private final AIJobService aiJobService;
+    private final AIUsageLedger aiUsageLedger;
     
-    public ItemController(ItemService itemService, CloudinaryService cloudinaryService, 
-                         UserRepository userRepository, AIService aiService) {
+    public ItemController(ItemService itemService, ImageUploadService imageUploadService, AIService aiService,
+                          AIJobService aiJobService, AIUsageLedger aiUsageLedger) {
         this.itemService = itemService;
-        this.cloudinaryService = cloudinaryService;
-        this.userRepository = userRepository;
+        this.imageUploadService = imageUploadService;
         this.aiService = aiService;
+        this.aiJobService = aiJobService;
+        this.aiUsageLedger = aiUsageLedger;
     }
     
     @PostMapping
-    public ResponseEntity<?> createItem(@Valid @RequestBody CreateItemRequest request) {
+    public ResponseEntity<?> createItem(@Valid @RequestBody CreateItemRequest request,
+                                        @CurrentUser Long userId) {
         try {
-            Long userId = getCurrentUserId();
             ItemDTO item = itemService.createItem(request, userId);
             return ResponseEntity.status(HttpStatus.CREATED).body(createSuccessResponse(item, "Item created successfully"));
         } catch (IllegalArgumentException e) {
@@ -69,9 +88,16 @@ public class ItemController {
             @RequestParam(required = false) ItemStatus status,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
+            // Cursor mode is opt-in: pass cursor= (empty) for the first page, then the returned nextCursor
+            if (cursor != null) {
+                CursorPage<ItemDTO> items = itemService.getAllItems(status, category, search, cursor, size);
+                return ResponseEntity.ok(createSuccessResponse(createCursorResponse(items), "Items retrieved successfully"));
+            }
+            
             Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
             Page<ItemDTO> items = itemService.getAllItems(status, category, search, pageable);
             
@@ -80,6 +106,8 @@ public class ItemController {
             response.put("pagination", createPaginationMetadata(items));
             
             return ResponseEntity.ok(createSuccessResponse(response, "Items retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(createErrorResponse("Failed to retrieve items"));
         }
@@ -98,9 +126,9 @@ public class ItemController {
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateItem(@PathVariable Long id, @Valid @RequestBody UpdateItemRequest request) {
+    public ResponseEntity<?> updateItem(@PathVariable Long id, @Valid @RequestBody UpdateItemRequest request,
+                                        @CurrentUser Long userId) {
         try {
-            Long userId = getCurrentUserId();
             ItemDTO item = itemService.updateItem(id, request, userId);
             return ResponseEntity.ok(createSuccessResponse(item, "Item updated successfully"));
         } catch (EntityNotFoundException e) {
@@ -115,9 +143,8 @@ public class ItemController {
     }
     
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteItem(@PathVariable Long id) {
+    public ResponseEntity<?> deleteItem(@PathVariable Long id, @CurrentUser Long userId) {
         try {
-            Long userId = getCurrentUserId();
             itemService.deleteItem(id, userId);
             return ResponseEntity.ok(createSuccessResponse(null, "Item deleted successfully"));
         } catch (EntityNotFoundException e) {
@@ -129,15 +156,39 @@ public class ItemController {
         }
     }
     
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> getSimilarItems(@PathVariable Long id,
+                                             @RequestParam(defaultValue = "10") int maxDistance,
+                                             @RequestParam(defaultValue = "10") int limit) {
+        if (maxDistance < 0 || maxDistance > ImageSimilarityIndex.MAX_DISTANCE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(createErrorResponse("Max distance must be between 0 and " + ImageSimilarityIndex.MAX_DISTANCE));
+        }
+        if (limit < 1 || limit > 50) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(createErrorResponse("Limit must be between 1 and 50"));
+        }
+        try {
+            List<ItemDTO> items = itemService.getSimilarItems(id, maxDistance, limit);
+            return ResponseEntity.ok(createSuccessResponse(items, "Similar items retrieved successfully"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(createErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(createErrorResponse("Failed to retrieve similar items"));
+        }
+    }
+    
     @PostMapping("/upload-image")
     public ResponseEntity<?> uploadImage(@RequestParam("file") MultipartFile file) {
         try {
-            String imageUrl = cloudinaryService.uploadImage(file);
-            Map<String, String> data = new HashMap<>();
-            data.put("imageUrl", imageUrl);
-            return ResponseEntity.ok(createSuccessResponse(data, "Image uploaded successfully"));
+            ImageUploadDTO upload = imageUploadService.uploadImage(file);
+            return ResponseEntity.ok(createSuccessResponse(upload, "Image uploaded successfully"));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(createErrorResponse(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "5")
+                    .body(createErrorResponse("Too many images are being processed. Please try again later."));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(createErrorResponse("Failed to upload image"));
         }
@@ -145,10 +196,16 @@ public class ItemController {
     
     @GetMapping("/my-items")
     public ResponseEntity<?> getMyItems(
+            @CurrentUser Long userId,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            Long userId = getCurrentUserId();
+            if (cursor != null) {
+                CursorPage<ItemDTO> items = itemService.getItemsByOwner(userId, cursor, size);
+                return ResponseEntity.ok(createSuccessResponse(createCursorResponse(items), "User items retrieved successfully"));
+            }
+            
             Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
             Page<ItemDTO> items = itemService.getItemsByOwner(userId, pageable);
             
@@ -157,90 +214,143 @@ public class ItemController {
             response.put("pagination", createPaginationMetadata(items));
             
             return ResponseEntity.ok(createSuccessResponse(response, "User items retrieved successfully"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(createErrorResponse("Failed to retrieve user items"));
         }
     }
     
     @PostMapping("/generate-title")
-    public ResponseEntity<?> generateTitle(@Valid @RequestBody AIGenerationRequest request, 
-                                          HttpServletRequest httpRequest) {
+    public CompletableFuture<ResponseEntity<?>> generateTitle(@Valid @RequestBody AIGenerationRequest request,
+                                                             @CurrentUser(required = false) Long currentUserId,
+                                                             HttpServletRequest httpRequest) {
+        String userId = getUserIdOrIp(currentUserId, httpRequest);
+        return handleGeneration(() -> aiService.generateTitleAsync(request, userId),
+                response -> createGenerationResponse(response, userId, "Title generated successfully"),
+                "Failed to generate title");
+    }
+    
+    @PostMapping("/generate-description")
+    public CompletableFuture<ResponseEntity<?>> generateDescription(@Valid @RequestBody AIGenerationRequest request,
+                                                                   @CurrentUser(required = false) Long currentUserId,
+                                                                   HttpServletRequest httpRequest) {
+        String userId = getUserIdOrIp(currentUserId, httpRequest);
+        return handleGeneration(() -> aiService.generateDescriptionAsync(request, userId),
+                response -> createGenerationResponse(response, userId, "Description generated successfully"),
+                "Failed to generate description");
+    }
+    
+    @PostMapping(value = "/generate-description/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<Flux<ServerSentEvent<Map<String, Object>>>> streamDescription(
+            @Valid @RequestBody AIGenerationRequest request,
+            @CurrentUser(required = false) Long currentUserId,
+            HttpServletRequest httpRequest) {
+        String userId = getUserIdOrIp(currentUserId, httpRequest);
+        Flux<String> chunks;
         try {
-            String userId = getUserIdOrIp(httpRequest);
-            AIGenerationResponse response = aiService.generateTitle(request, userId);
-            
-            if (!response.isSuccess()) {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(createErrorResponse(response.getErrorMessage()));
-            }
-            
-            Map<String, Object> data = new HashMap<>();
-            data.put("content", response.getContent());
-            data.put("tokenCount", response.getTokenCount());
-            data.put("responseTimeMs", response.getResponseTimeMs());
-            data.put("remainingRequests", aiService.getRemainingRequests(userId));
-            
-            return ResponseEntity.ok(createSuccessResponse(data, "Title generated successfully"));
-            
-        } catch (RateLimitExceededException e) {
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Retry-After", String.valueOf(e.getRetryAfterSeconds()));
-            
-            Map<String, Object> errorResponse = createErrorResponse(e.getMessage());
-            errorResponse.put("retryAfter", e.getRetryAfterSeconds());
-            
-            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                    .headers(headers)
-                    .body(errorResponse);
-                    
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(createErrorResponse(e.getMessage()));
-                    
+            chunks = aiService.streamDescription(request, userId);
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("Failed to generate title"));
+            // Rate limit and validation failures are raised before the stream starts
+            ResponseEntity<?> error = createGenerationErrorResponse(e, "Failed to generate description");
+            return ResponseEntity.status(error.getStatusCode())
+                    .headers(error.getHeaders())
+                    .body(Flux.just(createStreamEvent("error", (Map<String, Object>) error.getBody())));
         }
+        
+        // Spring MVC requests one event at a time and cancels the stream when the client disconnects
+        Flux<ServerSentEvent<Map<String, Object>>> events = chunks
+                .map(chunk -> {
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("text", chunk);
+                    return createStreamEvent("chunk", data);
+                })
+                .concatWith(Flux.defer(() -> {
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("remainingRequests", aiService.getRemainingRequests(userId));
+                    return Flux.just(createStreamEvent("done", createSuccessResponse(data,
+                            "Description generated successfully")));
+                }))
+                .onErrorResume(e -> Flux.just(createStreamEvent("error", createErrorResponse(
+                        e instanceof AIGenerationException ? e.getMessage() : "Failed to generate description"))));
+        return ResponseEntity.ok().body(events);
     }
     
-    @PostMapping("/generate-description")
-    public ResponseEntity<?> generateDescription(@Valid @RequestBody AIGenerationRequest request,
-                                                 HttpServletRequest httpRequest) {
+    @PostMapping("/generate-listing")
+    public CompletableFuture<ResponseEntity<?>> generateListing(@Valid @RequestBody AIGenerationRequest request,
+                                                               @CurrentUser(required = false) Long currentUserId,
+                                                               HttpServletRequest httpRequest) {
+        String userId = getUserIdOrIp(currentUserId, httpRequest);
+        return handleGeneration(() -> aiService.generateListingAsync(request, userId),
+                response -> createListingResponse(response, userId),
+                "Failed to generate listing");
+    }
+    
+    @PostMapping(value = "/generate-batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<Flux<Map<String, Object>>> generateBatch(@Valid @RequestBody AIBatchRequest request,
+                                                                   @RequestParam(defaultValue = "listing") String type,
+                                                                   @CurrentUser(required = false) Long currentUserId,
+                                                                   HttpServletRequest httpRequest) {
+        String userId = getUserIdOrIp(currentUserId, httpRequest);
+        Flux<AIBatchResult> results;
         try {
-            String userId = getUserIdOrIp(httpRequest);
-            AIGenerationResponse response = aiService.generateDescription(request, userId);
-            
-            if (!response.isSuccess()) {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(createErrorResponse(response.getErrorMessage()));
-            }
-            
-            Map<String, Object> data = new HashMap<>();
-            data.put("content", response.getContent());
-            data.put("tokenCount", response.getTokenCount());
-            data.put("responseTimeMs", response.getResponseTimeMs());
-            data.put("remainingRequests", aiService.getRemainingRequests(userId));
-            
-            return ResponseEntity.ok(createSuccessResponse(data, "Description generated successfully"));
-            
-        } catch (RateLimitExceededException e) {
-            HttpHeaders headers = new HttpHeaders();
-            headers.add("Retry-After", String.valueOf(e.getRetryAfterSeconds()));
-            
-            Map<String, Object> errorResponse = createErrorResponse(e.getMessage());
-            errorResponse.put("retryAfter", e.getRetryAfterSeconds());
-            
-            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
-                    .headers(headers)
-                    .body(errorResponse);
-                    
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(createErrorResponse(e.getMessage()));
-                    
+            results = aiService.generateBatch(type, request.getItems(), userId);
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(createErrorResponse("Failed to generate description"));
+            // Rate limit and validation failures are raised before any item is generated
+            ResponseEntity<?> error = createGenerationErrorResponse(e, "Failed to generate batch");
+            return ResponseEntity.status(error.getStatusCode())
+                    .headers(error.getHeaders())
+                    .body(Flux.just((Map<String, Object>) error.getBody()));
+        }
+        
+        // One JSON line per item as it completes, then a summary line
+        Flux<Map<String, Object>> lines = results
+                .map(this::createBatchLine)
+                .concatWith(Flux.defer(() -> {
+                    Map<String, Object> data = new HashMap<>();
+                    data.put("count", request.getItems().size());
+                    data.put("remainingRequests", aiService.getRemainingRequests(userId));
+                    return Flux.just(createSuccessResponse(data, "Batch generated successfully"));
+                }))
+                .onErrorResume(e -> Flux.just(createErrorResponse(
+                        e instanceof AIGenerationException ? e.getMessage() : "Failed to generate batch")));
+        return ResponseEntity.ok().body(lines);
+    }
+    
+    @PostMapping("/ai-jobs")
+    public ResponseEntity<?> submitAIJob(@Valid @RequestBody AIGenerationRequest request,
+                                         @RequestParam(defaultValue = "description") String type,
+                                         @CurrentUser(required = false) Long currentUserId,
+                                         HttpServletRequest httpRequest) {
+        String userId = getUserIdOrIp(currentUserId, httpRequest);
+        try {
+            AIJobDTO job = aiJobService.submitJob(type, request, userId);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/items/ai-jobs/" + job.getId()))
+                    .body(createSuccessResponse(job, "AI job accepted"));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "5")
+                    .body(createErrorResponse("AI job queue is full. Please try again later."));
+        } catch (Exception e) {
+            return createGenerationErrorResponse(e, "Failed to submit AI job");
+        }
+    }
+    
+    @GetMapping("/ai-jobs/{jobId}")
+    public CompletableFuture<ResponseEntity<?>> getAIJob(@PathVariable String jobId,
+                                                        @RequestParam(defaultValue = "0") long waitMs,
+                                                        @CurrentUser(required = false) Long currentUserId,
+                                                        HttpServletRequest httpRequest) {
+        String userId = getUserIdOrIp(currentUserId, httpRequest);
+        try {
+            return aiJobService.getJob(jobId, userId, waitMs)
+                    .<ResponseEntity<?>>thenApply(job -> ResponseEntity.ok(createSuccessResponse(job, "AI job retrieved")));
+        } catch (EntityNotFoundException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(createErrorResponse(e.getMessage())));
         }
     }
     
@@ -251,6 +361,7 @@ public class ItemController {
             
             Map<String, Object> data = new HashMap<>();
             data.put("available", available);
+            data.put("circuitState", aiService.getCircuitState());
             
             return ResponseEntity.ok(createSuccessResponse(data, "AI availability checked"));
             
@@ -260,33 +371,130 @@ public class ItemController {
         }
     }
     
+    @GetMapping("/ai-usage")
+    public ResponseEntity<?> getAIUsage(@RequestParam(defaultValue = "1") int days,
+                                        @CurrentUser(required = false) Long currentUserId,
+                                        HttpServletRequest httpRequest) {
+        if (days < 1 || days > 31) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(createErrorResponse("Days must be between 1 and 31"));
+        }
+        try {
+            String userId = getUserIdOrIp(currentUserId, httpRequest);
+            return ResponseEntity.ok(createSuccessResponse(aiUsageLedger.getUsage(userId, days),
+                    "AI usage retrieved successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse("Failed to retrieve AI usage"));
+        }
+    }
+    
     /**
      * Get user ID for authenticated users, or IP address for unauthenticated users
      */
-    private String getUserIdOrIp(HttpServletRequest request) {
-        try {
-            Long userId = getCurrentUserId();
+    private String getUserIdOrIp(Long userId, HttpServletRequest request) {
+        if (userId != null) {
             return "user_" + userId;
+        }
+        // User not authenticated, use IP address
+        return "ip_" + request.getRemoteAddr();
+    }
+    
+    /**
+     * Run an asynchronous AI generation and map its outcome to a response
+     */
+    private <T> CompletableFuture<ResponseEntity<?>> handleGeneration(
+            Supplier<CompletableFuture<T>> generation, Function<T, ResponseEntity<?>> toResponse,
+            String failureMessage) {
+        try {
+            return generation.get()
+                    .<ResponseEntity<?>>thenApply(toResponse)
+                    .exceptionally(e -> createGenerationErrorResponse(
+                            e instanceof CompletionException && e.getCause() != null ? e.getCause() : e, failureMessage));
         } catch (Exception e) {
-            // User not authenticated, use IP address
-            String ipAddress = request.getRemoteAddr();
-            return "ip_" + ipAddress;
+            // Rate limit and validation failures are raised before any call is made
+            return CompletableFuture.completedFuture(createGenerationErrorResponse(e, failureMessage));
         }
     }
     
-    private Long getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    private ResponseEntity<?> createGenerationResponse(AIGenerationResponse response, String userId, String message) {
+        if (!response.isSuccess()) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse(response.getErrorMessage()));
+        }
         
-        if (authentication == null || !authentication.isAuthenticated() || 
-            authentication.getPrincipal().equals("anonymousUser")) {
-            throw new IllegalStateException("User not authenticated");
+        Map<String, Object> data = new HashMap<>();
+        data.put("content", response.getContent());
+        data.put("tokenCount", response.getTokenCount());
+        data.put("responseTimeMs", response.getResponseTimeMs());
+        data.put("fallback", response.isFallback());
+        data.put("remainingRequests", aiService.getRemainingRequests(userId));
+        
+        return ResponseEntity.ok(createSuccessResponse(data, message));
+    }
+    
+    private ResponseEntity<?> createListingResponse(AIListingResponse response, String userId) {
+        if (!response.isSuccess()) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(createErrorResponse(response.getErrorMessage()));
         }
         
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        Map<String, Object> data = new HashMap<>();
+        data.put("title", response.getTitle());
+        data.put("description", response.getDescription());
+        data.put("tokenCount", response.getTokenCount());
+        data.put("responseTimeMs", response.getResponseTimeMs());
+        data.put("fallback", response.isFallback());
+        data.put("remainingRequests", aiService.getRemainingRequests(userId));
         
-        return user.getId();
+        return ResponseEntity.ok(createSuccessResponse(data, "Listing generated successfully"));
+    }
+    
+    private Map<String, Object> createBatchLine(AIBatchResult result) {
+        Map<String, Object> line = result.isSuccess()
+                ? createSuccessResponse(createBatchData(result), "Item generated successfully")
+                : createErrorResponse(result.getErrorMessage());
+        line.put("index", result.getIndex());
+        return line;
+    }
+    
+    private Map<String, Object> createBatchData(AIBatchResult result) {
+        Map<String, Object> data = new HashMap<>();
+        if (result.getContent() != null) {
+            data.put("content", result.getContent());
+        } else {
+            data.put("title", result.getTitle());
+            data.put("description", result.getDescription());
+        }
+        data.put("tokenCount", result.getTokenCount());
+        data.put("responseTimeMs", result.getResponseTimeMs());
+        data.put("fallback", result.isFallback());
+        data.put("cached", result.isCached());
+        return data;
+    }
+    
+    private ServerSentEvent<Map<String, Object>> createStreamEvent(String event, Map<String, Object> data) {
+        return ServerSentEvent.<Map<String, Object>>builder(data).event(event).build();
+    }
+    
+    private ResponseEntity<?> createGenerationErrorResponse(Throwable e, String failureMessage) {
+        if (e instanceof RateLimitExceededException rateLimitException) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.add("Retry-After", String.valueOf(rateLimitException.getRetryAfterSeconds()));
+            
+            Map<String, Object> errorResponse = createErrorResponse(e.getMessage());
+            errorResponse.put("retryAfter", rateLimitException.getRetryAfterSeconds());
+            
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .headers(headers)
+                    .body(errorResponse);
+        }
+        if (e instanceof IllegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(createErrorResponse(e.getMessage()));
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(createErrorResponse(failureMessage));
     }
     
     private Map<String, Object> createSuccessResponse(Object data, String message) {
@@ -312,4 +520,16 @@ public class ItemController {
         pagination.put("pageSize", page.getSize());
         return pagination;
     }
+    
+    private Map<String, Object> createCursorResponse(CursorPage<ItemDTO> items) {
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("nextCursor", items.getNextCursor());
+        pagination.put("hasNext", items.isHasNext());
+        pagination.put("pageSize", items.getPageSize());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", items.getItems());
+        response.put("pagination", pagination);
+        return response;
+    }
 }
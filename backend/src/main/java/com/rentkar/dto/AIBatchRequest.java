@@ -0,0 +1,24 @@
+package com.rentkar.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class AIBatchRequest {
+    
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 50, message = "A batch can have at most 50 items")
+    @Valid
+    private List<AIGenerationRequest> items;
+    
+    public AIBatchRequest() {}
+    
+    public AIBatchRequest(List<AIGenerationRequest> items) {
+        this.items = items;
+    }
+    
+    public List<AIGenerationRequest> getItems() { return items; }
+    public void setItems(List<AIGenerationRequest> items) { this.items = items; }
+}
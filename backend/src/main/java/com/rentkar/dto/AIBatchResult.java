@@ -0,0 +1,81 @@
+package com.rentkar.dto;
+
+public class AIBatchResult {
+    
+    private int index;
+    
+    private String content;
+    
+    private String title;
+    
+    private String description;
+    
+    private int tokenCount;
+    
+    private long responseTimeMs;
+    
+    private boolean success;
+    
+    private String errorMessage;
+    
+    private boolean fallback;
+    
+    private boolean cached;
+    
+    public AIBatchResult() {}
+    
+    // Title or description result constructor
+    public AIBatchResult(int index, AIGenerationResponse response, boolean cached) {
+        this.index = index;
+        this.content = response.getContent();
+        this.tokenCount = response.getTokenCount();
+        this.responseTimeMs = response.getResponseTimeMs();
+        this.success = response.isSuccess();
+        this.errorMessage = response.getErrorMessage();
+        this.fallback = response.isFallback();
+        this.cached = cached;
+    }
+    
+    // Listing result constructor
+    public AIBatchResult(int index, AIListingResponse response, boolean cached) {
+        this.index = index;
+        this.title = response.getTitle();
+        this.description = response.getDescription();
+        this.tokenCount = response.getTokenCount();
+        this.responseTimeMs = response.getResponseTimeMs();
+        this.success = response.isSuccess();
+        this.errorMessage = response.getErrorMessage();
+        this.fallback = response.isFallback();
+        this.cached = cached;
+    }
+    
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public int getTokenCount() { return tokenCount; }
+    public void setTokenCount(int tokenCount) { this.tokenCount = tokenCount; }
+    
+    public long getResponseTimeMs() { return responseTimeMs; }
+    public void setResponseTimeMs(long responseTimeMs) { this.responseTimeMs = responseTimeMs; }
+    
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    
+    public boolean isFallback() { return fallback; }
+    public void setFallback(boolean fallback) { this.fallback = fallback; }
+    
+    public boolean isCached() { return cached; }
+    public void setCached(boolean cached) { this.cached = cached; }
+}
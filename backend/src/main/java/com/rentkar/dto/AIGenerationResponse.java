@@ -12,6 +12,8 @@ public class AIGenerationResponse {
     
     private String errorMessage;
     
+    private boolean fallback;
+    
     public AIGenerationResponse() {}
     
     public AIGenerationResponse(String content, int tokenCount, long responseTimeMs, 
@@ -55,4 +57,8 @@ public class AIGenerationResponse {
     
     public String getErrorMessage() { return errorMessage; }
     public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    
+    // True when the content is a local template because the AI service was unavailable
+    public boolean isFallback() { return fallback; }
+    public void setFallback(boolean fallback) { this.fallback = fallback; }
 }
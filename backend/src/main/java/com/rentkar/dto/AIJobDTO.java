@@ -0,0 +1,51 @@
+package com.rentkar.dto;
+
+import com.rentkar.model.AIJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class AIJobDTO {
+    
+    private String id;
+    private String type;
+    private AIJobStatus status;
+    private Map<String, Object> result;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    
+    public AIJobDTO() {}
+    
+    public AIJobDTO(String id, String type, AIJobStatus status, Map<String, Object> result, String errorMessage,
+                    LocalDateTime createdAt, LocalDateTime completedAt) {
+        this.id = id;
+        this.type = type;
+        this.status = status;
+        this.result = result;
+        this.errorMessage = errorMessage;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+    }
+    
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public AIJobStatus getStatus() { return status; }
+    public void setStatus(AIJobStatus status) { this.status = status; }
+    
+    public Map<String, Object> getResult() { return result; }
+    public void setResult(Map<String, Object> result) { this.result = result; }
+    
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
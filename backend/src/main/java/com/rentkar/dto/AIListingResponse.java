@@ -0,0 +1,62 @@
+package com.rentkar.dto;
+
+public class AIListingResponse {
+    
+    private String title;
+    
+    private String description;
+    
+    private int tokenCount;
+    
+    private long responseTimeMs;
+    
+    private boolean success;
+    
+    private String errorMessage;
+    
+    private boolean fallback;
+    
+    public AIListingResponse() {}
+    
+    // Success response constructor
+    public AIListingResponse(String title, String description, int tokenCount, long responseTimeMs) {
+        this.title = title;
+        this.description = description;
+        this.tokenCount = tokenCount;
+        this.responseTimeMs = responseTimeMs;
+        this.success = true;
+        this.errorMessage = null;
+    }
+    
+    // Error response constructor
+    public AIListingResponse(String errorMessage) {
+        this.title = null;
+        this.description = null;
+        this.tokenCount = 0;
+        this.responseTimeMs = 0;
+        this.success = false;
+        this.errorMessage = errorMessage;
+    }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    
+    public int getTokenCount() { return tokenCount; }
+    public void setTokenCount(int tokenCount) { this.tokenCount = tokenCount; }
+    
+    public long getResponseTimeMs() { return responseTimeMs; }
+    public void setResponseTimeMs(long responseTimeMs) { this.responseTimeMs = responseTimeMs; }
+    
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    
+    // True when the content is a local template because the AI service was unavailable
+    public boolean isFallback() { return fallback; }
+    public void setFallback(boolean fallback) { this.fallback = fallback; }
+}
@@ -0,0 +1,45 @@
+package com.rentkar.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public class AIUsageDTO {
+    
+    private LocalDateTime since;
+    private AIUsageTotalsDTO total;
+    private Map<String, AIUsageTotalsDTO> byType;
+    // Daily token budget; null when there is none
+    private Long dailyTokenBudget;
+    private long tokensUsedToday;
+    private Long tokensRemainingToday;
+    
+    public AIUsageDTO() {}
+    
+    public AIUsageDTO(LocalDateTime since, AIUsageTotalsDTO total, Map<String, AIUsageTotalsDTO> byType,
+                      Long dailyTokenBudget, long tokensUsedToday, Long tokensRemainingToday) {
+        this.since = since;
+        this.total = total;
+        this.byType = byType;
+        this.dailyTokenBudget = dailyTokenBudget;
+        this.tokensUsedToday = tokensUsedToday;
+        this.tokensRemainingToday = tokensRemainingToday;
+    }
+    
+    public LocalDateTime getSince() { return since; }
+    public void setSince(LocalDateTime since) { this.since = since; }
+    
+    public AIUsageTotalsDTO getTotal() { return total; }
+    public void setTotal(AIUsageTotalsDTO total) { this.total = total; }
+    
+    public Map<String, AIUsageTotalsDTO> getByType() { return byType; }
+    public void setByType(Map<String, AIUsageTotalsDTO> byType) { this.byType = byType; }
+    
+    public Long getDailyTokenBudget() { return dailyTokenBudget; }
+    public void setDailyTokenBudget(Long dailyTokenBudget) { this.dailyTokenBudget = dailyTokenBudget; }
+    
+    public long getTokensUsedToday() { return tokensUsedToday; }
+    public void setTokensUsedToday(long tokensUsedToday) { this.tokensUsedToday = tokensUsedToday; }
+    
+    public Long getTokensRemainingToday() { return tokensRemainingToday; }
+    public void setTokensRemainingToday(Long tokensRemainingToday) { this.tokensRemainingToday = tokensRemainingToday; }
+}
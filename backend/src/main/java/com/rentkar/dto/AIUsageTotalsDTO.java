@@ -0,0 +1,36 @@
+package com.rentkar.dto;
+
+public class AIUsageTotalsDTO {
+    
+    private long calls;
+    private long tokens;
+    private long responseTimeMs;
+    
+    public AIUsageTotalsDTO() {}
+    
+    public AIUsageTotalsDTO(long calls, long tokens, long responseTimeMs) {
+        this.calls = calls;
+        this.tokens = tokens;
+        this.responseTimeMs = responseTimeMs;
+    }
+    
+    public void add(long calls, long tokens, long responseTimeMs) {
+        this.calls += calls;
+        this.tokens += tokens;
+        this.responseTimeMs += responseTimeMs;
+    }
+    
+    public long getCalls() { return calls; }
+    public void setCalls(long calls) { this.calls = calls; }
+    
+    public long getTokens() { return tokens; }
+    public void setTokens(long tokens) { this.tokens = tokens; }
+    
+    // Total time spent waiting for the AI API
+    public long getResponseTimeMs() { return responseTimeMs; }
+    public void setResponseTimeMs(long responseTimeMs) { this.responseTimeMs = responseTimeMs; }
+    
+    public long getAverageResponseTimeMs() {
+        return calls == 0 ? 0 : responseTimeMs / calls;
+    }
+}
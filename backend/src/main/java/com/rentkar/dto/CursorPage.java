@@ -0,0 +1,32 @@
+package com.rentkar.dto;
+
+import java.util.List;
+
+public class CursorPage<T> {
+    
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+    private int pageSize;
+    
+    public CursorPage() {}
+    
+    public CursorPage(List<T> items, String nextCursor, int pageSize) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = nextCursor != null;
+        this.pageSize = pageSize;
+    }
+    
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    public boolean isHasNext() { return hasNext; }
+    public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+    
+    public int getPageSize() { return pageSize; }
+    public void setPageSize(int pageSize) { this.pageSize = pageSize; }
+}
@@ -0,0 +1,41 @@
+package com.rentkar.dto;
+
+public class ImageUploadDTO {
+    
+    private String imageUrl;
+    // Size of the file as uploaded
+    private long originalBytes;
+    // Size of the file as stored, after downscaling and re-encoding
+    private long storedBytes;
+    // The same image had been uploaded before, and its stored copy is reused
+    private boolean duplicate;
+    
+    public ImageUploadDTO() {}
+    
+    public ImageUploadDTO(String imageUrl, long originalBytes, long storedBytes) {
+        this(imageUrl, originalBytes, storedBytes, false);
+    }
+    
+    public ImageUploadDTO(String imageUrl, long originalBytes, long storedBytes, boolean duplicate) {
+        this.imageUrl = imageUrl;
+        this.originalBytes = originalBytes;
+        this.storedBytes = storedBytes;
+        this.duplicate = duplicate;
+    }
+    
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    
+    public long getOriginalBytes() { return originalBytes; }
+    public void setOriginalBytes(long originalBytes) { this.originalBytes = originalBytes; }
+    
+    public long getStoredBytes() { return storedBytes; }
+    public void setStoredBytes(long storedBytes) { this.storedBytes = storedBytes; }
+    
+    public boolean isDuplicate() { return duplicate; }
+    public void setDuplicate(boolean duplicate) { this.duplicate = duplicate; }
+    
+    public long getBytesSaved() {
+        return originalBytes - storedBytes;
+    }
+}
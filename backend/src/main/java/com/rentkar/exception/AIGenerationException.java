@@ -0,0 +1,11 @@
+package com.rentkar.exception;
+
+/**
+ * Exception signalling a failed AI generation; the message is safe to show to users
+ */
+public class AIGenerationException extends RuntimeException {
+    
+    public AIGenerationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.rentkar.model;
+
+public enum AIJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
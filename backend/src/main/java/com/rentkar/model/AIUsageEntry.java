@@ -0,0 +1,111 @@
+package com.rentkar.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI usage of one user and request type over one ledger flush interval.
+ * Rows are only ever inserted; usage over a period is the sum of its rows.
+ */
+@Entity
+@Table(name = "ai_usage_entries", indexes = {
+    @Index(name = "idx_ai_usage_entries_key_recorded", columnList = "usage_key, recorded_at"),
+    @Index(name = "idx_ai_usage_entries_recorded", columnList = "recorded_at")
+})
+public class AIUsageEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    // User ID or IP address key, as used by the rate limiter
+    @Column(name = "usage_key", nullable = false, length = 64)
+    private String usageKey;
+    
+    @Column(nullable = false, length = 20)
+    private String requestType;
+    
+    @Column(nullable = false)
+    private long calls;
+    
+    @Column(nullable = false)
+    private long tokens;
+    
+    @Column(nullable = false)
+    private long responseTimeMs;
+    
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    // Constructors
+    public AIUsageEntry() {
+    }
+
+    public AIUsageEntry(String usageKey, String requestType, long calls, long tokens, long responseTimeMs,
+                        LocalDateTime recordedAt) {
+        this.usageKey = usageKey;
+        this.requestType = requestType;
+        this.calls = calls;
+        this.tokens = tokens;
+        this.responseTimeMs = responseTimeMs;
+        this.recordedAt = recordedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getUsageKey() {
+        return usageKey;
+    }
+
+    public void setUsageKey(String usageKey) {
+        this.usageKey = usageKey;
+    }
+
+    public String getRequestType() {
+        return requestType;
+    }
+
+    public void setRequestType(String requestType) {
+        this.requestType = requestType;
+    }
+
+    public long getCalls() {
+        return calls;
+    }
+
+    public void setCalls(long calls) {
+        this.calls = calls;
+    }
+
+    public long getTokens() {
+        return tokens;
+    }
+
+    public void setTokens(long tokens) {
+        this.tokens = tokens;
+    }
+
+    public long getResponseTimeMs() {
+        return responseTimeMs;
+    }
+
+    public void setResponseTimeMs(long responseTimeMs) {
+        this.responseTimeMs = responseTimeMs;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
@@ -8,9 +8,26 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "borrow_requests")
+@NamedEntityGraph(
+    name = BorrowRequest.DETAILS_GRAPH,
+    attributeNodes = {
+        @NamedAttributeNode(value = "item", subgraph = "item"),
+        @NamedAttributeNode("borrower"),
+        @NamedAttributeNode("lender")
+    },
+    subgraphs = @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("owner"))
+)
+@Table(name = "borrow_requests", indexes = {
+    @Index(name = "idx_borrow_requests_lender_created", columnList = "lender_id, created_at, id"),
+    @Index(name = "idx_borrow_requests_borrower_created", columnList = "borrower_id, created_at, id"),
+    @Index(name = "idx_borrow_requests_lender_status_created", columnList = "lender_id, status, created_at, id"),
+    @Index(name = "idx_borrow_requests_borrower_status_created", columnList = "borrower_id, status, created_at, id")
+})
 public class BorrowRequest {
     
+    // Item (with owner), borrower and lender: everything BorrowRequestMapper reads
+    public static final String DETAILS_GRAPH = "BorrowRequest.details";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -7,7 +7,10 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "items")
+@Table(name = "items", indexes = {
+    @Index(name = "idx_items_status_created", columnList = "status, created_at, id"),
+    @Index(name = "idx_items_owner_created", columnList = "owner_id, created_at, id")
+})
 public class Item {
     
     @Id
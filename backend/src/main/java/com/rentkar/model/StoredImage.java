@@ -0,0 +1,112 @@
+package com.rentkar.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * An image in image storage, indexed by the SHA-256 digest of the file as uploaded.
+ * An upload with the same digest reuses the stored image instead of storing it again.
+ * The perceptual hash links items to similar looking images, see ImageSimilarityIndex.
+ */
+@Entity
+@Table(name = "stored_images", indexes = {
+    @Index(name = "idx_stored_images_sha256", columnList = "sha256", unique = true),
+    @Index(name = "idx_stored_images_image_url", columnList = "image_url")
+})
+public class StoredImage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Lowercase hex SHA-256 of the uploaded bytes, before processing
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "image_url", nullable = false, length = 500)
+    private String imageUrl;
+
+    @Column(nullable = false)
+    private long originalBytes;
+
+    @Column(nullable = false)
+    private long storedBytes;
+
+    // dHash of the stored image; null if it was stored without processing
+    private Long perceptualHash;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public StoredImage() {
+    }
+
+    public StoredImage(String sha256, String imageUrl, long originalBytes, long storedBytes, Long perceptualHash) {
+        this.sha256 = sha256;
+        this.imageUrl = imageUrl;
+        this.originalBytes = originalBytes;
+        this.storedBytes = storedBytes;
+        this.perceptualHash = perceptualHash;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public long getOriginalBytes() {
+        return originalBytes;
+    }
+
+    public void setOriginalBytes(long originalBytes) {
+        this.originalBytes = originalBytes;
+    }
+
+    public long getStoredBytes() {
+        return storedBytes;
+    }
+
+    public void setStoredBytes(long storedBytes) {
+        this.storedBytes = storedBytes;
+    }
+
+    public Long getPerceptualHash() {
+        return perceptualHash;
+    }
+
+    public void setPerceptualHash(Long perceptualHash) {
+        this.perceptualHash = perceptualHash;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.rentkar.repository;
+
+import com.rentkar.model.AIUsageEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AIUsageEntryRepository extends JpaRepository<AIUsageEntry, Long> {
+    
+    // A key's usage per request type since a point in time: rows of (requestType, calls, tokens, responseTimeMs)
+    @Query("SELECT e.requestType, SUM(e.calls), SUM(e.tokens), SUM(e.responseTimeMs) " +
+           "FROM AIUsageEntry e WHERE e.usageKey = :usageKey AND e.recordedAt >= :since " +
+           "GROUP BY e.requestType")
+    List<Object[]> aggregateUsageByType(@Param("usageKey") String usageKey, @Param("since") LocalDateTime since);
+    
+    // Tokens per key since a point in time: rows of (usageKey, tokens)
+    @Query("SELECT e.usageKey, SUM(e.tokens) FROM AIUsageEntry e WHERE e.recordedAt >= :since GROUP BY e.usageKey")
+    List<Object[]> aggregateTokensByKey(@Param("since") LocalDateTime since);
+}
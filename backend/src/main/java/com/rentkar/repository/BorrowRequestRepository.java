@@ -2,29 +2,44 @@ package com.rentkar.repository;
 
 import com.rentkar.model.BorrowRequest;
 import com.rentkar.model.RequestStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, Long> {
     
+    // Every fetch path used by the service loads the associations BorrowRequestMapper reads in one statement
+    
+    @Override
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
+    Optional<BorrowRequest> findById(Long id);
+    
     // Find all requests sent by a borrower
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
     List<BorrowRequest> findByBorrowerId(Long borrowerId);
     
     // Find all requests received by a lender
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
     List<BorrowRequest> findByLenderId(Long lenderId);
     
     // Find requests by borrower and status
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
     List<BorrowRequest> findByBorrowerIdAndStatus(Long borrowerId, RequestStatus status);
     
     // Find requests by lender and status
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
     List<BorrowRequest> findByLenderIdAndStatus(Long lenderId, RequestStatus status);
     
     // Find requests by item
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
     List<BorrowRequest> findByItemId(Long itemId);
     
     // Count pending requests for a lender
@@ -38,4 +53,76 @@ public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, Lo
     // Count requests by lender and status
     @Query("SELECT COUNT(br) FROM BorrowRequest br WHERE br.lender.id = :lenderId AND br.status = :status")
     long countByLenderAndStatus(@Param("lenderId") Long lenderId, @Param("status") RequestStatus status);
+    
+    // Count a user's sent and received requests per status in one pass: rows of (status, sentCount, receivedCount)
+    @Query("SELECT br.status, " +
+           "SUM(CASE WHEN br.borrower.id = :userId THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN br.lender.id = :userId THEN 1 ELSE 0 END) " +
+           "FROM BorrowRequest br WHERE br.borrower.id = :userId OR br.lender.id = :userId " +
+           "GROUP BY br.status")
+    List<Object[]> aggregateStatusCountsByUser(@Param("userId") Long userId);
+    
+    // Keyset pagination ordered by (createdAt DESC, id DESC); callers pass PageRequest.of(0, size + 1)
+    
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
+    @Query("SELECT br FROM BorrowRequest br WHERE br.borrower.id = :borrowerId " +
+           "ORDER BY br.createdAt DESC, br.id DESC")
+    List<BorrowRequest> findFirstPageByBorrowerId(@Param("borrowerId") Long borrowerId, Pageable pageable);
+    
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
+    @Query("SELECT br FROM BorrowRequest br WHERE br.borrower.id = :borrowerId AND " +
+           "(br.createdAt < :createdAt OR (br.createdAt = :createdAt AND br.id < :id)) " +
+           "ORDER BY br.createdAt DESC, br.id DESC")
+    List<BorrowRequest> findPageByBorrowerIdAfter(@Param("borrowerId") Long borrowerId,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+    
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
+    @Query("SELECT br FROM BorrowRequest br WHERE br.borrower.id = :borrowerId AND br.status = :status " +
+           "ORDER BY br.createdAt DESC, br.id DESC")
+    List<BorrowRequest> findFirstPageByBorrowerIdAndStatus(@Param("borrowerId") Long borrowerId,
+                                                           @Param("status") RequestStatus status,
+                                                           Pageable pageable);
+    
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
+    @Query("SELECT br FROM BorrowRequest br WHERE br.borrower.id = :borrowerId AND br.status = :status AND " +
+           "(br.createdAt < :createdAt OR (br.createdAt = :createdAt AND br.id < :id)) " +
+           "ORDER BY br.createdAt DESC, br.id DESC")
+    List<BorrowRequest> findPageByBorrowerIdAndStatusAfter(@Param("borrowerId") Long borrowerId,
+                                                           @Param("status") RequestStatus status,
+                                                           @Param("createdAt") LocalDateTime createdAt,
+                                                           @Param("id") Long id,
+                                                           Pageable pageable);
+    
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
+    @Query("SELECT br FROM BorrowRequest br WHERE br.lender.id = :lenderId " +
+           "ORDER BY br.createdAt DESC, br.id DESC")
+    List<BorrowRequest> findFirstPageByLenderId(@Param("lenderId") Long lenderId, Pageable pageable);
+    
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
+    @Query("SELECT br FROM BorrowRequest br WHERE br.lender.id = :lenderId AND " +
+           "(br.createdAt < :createdAt OR (br.createdAt = :createdAt AND br.id < :id)) " +
+           "ORDER BY br.createdAt DESC, br.id DESC")
+    List<BorrowRequest> findPageByLenderIdAfter(@Param("lenderId") Long lenderId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+    
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
+    @Query("SELECT br FROM BorrowRequest br WHERE br.lender.id = :lenderId AND br.status = :status " +
+           "ORDER BY br.createdAt DESC, br.id DESC")
+    List<BorrowRequest> findFirstPageByLenderIdAndStatus(@Param("lenderId") Long lenderId,
+                                                         @Param("status") RequestStatus status,
+                                                         Pageable pageable);
+    
+    @EntityGraph(BorrowRequest.DETAILS_GRAPH)
+    @Query("SELECT br FROM BorrowRequest br WHERE br.lender.id = :lenderId AND br.status = :status AND " +
+           "(br.createdAt < :createdAt OR (br.createdAt = :createdAt AND br.id < :id)) " +
+           "ORDER BY br.createdAt DESC, br.id DESC")
+    List<BorrowRequest> findPageByLenderIdAndStatusAfter(@Param("lenderId") Long lenderId,
+                                                         @Param("status") RequestStatus status,
+                                                         @Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("id") Long id,
+                                                         Pageable pageable);
 }
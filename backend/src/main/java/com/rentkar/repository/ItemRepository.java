@@ -4,18 +4,32 @@ import com.rentkar.model.Item;
 import com.rentkar.model.ItemStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
     
+    // Listing and detail paths always render the owner, so load it in the same statement
+    
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    Optional<Item> findById(Long id);
+    
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    List<Item> findAllById(Iterable<Long> ids);
+    
     Page<Item> findByStatus(ItemStatus status, Pageable pageable);
     
+    @EntityGraph(attributePaths = "owner")
     Page<Item> findByOwnerId(Long ownerId, Pageable pageable);
     
     Page<Item> findByCategory(String category, Pageable pageable);
@@ -25,6 +39,7 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
            "LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
     Page<Item> searchItems(@Param("keyword") String keyword, Pageable pageable);
     
+    @EntityGraph(attributePaths = "owner")
     @Query("SELECT i FROM Item i WHERE " +
            "(:status IS NULL OR i.status = :status) AND " +
            "(:category IS NULL OR i.category = :category) AND " +
@@ -34,4 +49,46 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
                                 @Param("category") String category, 
                                 @Param("keyword") String keyword, 
                                 Pageable pageable);
+    
+    // Keyset pagination: callers pass PageRequest.of(0, size + 1) to detect whether another page exists
+    
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT i FROM Item i WHERE " +
+           "(:status IS NULL OR i.status = :status) AND " +
+           "(:category IS NULL OR i.category = :category) AND " +
+           "(:keyword IS NULL OR LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+           "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Item> findFirstPageWithFilters(@Param("status") ItemStatus status,
+                                        @Param("category") String category,
+                                        @Param("keyword") String keyword,
+                                        Pageable pageable);
+    
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT i FROM Item i WHERE " +
+           "(:status IS NULL OR i.status = :status) AND " +
+           "(:category IS NULL OR i.category = :category) AND " +
+           "(:keyword IS NULL OR LOWER(i.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+           "LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+           "(i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id)) " +
+           "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Item> findPageWithFiltersAfter(@Param("status") ItemStatus status,
+                                        @Param("category") String category,
+                                        @Param("keyword") String keyword,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+    
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT i FROM Item i WHERE i.owner.id = :ownerId ORDER BY i.createdAt DESC, i.id DESC")
+    List<Item> findFirstPageByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = "owner")
+    @Query("SELECT i FROM Item i WHERE i.owner.id = :ownerId AND " +
+           "(i.createdAt < :createdAt OR (i.createdAt = :createdAt AND i.id < :id)) " +
+           "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Item> findPageByOwnerIdAfter(@Param("ownerId") Long ownerId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
 }
@@ -0,0 +1,26 @@
+package com.rentkar.repository;
+
+import com.rentkar.model.StoredImage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredImageRepository extends JpaRepository<StoredImage, Long> {
+
+    Optional<StoredImage> findBySha256(String sha256);
+
+    // Perceptual hashes of the images stored under a URL; more than one if identical uploads raced
+    @Query("SELECT s.perceptualHash FROM StoredImage s WHERE s.imageUrl = :imageUrl AND s.perceptualHash IS NOT NULL")
+    List<Long> findPerceptualHashes(@Param("imageUrl") String imageUrl);
+
+    // Keyset page of items with a hashed image: rows of (itemId, perceptualHash), ordered by item id
+    @Query("SELECT i.id, s.perceptualHash FROM Item i, StoredImage s " +
+           "WHERE s.imageUrl = i.imageUrl AND s.perceptualHash IS NOT NULL AND i.id > :afterId ORDER BY i.id")
+    List<Object[]> findItemPerceptualHashes(@Param("afterId") Long afterId, Pageable pageable);
+}
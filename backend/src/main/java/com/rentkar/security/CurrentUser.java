@@ -0,0 +1,23 @@
+package com.rentkar.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inject the authenticated user into a controller method parameter.
+ * Supported parameter types: {@link AuthenticatedUser}, {@code Long} (the user ID) and
+ * {@link com.rentkar.model.User} (a lazy reference that is only loaded if a non-ID field is read).
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+
+    /**
+     * Whether an authenticated user is required; if false, null is injected for anonymous requests
+     */
+    boolean required() default true;
+}
@@ -0,0 +1,66 @@
+package com.rentkar.security;
+
+import com.rentkar.model.User;
+import com.rentkar.repository.UserRepository;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves {@link CurrentUser} parameters from the principal set by JwtAuthenticationFilter
+ */
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final UserRepository userRepository;
+
+    public CurrentUserArgumentResolver(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        if (!parameter.hasParameterAnnotation(CurrentUser.class)) {
+            return false;
+        }
+        Class<?> type = parameter.getParameterType();
+        return type == AuthenticatedUser.class || type == Long.class || type == User.class;
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        AuthenticatedUser principal = currentPrincipal();
+        if (principal == null) {
+            if (parameter.getParameterAnnotation(CurrentUser.class).required()) {
+                throw new AuthenticationCredentialsNotFoundException("User not authenticated");
+            }
+            return null;
+        }
+
+        Class<?> type = parameter.getParameterType();
+        if (type == Long.class) {
+            return principal.getId();
+        }
+        if (type == User.class) {
+            // Proxy only: services mostly need the ID, so no query runs unless other fields are read
+            return userRepository.getReferenceById(principal.getId());
+        }
+        return principal;
+    }
+
+    private AuthenticatedUser currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return null;
+        }
+        Object principal = authentication.getPrincipal();
+        return (principal instanceof AuthenticatedUser user) ? user : null;
+    }
+}
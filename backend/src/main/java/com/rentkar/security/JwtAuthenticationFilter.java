@@ -1,10 +1,12 @@
 package com.rentkar.security;
 
-import com.rentkar.repository.UserRepository;
+import com.rentkar.model.Role;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -21,10 +23,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    // Trust the userId and role claims until expiry instead of loading the user; off by default because
+    // a deleted or demoted user keeps their old access for the rest of the token's lifetime
+    private final boolean stateless;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                                   @Value("${security.jwt.stateless}") boolean stateless) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.stateless = stateless;
     }
 
     @Override
@@ -36,7 +43,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         // Check if Authorization header is present and starts with "Bearer "
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -48,30 +54,32 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extract JWT token from Authorization header
             jwt = authHeader.substring(7);
             
-            // Extract username from token
-            username = jwtUtil.extractUsername(jwt);
+            // Parse once: verifies signature and expiry, throws if either check fails
+            Claims claims = jwtUtil.extractAllClaims(jwt);
+            String username = claims.getSubject();
 
             // If username is present and no authentication is set in context
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 
-                // Load user details
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                // Validate token
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    
-                    // Set additional details
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
-                    // Set authentication in SecurityContext
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                // Build the principal from the token's claims, or load it when stateless mode is off
+                // or the token predates the identity claims
+                UserDetails userDetails = stateless ? principalFromClaims(claims) : null;
+                if (userDetails == null) {
+                    userDetails = userDetailsService.loadUserByUsername(username);
                 }
+
+                // Create authentication token
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+                
+                // Set additional details
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                
+                // Set authentication in SecurityContext
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         } catch (Exception e) {
             // Log the error but don't block the filter chain
@@ -81,4 +89,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Build the principal from verified claims; returns null if the identity claims are missing
+     */
+    private AuthenticatedUser principalFromClaims(Claims claims) {
+        Object userId = claims.get("userId");
+        String role = claims.get("role", String.class);
+        if (!(userId instanceof Number) || role == null) {
+            return null;
+        }
+        return new AuthenticatedUser(((Number) userId).longValue(), claims.getSubject(),
+                claims.get("email", String.class), claims.get("name", String.class), Role.valueOf(role), null);
+    }
 }
@@ -1,6 +1,7 @@
 package com.rentkar.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -24,8 +25,49 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.cache.max-entries}")
+    private int cacheMaxEntries;
+
+    // Built lazily because the secret is injected (or set directly in tests) after construction
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+    private volatile VerifiedTokenCache tokenCache;
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .build();
+            parser = current;
+        }
+        return current;
+    }
+
+    /**
+     * Cache of verified tokens, or null when disabled (jwt.cache.max-entries is 0)
+     */
+    private VerifiedTokenCache getTokenCache() {
+        VerifiedTokenCache cache = tokenCache;
+        if (cache == null && cacheMaxEntries > 0) {
+            synchronized (this) {
+                cache = tokenCache;
+                if (cache == null) {
+                    cache = new VerifiedTokenCache(cacheMaxEntries);
+                    tokenCache = cache;
+                }
+            }
+        }
+        return cache;
     }
 
     public String extractUsername(String token) {
@@ -41,12 +83,27 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+    /**
+     * Parse a token, verifying its signature and expiry, and return its claims.
+     * Recently verified tokens are served from the cache until they expire.
+     */
+    public Claims extractAllClaims(String token) {
+        VerifiedTokenCache cache = getTokenCache();
+        long now = System.currentTimeMillis();
+        if (cache != null) {
+            Claims cached = cache.get(token, now);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Claims claims = getParser()
                 .parseSignedClaims(token)
                 .getPayload();
+        if (cache != null) {
+            cache.put(token, claims, now);
+        }
+        return claims;
     }
 
     public boolean isTokenExpired(String token) {
@@ -77,7 +134,8 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(userDetails.getUsername())
+                && !claims.getExpiration().before(new Date()));
     }
 }
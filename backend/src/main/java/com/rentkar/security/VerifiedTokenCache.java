@@ -0,0 +1,117 @@
+package com.rentkar.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of recently verified tokens and their claims. Entries are keyed by the SHA-256 digest
+ * of the full compact token, so a hit means the exact same signed bytes were already verified;
+ * raw tokens are never retained. Entries are never served past the token's expiry.
+ */
+public class VerifiedTokenCache {
+
+    private static final long PURGE_INTERVAL_MS = 1000L;
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries;
+    private long nextPurgeAt;
+
+    public VerifiedTokenCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Get the cached claims for a token, or null if it was not verified recently or has since expired
+     */
+    public Claims get(String token, long nowMillis) {
+        String key = digest(token);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= nowMillis) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.claims;
+        }
+    }
+
+    /**
+     * Remember claims for a token that has just passed signature and expiry verification
+     */
+    public void put(String token, Claims claims, long nowMillis) {
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        if (expiresAt <= nowMillis) {
+            return;
+        }
+
+        String key = digest(token);
+        synchronized (entries) {
+            if (!entries.containsKey(key) && entries.size() >= maxEntries) {
+                evict(nowMillis);
+            }
+            entries.put(key, new Entry(claims, expiresAt));
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Make room for one entry: drop expired tokens first (at most once per interval, since it scans),
+     * then fall back to the least recently used one
+     */
+    private void evict(long nowMillis) {
+        if (nowMillis >= nextPurgeAt) {
+            nextPurgeAt = nowMillis + PURGE_INTERVAL_MS;
+            entries.values().removeIf(entry -> entry.expiresAt <= nowMillis);
+        }
+        if (entries.size() >= maxEntries) {
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Claims claims;
+        private final long expiresAt;
+
+        private Entry(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
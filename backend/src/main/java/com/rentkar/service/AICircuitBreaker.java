@@ -0,0 +1,245 @@
+package com.rentkar.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker and concurrency bulkhead around the Gemini API.
+ * After a run of consecutive upstream failures the breaker opens and calls are rejected immediately;
+ * once the open period has passed a single probe call is let through (half-open), and its outcome
+ * closes the breaker again or re-opens it. Independently, the bulkhead caps the number of calls in flight.
+ *
+ * Every permit from {@link #tryAcquire()} must be handed back through exactly one of {@link #onSuccess(Permit)},
+ * {@link #onFailure(Permit)} or {@link #release(Permit)}. A permit remembers whether it is the half-open probe and
+ * in which generation it was taken, so a slow call that started before the breaker opened cannot close it,
+ * re-open it, or free the probe slot while the real probe is still running.
+ */
+@Component
+public class AICircuitBreaker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AICircuitBreaker.class);
+    
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+    
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final int maxConcurrentCalls;
+    private final Semaphore bulkhead;
+    private final LongSupplier clock;
+    
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+    // Incremented every time the breaker opens; permits from an earlier generation no longer affect its state
+    private long generation;
+    
+    private final AtomicLong rejectedCalls = new AtomicLong();
+    private final AtomicLong bulkheadRejections = new AtomicLong();
+    
+    /**
+     * @param failureThreshold Consecutive failures that open the breaker; 0 or less never opens it
+     * @param openDurationMs Time the breaker stays open before a probe call is allowed
+     * @param maxConcurrentCalls Calls allowed in flight at once; 0 or less is unlimited
+     */
+    @Autowired
+    public AICircuitBreaker(
+            @Value("${ai.circuit-breaker.failure-threshold}") int failureThreshold,
+            @Value("${ai.circuit-breaker.open-duration-ms}") long openDurationMs,
+            @Value("${ai.bulkhead.max-concurrent-calls}") int maxConcurrentCalls) {
+        this(failureThreshold, openDurationMs, maxConcurrentCalls, System::currentTimeMillis);
+    }
+    
+    AICircuitBreaker(int failureThreshold, long openDurationMs, int maxConcurrentCalls, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = maxConcurrentCalls > 0 ? new Semaphore(maxConcurrentCalls) : null;
+        this.clock = clock;
+    }
+    
+    /**
+     * Take a permit for one upstream call
+     * @return the permit, or null if the breaker is open, a probe is already in flight, or the bulkhead is full
+     */
+    public Permit tryAcquire() {
+        if (bulkhead != null && !bulkhead.tryAcquire()) {
+            bulkheadRejections.incrementAndGet();
+            return null;
+        }
+        
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (clock.getAsLong() - openedAt < openDurationMs) {
+                    return reject();
+                }
+                state = State.HALF_OPEN;
+                logger.info("AI circuit breaker half-open, probing upstream");
+            }
+            if (state == State.HALF_OPEN) {
+                if (probeInFlight) {
+                    return reject();
+                }
+                probeInFlight = true;
+                return new Permit(true, generation);
+            }
+            return new Permit(false, generation);
+        }
+    }
+    
+    /**
+     * Record a call that reached the API and got an answer; the probe's success closes a half-open breaker
+     */
+    public void onSuccess(Permit permit) {
+        synchronized (this) {
+            if (permit.generation == generation) {
+                if (permit.probe) {
+                    probeInFlight = false;
+                    state = State.CLOSED;
+                    logger.info("AI circuit breaker closed");
+                }
+                if (state == State.CLOSED) {
+                    consecutiveFailures = 0;
+                }
+            }
+        }
+        releaseBulkhead();
+    }
+    
+    /**
+     * Record an upstream failure (timeout, connection error, 5xx or 429); opens the breaker
+     * when the threshold is reached or when the half-open probe fails
+     */
+    public void onFailure(Permit permit) {
+        synchronized (this) {
+            if (permit.generation == generation) {
+                if (permit.probe) {
+                    probeInFlight = false;
+                    consecutiveFailures++;
+                    open();
+                } else if (state == State.CLOSED) {
+                    consecutiveFailures++;
+                    if (failureThreshold > 0 && consecutiveFailures >= failureThreshold) {
+                        open();
+                    }
+                }
+            }
+        }
+        releaseBulkhead();
+    }
+    
+    /**
+     * Return a permit without an outcome, e.g. when the caller cancelled the call
+     */
+    public void release(Permit permit) {
+        synchronized (this) {
+            if (permit.probe && permit.generation == generation) {
+                probeInFlight = false;
+            }
+        }
+        releaseBulkhead();
+    }
+    
+    /**
+     * Whether a call would currently be attempted, without taking a permit
+     */
+    public synchronized boolean allowsCalls() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> clock.getAsLong() - openedAt >= openDurationMs;
+            case HALF_OPEN -> !probeInFlight;
+        };
+    }
+    
+    /**
+     * Count a call short-circuited by the caller after {@link #allowsCalls()} returned false
+     */
+    public void recordRejection() {
+        rejectedCalls.incrementAndGet();
+    }
+    
+    /**
+     * Current state; an open breaker whose open period has passed reports HALF_OPEN
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openDurationMs) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+    
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+    
+    /**
+     * Number of calls rejected because the breaker was open
+     */
+    public long getRejectedCalls() {
+        return rejectedCalls.get();
+    }
+    
+    /**
+     * Number of calls rejected because the bulkhead was full
+     */
+    public long getBulkheadRejections() {
+        return bulkheadRejections.get();
+    }
+    
+    /**
+     * Calls currently in flight, or -1 when the bulkhead is unlimited
+     */
+    public int getActiveCalls() {
+        return bulkhead == null ? -1 : maxConcurrentCalls - bulkhead.availablePermits();
+    }
+    
+    private Permit reject() {
+        rejectedCalls.incrementAndGet();
+        releaseBulkhead();
+        return null;
+    }
+    
+    /**
+     * Open the breaker and start a new generation, so outcomes of calls from before are ignored; caller holds the lock
+     */
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        generation++;
+        logger.warn("AI circuit breaker opened after {} consecutive failures", consecutiveFailures);
+    }
+    
+    private void releaseBulkhead() {
+        if (bulkhead != null) {
+            bulkhead.release();
+        }
+    }
+    
+    /**
+     * Permission for one upstream call, handed back with its outcome
+     */
+    public static final class Permit {
+        
+        private final boolean probe;
+        private final long generation;
+        
+        private Permit(boolean probe, long generation) {
+            this.probe = probe;
+            this.generation = generation;
+        }
+        
+        /**
+         * Whether this is the single call let through by a half-open breaker
+         */
+        public boolean isProbe() {
+            return probe;
+        }
+    }
+}
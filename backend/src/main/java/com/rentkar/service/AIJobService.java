@@ -0,0 +1,35 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.dto.AIJobDTO;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service interface for running AI generations as background jobs, so clients poll for the result
+ * instead of holding a request open while the model works
+ */
+public interface AIJobService {
+    
+    /**
+     * Queue an AI generation
+     * @param type title, description or listing
+     * @param request Generation request with item details
+     * @param userId User ID or IP address that owns the job
+     * @return the queued job
+     * @throws IllegalArgumentException if the type is unknown
+     * @throws com.rentkar.exception.RateLimitExceededException if the user has no rate limit left for another job
+     * @throws java.util.concurrent.RejectedExecutionException if the job queue is full
+     */
+    AIJobDTO submitJob(String type, AIGenerationRequest request, String userId);
+    
+    /**
+     * Get a job, optionally waiting for it to finish
+     * @param jobId Job ID returned by {@link #submitJob}
+     * @param userId User ID or IP address that submitted the job
+     * @param waitMs How long to wait for an unfinished job, capped by configuration; 0 returns at once
+     * @return Future completed with the job when it finishes or the wait runs out, whichever comes first
+     * @throws jakarta.persistence.EntityNotFoundException if the job does not exist, has expired or belongs to someone else
+     */
+    CompletableFuture<AIJobDTO> getJob(String jobId, String userId, long waitMs);
+}
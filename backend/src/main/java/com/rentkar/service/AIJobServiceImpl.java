@@ -0,0 +1,346 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.dto.AIGenerationResponse;
+import com.rentkar.dto.AIJobDTO;
+import com.rentkar.dto.AIListingResponse;
+import com.rentkar.exception.RateLimitExceededException;
+import com.rentkar.model.AIJobStatus;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * AIJobService backed by a fixed pool of worker threads and a bounded queue.
+ * Each worker runs one generation at a time, so the pool size caps the Gemini calls made for jobs.
+ * A user may only have as many unfinished jobs as both the per-user limit and their remaining rate limit
+ * allow, so queued jobs do not fail later for lack of rate limit. Finished jobs are kept for a TTL
+ * and then removed by a background sweep.
+ */
+@Service
+public class AIJobServiceImpl implements AIJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIJobServiceImpl.class);
+
+    private static final String TITLE = "TITLE";
+    private static final String DESCRIPTION = "DESCRIPTION";
+    private static final String LISTING = "LISTING";
+
+    // Suggested wait when the user's own jobs are what fills their limit
+    private static final long PENDING_RETRY_AFTER_SECONDS = 5;
+
+    private final AIService aiService;
+    private final RateLimiter rateLimiter;
+    private final int maxPendingPerUser;
+    private final long ttlMs;
+    private final long maxWaitMs;
+    private final LongSupplier clock;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService cleanupExecutor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, Integer> pendingByUser = new HashMap<>();
+
+    @Autowired
+    public AIJobServiceImpl(
+            AIService aiService,
+            RateLimiter rateLimiter,
+            @Value("${ai.jobs.workers}") int workers,
+            @Value("${ai.jobs.queue-capacity}") int queueCapacity,
+            @Value("${ai.jobs.max-pending-per-user}") int maxPendingPerUser,
+            @Value("${ai.jobs.ttl-seconds}") long ttlSeconds,
+            @Value("${ai.jobs.max-wait-ms}") long maxWaitMs,
+            @Value("${ai.jobs.cleanup-interval-ms}") long cleanupIntervalMs) {
+        this(aiService, rateLimiter, workers, queueCapacity, maxPendingPerUser, ttlSeconds, maxWaitMs,
+                cleanupIntervalMs, System::currentTimeMillis);
+    }
+
+    AIJobServiceImpl(AIService aiService, RateLimiter rateLimiter, int workers, int queueCapacity,
+                     int maxPendingPerUser, long ttlSeconds, long maxWaitMs, long cleanupIntervalMs,
+                     LongSupplier clock) {
+        if (workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("AI job workers and queue capacity must be at least 1");
+        }
+        this.aiService = aiService;
+        this.rateLimiter = rateLimiter;
+        this.maxPendingPerUser = maxPendingPerUser;
+        this.ttlMs = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.maxWaitMs = maxWaitMs;
+        this.clock = clock;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "ai-job-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        if (cleanupIntervalMs > 0) {
+            this.cleanupExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ai-job-cleanup");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.cleanupExecutor.scheduleWithFixedDelay(this::evictExpiredSafely,
+                    cleanupIntervalMs, cleanupIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.cleanupExecutor = null;
+        }
+        logger.info("AI job service initialized - workers: {}, queue capacity: {}, max pending per user: {}",
+                workers, queueCapacity, maxPendingPerUser);
+    }
+
+    @Override
+    public AIJobDTO submitJob(String type, AIGenerationRequest request, String userId) {
+        String jobType = normalizeType(type);
+        if (userId == null || userId.isEmpty()) {
+            throw new IllegalArgumentException("User ID is required for rate limiting");
+        }
+
+        reservePending(userId);
+        Job job = new Job(UUID.randomUUID().toString(), userId, jobType, request, clock.getAsLong());
+        jobs.put(job.id, job);
+        try {
+            workers.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            releasePending(userId);
+            logger.warn("AI job queue is full, rejected {} job", jobType);
+            throw new RejectedExecutionException("AI job queue is full", e);
+        }
+
+        logger.debug("Queued AI job {} ({})", job.id, jobType);
+        return job.toDTO();
+    }
+
+    @Override
+    public CompletableFuture<AIJobDTO> getJob(String jobId, String userId, long waitMs) {
+        Job job = jobId == null ? null : jobs.get(jobId);
+        // Other users' jobs are reported as missing so job IDs cannot be probed
+        if (job == null || !job.userId.equals(userId)) {
+            throw new EntityNotFoundException("AI job not found");
+        }
+
+        long wait = Math.min(Math.max(waitMs, 0), maxWaitMs);
+        if (wait == 0 || job.done.isDone()) {
+            return CompletableFuture.completedFuture(job.toDTO());
+        }
+        // Wait on a copy so the timeout does not complete the job's own future
+        return job.done.copy()
+                .completeOnTimeout(null, wait, TimeUnit.MILLISECONDS)
+                .thenApply(ignored -> job.toDTO());
+    }
+
+    /**
+     * Jobs currently stored, finished or not
+     */
+    public int getJobCount() {
+        return jobs.size();
+    }
+
+    /**
+     * Jobs waiting for a worker
+     */
+    public int getQueuedJobs() {
+        return workers.getQueue().size();
+    }
+
+    /**
+     * Remove finished jobs older than the TTL
+     * @return number of jobs removed
+     */
+    public int evictExpired() {
+        long now = clock.getAsLong();
+        int evicted = 0;
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            Job job = iterator.next();
+            if (job.done.isDone() && now - job.completedAt >= ttlMs) {
+                iterator.remove();
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            logger.debug("Evicted {} expired AI jobs", evicted);
+        }
+        return evicted;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (cleanupExecutor != null) {
+            cleanupExecutor.shutdownNow();
+        }
+        workers.shutdownNow();
+    }
+
+    private void evictExpiredSafely() {
+        try {
+            evictExpired();
+        } catch (RuntimeException e) {
+            logger.error("AI job cleanup failed", e);
+        }
+    }
+
+    private String normalizeType(String type) {
+        String jobType = type == null ? "" : type.trim().toUpperCase(Locale.ROOT);
+        if (!TITLE.equals(jobType) && !DESCRIPTION.equals(jobType) && !LISTING.equals(jobType)) {
+            throw new IllegalArgumentException("Unknown AI job type: " + type);
+        }
+        return jobType;
+    }
+
+    /**
+     * Count a new unfinished job against the user's limit, which is the smaller of the configured
+     * limit and the requests the rate limiter has left for them
+     */
+    private void reservePending(String userId) {
+        int remaining = rateLimiter.getRemainingRequests(userId);
+        synchronized (pendingByUser) {
+            int pending = pendingByUser.getOrDefault(userId, 0);
+            if (pending >= remaining) {
+                long retryAfter = pending > 0 ? PENDING_RETRY_AFTER_SECONDS : rateLimiter.getResetTime(userId);
+                logger.warn("AI job rejected for user: {}, no rate limit left, retry after: {}s", userId, retryAfter);
+                throw new RateLimitExceededException("Rate limit exceeded. Please try again later.", retryAfter);
+            }
+            if (pending >= maxPendingPerUser) {
+                throw new RateLimitExceededException(
+                        "Too many AI jobs in progress. Please wait for one to finish.", PENDING_RETRY_AFTER_SECONDS);
+            }
+            pendingByUser.put(userId, pending + 1);
+        }
+    }
+
+    private void releasePending(String userId) {
+        synchronized (pendingByUser) {
+            pendingByUser.computeIfPresent(userId, (key, pending) -> pending > 1 ? pending - 1 : null);
+        }
+    }
+
+    private void run(Job job) {
+        job.status = AIJobStatus.RUNNING;
+        try {
+            // The worker waits for the call so the pool size bounds concurrent generations
+            switch (job.type) {
+                case TITLE -> complete(job, aiService.generateTitleAsync(job.request, job.userId).join());
+                case DESCRIPTION -> complete(job, aiService.generateDescriptionAsync(job.request, job.userId).join());
+                default -> complete(job, aiService.generateListingAsync(job.request, job.userId).join());
+            }
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RateLimitExceededException || cause instanceof IllegalArgumentException) {
+                job.fail(cause.getMessage(), clock.getAsLong());
+            } else {
+                logger.error("AI job {} failed", job.id, cause);
+                job.fail("Failed to generate " + job.type.toLowerCase(Locale.ROOT), clock.getAsLong());
+            }
+        } finally {
+            releasePending(job.userId);
+            // An Error skips the handler above; fail the job anyway so waiters return and eviction can remove it
+            if (!job.done.isDone()) {
+                job.fail("Failed to generate " + job.type.toLowerCase(Locale.ROOT), clock.getAsLong());
+            }
+        }
+    }
+
+    private void complete(Job job, AIGenerationResponse response) {
+        if (!response.isSuccess()) {
+            job.fail(response.getErrorMessage(), clock.getAsLong());
+            return;
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("content", response.getContent());
+        result.put("tokenCount", response.getTokenCount());
+        result.put("responseTimeMs", response.getResponseTimeMs());
+        result.put("fallback", response.isFallback());
+        job.succeed(result, clock.getAsLong());
+    }
+
+    private void complete(Job job, AIListingResponse response) {
+        if (!response.isSuccess()) {
+            job.fail(response.getErrorMessage(), clock.getAsLong());
+            return;
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("title", response.getTitle());
+        result.put("description", response.getDescription());
+        result.put("tokenCount", response.getTokenCount());
+        result.put("responseTimeMs", response.getResponseTimeMs());
+        result.put("fallback", response.isFallback());
+        job.succeed(result, clock.getAsLong());
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static final class Job {
+
+        private final String id;
+        private final String userId;
+        private final String type;
+        private final AIGenerationRequest request;
+        private final long createdAt;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private volatile AIJobStatus status = AIJobStatus.QUEUED;
+        private volatile Map<String, Object> result;
+        private volatile String errorMessage;
+        private volatile long completedAt;
+
+        private Job(String id, String userId, String type, AIGenerationRequest request, long createdAt) {
+            this.id = id;
+            this.userId = userId;
+            this.type = type;
+            this.request = request;
+            this.createdAt = createdAt;
+        }
+
+        private void succeed(Map<String, Object> result, long now) {
+            this.result = result;
+            finish(AIJobStatus.SUCCEEDED, now);
+        }
+
+        private void fail(String errorMessage, long now) {
+            this.errorMessage = errorMessage;
+            finish(AIJobStatus.FAILED, now);
+        }
+
+        private void finish(AIJobStatus status, long now) {
+            this.completedAt = now;
+            this.status = status;
+            done.complete(null);
+        }
+
+        private AIJobDTO toDTO() {
+            AIJobStatus current = status;
+            boolean finished = current == AIJobStatus.SUCCEEDED || current == AIJobStatus.FAILED;
+            return new AIJobDTO(id, type, current, finished ? result : null, finished ? errorMessage : null,
+                    toDateTime(createdAt), finished ? toDateTime(completedAt) : null);
+        }
+    }
+}
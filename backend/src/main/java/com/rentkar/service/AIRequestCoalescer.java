@@ -0,0 +1,87 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.AIGenerationResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of identical AI prompts: while a call for a prompt is in flight,
+ * later callers with the same prompt wait for that call instead of starting their own.
+ * Rate limiting happens before a caller gets here and usage is recorded once a caller's future completes,
+ * so each caller is still counted individually.
+ */
+@Component
+public class AIRequestCoalescer {
+
+    private final Map<String, CompletableFuture<AIGenerationResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong upstreamCalls = new AtomicLong();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+
+    /**
+     * Run the call for a prompt, or join the call already in flight for it
+     * @param prompt Built prompt, together with maxTokens identifying the upstream request
+     * @param maxTokens Token limit sent with the prompt
+     * @param call Starts the upstream call; only invoked by the first caller
+     * @return future completed with the shared result; joiners get their own copy
+     */
+    public CompletableFuture<AIGenerationResponse> execute(String prompt, int maxTokens,
+                                                           Supplier<CompletableFuture<AIGenerationResponse>> call) {
+        String key = maxTokens + "\u0000" + prompt;
+        CompletableFuture<AIGenerationResponse> created = new CompletableFuture<>();
+        CompletableFuture<AIGenerationResponse> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalescedCalls.incrementAndGet();
+            return existing.thenApply(AIRequestCoalescer::copy);
+        }
+
+        upstreamCalls.incrementAndGet();
+        try {
+            call.get().whenComplete((response, error) -> {
+                // Remove before completing so callers arriving after the result start a fresh call
+                inFlight.remove(key, created);
+                if (error != null) {
+                    created.completeExceptionally(error);
+                } else {
+                    created.complete(response);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(e);
+        }
+        return created;
+    }
+
+    /**
+     * Number of calls actually sent upstream
+     */
+    public long getUpstreamCalls() {
+        return upstreamCalls.get();
+    }
+
+    /**
+     * Number of upstream calls saved by joining an identical call in flight
+     */
+    public long getCoalescedCalls() {
+        return coalescedCalls.get();
+    }
+
+    /**
+     * Number of distinct prompts currently in flight
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private static AIGenerationResponse copy(AIGenerationResponse response) {
+        AIGenerationResponse copy = new AIGenerationResponse(response.getContent(), response.getTokenCount(),
+                response.getResponseTimeMs(), response.isSuccess(), response.getErrorMessage());
+        copy.setFallback(response.isFallback());
+        return copy;
+    }
+}
@@ -0,0 +1,273 @@
+package com.rentkar.service;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.dto.AIGenerationResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Content-addressed cache of successful AI generations. Keys are a SHA-256 digest of the request type,
+ * the prompt version and the normalized request fields, so identical listings share one upstream call
+ * and any prompt change invalidates old entries. Entries expire after a TTL and the least recently used
+ * entry is evicted when the cache is full. The cache can be persisted to disk across restarts.
+ */
+@Component
+public class AIResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIResponseCache.class);
+
+    private final int maxEntries;
+    private final long ttlMs;
+    private final Path persistencePath;
+    private final LongSupplier clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Gson gson = new Gson();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public AIResponseCache(
+            @Value("${ai.cache.max-entries}") int maxEntries,
+            @Value("${ai.cache.ttl-seconds}") long ttlSeconds,
+            @Value("${ai.cache.persistence-path}") String persistencePath) {
+        this(maxEntries, ttlSeconds, persistencePath, System::currentTimeMillis);
+    }
+
+    AIResponseCache(int maxEntries, long ttlSeconds, String persistencePath, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlSeconds * 1000;
+        this.persistencePath = (persistencePath == null || persistencePath.isBlank()) ? null : Path.of(persistencePath);
+        this.clock = clock;
+    }
+
+    /**
+     * Build the cache key for a generation request
+     * @param requestType Generation type, e.g. TITLE or DESCRIPTION
+     * @param request Generation request with item details
+     * @return hex SHA-256 digest of the normalized request
+     */
+    public static String key(String requestType, AIGenerationRequest request) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append(requestType).append('\u0000')
+                .append(PromptBuilder.PROMPT_VERSION).append('\u0000')
+                .append(normalize(request.getItemName())).append('\u0000')
+                .append(normalize(request.getCategory())).append('\u0000')
+                .append(normalize(request.getCondition())).append('\u0000')
+                .append(normalize(request.getSpecifications())).append('\u0000')
+                .append(normalize(request.getAdditionalInfo()));
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Get a cached response, or null on a miss. Hits report a response time of 0ms.
+     */
+    public AIGenerationResponse get(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.isExpired(now, ttlMs)) {
+                entries.remove(key);
+                entry = null;
+            }
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return new AIGenerationResponse(entry.content, entry.tokenCount, 0);
+        }
+    }
+
+    /**
+     * Cache a response; failed and fallback responses are never cached
+     */
+    public void put(String key, AIGenerationResponse response) {
+        if (!isEnabled() || response == null || !response.isSuccess() || response.isFallback()) {
+            return;
+        }
+
+        Entry entry = new Entry(key, response.getContent(), response.getTokenCount(), clock.getAsLong());
+        synchronized (entries) {
+            entries.put(key, entry);
+            evictOverflow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Fraction of lookups served from the cache, 0 when nothing was looked up yet
+     */
+    public double getHitRate() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Load entries persisted by a previous run, skipping expired ones
+     */
+    @PostConstruct
+    public void load() {
+        if (!isEnabled() || persistencePath == null || !Files.exists(persistencePath)) {
+            return;
+        }
+
+        try (Reader reader = Files.newBufferedReader(persistencePath, StandardCharsets.UTF_8)) {
+            List<Entry> stored = gson.fromJson(reader, new TypeToken<List<Entry>>() {}.getType());
+            if (stored == null) {
+                return;
+            }
+            long now = clock.getAsLong();
+            synchronized (entries) {
+                for (Entry entry : stored) {
+                    if (entry.key != null && entry.content != null && !entry.isExpired(now, ttlMs)) {
+                        entries.put(entry.key, entry);
+                    }
+                }
+                evictOverflow();
+            }
+            logger.info("AI response cache loaded {} entries from {}", size(), persistencePath);
+        } catch (IOException | RuntimeException e) {
+            // A corrupt or unreadable snapshot only costs a cold cache
+            logger.warn("Failed to load AI response cache from {}: {}", persistencePath, e.getMessage());
+        }
+    }
+
+    /**
+     * Write live entries to disk, least recently used first, replacing the previous snapshot atomically
+     */
+    @PreDestroy
+    public void save() {
+        if (!isEnabled() || persistencePath == null) {
+            return;
+        }
+
+        List<Entry> snapshot;
+        long now = clock.getAsLong();
+        synchronized (entries) {
+            snapshot = new ArrayList<>(entries.size());
+            for (Entry entry : entries.values()) {
+                if (!entry.isExpired(now, ttlMs)) {
+                    snapshot.add(entry);
+                }
+            }
+        }
+
+        try {
+            Path parent = persistencePath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = persistencePath.resolveSibling(persistencePath.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                gson.toJson(snapshot, writer);
+            }
+            Files.move(temp, persistencePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("AI response cache saved {} entries to {}", snapshot.size(), persistencePath);
+        } catch (IOException e) {
+            logger.warn("Failed to save AI response cache to {}: {}", persistencePath, e.getMessage());
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry {
+
+        private String key;
+        private String content;
+        private int tokenCount;
+        private long storedAt;
+
+        private Entry() {
+        }
+
+        private Entry(String key, String content, int tokenCount, long storedAt) {
+            this.key = key;
+            this.content = content;
+            this.tokenCount = tokenCount;
+            this.storedAt = storedAt;
+        }
+
+        boolean isExpired(long now, long ttlMs) {
+            return now - storedAt >= ttlMs;
+        }
+    }
+}
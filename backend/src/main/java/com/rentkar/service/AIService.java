@@ -1,7 +1,14 @@
 package com.rentkar.service;
 
+import com.rentkar.dto.AIBatchResult;
 import com.rentkar.dto.AIGenerationRequest;
 import com.rentkar.dto.AIGenerationResponse;
+import com.rentkar.dto.AIListingResponse;
+import com.rentkar.exception.AIGenerationException;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for AI-powered content generation using Google Gemini API
@@ -24,12 +31,76 @@ public interface AIService {
      */
     AIGenerationResponse generateDescription(AIGenerationRequest request, String userId);
     
+    /**
+     * Generate an item title without blocking the calling thread
+     * @param request Generation request with item details
+     * @param userId User ID for rate limiting (null for IP-based)
+     * @return Future completed with the generated title response; API failures complete it with an error response
+     * @throws com.rentkar.exception.RateLimitExceededException if the rate limit is exceeded (thrown before any call is made)
+     */
+    CompletableFuture<AIGenerationResponse> generateTitleAsync(AIGenerationRequest request, String userId);
+    
+    /**
+     * Generate an item description without blocking the calling thread
+     * @param request Generation request with item details
+     * @param userId User ID for rate limiting (null for IP-based)
+     * @return Future completed with the generated description response; API failures complete it with an error response
+     * @throws com.rentkar.exception.RateLimitExceededException if the rate limit is exceeded (thrown before any call is made)
+     */
+    CompletableFuture<AIGenerationResponse> generateDescriptionAsync(AIGenerationRequest request, String userId);
+    
+    /**
+     * Generate an item description, emitting partial text as the model produces it.
+     * Concatenating the chunks yields the full description. Nothing is sent upstream until subscription,
+     * and cancelling the subscription aborts the upstream call.
+     * @param request Generation request with item details
+     * @param userId User ID for rate limiting (null for IP-based)
+     * @return Flux of text chunks; API failures terminate it with an {@link AIGenerationException}
+     * @throws com.rentkar.exception.RateLimitExceededException if the rate limit is exceeded (thrown before any call is made)
+     */
+    Flux<String> streamDescription(AIGenerationRequest request, String userId);
+    
+    /**
+     * Generate an item title and description together
+     * @param request Generation request with item details
+     * @param userId User ID for rate limiting (null for IP-based)
+     * @return Generated listing response
+     */
+    AIListingResponse generateListing(AIGenerationRequest request, String userId);
+    
+    /**
+     * Generate an item title and description together without blocking the calling thread
+     * @param request Generation request with item details
+     * @param userId User ID for rate limiting (null for IP-based)
+     * @return Future completed with the generated listing response
+     * @throws com.rentkar.exception.RateLimitExceededException if the rate limit is exceeded (thrown before any call is made)
+     */
+    CompletableFuture<AIListingResponse> generateListingAsync(AIGenerationRequest request, String userId);
+    
+    /**
+     * Generate titles, descriptions or listings for several items, emitting each result as it completes.
+     * The rate limit is checked once for the whole batch.
+     * @param type TITLE, DESCRIPTION or LISTING, in any case
+     * @param requests Generation requests with item details
+     * @param userId User ID for rate limiting (null for IP-based)
+     * @return Flux of results in completion order, each carrying the index of its request
+     * @throws IllegalArgumentException if the type is unknown
+     * @throws com.rentkar.exception.RateLimitExceededException if the rate limit is exceeded (thrown before any call is made)
+     */
+    Flux<AIBatchResult> generateBatch(String type, List<AIGenerationRequest> requests, String userId);
+    
     /**
      * Check if AI generation is available
      * @return true if API is configured and available
      */
     boolean isAvailable();
     
+    /**
+     * Get the state of the circuit breaker around the AI API
+     * @return CLOSED, OPEN or HALF_OPEN
+     */
+    String getCircuitState();
+    
     /**
      * Get remaining requests for user
      * @param userId User ID or IP address
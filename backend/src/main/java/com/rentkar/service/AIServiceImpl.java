@@ -1,19 +1,36 @@
 package com.rentkar.service;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.rentkar.dto.AIBatchResult;
 import com.rentkar.dto.AIGenerationRequest;
 import com.rentkar.dto.AIGenerationResponse;
+import com.rentkar.dto.AIListingResponse;
+import com.rentkar.exception.AIGenerationException;
 import com.rentkar.exception.RateLimitExceededException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 /**
  * Implementation of AIService using Google Gemini API
@@ -23,7 +40,13 @@ public class AIServiceImpl implements AIService {
     
     private static final Logger logger = LoggerFactory.getLogger(AIServiceImpl.class);
     
+    private static final String LISTING = "LISTING";
+    
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> SSE_EVENT =
+            new ParameterizedTypeReference<>() {};
+    
     private final WebClient webClient;
+    private final WebClient streamWebClient;
     private final Gson gson;
     private final boolean enabled;
     private final double temperature;
@@ -32,7 +55,14 @@ public class AIServiceImpl implements AIService {
     private final RateLimiter rateLimiter;
     private final int usageThresholdWarning;
     private final int rateLimitPerHour;
+    private final Duration requestTimeout;
+    private final AIResponseCache responseCache;
+    private final AIRequestCoalescer coalescer;
+    private final AICircuitBreaker circuitBreaker;
+    private final int batchConcurrency;
+    private final AIUsageLedger usageLedger;
     
+    @Autowired
     public AIServiceImpl(
             @Value("${gemini.api-key}") String apiKey,
             @Value("${gemini.api-endpoint}") String apiEndpoint,
@@ -44,7 +74,12 @@ public class AIServiceImpl implements AIService {
             @Value("${ai.max-tokens.description}") int maxTokensDescription,
             @Value("${ai.usage.threshold.warning}") int usageThresholdWarning,
             @Value("${ai.rate-limit.per-hour}") int rateLimitPerHour,
-            RateLimiter rateLimiter) {
+            RateLimiter rateLimiter,
+            AIResponseCache responseCache,
+            AIRequestCoalescer coalescer,
+            AICircuitBreaker circuitBreaker,
+            @Value("${ai.batch.max-concurrency}") int batchConcurrency,
+            AIUsageLedger usageLedger) {
         
         this.enabled = enabled;
         this.temperature = temperature;
@@ -53,6 +88,12 @@ public class AIServiceImpl implements AIService {
         this.usageThresholdWarning = usageThresholdWarning;
         this.rateLimitPerHour = rateLimitPerHour;
         this.rateLimiter = rateLimiter;
+        this.requestTimeout = Duration.ofMillis(timeoutMs);
+        this.responseCache = responseCache;
+        this.coalescer = coalescer;
+        this.circuitBreaker = circuitBreaker;
+        this.batchConcurrency = Math.max(1, batchConcurrency);
+        this.usageLedger = usageLedger;
         this.gson = new Gson();
         
         // Initialize WebClient for Gemini API
@@ -62,48 +103,249 @@ public class AIServiceImpl implements AIService {
                 .defaultHeader("x-goog-api-key", apiKey)
                 .build();
         
+        // Same API, streaming variant; alt=sse makes Gemini answer with Server-Sent Events
+        this.streamWebClient = WebClient.builder()
+                .baseUrl(apiEndpoint + "/models/" + model + ":streamGenerateContent?alt=sse")
+                .defaultHeader("Content-Type", "application/json")
+                .defaultHeader("x-goog-api-key", apiKey)
+                .build();
+        
         logger.info("AIService initialized - enabled: {}, timeout: {}ms", enabled, timeoutMs);
     }
     
     @Override
     public AIGenerationResponse generateTitle(AIGenerationRequest request, String userId) {
+        return generateTitleAsync(request, userId).join();
+    }
+    
+    @Override
+    public AIGenerationResponse generateDescription(AIGenerationRequest request, String userId) {
+        return generateDescriptionAsync(request, userId).join();
+    }
+    
+    @Override
+    public AIListingResponse generateListing(AIGenerationRequest request, String userId) {
+        return generateListingAsync(request, userId).join();
+    }
+    
+    @Override
+    public CompletableFuture<AIGenerationResponse> generateTitleAsync(AIGenerationRequest request, String userId) {
+        return generate(request, userId, "TITLE", PromptBuilder::buildTitlePrompt, maxTokensTitle,
+                UnaryOperator.identity());
+    }
+    
+    @Override
+    public CompletableFuture<AIGenerationResponse> generateDescriptionAsync(AIGenerationRequest request, String userId) {
+        return generate(request, userId, "DESCRIPTION", PromptBuilder::buildDescriptionPrompt, maxTokensDescription,
+                UnaryOperator.identity());
+    }
+    
+    /**
+     * Generate title and description with one prompt and one rate limit unit.
+     * The model answers with a JSON object, which is validated before it is cached.
+     */
+    @Override
+    public CompletableFuture<AIListingResponse> generateListingAsync(AIGenerationRequest request, String userId) {
+        return generate(request, userId, LISTING, PromptBuilder::buildListingPrompt,
+                maxTokensTitle + maxTokensDescription, response -> normalizeListing(response, userId))
+                .thenApply(this::toListingResponse);
+    }
+    
+    /**
+     * Stream a description from Gemini's streamGenerateContent endpoint. Cache hits are emitted as a single
+     * chunk without touching the rate limit; otherwise the rate limit is checked before subscription, exactly
+     * as in the blocking path. Streams are not coalesced, and the complete text is cached once the stream ends.
+     * When the circuit breaker or bulkhead rejects the call, the fallback template is emitted as a single chunk.
+     */
+    @Override
+    public Flux<String> streamDescription(AIGenerationRequest request, String userId) {
+        String requestType = "DESCRIPTION";
         if (!enabled) {
-            return new AIGenerationResponse("AI generation is currently disabled");
+            return Flux.error(new AIGenerationException("AI generation is currently disabled"));
         }
         
         // Log request details
-        logRequest(userId, "TITLE");
+        logRequest(userId, requestType);
+        
+        requireUserId(userId);
+        
+        String cacheKey = responseCache.isEnabled() ? AIResponseCache.key(requestType, request) : null;
+        if (cacheKey != null) {
+            AIGenerationResponse cached = responseCache.get(cacheKey);
+            if (cached != null) {
+                logger.debug("AI cache hit for user: {}, type: {}", sanitizeUserId(userId), requestType);
+                return Flux.just(cached.getContent());
+            }
+        }
+        
+        if (!circuitBreaker.allowsCalls()) {
+            circuitBreaker.recordRejection();
+            return Flux.just(fallbackResponse(request, requestType).getContent());
+        }
         
         // Check rate limit
         checkRateLimit(userId);
         
-        String prompt = PromptBuilder.buildTitlePrompt(request);
-        AIGenerationResponse response = callGeminiAPI(prompt, maxTokensTitle, userId, "TITLE");
-        
-        return response;
+        String prompt = PromptBuilder.buildDescriptionPrompt(request);
+        return Flux.defer(() -> {
+            AICircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+            if (permit == null) {
+                return Flux.just(fallbackResponse(request, requestType).getContent());
+            }
+            return streamGeminiAPI(permit, prompt, maxTokensDescription, userId, requestType, response -> {
+                if (cacheKey != null) {
+                    responseCache.put(cacheKey, response);
+                }
+            });
+        });
     }
     
-    @Override
-    public AIGenerationResponse generateDescription(AIGenerationRequest request, String userId) {
+    /**
+     * Serve a generation from the cache, or check the rate limit and call the API.
+     * Cache hits do not count against the user's rate limit; coalesced calls do.
+     * While the circuit breaker is open, or when the bulkhead is full, a local fallback template is returned instead.
+     */
+    private CompletableFuture<AIGenerationResponse> generate(AIGenerationRequest request, String userId, String requestType,
+                                                             Function<AIGenerationRequest, String> promptBuilder, int maxTokens,
+                                                             UnaryOperator<AIGenerationResponse> responseMapper) {
         if (!enabled) {
-            return new AIGenerationResponse("AI generation is currently disabled");
+            return CompletableFuture.completedFuture(new AIGenerationResponse("AI generation is currently disabled"));
         }
         
         // Log request details
-        logRequest(userId, "DESCRIPTION");
+        logRequest(userId, requestType);
+        
+        requireUserId(userId);
+        
+        String cacheKey = responseCache.isEnabled() ? AIResponseCache.key(requestType, request) : null;
+        if (cacheKey != null) {
+            AIGenerationResponse cached = responseCache.get(cacheKey);
+            if (cached != null) {
+                logger.debug("AI cache hit for user: {}, type: {}", sanitizeUserId(userId), requestType);
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        
+        // An open breaker answers right away, without spending the user's rate limit
+        if (!circuitBreaker.allowsCalls()) {
+            circuitBreaker.recordRejection();
+            return CompletableFuture.completedFuture(fallbackResponse(request, requestType));
+        }
         
         // Check rate limit
         checkRateLimit(userId);
         
-        String prompt = PromptBuilder.buildDescriptionPrompt(request);
-        AIGenerationResponse response = callGeminiAPI(prompt, maxTokensDescription, userId, "DESCRIPTION");
+        return callAPI(request, userId, requestType, promptBuilder, maxTokens, responseMapper, cacheKey);
+    }
+    
+    /**
+     * Generate several items of one type with a single rate limit check for the items not in the cache.
+     * Cache hits are emitted first; the rest run with at most ai.batch.max-concurrency calls in flight
+     * and are emitted as they complete. Each item still goes through coalescing, the bulkhead and the cache.
+     */
+    @Override
+    public Flux<AIBatchResult> generateBatch(String type, List<AIGenerationRequest> requests, String userId) {
+        String requestType = type == null ? "" : type.toUpperCase(Locale.ROOT);
+        Function<AIGenerationRequest, String> promptBuilder = switch (requestType) {
+            case "TITLE" -> PromptBuilder::buildTitlePrompt;
+            case "DESCRIPTION" -> PromptBuilder::buildDescriptionPrompt;
+            case LISTING -> PromptBuilder::buildListingPrompt;
+            default -> throw new IllegalArgumentException("Unknown AI generation type: " + type);
+        };
+        int maxTokens = "TITLE".equals(requestType) ? maxTokensTitle
+                : "DESCRIPTION".equals(requestType) ? maxTokensDescription
+                : maxTokensTitle + maxTokensDescription;
+        UnaryOperator<AIGenerationResponse> responseMapper = LISTING.equals(requestType)
+                ? response -> normalizeListing(response, userId)
+                : UnaryOperator.identity();
+        
+        if (!enabled) {
+            return Flux.error(new AIGenerationException("AI generation is currently disabled"));
+        }
+        
+        // Log request details
+        logRequest(userId, requestType);
+        
+        requireUserId(userId);
+        
+        List<AIBatchResult> hits = new ArrayList<>();
+        List<Integer> misses = new ArrayList<>();
+        String[] cacheKeys = new String[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            cacheKeys[i] = responseCache.isEnabled() ? AIResponseCache.key(requestType, requests.get(i)) : null;
+            AIGenerationResponse cached = cacheKeys[i] != null ? responseCache.get(cacheKeys[i]) : null;
+            if (cached != null) {
+                hits.add(toBatchResult(i, cached, requestType, true));
+            } else {
+                misses.add(i);
+            }
+        }
+        logger.debug("AI batch for user: {}, type: {}, items: {}, cache hits: {}",
+                sanitizeUserId(userId), requestType, requests.size(), hits.size());
+        if (misses.isEmpty()) {
+            return Flux.fromIterable(hits);
+        }
+        
+        // An open breaker answers right away, without spending the user's rate limit
+        if (!circuitBreaker.allowsCalls()) {
+            circuitBreaker.recordRejection();
+            return Flux.fromIterable(hits).concatWith(Flux.fromIterable(misses)
+                    .map(i -> toBatchResult(i, fallbackResponse(requests.get(i), requestType), requestType, false)));
+        }
+        
+        // The batch fits in the rate limit as a whole or is refused as a whole
+        checkRateLimit(userId, misses.size());
         
+        // Each item waits on its own dependent future, so cancelling the batch never cancels a coalesced call
+        Flux<AIBatchResult> generated = Flux.fromIterable(misses)
+                .flatMap(i -> Mono.fromFuture(() -> callAPI(requests.get(i), userId, requestType, promptBuilder,
+                                maxTokens, responseMapper, cacheKeys[i])
+                                .thenApply(response -> toBatchResult(i, response, requestType, false))),
+                        batchConcurrency);
+        return Flux.fromIterable(hits).concatWith(generated);
+    }
+    
+    /**
+     * Call the API for a request whose rate limit has been charged, and cache a successful result.
+     * Identical prompts in flight share one upstream call; without a bulkhead permit the fallback template is used.
+     * Usage is recorded for every caller once the shared call completes, so callers who joined a call in flight
+     * are charged its tokens just like the caller who started it.
+     */
+    private CompletableFuture<AIGenerationResponse> callAPI(AIGenerationRequest request, String userId, String requestType,
+                                                            Function<AIGenerationRequest, String> promptBuilder, int maxTokens,
+                                                            UnaryOperator<AIGenerationResponse> responseMapper,
+                                                            String cacheKey) {
+        // Identical prompts in flight share one upstream call
+        String prompt = promptBuilder.apply(request);
+        CompletableFuture<AIGenerationResponse> response = coalescer.execute(prompt, maxTokens, () -> {
+            AICircuitBreaker.Permit permit = circuitBreaker.tryAcquire();
+            return permit != null
+                    ? callGeminiAPI(permit, prompt, maxTokens, userId, requestType)
+                    : CompletableFuture.completedFuture(fallbackResponse(request, requestType));
+        }).thenApply(result -> {
+            recordUsage(userId, requestType, result);
+            return responseMapper.apply(result);
+        });
+        if (cacheKey != null) {
+            response = response.thenApply(result -> {
+                responseCache.put(cacheKey, result);
+                return result;
+            });
+        }
         return response;
     }
     
+    /**
+     * Available when generation is enabled and the circuit breaker would let a call through
+     */
     @Override
     public boolean isAvailable() {
-        return enabled;
+        return enabled && circuitBreaker.allowsCalls();
+    }
+    
+    @Override
+    public String getCircuitState() {
+        return circuitBreaker.getState().name();
     }
     
     @Override
@@ -115,12 +357,20 @@ public class AIServiceImpl implements AIService {
     }
     
     /**
-     * Check rate limit and throw exception if exceeded
+     * Reject requests without a user ID or IP address to rate limit against
      */
-    private void checkRateLimit(String userId) {
+    private void requireUserId(String userId) {
         if (userId == null || userId.isEmpty()) {
             throw new IllegalArgumentException("User ID is required for rate limiting");
         }
+    }
+    
+    /**
+     * Check rate limit and throw exception if exceeded
+     */
+    private void checkRateLimit(String userId) {
+        requireUserId(userId);
+        checkTokenBudget(userId);
         
         if (!rateLimiter.allowRequest(userId)) {
             long retryAfter = rateLimiter.getResetTime(userId);
@@ -133,114 +383,278 @@ public class AIServiceImpl implements AIService {
     }
     
     /**
-     * Call Gemini API with the given prompt
+     * Refuse calls once the user's daily token budget is used up
      */
-    private AIGenerationResponse callGeminiAPI(String prompt, int maxTokens, String userId, String requestType) {
+    private void checkTokenBudget(String userId) {
+        if (usageLedger.isOverBudget(userId)) {
+            long retryAfter = usageLedger.getSecondsUntilBudgetReset();
+            logger.warn("Token budget exceeded for user: {}, retry after: {}s", sanitizeUserId(userId), retryAfter);
+            throw new RateLimitExceededException(
+                "Daily AI token budget exceeded. Please try again tomorrow.", 
+                retryAfter
+            );
+        }
+    }
+    
+    /**
+     * Add a call answered by the API to the usage ledger; errors and fallback templates are not metered
+     */
+    private void recordUsage(String userId, String requestType, AIGenerationResponse response) {
+        if (response.isSuccess() && !response.isFallback()) {
+            usageLedger.record(userId, requestType, response.getTokenCount(), response.getResponseTimeMs());
+        }
+    }
+    
+    /**
+     * Check the rate limit for several requests at once and throw exception if they do not all fit
+     */
+    private void checkRateLimit(String userId, int requests) {
+        requireUserId(userId);
+        checkTokenBudget(userId);
+        
+        if (!rateLimiter.allowRequests(userId, requests)) {
+            long retryAfter = rateLimiter.getResetTime(userId);
+            logger.warn("Rate limit exceeded for user: {}, batch of {}, retry after: {}s", userId, requests, retryAfter);
+            throw new RateLimitExceededException(
+                "Rate limit exceeded. Please try again later.", 
+                retryAfter
+            );
+        }
+    }
+    
+    /**
+     * Call Gemini API with the given prompt. The returned future completes on the HTTP client's
+     * threads, so no request thread waits for the model; failures complete it with an error response.
+     * The permit is handed back to the circuit breaker with the call's outcome when the call finishes.
+     */
+    private CompletableFuture<AIGenerationResponse> callGeminiAPI(AICircuitBreaker.Permit permit, String prompt, int maxTokens,
+                                                                  String userId, String requestType) {
         long startTime = System.currentTimeMillis();
         
+        Mono<String> responseBody;
         try {
             // Build request body
-            JsonObject requestBody = buildRequestBody(prompt, maxTokens);
+            String requestBody = GeminiCodec.writeRequest(prompt, temperature, maxTokens, LISTING.equals(requestType));
             
-            // Make API call
-            String responseBody = webClient.post()
-                    .bodyValue(requestBody.toString())
+            // Prepare API call; nothing is sent until the Mono is subscribed
+            responseBody = webClient.post()
+                    .bodyValue(requestBody)
                     .retrieve()
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofMillis(30000))
-                    .block();
-            
-            // Parse response
-            JsonObject response = gson.fromJson(responseBody, JsonObject.class);
-            String generatedText = extractGeneratedText(response);
-            int tokenCount = extractTokenCount(response);
-            
-            long responseTime = System.currentTimeMillis() - startTime;
-            
-            // Log success with metrics
-            logSuccess(userId, requestType, responseTime, tokenCount);
-            
-            return new AIGenerationResponse(generatedText, tokenCount, responseTime);
-            
-        } catch (WebClientResponseException e) {
-            long responseTime = System.currentTimeMillis() - startTime;
-            String errorMessage = handleApiError(e);
+                    .bodyToMono(String.class);
+        } catch (Exception e) {
+            recordOutcome(permit, e);
+            return CompletableFuture.completedFuture(handleCallFailure(e, userId, requestType));
+        }
+        
+        return responseBody
+                .timeout(requestTimeout)
+                .switchIfEmpty(Mono.error(new IllegalStateException("Empty AI response")))
+                .doOnSuccess(body -> recordOutcome(permit, null))
+                .doOnError(e -> recordOutcome(permit, e))
+                .map(body -> parseResponse(body, startTime, userId, requestType))
+                .onErrorResume(e -> Mono.just(handleCallFailure(e, userId, requestType)))
+                .toFuture();
+    }
+    
+    /**
+     * Stream a Gemini API response as text chunks. Chunks are pulled from the HTTP client only as fast as
+     * the subscriber consumes them, and cancelling the subscription closes the upstream connection.
+     * The timeout applies to the wait for each chunk, so a stalled stream fails while a long one may continue.
+     * The permit is handed back to the circuit breaker when the stream ends or is cancelled.
+     * @param onComplete Receives the assembled response once the stream completes successfully
+     */
+    private Flux<String> streamGeminiAPI(AICircuitBreaker.Permit permit, String prompt, int maxTokens,
+                                         String userId, String requestType,
+                                         Consumer<AIGenerationResponse> onComplete) {
+        return Flux.defer(() -> {
+            long startTime = System.currentTimeMillis();
+            StringBuilder text = new StringBuilder();
+            AtomicInteger tokenCount = new AtomicInteger();
             
-            // Log error details
+            String requestBody = GeminiCodec.writeRequest(prompt, temperature, maxTokens, false);
+            return streamWebClient.post()
+                    .bodyValue(requestBody)
+                    .retrieve()
+                    .bodyToFlux(SSE_EVENT)
+                    .timeout(requestTimeout)
+                    .mapNotNull(event -> parseChunk(event.data(), tokenCount))
+                    .doOnNext(text::append)
+                    .concatWith(Mono.defer(() -> text.length() == 0
+                            ? Mono.error(new IllegalStateException("Empty AI response"))
+                            : Mono.empty()))
+                    .doOnComplete(() -> {
+                        long responseTime = System.currentTimeMillis() - startTime;
+                        logSuccess(userId, requestType, responseTime, tokenCount.get());
+                        AIGenerationResponse response =
+                                new AIGenerationResponse(text.toString().trim(), tokenCount.get(), responseTime);
+                        recordUsage(userId, requestType, response);
+                        onComplete.accept(response);
+                    })
+                    .doOnCancel(() -> logger.debug("AI stream cancelled for user: {}, type: {}",
+                            sanitizeUserId(userId), requestType));
+        }).doOnComplete(() -> recordOutcome(permit, null))
+                .doOnError(e -> recordOutcome(permit, e))
+                .doOnCancel(() -> circuitBreaker.release(permit))
+                .onErrorMap(e -> !(e instanceof AIGenerationException),
+                        e -> new AIGenerationException(handleCallFailure(e, userId, requestType).getErrorMessage()));
+    }
+    
+    /**
+     * Parse one streamed event. Each event is a partial Gemini response; the last one carries the usage metadata.
+     * @return the event's text, or null for events without text
+     */
+    private String parseChunk(String data, AtomicInteger tokenCount) {
+        if (data == null || data.isBlank()) {
+            return null;
+        }
+        GeminiCodec.ParsedResponse chunk = GeminiCodec.readResponse(data);
+        if (chunk.getTokenCount() > 0) {
+            tokenCount.set(chunk.getTokenCount());
+        }
+        
+        String text = chunk.getText();
+        return text == null || text.isEmpty() ? null : text;
+    }
+    
+    /**
+     * Parse a Gemini API response body into a generation response
+     */
+    private AIGenerationResponse parseResponse(String responseBody, long startTime, String userId, String requestType) {
+        GeminiCodec.ParsedResponse response = GeminiCodec.readResponse(responseBody);
+        String generatedText = extractGeneratedText(response);
+        int tokenCount = response.getTokenCount();
+        
+        long responseTime = System.currentTimeMillis() - startTime;
+        
+        // Log success with metrics
+        logSuccess(userId, requestType, responseTime, tokenCount);
+        
+        return new AIGenerationResponse(generatedText, tokenCount, responseTime);
+    }
+    
+    /**
+     * Log a failed API call and map it to a user-friendly error response
+     */
+    private AIGenerationResponse handleCallFailure(Throwable e, String userId, String requestType) {
+        if (e instanceof WebClientResponseException responseException) {
+            String errorMessage = handleApiError(responseException);
             logError(userId, requestType, e.getClass().getSimpleName(), errorMessage);
-            
             return new AIGenerationResponse(errorMessage);
-            
-        } catch (Exception e) {
-            long responseTime = System.currentTimeMillis() - startTime;
-            
-            // Log error details
-            logError(userId, requestType, e.getClass().getSimpleName(), "Unexpected error during AI generation");
-            
-            return new AIGenerationResponse("An unexpected error occurred. Please try again.");
         }
+        if (e instanceof TimeoutException) {
+            logError(userId, requestType, e.getClass().getSimpleName(), "AI request timed out");
+            return new AIGenerationResponse("AI service took too long to respond. Please try again.");
+        }
+        
+        // Log error details
+        logError(userId, requestType, e.getClass().getSimpleName(), "Unexpected error during AI generation");
+        
+        return new AIGenerationResponse("An unexpected error occurred. Please try again.");
     }
     
     /**
-     * Build Gemini API request body
+     * Report a finished call to the circuit breaker. Only failures that say something about the API's health
+     * count against it; errors caused by the request itself count as an answer.
      */
-    private JsonObject buildRequestBody(String prompt, int maxTokens) {
-        JsonObject requestBody = new JsonObject();
-        
-        // Build contents array
-        JsonArray contents = new JsonArray();
-        JsonObject content = new JsonObject();
-        JsonArray parts = new JsonArray();
-        JsonObject part = new JsonObject();
-        part.addProperty("text", prompt);
-        parts.add(part);
-        content.add("parts", parts);
-        contents.add(content);
-        requestBody.add("contents", contents);
-        
-        // Build generation config
-        JsonObject generationConfig = new JsonObject();
-        generationConfig.addProperty("temperature", temperature);
-        generationConfig.addProperty("maxOutputTokens", maxTokens);
-        generationConfig.addProperty("topP", 0.8);
-        generationConfig.addProperty("topK", 40);
-        requestBody.add("generationConfig", generationConfig);
-        
-        return requestBody;
+    private void recordOutcome(AICircuitBreaker.Permit permit, Throwable error) {
+        if (error != null && isUpstreamFailure(error)) {
+            circuitBreaker.onFailure(permit);
+        } else {
+            circuitBreaker.onSuccess(permit);
+        }
+    }
+    
+    private static boolean isUpstreamFailure(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            int statusCode = responseException.getStatusCode().value();
+            return statusCode == 429 || statusCode >= 500;
+        }
+        return e instanceof TimeoutException || e instanceof WebClientRequestException;
     }
     
     /**
-     * Extract generated text from Gemini API response
+     * Build a response from local templates for when the API is not called.
+     * Fallback responses are successful but flagged, so they are never cached.
      */
-    private String extractGeneratedText(JsonObject response) {
-        try {
-            return response.getAsJsonArray("candidates")
-                    .get(0).getAsJsonObject()
-                    .getAsJsonObject("content")
-                    .getAsJsonArray("parts")
-                    .get(0).getAsJsonObject()
-                    .get("text").getAsString()
-                    .trim();
-        } catch (Exception e) {
-            logger.error("Failed to extract generated text from response", e);
-            throw new RuntimeException("Failed to parse AI response");
+    private AIGenerationResponse fallbackResponse(AIGenerationRequest request, String requestType) {
+        String content;
+        if (LISTING.equals(requestType)) {
+            JsonObject listing = new JsonObject();
+            listing.addProperty("title", PromptBuilder.buildFallbackTitle(request));
+            listing.addProperty("description", PromptBuilder.buildFallbackDescription(request));
+            content = listing.toString();
+        } else if ("TITLE".equals(requestType)) {
+            content = PromptBuilder.buildFallbackTitle(request);
+        } else {
+            content = PromptBuilder.buildFallbackDescription(request);
         }
+        
+        AIGenerationResponse response = new AIGenerationResponse(content, 0, 0);
+        response.setFallback(true);
+        return response;
     }
     
     /**
-     * Extract token count from Gemini API response
+     * Validate a listing response and rewrite its content as a compact {"title", "description"} object.
+     * Malformed output becomes an error response so it is never cached.
      */
-    private int extractTokenCount(JsonObject response) {
+    private AIGenerationResponse normalizeListing(AIGenerationResponse response, String userId) {
+        if (!response.isSuccess()) {
+            return response;
+        }
+        
         try {
-            if (response.has("usageMetadata")) {
-                return response.getAsJsonObject("usageMetadata")
-                        .get("totalTokenCount").getAsInt();
+            String text = response.getContent();
+            int start = text.indexOf('{');
+            int end = text.lastIndexOf('}');
+            if (start < 0 || end < start) {
+                throw new IllegalStateException("No JSON object in listing response");
             }
-            return 0;
-        } catch (Exception e) {
-            logger.warn("Failed to extract token count from response", e);
-            return 0;
+            
+            // Tolerates a Markdown code fence or stray text around the object
+            JsonObject listing = gson.fromJson(text.substring(start, end + 1), JsonObject.class);
+            String title = listing.get("title").getAsString().trim();
+            String description = listing.get("description").getAsString().trim();
+            if (title.isEmpty() || description.isEmpty()) {
+                throw new IllegalStateException("Empty listing field");
+            }
+            
+            JsonObject normalized = new JsonObject();
+            normalized.addProperty("title", title);
+            normalized.addProperty("description", description);
+            return new AIGenerationResponse(normalized.toString(), response.getTokenCount(), response.getResponseTimeMs());
+        } catch (RuntimeException e) {
+            logError(userId, LISTING, e.getClass().getSimpleName(), "Malformed listing response");
+            return new AIGenerationResponse("Failed to parse AI response. Please try again.");
+        }
+    }
+    
+    private AIBatchResult toBatchResult(int index, AIGenerationResponse response, String requestType, boolean cached) {
+        return LISTING.equals(requestType)
+                ? new AIBatchResult(index, toListingResponse(response), cached)
+                : new AIBatchResult(index, response, cached);
+    }
+    
+    private AIListingResponse toListingResponse(AIGenerationResponse response) {
+        if (!response.isSuccess()) {
+            return new AIListingResponse(response.getErrorMessage());
+        }
+        JsonObject listing = gson.fromJson(response.getContent(), JsonObject.class);
+        AIListingResponse listingResponse = new AIListingResponse(listing.get("title").getAsString(),
+                listing.get("description").getAsString(), response.getTokenCount(), response.getResponseTimeMs());
+        listingResponse.setFallback(response.isFallback());
+        return listingResponse;
+    }
+    
+    /**
+     * Extract generated text from Gemini API response
+     */
+    private String extractGeneratedText(GeminiCodec.ParsedResponse response) {
+        if (response.getText() == null) {
+            logger.error("Failed to extract generated text from response");
+            throw new RuntimeException("Failed to parse AI response");
         }
+        return response.getText().trim();
     }
     
     /**
@@ -0,0 +1,350 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.AIUsageDTO;
+import com.rentkar.dto.AIUsageTotalsDTO;
+import com.rentkar.model.AIUsageEntry;
+import com.rentkar.repository.AIUsageEntryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Ledger of AI calls, tokens and response time per user and request type.
+ * Recording only bumps LongAdder counters, so concurrent calls for the same user do not contend.
+ * A background task drains the counters every flush interval and inserts one row per user and request type
+ * with activity into ai_usage_entries, in a single batch. Rows that fail to save are added back and retried
+ * on the next flush.
+ *
+ * Tokens used today are also kept per user, reloaded from the table on startup, for the optional daily
+ * token budget. The budget is checked before a call, so a user can go over it by at most one call's tokens.
+ */
+@Component
+public class AIUsageLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIUsageLedger.class);
+
+    private final AIUsageEntryRepository repository;
+    private final long dailyTokenBudget;
+    private final LongSupplier clock;
+    private final ZoneId zone;
+    private final Map<String, Counters> pending = new ConcurrentHashMap<>();
+    private final Map<String, DailyTokens> daily = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushExecutor;
+    private final AtomicLong flushedEntries = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    // Counters removed at the last flush; drained once more at the next one to catch late updates
+    private List<Counters> retired = new ArrayList<>();
+
+    @Autowired
+    public AIUsageLedger(
+            AIUsageEntryRepository repository,
+            @Value("${ai.usage.flush-interval-ms}") long flushIntervalMs,
+            @Value("${ai.usage.daily-token-budget}") long dailyTokenBudget) {
+        this(repository, flushIntervalMs, dailyTokenBudget, System::currentTimeMillis, ZoneId.systemDefault());
+    }
+
+    AIUsageLedger(AIUsageEntryRepository repository, long flushIntervalMs, long dailyTokenBudget,
+                  LongSupplier clock, ZoneId zone) {
+        this.repository = repository;
+        this.dailyTokenBudget = dailyTokenBudget;
+        this.clock = clock;
+        this.zone = zone;
+
+        if (flushIntervalMs > 0) {
+            this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ai-usage-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.flushExecutor.scheduleWithFixedDelay(this::flushSafely,
+                    flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.flushExecutor = null;
+        }
+        logger.info("AI usage ledger initialized - flush interval: {}ms, daily token budget: {}",
+                flushIntervalMs, dailyTokenBudget > 0 ? dailyTokenBudget : "none");
+    }
+
+    /**
+     * Record one completed AI API call
+     * @param usageKey User ID or IP address key
+     */
+    public void record(String usageKey, String requestType, int tokens, long responseTimeMs) {
+        if (usageKey == null || usageKey.isEmpty()) {
+            return;
+        }
+        add(usageKey, requestType, 1, tokens, responseTimeMs);
+        dailyTokens(usageKey).tokens.add(tokens);
+    }
+
+    /**
+     * Whether the key has used up its daily token budget; always false without a budget
+     */
+    public boolean isOverBudget(String usageKey) {
+        return dailyTokenBudget > 0 && getTokensUsedToday(usageKey) >= dailyTokenBudget;
+    }
+
+    /**
+     * Seconds until the daily token budget starts over, at midnight
+     */
+    public long getSecondsUntilBudgetReset() {
+        LocalDateTime now = now();
+        LocalDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay();
+        return Math.max(1, Duration.between(now, midnight).getSeconds());
+    }
+
+    public long getTokensUsedToday(String usageKey) {
+        DailyTokens tokens = usageKey == null ? null : daily.get(usageKey);
+        return tokens != null && tokens.day.equals(now().toLocalDate()) ? tokens.tokens.sum() : 0;
+    }
+
+    /**
+     * Usage of a key since the start of the day some days ago, including calls not flushed yet.
+     * The table and the in-memory counters are read under the flush lock, so a flush cannot move usage
+     * from the counters to the table between the two reads and drop it from the result.
+     * @param days 1 for today only
+     */
+    public AIUsageDTO getUsage(String usageKey, int days) {
+        LocalDateTime since = now().toLocalDate().minusDays(Math.max(1, days) - 1L).atStartOfDay();
+
+        Map<String, AIUsageTotalsDTO> byType = new TreeMap<>();
+        synchronized (this) {
+            for (Object[] row : repository.aggregateUsageByType(usageKey, since)) {
+                byType.computeIfAbsent((String) row[0], type -> new AIUsageTotalsDTO())
+                        .add(toLong(row[1]), toLong(row[2]), toLong(row[3]));
+            }
+            List<Counters> unflushed = new ArrayList<>(pending.values());
+            unflushed.addAll(retired);
+            for (Counters counters : unflushed) {
+                if (counters.usageKey.equals(usageKey)) {
+                    byType.computeIfAbsent(counters.requestType, type -> new AIUsageTotalsDTO())
+                            .add(counters.calls.sum(), counters.tokens.sum(), counters.responseTimeMs.sum());
+                }
+            }
+        }
+
+        AIUsageTotalsDTO total = new AIUsageTotalsDTO();
+        byType.values().forEach(type -> total.add(type.getCalls(), type.getTokens(), type.getResponseTimeMs()));
+
+        long usedToday = getTokensUsedToday(usageKey);
+        Long budget = dailyTokenBudget > 0 ? dailyTokenBudget : null;
+        Long remaining = budget != null ? Math.max(0, budget - usedToday) : null;
+        return new AIUsageDTO(since, total, byType, budget, usedToday, remaining);
+    }
+
+    /**
+     * Write all usage recorded since the last flush to the table
+     * @return number of rows written
+     */
+    public synchronized int flush() {
+        LocalDateTime now = now();
+        List<AIUsageEntry> entries = new ArrayList<>();
+
+        for (Counters counters : retired) {
+            AIUsageEntry entry = counters.drain(now);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        List<Counters> idle = new ArrayList<>();
+        for (Counters counters : pending.values()) {
+            AIUsageEntry entry = counters.drain(now);
+            if (entry != null) {
+                entries.add(entry);
+            } else {
+                // Record retries with fresh counters once these are retired
+                counters.retired = true;
+                pending.remove(counters.key(), counters);
+                idle.add(counters);
+            }
+        }
+        retired = idle;
+
+        LocalDate today = now.toLocalDate();
+        daily.values().removeIf(tokens -> !tokens.day.equals(today));
+
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        try {
+            repository.saveAll(entries);
+            flushedEntries.addAndGet(entries.size());
+            logger.debug("Flushed {} AI usage entries", entries.size());
+            return entries.size();
+        } catch (RuntimeException e) {
+            failedFlushes.incrementAndGet();
+            logger.warn("Failed to flush {} AI usage entries, will retry: {}", entries.size(), e.getMessage());
+            for (AIUsageEntry entry : entries) {
+                add(entry.getUsageKey(), entry.getRequestType(), entry.getCalls(), entry.getTokens(),
+                        entry.getResponseTimeMs());
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Reload tokens used today so budgets survive a restart
+     */
+    @PostConstruct
+    public void load() {
+        LocalDate today = now().toLocalDate();
+        try {
+            for (Object[] row : repository.aggregateTokensByKey(today.atStartOfDay())) {
+                DailyTokens tokens = new DailyTokens(today);
+                tokens.tokens.add(toLong(row[1]));
+                daily.put((String) row[0], tokens);
+            }
+            logger.info("Loaded today's AI token usage for {} keys", daily.size());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to load today's AI token usage: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushExecutor != null) {
+            flushExecutor.shutdownNow();
+        }
+        flush();
+    }
+
+    /**
+     * User and request type pairs with counters in memory
+     */
+    public int getPendingKeys() {
+        return pending.size();
+    }
+
+    public long getFlushedEntries() {
+        return flushedEntries.get();
+    }
+
+    public long getFailedFlushes() {
+        return failedFlushes.get();
+    }
+
+    public long getDailyTokenBudget() {
+        return dailyTokenBudget;
+    }
+
+    private void add(String usageKey, String requestType, long calls, long tokens, long responseTimeMs) {
+        String key = Counters.key(usageKey, requestType);
+        // A flush may retire the counters between lookup and update; retry with fresh ones
+        while (!pending.computeIfAbsent(key, k -> new Counters(usageKey, requestType))
+                .add(calls, tokens, responseTimeMs)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private DailyTokens dailyTokens(String usageKey) {
+        LocalDate today = now().toLocalDate();
+        DailyTokens tokens = daily.get(usageKey);
+        if (tokens == null || !tokens.day.equals(today)) {
+            tokens = daily.compute(usageKey, (key, current) ->
+                    current != null && current.day.equals(today) ? current : new DailyTokens(today));
+        }
+        return tokens;
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Keep the scheduled flush alive
+            logger.warn("AI usage flush failed: {}", e.getMessage());
+        }
+    }
+
+    private LocalDateTime now() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(clock.getAsLong()), zone);
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+
+    /**
+     * Usage of one key and request type since the last flush
+     */
+    private static final class Counters {
+
+        private final String usageKey;
+        private final String requestType;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder tokens = new LongAdder();
+        private final LongAdder responseTimeMs = new LongAdder();
+        private volatile boolean retired;
+
+        private Counters(String usageKey, String requestType) {
+            this.usageKey = usageKey;
+            this.requestType = requestType;
+        }
+
+        static String key(String usageKey, String requestType) {
+            return requestType + ':' + usageKey;
+        }
+
+        String key() {
+            return key(usageKey, requestType);
+        }
+
+        /**
+         * @return false if the counters were retired and the update must go to fresh ones
+         */
+        boolean add(long calls, long tokens, long responseTimeMs) {
+            if (retired) {
+                return false;
+            }
+            this.calls.add(calls);
+            this.tokens.add(tokens);
+            this.responseTimeMs.add(responseTimeMs);
+            return true;
+        }
+
+        /**
+         * Take the counts and reset them
+         * @return the counts as a ledger row, or null if there was no activity
+         */
+        AIUsageEntry drain(LocalDateTime now) {
+            long drainedCalls = calls.sumThenReset();
+            long drainedTokens = tokens.sumThenReset();
+            long drainedResponseTime = responseTimeMs.sumThenReset();
+            if (drainedCalls == 0 && drainedTokens == 0 && drainedResponseTime == 0) {
+                return null;
+            }
+            return new AIUsageEntry(usageKey, requestType, drainedCalls, drainedTokens, drainedResponseTime, now);
+        }
+    }
+
+    private static final class DailyTokens {
+
+        private final LocalDate day;
+        private final LongAdder tokens = new LongAdder();
+
+        private DailyTokens(LocalDate day) {
+            this.day = day;
+        }
+    }
+}
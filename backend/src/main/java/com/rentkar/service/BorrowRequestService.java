@@ -2,6 +2,7 @@ package com.rentkar.service;
 
 import com.rentkar.dto.BorrowRequestDTO;
 import com.rentkar.dto.CreateBorrowRequestDTO;
+import com.rentkar.dto.CursorPage;
 import com.rentkar.model.BorrowRequest;
 import com.rentkar.model.RequestStatus;
 import com.rentkar.model.User;
@@ -36,6 +37,28 @@ public interface BorrowRequestService {
      */
     List<BorrowRequest> getReceivedRequests(User lender, RequestStatus status);
     
+    /**
+     * Get one page of requests sent by a user, newest first
+     * @param borrower The user who sent the requests
+     * @param status Optional status filter (null for all)
+     * @param cursor Cursor returned by the previous page (null or empty for the first page)
+     * @param size Maximum number of requests in the page
+     * @return Page of borrow request DTOs with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed or size is not positive
+     */
+    CursorPage<BorrowRequestDTO> getSentRequests(User borrower, RequestStatus status, String cursor, int size);
+    
+    /**
+     * Get one page of requests received by a user, newest first
+     * @param lender The user who owns the items
+     * @param status Optional status filter (null for all)
+     * @param cursor Cursor returned by the previous page (null or empty for the first page)
+     * @param size Maximum number of requests in the page
+     * @return Page of borrow request DTOs with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed or size is not positive
+     */
+    CursorPage<BorrowRequestDTO> getReceivedRequests(User lender, RequestStatus status, String cursor, int size);
+    
     /**
      * Get request by ID with authorization check
      * @param id The request ID
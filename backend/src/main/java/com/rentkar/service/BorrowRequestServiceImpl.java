@@ -2,6 +2,7 @@ package com.rentkar.service;
 
 import com.rentkar.dto.BorrowRequestDTO;
 import com.rentkar.dto.CreateBorrowRequestDTO;
+import com.rentkar.dto.CursorPage;
 import com.rentkar.dto.RequestStatistics;
 import com.rentkar.model.BorrowRequest;
 import com.rentkar.model.Item;
@@ -11,6 +12,8 @@ import com.rentkar.model.User;
 import com.rentkar.repository.BorrowRequestRepository;
 import com.rentkar.repository.ItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,14 +26,20 @@ public class BorrowRequestServiceImpl implements BorrowRequestService {
     private final BorrowRequestRepository borrowRequestRepository;
     private final ItemRepository itemRepository;
     private final BorrowRequestMapper mapper;
+    private final ItemSearchIndex searchIndex;
+    private final RequestStatisticsCache statisticsCache;
     
     @Autowired
     public BorrowRequestServiceImpl(BorrowRequestRepository borrowRequestRepository,
                                    ItemRepository itemRepository,
-                                   BorrowRequestMapper mapper) {
+                                   BorrowRequestMapper mapper,
+                                   ItemSearchIndex searchIndex,
+                                   RequestStatisticsCache statisticsCache) {
         this.borrowRequestRepository = borrowRequestRepository;
         this.itemRepository = itemRepository;
         this.mapper = mapper;
+        this.searchIndex = searchIndex;
+        this.statisticsCache = statisticsCache;
     }
     
     @Override
@@ -69,6 +78,7 @@ public class BorrowRequestServiceImpl implements BorrowRequestService {
         request.setRequestMessage(dto.getRequestMessage());
         
         BorrowRequest savedRequest = borrowRequestRepository.save(request);
+        statisticsCache.recordChange(borrower.getId(), item.getOwner().getId(), null, RequestStatus.PENDING);
         return mapper.toDTO(savedRequest);
     }
     
@@ -92,6 +102,54 @@ public class BorrowRequestServiceImpl implements BorrowRequestService {
         }
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BorrowRequestDTO> getSentRequests(User borrower, RequestStatus status, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable probe = PageRequest.of(0, size + 1);
+        
+        List<BorrowRequest> requests;
+        if (after == null) {
+            requests = (status == null)
+                ? borrowRequestRepository.findFirstPageByBorrowerId(borrower.getId(), probe)
+                : borrowRequestRepository.findFirstPageByBorrowerIdAndStatus(borrower.getId(), status, probe);
+        } else {
+            requests = (status == null)
+                ? borrowRequestRepository.findPageByBorrowerIdAfter(
+                    borrower.getId(), after.getCreatedAt(), after.getId(), probe)
+                : borrowRequestRepository.findPageByBorrowerIdAndStatusAfter(
+                    borrower.getId(), status, after.getCreatedAt(), after.getId(), probe);
+        }
+        return PageCursor.toPage(requests, size, BorrowRequest::getCreatedAt, BorrowRequest::getId, mapper::toDTO);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BorrowRequestDTO> getReceivedRequests(User lender, RequestStatus status, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable probe = PageRequest.of(0, size + 1);
+        
+        List<BorrowRequest> requests;
+        if (after == null) {
+            requests = (status == null)
+                ? borrowRequestRepository.findFirstPageByLenderId(lender.getId(), probe)
+                : borrowRequestRepository.findFirstPageByLenderIdAndStatus(lender.getId(), status, probe);
+        } else {
+            requests = (status == null)
+                ? borrowRequestRepository.findPageByLenderIdAfter(
+                    lender.getId(), after.getCreatedAt(), after.getId(), probe)
+                : borrowRequestRepository.findPageByLenderIdAndStatusAfter(
+                    lender.getId(), status, after.getCreatedAt(), after.getId(), probe);
+        }
+        return PageCursor.toPage(requests, size, BorrowRequest::getCreatedAt, BorrowRequest::getId, mapper::toDTO);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public BorrowRequest getRequestById(Long id, User user) {
@@ -143,6 +201,9 @@ public class BorrowRequestServiceImpl implements BorrowRequestService {
         // Change item status to BORROWED
         item.setStatus(ItemStatus.BORROWED);
         itemRepository.save(item);
+        searchIndex.updateStatus(item.getId(), item.getStatus());
+        
+        recordStatusChange(request, RequestStatus.PENDING, RequestStatus.APPROVED);
         
         return borrowRequestRepository.save(request);
     }
@@ -174,6 +235,8 @@ public class BorrowRequestServiceImpl implements BorrowRequestService {
         
         // Keep item status as AVAILABLE (no change needed)
         
+        recordStatusChange(request, RequestStatus.PENDING, RequestStatus.REJECTED);
+        
         return borrowRequestRepository.save(request);
     }
     
@@ -204,6 +267,9 @@ public class BorrowRequestServiceImpl implements BorrowRequestService {
         Item item = request.getItem();
         item.setStatus(ItemStatus.AVAILABLE);
         itemRepository.save(item);
+        searchIndex.updateStatus(item.getId(), item.getStatus());
+        
+        recordStatusChange(request, RequestStatus.APPROVED, RequestStatus.RETURNED);
         
         return borrowRequestRepository.save(request);
     }
@@ -231,6 +297,8 @@ public class BorrowRequestServiceImpl implements BorrowRequestService {
         // Record completion timestamp
         request.setCompletedAt(java.time.LocalDateTime.now());
         
+        recordStatusChange(request, RequestStatus.RETURNED, RequestStatus.COMPLETED);
+        
         return borrowRequestRepository.save(request);
     }
     
@@ -253,41 +321,16 @@ public class BorrowRequestServiceImpl implements BorrowRequestService {
         
         // Delete the request (do not affect item status)
         borrowRequestRepository.delete(request);
+        recordStatusChange(request, RequestStatus.PENDING, null);
     }
     
     @Override
     @Transactional(readOnly = true)
     public RequestStatistics getStatistics(User user) {
-        Long userId = user.getId();
-        
-        // Count requests by status for borrower (sent requests)
-        int sentPending = (int) borrowRequestRepository.countByBorrowerAndStatus(userId, RequestStatus.PENDING);
-        int sentApproved = (int) borrowRequestRepository.countByBorrowerAndStatus(userId, RequestStatus.APPROVED);
-        int sentRejected = (int) borrowRequestRepository.countByBorrowerAndStatus(userId, RequestStatus.REJECTED);
-        int sentReturned = (int) borrowRequestRepository.countByBorrowerAndStatus(userId, RequestStatus.RETURNED);
-        int sentCompleted = (int) borrowRequestRepository.countByBorrowerAndStatus(userId, RequestStatus.COMPLETED);
-        
-        // Count requests by status for lender (received requests)
-        int receivedPending = (int) borrowRequestRepository.countByLenderAndStatus(userId, RequestStatus.PENDING);
-        int receivedApproved = (int) borrowRequestRepository.countByLenderAndStatus(userId, RequestStatus.APPROVED);
-        int receivedRejected = (int) borrowRequestRepository.countByLenderAndStatus(userId, RequestStatus.REJECTED);
-        int receivedReturned = (int) borrowRequestRepository.countByLenderAndStatus(userId, RequestStatus.RETURNED);
-        int receivedCompleted = (int) borrowRequestRepository.countByLenderAndStatus(userId, RequestStatus.COMPLETED);
-        
-        // Calculate totals
-        int totalSent = sentPending + sentApproved + sentRejected + sentReturned + sentCompleted;
-        int totalReceived = receivedPending + receivedApproved + receivedRejected + receivedReturned + receivedCompleted;
-        
-        // Create statistics object with combined counts
-        RequestStatistics stats = new RequestStatistics();
-        stats.setPendingCount(sentPending + receivedPending);
-        stats.setApprovedCount(sentApproved + receivedApproved);
-        stats.setRejectedCount(sentRejected + receivedRejected);
-        stats.setReturnedCount(sentReturned + receivedReturned);
-        stats.setCompletedCount(sentCompleted + receivedCompleted);
-        stats.setTotalSent(totalSent);
-        stats.setTotalReceived(totalReceived);
-        
-        return stats;
+        return statisticsCache.getStatistics(user.getId());
+    }
+    
+    private void recordStatusChange(BorrowRequest request, RequestStatus from, RequestStatus to) {
+        statisticsCache.recordChange(request.getBorrower().getId(), request.getLender().getId(), from, to);
     }
 }
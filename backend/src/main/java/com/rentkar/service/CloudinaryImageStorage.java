@@ -0,0 +1,51 @@
+package com.rentkar.service;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "image.storage.type", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryImageStorage implements ImageStorage {
+    
+    private final Cloudinary cloudinary;
+    
+    @Autowired
+    public CloudinaryImageStorage(
+            @Value("${cloudinary.cloud-name}") String cloudName,
+            @Value("${cloudinary.api-key}") String apiKey,
+            @Value("${cloudinary.api-secret}") String apiSecret) {
+        this(new Cloudinary(ObjectUtils.asMap(
+            "cloud_name", cloudName,
+            "api_key", apiKey,
+            "api_secret", apiSecret
+        )));
+    }
+    
+    public CloudinaryImageStorage(Cloudinary cloudinary) {
+        this.cloudinary = cloudinary;
+    }
+    
+    @Override
+    public String store(Path file, String contentType) throws IOException {
+        // Passed as a file so the HTTP client streams it from disk
+        Map uploadResult = cloudinary.uploader().upload(file.toFile(),
+            ObjectUtils.asMap(
+                "folder", "rentkar/items",
+                "resource_type", "image"
+            ));
+        
+        return (String) uploadResult.get("secure_url");
+    }
+    
+    public void deleteImage(String publicId) throws IOException {
+        cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+    }
+}
@@ -0,0 +1,219 @@
+package com.rentkar.service;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * Streaming codec for Gemini generateContent requests and responses.
+ * Requests are written token by token instead of building a JsonObject tree first, and responses are read
+ * with a pull parser that keeps only the generated text and the total token count, skipping everything else
+ * (safety ratings, citations, prompt feedback) without materializing it.
+ */
+public class GeminiCodec {
+
+    private GeminiCodec() {
+    }
+
+    /**
+     * Write a generateContent request body
+     * @param jsonResponse Ask the model to answer with a JSON document
+     * @return the request body as JSON
+     */
+    public static String writeRequest(String prompt, double temperature, int maxTokens, boolean jsonResponse) {
+        // Prompts dominate the body; leave room for the fixed envelope
+        StringWriter out = new StringWriter(prompt.length() + 192);
+        try {
+            writeRequest(out, prompt, temperature, maxTokens, jsonResponse);
+        } catch (IOException e) {
+            // StringWriter does not throw
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Write a generateContent request body to a writer
+     */
+    public static void writeRequest(Writer out, String prompt, double temperature, int maxTokens,
+                                    boolean jsonResponse) throws IOException {
+        JsonWriter writer = new JsonWriter(out);
+        writer.beginObject();
+
+        writer.name("contents").beginArray().beginObject();
+        writer.name("parts").beginArray().beginObject();
+        writer.name("text").value(prompt);
+        writer.endObject().endArray();
+        writer.endObject().endArray();
+
+        writer.name("generationConfig").beginObject();
+        writer.name("temperature").value(temperature);
+        writer.name("maxOutputTokens").value(maxTokens);
+        writer.name("topP").value(0.8);
+        writer.name("topK").value(40);
+        if (jsonResponse) {
+            writer.name("responseMimeType").value("application/json");
+        }
+        writer.endObject();
+
+        writer.endObject();
+        writer.flush();
+    }
+
+    /**
+     * Read a generateContent response, or one event of a streamed response
+     * @throws JsonParseException if the body is not valid JSON
+     */
+    public static ParsedResponse readResponse(String body) {
+        return readResponse(new StringReader(body));
+    }
+
+    /**
+     * Read a generateContent response from a reader
+     * @throws JsonParseException if the body is not valid JSON
+     */
+    public static ParsedResponse readResponse(Reader in) {
+        try {
+            JsonReader reader = new JsonReader(in);
+            String text = null;
+            int tokenCount = 0;
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if ("candidates".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    text = readCandidates(reader);
+                } else if ("usageMetadata".equals(name) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    tokenCount = readTotalTokenCount(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            return new ParsedResponse(text, tokenCount);
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new JsonParseException("Malformed Gemini response", e);
+        }
+    }
+
+    /**
+     * Text of the first candidate; later candidates are skipped
+     */
+    private static String readCandidates(JsonReader reader) throws IOException {
+        String text = null;
+        reader.beginArray();
+        if (reader.hasNext()) {
+            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                text = readCandidate(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        while (reader.hasNext()) {
+            reader.skipValue();
+        }
+        reader.endArray();
+        return text;
+    }
+
+    private static String readCandidate(JsonReader reader) throws IOException {
+        String text = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("content".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                text = readContent(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return text;
+    }
+
+    /**
+     * Concatenated text of all parts; null when no part has text
+     */
+    private static String readContent(JsonReader reader) throws IOException {
+        StringBuilder text = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!"parts".equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                continue;
+            }
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                    reader.skipValue();
+                    continue;
+                }
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if ("text".equals(reader.nextName()) && reader.peek() == JsonToken.STRING) {
+                        String part = reader.nextString();
+                        if (text == null) {
+                            text = new StringBuilder(part.length());
+                        }
+                        text.append(part);
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+        return text == null ? null : text.toString();
+    }
+
+    private static int readTotalTokenCount(JsonReader reader) throws IOException {
+        int tokenCount = 0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if ("totalTokenCount".equals(reader.nextName()) && reader.peek() == JsonToken.NUMBER) {
+                tokenCount = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return tokenCount;
+    }
+
+    /**
+     * The fields of a Gemini response the service uses
+     */
+    public static final class ParsedResponse {
+
+        private final String text;
+        private final int tokenCount;
+
+        ParsedResponse(String text, int tokenCount) {
+            this.text = text;
+            this.tokenCount = tokenCount;
+        }
+
+        /**
+         * Generated text of the first candidate, or null if the response has none
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Total token count from the usage metadata, or 0 if absent
+         */
+        public int getTokenCount() {
+            return tokenCount;
+        }
+    }
+}
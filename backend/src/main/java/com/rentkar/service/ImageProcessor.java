@@ -0,0 +1,401 @@
+package com.rentkar.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shrinks uploaded images before they are stored.
+ * Images are decoded, scaled down to fit the configured maximum size, turned upright according to their EXIF
+ * orientation and written again without any metadata: as a JPEG, or as a PNG if they have transparent pixels.
+ * Large images are subsampled while decoding, so a worker never holds the full-resolution pixels.
+ * The perceptual hash of the result is computed from the same pixels, for finding similar images.
+ *
+ * Decoding and encoding are CPU and memory heavy, so they run on a fixed pool of workers with a bounded queue.
+ * When the queue is full the upload is rejected rather than queued without limit. GIFs, which may be animated,
+ * and formats ImageIO cannot read are stored as they are.
+ */
+@Component
+public class ImageProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageProcessor.class);
+
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    private final boolean enabled;
+    private final int maxWidth;
+    private final int maxHeight;
+    private final float jpegQuality;
+    private final ThreadPoolExecutor workers;
+
+    @Autowired
+    public ImageProcessor(
+            @Value("${image.processing.enabled}") boolean enabled,
+            @Value("${image.processing.max-width}") int maxWidth,
+            @Value("${image.processing.max-height}") int maxHeight,
+            @Value("${image.processing.jpeg-quality}") float jpegQuality,
+            @Value("${image.processing.workers}") int workers,
+            @Value("${image.processing.queue-capacity}") int queueCapacity) {
+        this(enabled, maxWidth, maxHeight, jpegQuality, enabled ? createWorkers(workers, queueCapacity) : null);
+    }
+
+    ImageProcessor(boolean enabled, int maxWidth, int maxHeight, float jpegQuality, ThreadPoolExecutor workers) {
+        if (enabled && (maxWidth < 1 || maxHeight < 1 || jpegQuality <= 0 || jpegQuality > 1)) {
+            throw new IllegalArgumentException("Image max size must be positive and JPEG quality in (0, 1]");
+        }
+        this.enabled = enabled;
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.jpegQuality = jpegQuality;
+        this.workers = workers;
+
+        if (enabled) {
+            logger.info("Image processing initialized - max size: {}x{}, JPEG quality: {}, workers: {}",
+                    maxWidth, maxHeight, jpegQuality, workers.getMaximumPoolSize());
+        } else {
+            logger.info("Image processing disabled, uploads are stored as they are");
+        }
+    }
+
+    /**
+     * Process an uploaded image on the worker pool, waiting for the result
+     * @param source Uploaded image; left in place
+     * @return the processed image in a new temp file, or the source itself if it is stored as it is
+     * @throws java.util.concurrent.RejectedExecutionException if all workers are busy and the queue is full
+     */
+    public ProcessedImage process(Path source, String contentType) throws IOException {
+        long originalBytes = Files.size(source);
+        if (!enabled || "image/gif".equalsIgnoreCase(contentType)) {
+            return new ProcessedImage(source, contentType, originalBytes, originalBytes, null);
+        }
+
+        Future<ProcessedImage> result = workers.submit(() -> reencode(source, contentType, originalBytes));
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while processing image", e);
+        } catch (ExecutionException e) {
+            // Store images that cannot be decoded or encoded as they are
+            logger.warn("Failed to process {} image, storing original: {}", contentType, e.getCause().getMessage());
+            return new ProcessedImage(source, contentType, originalBytes, originalBytes, null);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    private ProcessedImage reencode(Path source, String contentType, long originalBytes) throws IOException {
+        BufferedImage decoded;
+        int orientation;
+        int targetWidth;
+        int targetHeight;
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                logger.debug("No decoder for {} image, storing original", contentType);
+                return new ProcessedImage(source, contentType, originalBytes, originalBytes, null);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                orientation = "jpeg".equalsIgnoreCase(reader.getFormatName()) ? readExifOrientation(source) : 1;
+                // The maximum size applies to the image as displayed, after rotation
+                boolean rotated = orientation >= 5;
+                double scale = Math.min(1.0, Math.min(
+                        (double) maxWidth / (rotated ? height : width),
+                        (double) maxHeight / (rotated ? width : height)));
+                targetWidth = Math.max(1, (int) Math.round(width * scale));
+                targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+                // Skip rows and columns while decoding, leaving at most twice the target size to scale smoothly
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = (int) Math.floor(1 / scale);
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                decoded = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        boolean transparent = decoded.getColorModel().hasAlpha() && hasTransparentPixels(decoded);
+        BufferedImage image = draw(decoded, targetWidth, targetHeight, orientation, transparent);
+        long perceptualHash = PerceptualHash.dHash(image);
+
+        String format = transparent ? "png" : "jpeg";
+        Path target = Files.createTempFile("rentkar-image-", transparent ? ".png" : ".jpg").toAbsolutePath();
+        try {
+            write(image, format, target);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+
+        ProcessedImage processed = new ProcessedImage(target, "image/" + format, originalBytes, Files.size(target),
+                perceptualHash);
+        logger.info("Processed {} image to {}x{} {}: {} -> {} bytes ({} saved)", contentType, image.getWidth(),
+                image.getHeight(), format, originalBytes, processed.getBytes(), processed.getBytesSaved());
+        return processed;
+    }
+
+    /**
+     * Scale the decoded image to the target size and apply the EXIF orientation in one pass
+     */
+    private BufferedImage draw(BufferedImage decoded, int width, int height, int orientation, boolean transparent) {
+        boolean rotated = orientation >= 5;
+        BufferedImage image = new BufferedImage(rotated ? height : width, rotated ? width : height,
+                transparent ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            AffineTransform transform = orientationTransform(orientation, width, height);
+            transform.scale((double) width / decoded.getWidth(), (double) height / decoded.getHeight());
+            graphics.drawImage(decoded, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        if ("png".equals(format)) {
+            if (!ImageIO.write(image, "png", target.toFile())) {
+                throw new IOException("No PNG encoder available");
+            }
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(out);
+            // No metadata is passed, so only a bare JFIF header is written
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Transform that turns an image of the given size upright for an EXIF orientation (1 to 8)
+     */
+    static AffineTransform orientationTransform(int orientation, int width, int height) {
+        AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2 -> {
+                transform.scale(-1, 1);
+                transform.translate(-width, 0);
+            }
+            case 3 -> {
+                transform.translate(width, height);
+                transform.rotate(Math.PI);
+            }
+            case 4 -> {
+                transform.scale(1, -1);
+                transform.translate(0, -height);
+            }
+            case 5 -> {
+                transform.rotate(-Math.PI / 2);
+                transform.scale(-1, 1);
+            }
+            case 6 -> {
+                transform.translate(height, 0);
+                transform.rotate(Math.PI / 2);
+            }
+            case 7 -> {
+                transform.scale(-1, 1);
+                transform.translate(-height, width);
+                transform.rotate(3 * Math.PI / 2);
+            }
+            case 8 -> {
+                transform.translate(0, width);
+                transform.rotate(3 * Math.PI / 2);
+            }
+            default -> {
+                // 1 or unknown: already upright
+            }
+        }
+        return transform;
+    }
+
+    /**
+     * Read the EXIF orientation of a JPEG file from its APP1 segment
+     * @return orientation 1 to 8; 1 if there is none
+     */
+    static int readExifOrientation(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                // Metadata segments all come before the image data
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+                    return 1;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker == 0xFFE1) {
+                    byte[] segment = new byte[length];
+                    in.readFully(segment);
+                    int orientation = exifOrientation(segment);
+                    if (orientation > 0) {
+                        return orientation;
+                    }
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (IOException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * @return orientation 1 to 8, or 0 if the segment is not EXIF or has no valid orientation
+     */
+    private static int exifOrientation(byte[] segment) {
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i'
+                || segment[3] != 'f' || segment[4] != 0 || segment[5] != 0) {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        tiff.order(segment[6] == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        if (tiff.getShort(2) != 42) {
+            return 0;
+        }
+        int ifd = tiff.getInt(4);
+        if (ifd < 8 || ifd > tiff.limit() - 2) {
+            return 0;
+        }
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry > tiff.limit() - 12) {
+                break;
+            }
+            if ((tiff.getShort(entry) & 0xFFFF) == EXIF_ORIENTATION_TAG) {
+                int orientation = tiff.getShort(entry + 8) & 0xFFFF;
+                return orientation >= 1 && orientation <= 8 ? orientation : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean hasTransparentPixels(BufferedImage image) {
+        int[] row = new int[image.getWidth()];
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, row.length, 1, row, 0, row.length);
+            for (int argb : row) {
+                if (argb >>> 24 != 0xFF) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static ThreadPoolExecutor createWorkers(int workers, int queueCapacity) {
+        if (workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Image processing workers and queue capacity must be at least 1");
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-processor-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * An image ready to be stored
+     */
+    public static final class ProcessedImage {
+
+        private final Path file;
+        private final String contentType;
+        private final long originalBytes;
+        private final long bytes;
+        private final Long perceptualHash;
+
+        ProcessedImage(Path file, String contentType, long originalBytes, long bytes, Long perceptualHash) {
+            this.file = file;
+            this.contentType = contentType;
+            this.originalBytes = originalBytes;
+            this.bytes = bytes;
+            this.perceptualHash = perceptualHash;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public long getOriginalBytes() {
+            return originalBytes;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getBytesSaved() {
+            return originalBytes - bytes;
+        }
+
+        /**
+         * @return dHash of the processed image, or null if it is stored as it is
+         */
+        public Long getPerceptualHash() {
+            return perceptualHash;
+        }
+    }
+}
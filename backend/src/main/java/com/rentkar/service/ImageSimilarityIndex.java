@@ -0,0 +1,63 @@
+package com.rentkar.service;
+
+import com.rentkar.model.Item;
+
+import java.util.List;
+
+/**
+ * In-process index of item images by perceptual hash, for finding items with similar looking images
+ */
+public interface ImageSimilarityIndex {
+
+    /**
+     * Largest Hamming distance between perceptual hashes that can be searched for.
+     * Images more than about 10 of 64 bits apart rarely look alike.
+     */
+    int MAX_DISTANCE = 11;
+
+    /**
+     * Add or replace an item in the index, by the perceptual hash of its stored image.
+     * Items without a hashed image are removed. Inside a transaction the change is applied after commit.
+     * @param item The item to index
+     */
+    void index(Item item);
+
+    /**
+     * Remove an item from the index
+     * @param itemId The item ID
+     */
+    void remove(Long itemId);
+
+    /**
+     * Find items whose image hash is within a Hamming distance of the given hash
+     * @param perceptualHash dHash to search for
+     * @param maxDistance Largest Hamming distance to include, 0 to MAX_DISTANCE
+     * @param limit Maximum number of items to return
+     * @return Item IDs, nearest first and by ID for equal distances
+     */
+    List<Long> findSimilar(long perceptualHash, int maxDistance, int limit);
+
+    /**
+     * Find items whose image looks like the image of an indexed item, excluding the item itself
+     * @return Item IDs, nearest first; empty if the item is not indexed
+     */
+    List<Long> findSimilarItems(Long itemId, int maxDistance, int limit);
+
+    /**
+     * Rebuild the whole index from the database
+     * @return number of items indexed
+     */
+    int rebuild();
+
+    /**
+     * Check if the index has been built and can serve queries
+     * @return true once the initial build has completed
+     */
+    boolean isReady();
+
+    /**
+     * Get the number of indexed items
+     * @return indexed item count
+     */
+    int size();
+}
@@ -0,0 +1,322 @@
+package com.rentkar.service;
+
+import com.rentkar.model.Item;
+import com.rentkar.repository.StoredImageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of ImageSimilarityIndex using multi-index hashing.
+ * The 64-bit hash is split into four 16-bit chunks, each with its own table of buckets. If two hashes are at
+ * most d bits apart, at least one of their chunks is at most d / 4 bits apart, so a query only has to probe the
+ * buckets within that radius of each of its chunks and check the Hamming distance of the items found there.
+ * Up to MAX_DISTANCE that is at most 2 bits per chunk, or 137 buckets per table, however many items are indexed.
+ */
+@Service
+public class ImageSimilarityIndexImpl implements ImageSimilarityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageSimilarityIndexImpl.class);
+
+    private static final int CHUNKS = 4;
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+    private final StoredImageRepository storedImageRepository;
+    private final int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Mutations applied while a rebuild is running, replayed onto the rebuilt segment
+    private final Queue<Consumer<Segment>> pendingDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    private Segment segment = new Segment();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public ImageSimilarityIndexImpl(StoredImageRepository storedImageRepository,
+                                    @Value("${image.similarity.rebuild-batch-size}") int rebuildBatchSize) {
+        this.storedImageRepository = storedImageRepository;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    /**
+     * Build the index once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Failed to build image similarity index, similar items are unavailable", e);
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        Long itemId = item.getId();
+        Long perceptualHash = findPerceptualHash(item.getImageUrl());
+        if (perceptualHash == null) {
+            applyAfterCommit(target -> target.remove(itemId));
+        } else {
+            applyAfterCommit(target -> target.put(itemId, perceptualHash));
+        }
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        applyAfterCommit(target -> target.remove(itemId));
+    }
+
+    @Override
+    public List<Long> findSimilar(long perceptualHash, int maxDistance, int limit) {
+        lock.readLock().lock();
+        try {
+            return search(perceptualHash, maxDistance, limit, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> findSimilarItems(Long itemId, int maxDistance, int limit) {
+        lock.readLock().lock();
+        try {
+            Long perceptualHash = segment.hashes.get(itemId);
+            if (perceptualHash == null) {
+                return List.of();
+            }
+            return search(perceptualHash, maxDistance, limit, itemId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public synchronized int rebuild() {
+        long startTime = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            pendingDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment rebuilt = new Segment();
+        try {
+            long afterId = 0;
+            List<Object[]> rows;
+            do {
+                rows = storedImageRepository.findItemPerceptualHashes(afterId, PageRequest.of(0, rebuildBatchSize));
+                for (Object[] row : rows) {
+                    afterId = (Long) row[0];
+                    rebuilt.put(afterId, (Long) row[1]);
+                }
+            } while (rows.size() == rebuildBatchSize);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                pendingDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Consumer<Segment> mutation;
+            while ((mutation = pendingDuringRebuild.poll()) != null) {
+                mutation.accept(rebuilt);
+            }
+            segment = rebuilt;
+            rebuilding = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        int indexed = rebuilt.hashes.size();
+        logger.info("Image similarity index rebuilt - items: {}, time: {}ms",
+                indexed, System.currentTimeMillis() - startTime);
+        return indexed;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.hashes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Long findPerceptualHash(String imageUrl) {
+        if (imageUrl == null || imageUrl.isBlank()) {
+            return null;
+        }
+        List<Long> hashes = storedImageRepository.findPerceptualHashes(imageUrl);
+        return hashes.isEmpty() ? null : hashes.get(0);
+    }
+
+    /**
+     * Apply a mutation once the surrounding transaction commits, or immediately outside a transaction
+     */
+    private void applyAfterCommit(Consumer<Segment> mutation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(mutation);
+                }
+            });
+        } else {
+            apply(mutation);
+        }
+    }
+
+    private void apply(Consumer<Segment> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(segment);
+            if (rebuilding) {
+                pendingDuringRebuild.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Collect and rank the items within the distance; callers hold the read lock
+     */
+    private List<Long> search(long perceptualHash, int maxDistance, int limit, Long excludedItemId) {
+        if (maxDistance < 0 || maxDistance > MAX_DISTANCE) {
+            throw new IllegalArgumentException("Max distance must be between 0 and " + MAX_DISTANCE);
+        }
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, Integer> matches = new HashMap<>();
+        for (int chunk = 0; chunk < CHUNKS; chunk++) {
+            probe(chunk, chunkOf(perceptualHash, chunk), maxDistance / CHUNKS, 0,
+                    perceptualHash, maxDistance, excludedItemId, matches);
+        }
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(matches.entrySet());
+        ranked.sort(Map.Entry.<Long, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+
+        List<Long> itemIds = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            itemIds.add(ranked.get(i).getKey());
+        }
+        return itemIds;
+    }
+
+    /**
+     * Scan the bucket of a chunk value and of every value within the remaining radius of it.
+     * Bits are only flipped from fromBit upwards, so each value is visited once.
+     */
+    private void probe(int chunk, int key, int radius, int fromBit, long perceptualHash, int maxDistance,
+                       Long excludedItemId, Map<Long, Integer> matches) {
+        long[] bucket = segment.buckets[chunk][key];
+        int size = segment.sizes[chunk][key];
+        for (int i = 0; i < size; i += 2) {
+            int distance = PerceptualHash.distance(perceptualHash, bucket[i + 1]);
+            if (distance <= maxDistance && (excludedItemId == null || bucket[i] != excludedItemId)) {
+                matches.putIfAbsent(bucket[i], distance);
+            }
+        }
+        if (radius == 0) {
+            return;
+        }
+        for (int bit = fromBit; bit < CHUNK_BITS; bit++) {
+            probe(chunk, key ^ (1 << bit), radius - 1, bit + 1, perceptualHash, maxDistance, excludedItemId, matches);
+        }
+    }
+
+    private static int chunkOf(long perceptualHash, int chunk) {
+        return (int) (perceptualHash >>> (chunk * CHUNK_BITS)) & CHUNK_MASK;
+    }
+
+    /**
+     * One complete copy of the index: the hash of every item plus one bucket table per chunk
+     */
+    private static class Segment {
+
+        private final Map<Long, Long> hashes = new HashMap<>();
+        // Buckets hold (itemId, hash) pairs, so candidates are checked without looking up their hash
+        private final long[][][] buckets = new long[CHUNKS][1 << CHUNK_BITS][];
+        private final int[][] sizes = new int[CHUNKS][1 << CHUNK_BITS];
+
+        void put(long itemId, long perceptualHash) {
+            remove(itemId);
+            hashes.put(itemId, perceptualHash);
+            for (int chunk = 0; chunk < CHUNKS; chunk++) {
+                int key = chunkOf(perceptualHash, chunk);
+                long[] bucket = buckets[chunk][key];
+                int size = sizes[chunk][key];
+                if (bucket == null) {
+                    bucket = new long[4];
+                } else if (size == bucket.length) {
+                    bucket = Arrays.copyOf(bucket, size * 2);
+                }
+                bucket[size] = itemId;
+                bucket[size + 1] = perceptualHash;
+                buckets[chunk][key] = bucket;
+                sizes[chunk][key] = size + 2;
+            }
+        }
+
+        void remove(long itemId) {
+            Long perceptualHash = hashes.remove(itemId);
+            if (perceptualHash == null) {
+                return;
+            }
+            for (int chunk = 0; chunk < CHUNKS; chunk++) {
+                int key = chunkOf(perceptualHash, chunk);
+                long[] bucket = buckets[chunk][key];
+                int size = sizes[chunk][key];
+                for (int i = 0; i < size; i += 2) {
+                    if (bucket[i] == itemId) {
+                        // Move the last pair into the gap
+                        bucket[i] = bucket[size - 2];
+                        bucket[i + 1] = bucket[size - 1];
+                        size -= 2;
+                        break;
+                    }
+                }
+                sizes[chunk][key] = size;
+                if (size == 0) {
+                    buckets[chunk][key] = null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.rentkar.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Where uploaded item images are kept.
+ * The implementation is chosen with image.storage.type: cloudinary (default) or local.
+ */
+public interface ImageStorage {
+    
+    /**
+     * Store an image file
+     * @param file Image to store; the caller deletes it afterwards
+     * @param contentType Content type of the file, e.g. image/jpeg
+     * @return public URL of the stored image
+     */
+    String store(Path file, String contentType) throws IOException;
+}
@@ -0,0 +1,122 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.ImageUploadDTO;
+import com.rentkar.model.StoredImage;
+import com.rentkar.repository.StoredImageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ImageUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageUploadService.class);
+
+    private final ImageStorage imageStorage;
+    private final ImageProcessor imageProcessor;
+    // Digest -> URL index of stored images
+    private final StoredImageRepository storedImageRepository;
+    private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5MB
+    private static final List<String> ALLOWED_CONTENT_TYPES = Arrays.asList(
+        "image/jpeg", "image/jpg", "image/png", "image/gif", "image/webp"
+    );
+
+    @Autowired
+    public ImageUploadService(ImageStorage imageStorage, ImageProcessor imageProcessor,
+                              StoredImageRepository storedImageRepository) {
+        this.imageStorage = imageStorage;
+        this.imageProcessor = imageProcessor;
+        this.storedImageRepository = storedImageRepository;
+    }
+
+    /**
+     * Validate, shrink and store an item image.
+     * An image that was uploaded before, byte for byte, is not processed or stored again; its URL is returned.
+     * @throws java.util.concurrent.RejectedExecutionException if image processing is saturated
+     */
+    public ImageUploadDTO uploadImage(MultipartFile file) throws IOException {
+        // Validate file size
+        if (file.getSize() > MAX_FILE_SIZE) {
+            throw new IllegalArgumentException("File size exceeds maximum limit of 5MB");
+        }
+
+        // Validate file type
+        String contentType = file.getContentType();
+        if (contentType == null || !ALLOWED_CONTENT_TYPES.contains(contentType.toLowerCase())) {
+            throw new IllegalArgumentException("Invalid file type. Only image files are allowed");
+        }
+
+        // Hand the upload to storage as a file so it is streamed from disk instead of copied onto the heap.
+        // The digest is computed in the same pass that copies the upload to the temp file.
+        Path tempFile = Files.createTempFile("rentkar-upload-", ".tmp").toAbsolutePath();
+        Path processedFile = null;
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+
+            Optional<StoredImage> existing = storedImageRepository.findBySha256(sha256);
+            if (existing.isPresent()) {
+                StoredImage stored = existing.get();
+                logger.debug("Reusing stored image {} for upload with digest {}", stored.getImageUrl(), sha256);
+                return new ImageUploadDTO(stored.getImageUrl(), Files.size(tempFile), stored.getStoredBytes(), true);
+            }
+
+            ImageProcessor.ProcessedImage image = imageProcessor.process(tempFile, contentType.toLowerCase());
+            processedFile = image.getFile();
+            String imageUrl = imageStorage.store(processedFile, image.getContentType());
+            saveStoredImage(new StoredImage(sha256, imageUrl, image.getOriginalBytes(), image.getBytes(),
+                    image.getPerceptualHash()));
+            return new ImageUploadDTO(imageUrl, image.getOriginalBytes(), image.getBytes());
+        } finally {
+            deleteTempFile(tempFile);
+            if (processedFile != null && !processedFile.equals(tempFile)) {
+                deleteTempFile(processedFile);
+            }
+        }
+    }
+
+    private void saveStoredImage(StoredImage storedImage) {
+        try {
+            storedImageRepository.save(storedImage);
+        } catch (DataIntegrityViolationException e) {
+            // The same image was uploaded concurrently and indexed first; both URLs stay valid
+            logger.debug("Image with digest {} is already indexed", storedImage.getSha256());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void deleteTempFile(Path tempFile) {
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            logger.warn("Failed to delete upload temp file {}: {}", tempFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.rentkar.service;
+
+import com.rentkar.model.Item;
+import com.rentkar.model.ItemStatus;
+
+import java.util.List;
+
+/**
+ * In-process inverted index over item title, description and category
+ */
+public interface ItemSearchIndex {
+
+    /**
+     * Add or replace an item in the index.
+     * Inside a transaction the change is applied after commit.
+     * @param item The item to index
+     */
+    void index(Item item);
+
+    /**
+     * Remove an item from the index
+     * @param itemId The item ID
+     */
+    void remove(Long itemId);
+
+    /**
+     * Update the status of an indexed item without re-tokenizing it
+     * @param itemId The item ID
+     * @param status The new item status
+     */
+    void updateStatus(Long itemId, ItemStatus status);
+
+    /**
+     * Search the index with BM25 relevance ranking
+     * @param query Free-text query; every query term must match (terms match as prefixes)
+     * @param status Optional status filter (null for all)
+     * @param category Optional category filter (null for all)
+     * @param offset Number of ranked hits to skip
+     * @param limit Maximum number of hits to return
+     * @return Ranked hits, or null if the query contains no searchable terms
+     */
+    SearchHits search(String query, ItemStatus status, String category, int offset, int limit);
+
+    /**
+     * Rebuild the whole index from the database
+     * @return number of items indexed
+     */
+    int rebuild();
+
+    /**
+     * Check if the index has been built and can serve queries
+     * @return true once the initial build has completed
+     */
+    boolean isReady();
+
+    /**
+     * Get the number of indexed items
+     * @return indexed item count
+     */
+    int size();
+
+    /**
+     * Get the number of distinct terms in the index
+     * @return term count
+     */
+    int termCount();
+
+    /**
+     * A page of ranked search results
+     */
+    class SearchHits {
+
+        private final long totalHits;
+        private final List<Long> itemIds;
+
+        public SearchHits(long totalHits, List<Long> itemIds) {
+            this.totalHits = totalHits;
+            this.itemIds = itemIds;
+        }
+
+        public long getTotalHits() { return totalHits; }
+
+        public List<Long> getItemIds() { return itemIds; }
+    }
+}
@@ -0,0 +1,431 @@
+package com.rentkar.service;
+
+import com.rentkar.model.Item;
+import com.rentkar.model.ItemStatus;
+import com.rentkar.repository.ItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of ItemSearchIndex using an in-memory inverted index with BM25 ranking
+ */
+@Service
+public class ItemSearchIndexImpl implements ItemSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ItemSearchIndexImpl.class);
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Field weights applied to term frequencies
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Terms matched only as a prefix of a longer indexed term score lower than exact matches
+    private static final double PREFIX_MATCH_BOOST = 0.7;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private static final Comparator<ScoredItem> RANKING = Comparator
+            .comparingDouble((ScoredItem hit) -> hit.score)
+            .thenComparing(hit -> hit.createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingLong(hit -> hit.itemId);
+
+    private final ItemRepository itemRepository;
+    private final int rebuildBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Mutations applied while a rebuild is running, replayed onto the rebuilt segment
+    private final Queue<Consumer<Segment>> pendingDuringRebuild = new ConcurrentLinkedQueue<>();
+
+    private Segment segment = new Segment();
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public ItemSearchIndexImpl(ItemRepository itemRepository,
+                               @Value("${search.index.rebuild-batch-size}") int rebuildBatchSize) {
+        this.itemRepository = itemRepository;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    /**
+     * Build the index once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("Failed to build item search index, falling back to database search", e);
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        IndexedDocument document = toDocument(item);
+        applyAfterCommit(target -> target.put(document));
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        applyAfterCommit(target -> target.remove(itemId));
+    }
+
+    @Override
+    public void updateStatus(Long itemId, ItemStatus status) {
+        applyAfterCommit(target -> target.updateStatus(itemId, status));
+    }
+
+    @Override
+    public SearchHits search(String query, ItemStatus status, String category, int offset, int limit) {
+        List<String> queryTerms = SearchTokenizer.tokenize(query).stream().distinct().toList();
+        if (queryTerms.isEmpty()) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            double averageLength = segment.averageLength();
+
+            // Every query term must match; each pass narrows the candidates of the previous one
+            for (String queryTerm : queryTerms) {
+                scores = scoreTerm(queryTerm, status, category, averageLength, scores);
+                if (scores.isEmpty()) {
+                    return new SearchHits(0, List.of());
+                }
+            }
+
+            return rank(scores, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public synchronized int rebuild() {
+        long startTime = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            pendingDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment rebuilt = new Segment();
+        try {
+            int pageNumber = 0;
+            Page<Item> page;
+            do {
+                page = itemRepository.findAll(PageRequest.of(pageNumber++, rebuildBatchSize, Sort.by("id")));
+                for (Item item : page.getContent()) {
+                    rebuilt.put(toDocument(item));
+                }
+            } while (page.hasNext());
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                pendingDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Consumer<Segment> mutation;
+            while ((mutation = pendingDuringRebuild.poll()) != null) {
+                mutation.accept(rebuilt);
+            }
+            segment = rebuilt;
+            rebuilding = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        int indexed = rebuilt.documents.size();
+        logger.info("Item search index rebuilt - items: {}, terms: {}, time: {}ms",
+                indexed, rebuilt.postings.size(), System.currentTimeMillis() - startTime);
+        return indexed;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return segment.postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a mutation once the surrounding transaction commits, or immediately outside a transaction
+     */
+    private void applyAfterCommit(Consumer<Segment> mutation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(mutation);
+                }
+            });
+        } else {
+            apply(mutation);
+        }
+    }
+
+    private void apply(Consumer<Segment> mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.accept(segment);
+            if (rebuilding) {
+                pendingDuringRebuild.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Score all documents matching one query term, restricted to the given candidates if present
+     */
+    private Map<Long, Double> scoreTerm(String queryTerm, ItemStatus status, String category,
+                                        double averageLength, Map<Long, Double> candidates) {
+        Map<Long, Double> termScores = new HashMap<>();
+        int documentCount = segment.documents.size();
+
+        SortedMap<String, Map<Long, Integer>> expansions =
+                segment.postings.subMap(queryTerm, queryTerm + Character.MAX_VALUE);
+
+        int expanded = 0;
+        for (Map.Entry<String, Map<Long, Integer>> expansion : expansions.entrySet()) {
+            if (expanded++ >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+
+            Map<Long, Integer> posting = expansion.getValue();
+            double boost = expansion.getKey().equals(queryTerm) ? 1.0 : PREFIX_MATCH_BOOST;
+            double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+
+            if (candidates != null && candidates.size() < posting.size()) {
+                for (Long itemId : candidates.keySet()) {
+                    Integer frequency = posting.get(itemId);
+                    if (frequency != null) {
+                        addScore(termScores, itemId, frequency, boost * idf, averageLength, status, category);
+                    }
+                }
+            } else {
+                for (Map.Entry<Long, Integer> entry : posting.entrySet()) {
+                    if (candidates == null || candidates.containsKey(entry.getKey())) {
+                        addScore(termScores, entry.getKey(), entry.getValue(), boost * idf,
+                                averageLength, status, category);
+                    }
+                }
+            }
+        }
+
+        if (candidates != null) {
+            termScores.replaceAll((itemId, score) -> score + candidates.get(itemId));
+        }
+        return termScores;
+    }
+
+    private void addScore(Map<Long, Double> termScores, Long itemId, int frequency, double weight,
+                          double averageLength, ItemStatus status, String category) {
+        IndexedDocument document = segment.documents.get(itemId);
+        if (!document.matches(status, category)) {
+            return;
+        }
+
+        double lengthRatio = averageLength > 0 ? document.length / averageLength : 1.0;
+        double saturation = frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * lengthRatio));
+        termScores.merge(itemId, weight * saturation, Double::sum);
+    }
+
+    /**
+     * Select the requested page of hits using a bounded heap instead of sorting every match
+     */
+    private SearchHits rank(Map<Long, Double> scores, int offset, int limit) {
+        int keep = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+        if (keep <= 0) {
+            return new SearchHits(scores.size(), List.of());
+        }
+
+        PriorityQueue<ScoredItem> top = new PriorityQueue<>(Math.min(keep, scores.size()) + 1, RANKING);
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            ScoredItem hit = new ScoredItem(entry.getKey(), entry.getValue(),
+                    segment.documents.get(entry.getKey()).createdAt);
+            if (top.size() < keep) {
+                top.add(hit);
+            } else if (RANKING.compare(hit, top.peek()) > 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+
+        List<ScoredItem> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING.reversed());
+
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = offset; i < ranked.size(); i++) {
+            itemIds.add(ranked.get(i).itemId);
+        }
+        return new SearchHits(scores.size(), itemIds);
+    }
+
+    private IndexedDocument toDocument(Item item) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTerms(frequencies, item.getTitle(), TITLE_WEIGHT);
+        addTerms(frequencies, item.getCategory(), CATEGORY_WEIGHT);
+        addTerms(frequencies, item.getDescription(), DESCRIPTION_WEIGHT);
+
+        int length = 0;
+        for (int frequency : frequencies.values()) {
+            length += frequency;
+        }
+
+        return new IndexedDocument(item.getId(), item.getStatus(), item.getCategory(),
+                item.getCreatedAt(), frequencies, length);
+    }
+
+    private void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        for (String term : SearchTokenizer.tokenize(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * One complete copy of the index: documents plus a sorted term dictionary
+     */
+    private static class Segment {
+
+        private final Map<Long, IndexedDocument> documents = new HashMap<>();
+        private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private long totalLength;
+
+        void put(IndexedDocument document) {
+            remove(document.itemId);
+            documents.put(document.itemId, document);
+            totalLength += document.length;
+            for (Map.Entry<String, Integer> entry : document.frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>())
+                        .put(document.itemId, entry.getValue());
+            }
+        }
+
+        void remove(Long itemId) {
+            IndexedDocument existing = documents.remove(itemId);
+            if (existing == null) {
+                return;
+            }
+            totalLength -= existing.length;
+            for (String term : existing.frequencies.keySet()) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(itemId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        void updateStatus(Long itemId, ItemStatus status) {
+            IndexedDocument existing = documents.get(itemId);
+            if (existing != null) {
+                existing.status = status;
+            }
+        }
+
+        double averageLength() {
+            return documents.isEmpty() ? 0 : (double) totalLength / documents.size();
+        }
+    }
+
+    private static class IndexedDocument {
+
+        private final Long itemId;
+        private final String category;
+        private final LocalDateTime createdAt;
+        private final Map<String, Integer> frequencies;
+        private final int length;
+        private ItemStatus status;
+
+        IndexedDocument(Long itemId, ItemStatus status, String category, LocalDateTime createdAt,
+                        Map<String, Integer> frequencies, int length) {
+            this.itemId = itemId;
+            this.status = status;
+            this.category = category;
+            this.createdAt = createdAt;
+            this.frequencies = frequencies;
+            this.length = length;
+        }
+
+        boolean matches(ItemStatus statusFilter, String categoryFilter) {
+            if (statusFilter != null && statusFilter != status) {
+                return false;
+            }
+            // Exact match, like the i.category = :category filter of ItemRepository.findWithFilters
+            return categoryFilter == null || categoryFilter.equals(category);
+        }
+    }
+
+    private static class ScoredItem {
+
+        private final long itemId;
+        private final double score;
+        private final LocalDateTime createdAt;
+
+        ScoredItem(long itemId, double score, LocalDateTime createdAt) {
+            this.itemId = itemId;
+            this.score = score;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -1,12 +1,15 @@
 package com.rentkar.service;
 
 import com.rentkar.dto.CreateItemRequest;
+import com.rentkar.dto.CursorPage;
 import com.rentkar.dto.ItemDTO;
 import com.rentkar.dto.UpdateItemRequest;
 import com.rentkar.model.ItemStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
 public interface ItemService {
     
     ItemDTO createItem(CreateItemRequest request, Long ownerId);
@@ -17,7 +20,17 @@ public interface ItemService {
     
     Page<ItemDTO> getItemsByOwner(Long ownerId, Pageable pageable);
     
+    CursorPage<ItemDTO> getAllItems(ItemStatus status, String category, String search, String cursor, int size);
+    
+    CursorPage<ItemDTO> getItemsByOwner(Long ownerId, String cursor, int size);
+    
     ItemDTO updateItem(Long itemId, UpdateItemRequest request, Long userId);
     
     void deleteItem(Long itemId, Long userId);
+    
+    /**
+     * Items whose image looks like the image of the given item, nearest first
+     * @param maxDistance Largest Hamming distance between the perceptual hashes of the images
+     */
+    List<ItemDTO> getSimilarItems(Long itemId, int maxDistance, int limit);
 }
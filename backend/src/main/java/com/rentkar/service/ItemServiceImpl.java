@@ -1,6 +1,7 @@
 package com.rentkar.service;
 
 import com.rentkar.dto.CreateItemRequest;
+import com.rentkar.dto.CursorPage;
 import com.rentkar.dto.ItemDTO;
 import com.rentkar.dto.ItemOwnerDTO;
 import com.rentkar.dto.UpdateItemRequest;
@@ -12,22 +13,35 @@ import com.rentkar.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @Transactional
 public class ItemServiceImpl implements ItemService {
     
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ItemSearchIndex searchIndex;
+    private final ImageSimilarityIndex similarityIndex;
     
     @Autowired
-    public ItemServiceImpl(ItemRepository itemRepository, UserRepository userRepository) {
+    public ItemServiceImpl(ItemRepository itemRepository, UserRepository userRepository,
+                           ItemSearchIndex searchIndex, ImageSimilarityIndex similarityIndex) {
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
+        this.searchIndex = searchIndex;
+        this.similarityIndex = similarityIndex;
     }
     
     @Override
@@ -44,6 +58,8 @@ public class ItemServiceImpl implements ItemService {
         item.setOwner(owner);
         
         Item savedItem = itemRepository.save(item);
+        searchIndex.index(savedItem);
+        similarityIndex.index(savedItem);
         return convertToDTO(savedItem);
     }
     
@@ -61,6 +77,13 @@ public class ItemServiceImpl implements ItemService {
         // Default to AVAILABLE status if not specified
         ItemStatus filterStatus = (status != null) ? status : ItemStatus.AVAILABLE;
         
+        if (search != null && !search.isBlank() && searchIndex.isReady()) {
+            Page<ItemDTO> ranked = searchIndexed(filterStatus, category, search, pageable);
+            if (ranked != null) {
+                return ranked;
+            }
+        }
+        
         Page<Item> items = itemRepository.findWithFilters(filterStatus, category, search, pageable);
         return items.map(this::convertToDTO);
     }
@@ -72,6 +95,38 @@ public class ItemServiceImpl implements ItemService {
         return items.map(this::convertToDTO);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemDTO> getAllItems(ItemStatus status, String category, String search, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        ItemStatus filterStatus = (status != null) ? status : ItemStatus.AVAILABLE;
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable probe = PageRequest.of(0, size + 1);
+        
+        List<Item> items = (after == null)
+                ? itemRepository.findFirstPageWithFilters(filterStatus, category, search, probe)
+                : itemRepository.findPageWithFiltersAfter(filterStatus, category, search,
+                        after.getCreatedAt(), after.getId(), probe);
+        return PageCursor.toPage(items, size, Item::getCreatedAt, Item::getId, this::convertToDTO);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemDTO> getItemsByOwner(Long ownerId, String cursor, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable probe = PageRequest.of(0, size + 1);
+        
+        List<Item> items = (after == null)
+                ? itemRepository.findFirstPageByOwnerId(ownerId, probe)
+                : itemRepository.findPageByOwnerIdAfter(ownerId, after.getCreatedAt(), after.getId(), probe);
+        return PageCursor.toPage(items, size, Item::getCreatedAt, Item::getId, this::convertToDTO);
+    }
+    
     @Override
     public ItemDTO updateItem(Long itemId, UpdateItemRequest request, Long userId) {
         Item item = itemRepository.findById(itemId)
@@ -100,6 +155,10 @@ public class ItemServiceImpl implements ItemService {
         }
         
         Item updatedItem = itemRepository.save(item);
+        searchIndex.index(updatedItem);
+        if (request.getImageUrl() != null) {
+            similarityIndex.index(updatedItem);
+        }
         return convertToDTO(updatedItem);
     }
     
@@ -114,6 +173,65 @@ public class ItemServiceImpl implements ItemService {
         }
         
         itemRepository.delete(item);
+        searchIndex.remove(itemId);
+        similarityIndex.remove(itemId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDTO> getSimilarItems(Long itemId, int maxDistance, int limit) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new EntityNotFoundException("Item not found with id: " + itemId);
+        }
+        if (!similarityIndex.isReady()) {
+            return List.of();
+        }
+        
+        List<Long> similarIds = similarityIndex.findSimilarItems(itemId, maxDistance, limit);
+        Map<Long, Item> loaded = itemRepository.findAllById(similarIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        
+        // Keep the distance order; ids deleted outside the service are evicted from the index
+        List<ItemDTO> similarItems = new ArrayList<>();
+        for (Long similarId : similarIds) {
+            Item item = loaded.get(similarId);
+            if (item == null) {
+                similarityIndex.remove(similarId);
+            } else {
+                similarItems.add(convertToDTO(item));
+            }
+        }
+        return similarItems;
+    }
+    
+    /**
+     * Serve a text search from the in-process index, loading the ranked page from the database.
+     * Returns null when the query has no searchable terms so the caller can fall back to LIKE matching.
+     */
+    private Page<ItemDTO> searchIndexed(ItemStatus status, String category, String search, Pageable pageable) {
+        ItemSearchIndex.SearchHits hits = searchIndex.search(search, status, category,
+                (int) pageable.getOffset(), pageable.getPageSize());
+        if (hits == null) {
+            return null;
+        }
+        
+        Map<Long, Item> loaded = itemRepository.findAllById(hits.getItemIds()).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        
+        // Keep the ranking order; ids deleted outside the service are evicted from the index
+        List<ItemDTO> content = new ArrayList<>();
+        long missing = 0;
+        for (Long itemId : hits.getItemIds()) {
+            Item item = loaded.get(itemId);
+            if (item == null) {
+                searchIndex.remove(itemId);
+                missing++;
+            } else {
+                content.add(convertToDTO(item));
+            }
+        }
+        
+        return new PageImpl<>(content, pageable, hits.getTotalHits() - missing);
     }
     
     private ItemDTO convertToDTO(Item item) {
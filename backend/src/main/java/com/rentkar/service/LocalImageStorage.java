@@ -0,0 +1,81 @@
+package com.rentkar.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Stores images in a local directory, for offline development, tests and on-prem deployments.
+ * Each image gets a random name and is never modified afterwards, so it can be cached by clients forever.
+ * Images are served by ImageController.
+ */
+@Service
+@ConditionalOnProperty(name = "image.storage.type", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalImageStorage.class);
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/jpg", ".jpg",
+            "image/png", ".png",
+            "image/gif", ".gif",
+            "image/webp", ".webp");
+    // Only names this class creates; rules out paths and the temp files of stores in progress
+    private static final Pattern NAME = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.(jpg|png|gif|webp)");
+
+    private final Path directory;
+    private final String baseUrl;
+
+    public LocalImageStorage(
+            @Value("${image.storage.local.directory}") String directory,
+            @Value("${image.storage.local.base-url}") String baseUrl) throws IOException {
+        this.directory = Path.of(directory).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        Files.createDirectories(this.directory);
+        logger.info("Local image storage initialized - directory: {}, base URL: {}", this.directory, this.baseUrl);
+    }
+
+    @Override
+    public String store(Path file, String contentType) throws IOException {
+        String extension = EXTENSIONS.get(contentType);
+        if (extension == null) {
+            throw new IllegalArgumentException("Invalid file type. Only image files are allowed");
+        }
+        String name = UUID.randomUUID() + extension;
+
+        // Copy under a temp name and rename, so a half-written image is never served
+        Path tempFile = Files.createTempFile(directory, ".store-", ".tmp");
+        try {
+            Files.copy(file, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        return baseUrl + "/" + name;
+    }
+
+    /**
+     * Find a stored image by the name at the end of its URL
+     * @return the image file, or null if there is no image with this name
+     */
+    public Path resolve(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            return null;
+        }
+        Path file = directory.resolve(name);
+        return Files.isRegularFile(file) ? file : null;
+    }
+}
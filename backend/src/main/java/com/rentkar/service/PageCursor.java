@@ -0,0 +1,81 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset cursor pointing at the last row of a page ordered by (createdAt DESC, id DESC)
+ */
+public class PageCursor {
+    
+    private static final char SEPARATOR = '|';
+    
+    private final LocalDateTime createdAt;
+    private final Long id;
+    
+    public PageCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    
+    public Long getId() { return id; }
+    
+    /**
+     * Encode the cursor as a URL-safe token
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a cursor token; a null or blank token means "start from the first page"
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+    
+    /**
+     * Trim the extra probe row fetched by a seek query and derive the next cursor from the last row kept
+     */
+    public static <E, T> CursorPage<T> toPage(List<E> rows, int size, Function<E, LocalDateTime> createdAt,
+                                              Function<E, Long> id, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            E last = page.get(page.size() - 1);
+            nextCursor = new PageCursor(createdAt.apply(last), id.apply(last)).encode();
+        }
+        
+        List<T> content = new ArrayList<>(page.size());
+        for (E row : page) {
+            content.add(mapper.apply(row));
+        }
+        return new CursorPage<>(content, nextCursor, size);
+    }
+}
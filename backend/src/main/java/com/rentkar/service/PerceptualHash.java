@@ -0,0 +1,56 @@
+package com.rentkar.service;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Difference hash (dHash) of an image: a 64-bit fingerprint that stays nearly the same when an image is
+ * rescaled, recompressed or slightly edited. The image is reduced to 9x8 cells of average brightness, and each
+ * bit tells whether a cell is darker than its right neighbour. Similar images have hashes a small Hamming
+ * distance apart.
+ */
+public final class PerceptualHash {
+
+    private static final int COLUMNS = 9;
+    private static final int ROWS = 8;
+
+    private PerceptualHash() {
+    }
+
+    public static long dHash(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        long[] sums = new long[COLUMNS * ROWS];
+        int[] counts = new int[COLUMNS * ROWS];
+
+        // Average brightness per cell; every pixel counts, so fine detail and noise average out
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            int cellRow = (int) ((long) y * ROWS / height) * COLUMNS;
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x];
+                int luma = 299 * ((rgb >> 16) & 0xFF) + 587 * ((rgb >> 8) & 0xFF) + 114 * (rgb & 0xFF);
+                int cell = cellRow + (int) ((long) x * COLUMNS / width);
+                sums[cell] += luma;
+                counts[cell]++;
+            }
+        }
+
+        long hash = 0;
+        for (int y = 0; y < ROWS; y++) {
+            for (int x = 0; x < COLUMNS - 1; x++) {
+                int cell = y * COLUMNS + x;
+                hash = (hash << 1) | (average(sums, counts, cell) < average(sums, counts, cell + 1) ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    public static int distance(long hash, long other) {
+        return Long.bitCount(hash ^ other);
+    }
+
+    private static double average(long[] sums, int[] counts, int cell) {
+        return counts[cell] == 0 ? 0 : (double) sums[cell] / counts[cell];
+    }
+}
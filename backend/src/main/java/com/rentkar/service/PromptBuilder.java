@@ -7,6 +7,11 @@ import com.rentkar.dto.AIGenerationRequest;
  */
 public class PromptBuilder {
     
+    /**
+     * Version of the prompt templates; bump whenever a prompt changes so cached responses are not reused
+     */
+    public static final String PROMPT_VERSION = "1";
+    
     /**
      * Build a prompt for title generation
      */
@@ -84,6 +89,99 @@ public class PromptBuilder {
         return prompt.toString();
     }
     
+    /**
+     * Build a single prompt for a title and a description, answered as a JSON object
+     */
+    public static String buildListingPrompt(AIGenerationRequest request) {
+        StringBuilder prompt = new StringBuilder();
+        
+        prompt.append("You are an AI assistant helping college students list items for borrowing on a peer-to-peer sharing platform.\n\n");
+        prompt.append("Generate a title and a description for the following item:\n");
+        prompt.append("- Item Name: ").append(request.getItemName()).append("\n");
+        prompt.append("- Category: ").append(request.getCategory()).append("\n");
+        
+        if (request.getCondition() != null && !request.getCondition().isEmpty()) {
+            prompt.append("- Condition: ").append(request.getCondition()).append("\n");
+        }
+        
+        if (request.getSpecifications() != null && !request.getSpecifications().isEmpty()) {
+            prompt.append("- Specifications: ").append(request.getSpecifications()).append("\n");
+        }
+        
+        if (request.getAdditionalInfo() != null && !request.getAdditionalInfo().isEmpty()) {
+            prompt.append("- Additional Info: ").append(request.getAdditionalInfo()).append("\n");
+        }
+        
+        prompt.append("\nTitle requirements:\n");
+        prompt.append("- Length: 3-200 characters\n");
+        prompt.append("- Be specific and descriptive\n");
+        prompt.append("- Include key identifying features\n");
+        
+        prompt.append("\nDescription requirements:\n");
+        prompt.append("- Length: 50-1000 characters\n");
+        prompt.append("- Highlight key features and benefits for borrowers\n");
+        prompt.append("- Mention condition and any important details\n");
+        prompt.append("- Use friendly, informative tone\n");
+        prompt.append("- Target audience: college students\n");
+        
+        // Add category-specific instructions
+        String categoryInstructions = getCategoryInstructions(request.getCategory());
+        if (!categoryInstructions.isEmpty()) {
+            prompt.append("\nCategory-specific guidelines:\n");
+            prompt.append(categoryInstructions);
+        }
+        
+        prompt.append("\nRespond with only a JSON object of the form {\"title\": \"...\", \"description\": \"...\"}.");
+        
+        return prompt.toString();
+    }
+    
+    /**
+     * Build a title locally from the request, for when the AI service is unavailable
+     */
+    public static String buildFallbackTitle(AIGenerationRequest request) {
+        StringBuilder title = new StringBuilder(request.getItemName().trim());
+        
+        if (request.getCondition() != null && !request.getCondition().isBlank()) {
+            title.append(" - ").append(request.getCondition().trim());
+        }
+        
+        return title.length() > 200 ? title.substring(0, 200).trim() : title.toString();
+    }
+    
+    /**
+     * Build a description template locally from the request, for when the AI service is unavailable.
+     * The category guidelines are appended as hints for the user to complete the description.
+     */
+    public static String buildFallbackDescription(AIGenerationRequest request) {
+        StringBuilder description = new StringBuilder();
+        
+        description.append(request.getItemName().trim()).append(" available to borrow");
+        if (request.getCategory() != null && !request.getCategory().isBlank()) {
+            description.append(" (").append(request.getCategory().trim()).append(")");
+        }
+        description.append(".");
+        
+        if (request.getCondition() != null && !request.getCondition().isBlank()) {
+            description.append(" Condition: ").append(request.getCondition().trim()).append(".");
+        }
+        
+        if (request.getSpecifications() != null && !request.getSpecifications().isBlank()) {
+            description.append(" Specifications: ").append(request.getSpecifications().trim()).append(".");
+        }
+        
+        if (request.getAdditionalInfo() != null && !request.getAdditionalInfo().isBlank()) {
+            description.append(" ").append(request.getAdditionalInfo().trim());
+        }
+        
+        String categoryInstructions = getCategoryInstructions(request.getCategory());
+        if (!categoryInstructions.isEmpty()) {
+            description.append("\n\nConsider adding:\n").append(categoryInstructions);
+        }
+        
+        return description.length() > 1000 ? description.substring(0, 997) + "..." : description.toString();
+    }
+    
     /**
      * Get category-specific instructions
      */
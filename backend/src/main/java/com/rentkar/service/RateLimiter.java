@@ -12,6 +12,15 @@ public interface RateLimiter {
      */
     boolean allowRequest(String userId);
     
+    /**
+     * Check if several requests are allowed together for the given user/IP.
+     * Either all of them are recorded or, if they do not all fit in the limit, none are.
+     * @param userId User ID or IP address
+     * @param permits Number of requests; 0 or less is always allowed
+     * @return true if all requests are within rate limit
+     */
+    boolean allowRequests(String userId, int permits);
+    
     /**
      * Get remaining requests for user
      * @param userId User ID or IP address
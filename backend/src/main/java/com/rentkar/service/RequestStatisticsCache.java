@@ -0,0 +1,222 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.RequestStatistics;
+import com.rentkar.model.RequestStatus;
+import com.rentkar.repository.BorrowRequestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Per-user borrow request counters, loaded once with a single GROUP BY query and then
+ * maintained incrementally as requests change status.
+ * At most maxUsers users are kept; the least recently used is dropped and reloaded on its next access.
+ * Users with a transaction still to apply a change are never dropped, or the change would be lost.
+ */
+@Component
+public class RequestStatisticsCache {
+
+    private static final int STATUS_COUNT = RequestStatus.values().length;
+
+    private final BorrowRequestRepository borrowRequestRepository;
+    private final int maxUsers;
+    private final LinkedHashMap<Long, UserCounters> counters = new LinkedHashMap<>(16, 0.75f, true);
+
+    public RequestStatisticsCache(BorrowRequestRepository borrowRequestRepository,
+                                  @Value("${requests.statistics.max-users}") int maxUsers) {
+        if (maxUsers < 1) {
+            throw new IllegalArgumentException("maxUsers must be at least 1");
+        }
+        this.borrowRequestRepository = borrowRequestRepository;
+        this.maxUsers = maxUsers;
+    }
+
+    /**
+     * Get statistics for a user, loading counters from the database on first access
+     */
+    public RequestStatistics getStatistics(Long userId) {
+        UserCounters state = acquire(userId, false);
+
+        long version;
+        synchronized (state) {
+            if (state.loaded) {
+                return state.toStatistics();
+            }
+            version = state.version;
+        }
+
+        int[] sent = new int[STATUS_COUNT];
+        int[] received = new int[STATUS_COUNT];
+        List<Object[]> rows = borrowRequestRepository.aggregateStatusCountsByUser(userId);
+        for (Object[] row : rows) {
+            int status = ((RequestStatus) row[0]).ordinal();
+            sent[status] = ((Number) row[1]).intValue();
+            received[status] = ((Number) row[2]).intValue();
+        }
+
+        synchronized (state) {
+            // Only install the snapshot if no change committed or started while the query ran;
+            // otherwise the change could be counted twice (or not at all) once deltas apply
+            if (!state.loaded && state.version == version && state.inFlight == 0) {
+                state.sent = sent;
+                state.received = received;
+                state.loaded = true;
+            }
+        }
+        return UserCounters.toStatistics(sent, received);
+    }
+
+    /**
+     * Record a request status change. A null {@code from} means the request was created,
+     * a null {@code to} means it was deleted. Inside a transaction the change is applied after commit.
+     */
+    public void recordChange(Long borrowerId, Long lenderId, RequestStatus from, RequestStatus to) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // The change is already in the table, so counters dropped meanwhile reload with it
+            acquire(borrowerId, false).apply(from, to, true);
+            acquire(lenderId, false).apply(from, to, false);
+            return;
+        }
+
+        UserCounters borrower = acquire(borrowerId, true);
+        UserCounters lender = acquire(lenderId, true);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean begun;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                borrower.begin();
+                lender.begin();
+                begun = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                boolean committed = status == STATUS_COMMITTED;
+                borrower.complete(begun, committed ? from : null, committed ? to : null, true);
+                lender.complete(begun, committed ? from : null, committed ? to : null, false);
+                release(borrower);
+                release(lender);
+            }
+        });
+    }
+
+    /**
+     * Drop all cached counters except those a transaction has yet to update; they are reloaded on next access
+     */
+    public void clear() {
+        synchronized (counters) {
+            counters.values().removeIf(state -> state.pinned == 0);
+        }
+    }
+
+    /**
+     * Number of users with counters in memory
+     */
+    public int size() {
+        synchronized (counters) {
+            return counters.size();
+        }
+    }
+
+    /**
+     * Get or create the counters of a user, dropping least recently used ones over the limit
+     * @param pin keep the counters until released, for a change that applies after commit
+     */
+    private UserCounters acquire(Long userId, boolean pin) {
+        synchronized (counters) {
+            UserCounters state = counters.get(userId);
+            if (state == null) {
+                state = new UserCounters();
+                counters.put(userId, state);
+            }
+            if (pin) {
+                state.pinned++;
+            }
+            evictOverflow();
+            return state;
+        }
+    }
+
+    private void release(UserCounters state) {
+        synchronized (counters) {
+            state.pinned--;
+            evictOverflow();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<UserCounters> iterator = counters.values().iterator();
+        while (counters.size() > maxUsers && iterator.hasNext()) {
+            if (iterator.next().pinned == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class UserCounters {
+
+        private int[] sent = new int[STATUS_COUNT];
+        private int[] received = new int[STATUS_COUNT];
+        private boolean loaded;
+        private long version;
+        private int inFlight;
+        // Transactions that will still apply a change here; guarded by the counters map
+        private int pinned;
+
+        synchronized void begin() {
+            inFlight++;
+        }
+
+        synchronized void complete(boolean begun, RequestStatus from, RequestStatus to, boolean asBorrower) {
+            // beforeCommit is skipped when the transaction rolls back early
+            if (begun) {
+                inFlight--;
+            }
+            apply(from, to, asBorrower);
+        }
+
+        synchronized void apply(RequestStatus from, RequestStatus to, boolean asBorrower) {
+            version++;
+            if (!loaded) {
+                return;
+            }
+            int[] target = asBorrower ? sent : received;
+            if (from != null) {
+                target[from.ordinal()]--;
+            }
+            if (to != null) {
+                target[to.ordinal()]++;
+            }
+        }
+
+        RequestStatistics toStatistics() {
+            return toStatistics(sent, received);
+        }
+
+        static RequestStatistics toStatistics(int[] sent, int[] received) {
+            int totalSent = 0;
+            int totalReceived = 0;
+            for (int i = 0; i < STATUS_COUNT; i++) {
+                totalSent += sent[i];
+                totalReceived += received[i];
+            }
+
+            RequestStatistics stats = new RequestStatistics();
+            stats.setPendingCount(sent[RequestStatus.PENDING.ordinal()] + received[RequestStatus.PENDING.ordinal()]);
+            stats.setApprovedCount(sent[RequestStatus.APPROVED.ordinal()] + received[RequestStatus.APPROVED.ordinal()]);
+            stats.setRejectedCount(sent[RequestStatus.REJECTED.ordinal()] + received[RequestStatus.REJECTED.ordinal()]);
+            stats.setReturnedCount(sent[RequestStatus.RETURNED.ordinal()] + received[RequestStatus.RETURNED.ordinal()]);
+            stats.setCompletedCount(sent[RequestStatus.COMPLETED.ordinal()] + received[RequestStatus.COMPLETED.ordinal()]);
+            stats.setTotalSent(totalSent);
+            stats.setTotalReceived(totalReceived);
+            return stats;
+        }
+    }
+}
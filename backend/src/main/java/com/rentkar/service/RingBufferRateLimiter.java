@@ -0,0 +1,229 @@
+package com.rentkar.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding window RateLimiter that keeps each key's request times in a fixed-size primitive ring buffer.
+ * A key never holds more than maxRequestsPerHour timestamps, and keys whose window has fully
+ * expired are removed by a background sweep, so memory stays proportional to recently active keys.
+ */
+@Service
+public class RingBufferRateLimiter implements RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RingBufferRateLimiter.class);
+
+    private static final long WINDOW_SIZE_MS = 3600000; // 1 hour in milliseconds
+
+    private final int maxRequestsPerHour;
+    private final LongSupplier clock;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictionExecutor;
+
+    @Autowired
+    public RingBufferRateLimiter(
+            @Value("${ai.rate-limit.per-hour}") int maxRequestsPerHour,
+            @Value("${ai.rate-limit.eviction-interval-ms}") long evictionIntervalMs) {
+        this(maxRequestsPerHour, evictionIntervalMs, System::currentTimeMillis);
+    }
+
+    /**
+     * Limiter without background eviction; call {@link #evictIdle()} to sweep
+     */
+    public RingBufferRateLimiter(int maxRequestsPerHour) {
+        this(maxRequestsPerHour, 0, System::currentTimeMillis);
+    }
+
+    RingBufferRateLimiter(int maxRequestsPerHour, long evictionIntervalMs, LongSupplier clock) {
+        if (maxRequestsPerHour < 1) {
+            throw new IllegalArgumentException("maxRequestsPerHour must be at least 1");
+        }
+        this.maxRequestsPerHour = maxRequestsPerHour;
+        this.clock = clock;
+
+        if (evictionIntervalMs > 0) {
+            this.evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "rate-limiter-eviction");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.evictionExecutor.scheduleWithFixedDelay(this::evictIdleSafely,
+                    evictionIntervalMs, evictionIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.evictionExecutor = null;
+        }
+        logger.info("RateLimiter initialized - max requests per hour: {}", maxRequestsPerHour);
+    }
+
+    @Override
+    public boolean allowRequest(String userId) {
+        return allowRequests(userId, 1);
+    }
+
+    @Override
+    public boolean allowRequests(String userId, int permits) {
+        if (userId == null || userId.isEmpty()) {
+            logger.warn("Rate limit check called with null or empty userId");
+            return false;
+        }
+        if (permits <= 0) {
+            return true;
+        }
+
+        long now = clock.getAsLong();
+        while (true) {
+            Window window = windows.computeIfAbsent(userId, k -> new Window(maxRequestsPerHour));
+            synchronized (window) {
+                // The sweeper removed this window after we looked it up; retry with a fresh one
+                if (window.evicted) {
+                    continue;
+                }
+                window.expire(now);
+                if (window.count + permits > maxRequestsPerHour) {
+                    logger.debug("Rate limit exceeded for user: {}", userId);
+                    return false;
+                }
+                for (int i = 0; i < permits; i++) {
+                    window.record(now);
+                }
+                logger.debug("Request allowed for user: {} ({}/{})",
+                        userId, window.count, maxRequestsPerHour);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public int getRemainingRequests(String userId) {
+        if (userId == null || userId.isEmpty()) {
+            return 0;
+        }
+
+        Window window = windows.get(userId);
+        if (window == null) {
+            return maxRequestsPerHour;
+        }
+
+        synchronized (window) {
+            window.expire(clock.getAsLong());
+            return Math.max(0, maxRequestsPerHour - window.count);
+        }
+    }
+
+    @Override
+    public long getResetTime(String userId) {
+        if (userId == null || userId.isEmpty()) {
+            return 0;
+        }
+
+        Window window = windows.get(userId);
+        if (window == null) {
+            return 0;
+        }
+
+        long now = clock.getAsLong();
+        synchronized (window) {
+            window.expire(now);
+            if (window.count == 0) {
+                return 0;
+            }
+            long secondsUntilReset = (window.oldest() + WINDOW_SIZE_MS - now) / 1000;
+            return Math.max(0, secondsUntilReset);
+        }
+    }
+
+    /**
+     * Remove keys with no requests left in the window; such keys behave exactly like unseen ones
+     * @return number of keys removed
+     */
+    public int evictIdle() {
+        long cutoff = clock.getAsLong() - WINDOW_SIZE_MS;
+        int removed = 0;
+        Iterator<Window> iterator = windows.values().iterator();
+        while (iterator.hasNext()) {
+            Window window = iterator.next();
+            synchronized (window) {
+                if (window.count == 0 || window.newest() < cutoff) {
+                    window.evicted = true;
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Number of keys currently tracked
+     */
+    public int trackedKeys() {
+        return windows.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (evictionExecutor != null) {
+            evictionExecutor.shutdownNow();
+        }
+    }
+
+    private void evictIdleSafely() {
+        try {
+            int removed = evictIdle();
+            if (removed > 0) {
+                logger.debug("Evicted {} idle rate limit keys", removed);
+            }
+        } catch (RuntimeException e) {
+            // Keep the scheduled sweep alive
+            logger.warn("Rate limit eviction failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Ring buffer of the request times inside the current window, oldest at head
+     */
+    private static final class Window {
+
+        private final long[] timestamps;
+        private int head;
+        private int count;
+        private boolean evicted;
+
+        private Window(int capacity) {
+            this.timestamps = new long[capacity];
+        }
+
+        void expire(long now) {
+            long cutoff = now - WINDOW_SIZE_MS;
+            while (count > 0 && timestamps[head] < cutoff) {
+                head = (head + 1) % timestamps.length;
+                count--;
+            }
+        }
+
+        void record(long now) {
+            timestamps[(head + count) % timestamps.length] = now;
+            count++;
+        }
+
+        long oldest() {
+            return timestamps[head];
+        }
+
+        long newest() {
+            return timestamps[(head + count - 1) % timestamps.length];
+        }
+    }
+}
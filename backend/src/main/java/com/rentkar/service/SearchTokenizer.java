@@ -0,0 +1,53 @@
+package com.rentkar.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Utility class for splitting item text into normalized search terms
+ */
+public class SearchTokenizer {
+
+    private static final int MIN_TERM_LENGTH = 2;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is",
+        "it", "of", "on", "or", "the", "this", "to", "with"
+    );
+
+    /**
+     * Split text into lowercase alphanumeric terms, dropping stop words and
+     * single characters (digits are kept so model numbers like "TI 84" still match)
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addTerm(terms, lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerm(List<String> terms, String term) {
+        if (term.length() < MIN_TERM_LENGTH && !Character.isDigit(term.charAt(0))) {
+            return;
+        }
+        if (STOP_WORDS.contains(term)) {
+            return;
+        }
+        terms.add(term);
+    }
+}
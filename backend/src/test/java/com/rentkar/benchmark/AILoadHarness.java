@@ -0,0 +1,229 @@
+package com.rentkar.benchmark;
+
+import com.rentkar.RentKarApplication;
+import com.rentkar.security.JwtUtil;
+import com.rentkar.support.GeminiStubServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.User;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Open-loop load test of the AI generation endpoints against the in-process Gemini stub.
+ * Boots the application on a random port with the test configuration, points it at GeminiStubServer and
+ * sends /generate-title and /generate-description requests alternately at a fixed rate from a set of
+ * virtual users. Requests are scheduled on the clock rather than after the previous response, so a slow
+ * server shows up as latency instead of quietly lowering the offered load.
+ * Reports p50/p90/p99/max latency per endpoint, status counts, peak threads per pool and what the stub saw.
+ *
+ * Options are system properties (defaults in brackets):
+ * load.rps [50], load.durationSeconds [30], load.users [20],
+ * load.rateLimitPerHour [100000] (lower it to watch the per-user rate limiter answer 429),
+ * stub.medianLatencyMs [800], stub.sigma [0.5], stub.errorRate [0], stub.rateLimitRate [0],
+ * stub.dripChunks [1], stub.dripDelayMs [0], ai.timeoutMs [30000].
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.rentkar.benchmark.AILoadHarness -Dload.rps=100
+ */
+public class AILoadHarness {
+
+    private static final String[] ENDPOINTS = {"/generate-title", "/generate-description"};
+
+    private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final Set<Integer> rateLimitedUsers = ConcurrentHashMap.newKeySet();
+    private final LongAdder fallbacks = new LongAdder();
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final Map<String, Integer> peakThreadsByPool = new ConcurrentHashMap<>();
+
+    public static void main(String[] args) throws Exception {
+        new AILoadHarness().run();
+    }
+
+    private void run() throws Exception {
+        int rps = Integer.getInteger("load.rps", 50);
+        int durationSeconds = Integer.getInteger("load.durationSeconds", 30);
+        int users = Integer.getInteger("load.users", 20);
+        int rateLimitPerHour = Integer.getInteger("load.rateLimitPerHour", 100_000);
+        int timeoutMs = Integer.getInteger("ai.timeoutMs", 30_000);
+
+        try (GeminiStubServer stub = new GeminiStubServer()) {
+            stub.logNormalLatency(Long.getLong("stub.medianLatencyMs", 800),
+                            Double.parseDouble(System.getProperty("stub.sigma", "0.5")))
+                    .errorRate(Double.parseDouble(System.getProperty("stub.errorRate", "0")))
+                    .rateLimitRate(Double.parseDouble(System.getProperty("stub.rateLimitRate", "0")))
+                    .slowDrip(Integer.getInteger("stub.dripChunks", 1), Long.getLong("stub.dripDelayMs", 0));
+
+            // Command line arguments outrank application.properties; the cache is off so every request goes upstream
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(RentKarApplication.class).run(
+                    "--server.port=0",
+                    "--gemini.api-endpoint=" + stub.getApiEndpoint(),
+                    "--ai.generation.enabled=true",
+                    "--ai.cache.max-entries=0",
+                    "--ai.request.timeout-ms=" + timeoutMs,
+                    "--ai.rate-limit.per-hour=" + rateLimitPerHour,
+                    "--logging.level.com.rentkar=WARN");
+            try {
+                int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                String[] tokens = createTokens(context.getBean(JwtUtil.class), users);
+                drive("http://localhost:" + port + "/api/items", tokens, rps, durationSeconds, timeoutMs);
+                report(rps, durationSeconds, users, stub);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private void drive(String baseUrl, String[] tokens, int rps, int durationSeconds, int timeoutMs)
+            throws InterruptedException {
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        AtomicLong sequence = new AtomicLong();
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        scheduler.scheduleAtFixedRate(this::sampleThreads, 0, 250, TimeUnit.MILLISECONDS);
+        scheduler.scheduleAtFixedRate(() -> send(client, baseUrl, tokens, sequence.getAndIncrement()),
+                0, periodNanos, TimeUnit.NANOSECONDS);
+
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        scheduler.shutdownNow();
+
+        // Let requests already sent finish
+        long deadline = System.currentTimeMillis() + timeoutMs + 5_000;
+        while (outstanding.get() > 0 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        sampleThreads();
+        peakThreadsByPool.put("(jvm peak)", threads.getPeakThreadCount());
+        clientExecutor.shutdownNow();
+    }
+
+    private void send(HttpClient client, String baseUrl, String[] tokens, long sequence) {
+        String endpoint = ENDPOINTS[(int) (sequence % ENDPOINTS.length)];
+        int user = (int) (sequence % tokens.length);
+        // Unique item names so neither the cache nor request coalescing hides upstream calls
+        String body = "{\"itemName\":\"Load item " + sequence + "\",\"category\":\"Electronics\","
+                + "\"condition\":\"Good\",\"additionalInfo\":\"Used for one semester\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + tokens[user])
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        outstanding.incrementAndGet();
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            long elapsed = System.nanoTime() - start;
+            List<Long> samples = latencies.computeIfAbsent(endpoint, key -> new ArrayList<>());
+            synchronized (samples) {
+                samples.add(elapsed);
+            }
+            if (error != null) {
+                count(endpoint + " error " + error.getClass().getSimpleName());
+            } else {
+                count(endpoint + " " + response.statusCode());
+                if (response.statusCode() == 429) {
+                    rateLimitedUsers.add(user);
+                }
+                if (response.body().contains("\"fallback\":true")) {
+                    fallbacks.increment();
+                }
+            }
+            outstanding.decrementAndGet();
+        });
+    }
+
+    private void count(String key) {
+        statuses.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    /**
+     * Record the most live threads seen per pool; pools are thread names without their trailing number
+     */
+    private void sampleThreads() {
+        Map<String, Integer> pools = new TreeMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            pools.merge(thread.getName().replaceAll("[-_]?\\d+$", ""), 1, Integer::sum);
+        }
+        pools.forEach((pool, count) -> peakThreadsByPool.merge(pool, count, Math::max));
+    }
+
+    private void report(int rps, int durationSeconds, int users, GeminiStubServer stub) {
+        System.out.printf("%nAI load test: %d rps for %ds from %d users%n", rps, durationSeconds, users);
+
+        System.out.printf("%n%-24s %8s %10s %10s %10s %10s%n", "Latency (ms)", "count", "p50", "p90", "p99", "max");
+        for (String endpoint : ENDPOINTS) {
+            List<Long> samples = latencies.getOrDefault(endpoint, List.of());
+            long[] sorted;
+            synchronized (samples) {
+                sorted = samples.stream().mapToLong(Long::longValue).toArray();
+            }
+            Arrays.sort(sorted);
+            System.out.printf("%-24s %8d %10.1f %10.1f %10.1f %10.1f%n", endpoint, sorted.length,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+
+        System.out.printf("%nResponses%n");
+        new TreeMap<>(statuses).forEach((key, count) -> System.out.printf("  %-40s %8d%n", key, count.sum()));
+        System.out.printf("  %-40s %8d%n", "template fallbacks", fallbacks.sum());
+        System.out.printf("  %-40s %8d of %d%n", "users rate limited (429)", rateLimitedUsers.size(), users);
+
+        System.out.printf("%nGemini stub%n");
+        System.out.printf("  %-40s %8d%n", "requests", stub.getRequestCount());
+        System.out.printf("  %-40s %8d%n", "peak concurrent requests", stub.getPeakInFlight());
+        stub.getStatusCounts().forEach((status, count) -> System.out.printf("  %-40s %8d%n", "status " + status, count));
+
+        System.out.printf("%nPeak threads%n");
+        peakThreadsByPool.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1 || entry.getKey().startsWith("("))
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> System.out.printf("  %-40s %8d%n", entry.getKey(), entry.getValue()));
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1);
+        return sorted[index] / 1_000_000.0;
+    }
+
+    private static String[] createTokens(JwtUtil jwtUtil, int users) {
+        String[] tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            long userId = i + 1;
+            tokens[i] = jwtUtil.generateToken(
+                    User.withUsername("loaduser" + userId).password("unused").authorities(new ArrayList<>()).build(),
+                    Map.of("userId", userId, "email", "loaduser" + userId + "@example.com",
+                            "name", "Load User " + userId, "role", "USER"));
+        }
+        return tokens;
+    }
+}
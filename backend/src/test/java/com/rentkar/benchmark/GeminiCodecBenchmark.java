@@ -0,0 +1,140 @@
+package com.rentkar.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.service.GeminiCodec;
+import com.rentkar.service.PromptBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of encoding a Gemini request and decoding its response.
+ * The tree benchmarks reproduce the old path: a JsonObject request serialized with toString(), and the
+ * response parsed into a JsonObject just to read the text and token count. The streaming benchmarks use
+ * GeminiCodec. Responses carry the safety ratings and metadata a real description response has.
+ * Add -prof gc to the options to compare allocation per operation.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.rentkar.benchmark.GeminiCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeminiCodecBenchmark {
+
+    private final Gson gson = new Gson();
+
+    private String prompt;
+    private String response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        prompt = PromptBuilder.buildDescriptionPrompt(new AIGenerationRequest("Casio FX-991EX calculator",
+                "Electronics", "Barely used, comes with the original cover", "Like New", "552 functions, solar powered"));
+        response = buildResponse(
+                "High-quality scientific calculator perfect for engineering and mathematics students. ".repeat(8));
+    }
+
+    @Benchmark
+    public String treeRequest() {
+        JsonObject requestBody = new JsonObject();
+        JsonArray contents = new JsonArray();
+        JsonObject content = new JsonObject();
+        JsonArray parts = new JsonArray();
+        JsonObject part = new JsonObject();
+        part.addProperty("text", prompt);
+        parts.add(part);
+        content.add("parts", parts);
+        contents.add(content);
+        requestBody.add("contents", contents);
+        JsonObject generationConfig = new JsonObject();
+        generationConfig.addProperty("temperature", 0.7);
+        generationConfig.addProperty("maxOutputTokens", 500);
+        generationConfig.addProperty("topP", 0.8);
+        generationConfig.addProperty("topK", 40);
+        requestBody.add("generationConfig", generationConfig);
+        return requestBody.toString();
+    }
+
+    @Benchmark
+    public String streamingRequest() {
+        return GeminiCodec.writeRequest(prompt, 0.7, 500, false);
+    }
+
+    @Benchmark
+    public void treeResponse(Blackhole blackhole) {
+        JsonObject parsed = gson.fromJson(response, JsonObject.class);
+        blackhole.consume(parsed.getAsJsonArray("candidates")
+                .get(0).getAsJsonObject()
+                .getAsJsonObject("content")
+                .getAsJsonArray("parts")
+                .get(0).getAsJsonObject()
+                .get("text").getAsString());
+        blackhole.consume(parsed.getAsJsonObject("usageMetadata").get("totalTokenCount").getAsInt());
+    }
+
+    @Benchmark
+    public void streamingResponse(Blackhole blackhole) {
+        GeminiCodec.ParsedResponse parsed = GeminiCodec.readResponse(response);
+        blackhole.consume(parsed.getText());
+        blackhole.consume(parsed.getTokenCount());
+    }
+
+    private static String buildResponse(String text) {
+        JsonObject part = new JsonObject();
+        part.addProperty("text", text);
+        JsonArray parts = new JsonArray();
+        parts.add(part);
+        JsonObject content = new JsonObject();
+        content.add("parts", parts);
+        content.addProperty("role", "model");
+
+        JsonArray safetyRatings = new JsonArray();
+        for (String category : new String[]{"HARM_CATEGORY_SEXUALLY_EXPLICIT", "HARM_CATEGORY_HATE_SPEECH",
+                "HARM_CATEGORY_HARASSMENT", "HARM_CATEGORY_DANGEROUS_CONTENT"}) {
+            JsonObject rating = new JsonObject();
+            rating.addProperty("category", category);
+            rating.addProperty("probability", "NEGLIGIBLE");
+            safetyRatings.add(rating);
+        }
+
+        JsonObject candidate = new JsonObject();
+        candidate.add("content", content);
+        candidate.addProperty("finishReason", "STOP");
+        candidate.addProperty("index", 0);
+        candidate.add("safetyRatings", safetyRatings);
+        JsonArray candidates = new JsonArray();
+        candidates.add(candidate);
+
+        JsonObject promptFeedback = new JsonObject();
+        promptFeedback.add("safetyRatings", safetyRatings.deepCopy());
+
+        JsonObject usage = new JsonObject();
+        usage.addProperty("promptTokenCount", 142);
+        usage.addProperty("candidatesTokenCount", 160);
+        usage.addProperty("totalTokenCount", 302);
+
+        JsonObject response = new JsonObject();
+        response.add("candidates", candidates);
+        response.add("promptFeedback", promptFeedback);
+        response.add("usageMetadata", usage);
+        response.addProperty("modelVersion", "gemini-pro");
+        return response.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(GeminiCodecBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.rentkar.benchmark;
+
+import com.rentkar.model.Item;
+import com.rentkar.repository.StoredImageRepository;
+import com.rentkar.service.ImageSimilarityIndex;
+import com.rentkar.service.ImageSimilarityIndexImpl;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Compares similar-image lookups in the multi-index hash tables against a linear scan of every hash.
+ * Half of the queries have near-duplicates in the index, the rest only random neighbours.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.rentkar.benchmark.ImageSimilarityBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageSimilarityBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final int LIMIT = 10;
+
+    @Param({"300000"})
+    public int itemCount;
+
+    @Param({"6", "10"})
+    public int maxDistance;
+
+    private ImageSimilarityIndex index;
+    private long[] hashes;
+    private long[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StoredImageRepository repository = Mockito.mock(StoredImageRepository.class, Mockito.withSettings().stubOnly());
+        Mockito.when(repository.findPerceptualHashes(anyString())).thenAnswer(invocation ->
+                List.of(Long.parseLong(invocation.<String>getArgument(0))));
+        index = new ImageSimilarityIndexImpl(repository, 1000);
+
+        Random random = new Random(42);
+        hashes = new long[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            hashes[i] = random.nextLong();
+            Item item = new Item();
+            item.setId((long) i + 1);
+            item.setImageUrl(Long.toString(hashes[i]));
+            index.index(item);
+        }
+
+        queries = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long query = i % 2 == 0 ? hashes[random.nextInt(itemCount)] : random.nextLong();
+            // A few bits off, like a recompressed or slightly edited copy
+            for (int flip = random.nextInt(4); flip > 0; flip--) {
+                query ^= 1L << random.nextInt(64);
+            }
+            queries[i] = query;
+        }
+    }
+
+    @Benchmark
+    public List<Long> multiIndexHashing() {
+        return index.findSimilar(nextQuery(), maxDistance, LIMIT);
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole blackhole) {
+        long query = nextQuery();
+        int matches = 0;
+        for (long hash : hashes) {
+            if (Long.bitCount(hash ^ query) <= maxDistance) {
+                matches++;
+            }
+        }
+        blackhole.consume(matches);
+    }
+
+    private long nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return queries[next];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ImageSimilarityBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
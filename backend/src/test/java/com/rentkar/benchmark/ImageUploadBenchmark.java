@@ -0,0 +1,183 @@
+package com.rentkar.benchmark;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.Uploader;
+import com.cloudinary.utils.ObjectUtils;
+import com.rentkar.dto.ImageUploadDTO;
+import com.rentkar.repository.StoredImageRepository;
+import com.rentkar.service.CloudinaryImageStorage;
+import com.rentkar.service.ImageProcessor;
+import com.rentkar.service.ImageUploadService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Heap allocated per image upload, read from gc.alloc.rate.norm in the GC profiler output.
+ * Uploads come from a disk-backed multipart file, the way the servlet container hands them over, and go to an
+ * uploader that reads the body the way the HTTP client does. The buffered benchmark reproduces the old path,
+ * which passed file.getBytes() to Cloudinary. The streaming benchmark goes through ImageUploadService and
+ * CloudinaryImageStorage, with image processing off so only the upload itself is measured.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.rentkar.benchmark.ImageUploadBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageUploadBenchmark {
+
+    private static final Map<String, Object> UPLOAD_RESULT = Map.of("secure_url",
+            "https://res.cloudinary.com/test-cloud/image/upload/rentkar/items/photo.jpg");
+
+    @Param({"262144", "1048576", "5242880"})
+    public int size;
+
+    private Path upload;
+    private MultipartFile file;
+    private Cloudinary cloudinary;
+    private ImageUploadService imageUploadService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        byte[] data = new byte[size];
+        new Random(42).nextBytes(data);
+        upload = Files.createTempFile("rentkar-benchmark-", ".jpg");
+        Files.write(upload, data);
+        file = new DiskMultipartFile(upload);
+
+        // Stub only, so the mock does not keep every invocation
+        Uploader uploader = mock(Uploader.class, withSettings().stubOnly());
+        when(uploader.upload(any(), anyMap())).thenAnswer(invocation -> {
+            drain(invocation.getArgument(0));
+            return UPLOAD_RESULT;
+        });
+        cloudinary = mock(Cloudinary.class, withSettings().stubOnly());
+        when(cloudinary.uploader()).thenReturn(uploader);
+        // Processing off and an empty digest index, so every upload is stored
+        imageUploadService = new ImageUploadService(new CloudinaryImageStorage(cloudinary),
+                new ImageProcessor(false, 0, 0, 0, 0, 0), mock(StoredImageRepository.class, withSettings().stubOnly()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(upload);
+    }
+
+    @Benchmark
+    public Object bufferedUpload() throws IOException {
+        return cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap(
+                "folder", "rentkar/items",
+                "resource_type", "image"
+        )).get("secure_url");
+    }
+
+    @Benchmark
+    public ImageUploadDTO streamingUpload() throws IOException {
+        return imageUploadService.uploadImage(file);
+    }
+
+    /**
+     * Read the body the way the HTTP client writes it to the socket: in place for a byte array,
+     * through a small buffer for a file
+     */
+    private static long drain(Object body) throws IOException {
+        if (body instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        long total = 0;
+        byte[] buffer = new byte[4096];
+        try (InputStream in = Files.newInputStream(((File) body).toPath())) {
+            for (int read; (read = in.read(buffer)) != -1; ) {
+                total += read;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Multipart file kept on disk, like the container's part once it is over the size threshold
+     */
+    private static final class DiskMultipartFile implements MultipartFile {
+
+        private final Path path;
+
+        private DiskMultipartFile(Path path) {
+            this.path = path;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return "photo.jpg";
+        }
+
+        @Override
+        public String getContentType() {
+            return "image/jpeg";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(path);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public byte[] getBytes() throws IOException {
+            return Files.readAllBytes(path);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(path);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            // The container moves its temp file; copy so the source survives for the next invocation
+            Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ImageUploadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
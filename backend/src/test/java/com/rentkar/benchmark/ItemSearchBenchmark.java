@@ -0,0 +1,162 @@
+package com.rentkar.benchmark;
+
+import com.rentkar.model.Item;
+import com.rentkar.model.ItemStatus;
+import com.rentkar.repository.ItemRepository;
+import com.rentkar.service.ItemSearchIndex;
+import com.rentkar.service.ItemSearchIndexImpl;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the in-process search index against the LIKE query used by ItemRepository.findWithFilters.
+ * The LIKE side runs the same page + count queries against an H2 table of the same items.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.rentkar.benchmark.ItemSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSearchBenchmark {
+
+    private static final String[] ADJECTIVES = {
+        "vintage", "portable", "wireless", "compact", "heavy", "professional", "digital", "classic",
+        "electric", "foldable", "waterproof", "ergonomic", "lightweight", "refurbished", "acoustic"
+    };
+
+    private static final String[] NOUNS = {
+        "laptop", "camera", "guitar", "drill", "tent", "projector", "calculator", "bicycle", "keyboard",
+        "speaker", "microscope", "textbook", "racket", "ladder", "monitor", "tripod", "backpack", "stove"
+    };
+
+    private static final String[] CATEGORIES = {
+        "Electronics", "Books", "Accessories", "Sports Equipment", "Musical Instruments", "Tools", "Other"
+    };
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100000"})
+    public int itemCount;
+
+    @Param({"camera", "wireless speaker", "calc"})
+    public String query;
+
+    private Connection connection;
+    private PreparedStatement likePageStatement;
+    private PreparedStatement likeCountStatement;
+    private ItemSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:search_benchmark;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS items");
+            statement.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, title VARCHAR(200), " +
+                    "description CLOB, category VARCHAR(50), status VARCHAR(20), created_at TIMESTAMP)");
+        }
+
+        index = new ItemSearchIndexImpl(Mockito.mock(ItemRepository.class), 1000);
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO items (id, title, description, category, status, created_at) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (long id = 1; id <= itemCount; id++) {
+                Item item = randomItem(id, random, now);
+                index.index(item);
+
+                insert.setLong(1, id);
+                insert.setString(2, item.getTitle());
+                insert.setString(3, item.getDescription());
+                insert.setString(4, item.getCategory());
+                insert.setString(5, item.getStatus().name());
+                insert.setTimestamp(6, Timestamp.valueOf(item.getCreatedAt()));
+                insert.addBatch();
+                if (id % 1000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        String where = " WHERE status = ? AND (LOWER(title) LIKE ? OR LOWER(description) LIKE ?)";
+        likePageStatement = connection.prepareStatement(
+                "SELECT id FROM items" + where + " ORDER BY created_at DESC LIMIT " + PAGE_SIZE);
+        likeCountStatement = connection.prepareStatement("SELECT COUNT(*) FROM items" + where);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void likeQuery(Blackhole blackhole) throws SQLException {
+        String pattern = "%" + query.toLowerCase() + "%";
+        blackhole.consume(executeLike(likePageStatement, pattern));
+        blackhole.consume(executeLike(likeCountStatement, pattern));
+    }
+
+    @Benchmark
+    public ItemSearchIndex.SearchHits invertedIndex() {
+        return index.search(query, ItemStatus.AVAILABLE, null, 0, PAGE_SIZE);
+    }
+
+    private long executeLike(PreparedStatement statement, String pattern) throws SQLException {
+        statement.setString(1, ItemStatus.AVAILABLE.name());
+        statement.setString(2, pattern);
+        statement.setString(3, pattern);
+        long result = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                result += resultSet.getLong(1);
+            }
+        }
+        return result;
+    }
+
+    private Item randomItem(long id, Random random, LocalDateTime now) {
+        String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        String other = NOUNS[random.nextInt(NOUNS.length)];
+
+        Item item = new Item();
+        item.setId(id);
+        item.setTitle(capitalize(adjective) + " " + noun + " model " + random.nextInt(500));
+        item.setDescription("Well kept " + noun + " in good condition, works great with a " + other +
+                ". Pick up on campus, available most weekdays.");
+        item.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        item.setStatus(random.nextInt(10) < 8 ? ItemStatus.AVAILABLE : ItemStatus.BORROWED);
+        item.setCreatedAt(now.minusMinutes(itemCount - id));
+        return item;
+    }
+
+    private String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ItemSearchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,103 @@
+package com.rentkar.benchmark;
+
+import com.rentkar.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost of the JWT filter path.
+ * legacyValidate reproduces the old behaviour: a fresh key and parser for every claim lookup and three
+ * full parses per request (subject, then subject + expiry in validateToken). parseOnce uses the cached
+ * parser with the token cache disabled, cachedHit serves a recently verified token from the cache.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.rentkar.benchmark.JwtValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "RentKarSecretKeyForJWTTokenGenerationAndValidation2024";
+    private static final long EXPIRATION = 86400000L;
+
+    private JwtUtil uncachedJwtUtil;
+    private JwtUtil cachedJwtUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        uncachedJwtUtil = createJwtUtil(0);
+        cachedJwtUtil = createJwtUtil(10000);
+
+        userDetails = User.builder()
+                .username("benchmarkuser")
+                .password("password")
+                .authorities(new ArrayList<>())
+                .build();
+        token = cachedJwtUtil.generateToken(userDetails, Map.of(
+                "userId", 42L, "email", "bench@example.com", "name", "Benchmark User", "role", "USER"));
+
+        // Prime the cache so cachedHit measures the steady state
+        cachedJwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public boolean legacyValidate() {
+        String username = legacyClaims(token).getSubject();
+        return legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Claims parseOnce() {
+        return uncachedJwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims cachedHit() {
+        return cachedJwtUtil.extractAllClaims(token);
+    }
+
+    private Claims legacyClaims(String jwt) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+
+    private JwtUtil createJwtUtil(int cacheMaxEntries) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxEntries", cacheMaxEntries);
+        return jwtUtil;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtValidationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -1,9 +1,9 @@
-package com.rentkar.service;
+package com.rentkar.benchmark;
 
+import com.rentkar.service.RateLimiter;
+import com.rentkar.service.RingBufferRateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.LinkedList;
@@ -11,12 +11,12 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Implementation of RateLimiter using sliding window algorithm
+ * Original sliding window limiter, kept as the baseline for {@link RateLimiterBenchmark}.
+ * Keys are never evicted; the application uses {@link RingBufferRateLimiter}.
  */
-@Service
-public class RateLimiterImpl implements RateLimiter {
+class LinkedListRateLimiter implements RateLimiter {
     
-    private static final Logger logger = LoggerFactory.getLogger(RateLimiterImpl.class);
+    private static final Logger logger = LoggerFactory.getLogger(LinkedListRateLimiter.class);
     
     private final int maxRequestsPerHour;
     private final long windowSizeMs = 3600000; // 1 hour in milliseconds
@@ -24,7 +24,7 @@ public class RateLimiterImpl implements RateLimiter {
     // Map of userId -> list of request timestamps
     private final Map<String, LinkedList<Long>> requestTimestamps;
     
-    public RateLimiterImpl(@Value("${ai.rate-limit.per-hour}") int maxRequestsPerHour) {
+    LinkedListRateLimiter(int maxRequestsPerHour) {
         this.maxRequestsPerHour = maxRequestsPerHour;
         this.requestTimestamps = new ConcurrentHashMap<>();
         logger.info("RateLimiter initialized - max requests per hour: {}", maxRequestsPerHour);
@@ -32,10 +32,18 @@ public class RateLimiterImpl implements RateLimiter {
     
     @Override
     public boolean allowRequest(String userId) {
+        return allowRequests(userId, 1);
+    }
+    
+    @Override
+    public boolean allowRequests(String userId, int permits) {
         if (userId == null || userId.isEmpty()) {
             logger.warn("Rate limit check called with null or empty userId");
             return false;
         }
+        if (permits <= 0) {
+            return true;
+        }
         
         long now = Instant.now().toEpochMilli();
         
@@ -50,14 +58,16 @@ public class RateLimiterImpl implements RateLimiter {
             // Remove expired timestamps (older than 1 hour)
             cleanupExpiredEntries(timestamps, now);
             
-            // Check if user has exceeded rate limit
-            if (timestamps.size() >= maxRequestsPerHour) {
+            // Check if user would exceed the rate limit
+            if (timestamps.size() + permits > maxRequestsPerHour) {
                 logger.debug("Rate limit exceeded for user: {}", userId);
                 return false;
             }
             
-            // Add current timestamp
-            timestamps.add(now);
+            // Add current timestamp once per request
+            for (int i = 0; i < permits; i++) {
+                timestamps.add(now);
+            }
             logger.debug("Request allowed for user: {} ({}/{})", 
                 userId, timestamps.size(), maxRequestsPerHour);
             return true;
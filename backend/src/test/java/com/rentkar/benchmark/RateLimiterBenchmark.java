@@ -0,0 +1,101 @@
+package com.rentkar.benchmark;
+
+import com.rentkar.service.RateLimiter;
+import com.rentkar.service.RingBufferRateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Compares LinkedListRateLimiter (boxed LinkedList per key) with RingBufferRateLimiter.
+ * main first prints the retained heap for one million keys with a few requests each, then runs
+ * the JMH throughput benchmark with 8 threads spread over a small hot key set (contention) and a
+ * large cold one (map growth).
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.rentkar.benchmark.RateLimiterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int FOOTPRINT_KEYS = 1_000_000;
+    private static final int REQUESTS_PER_KEY = 3;
+
+    @Param({"linkedList", "ringBuffer"})
+    public String implementation;
+
+    @Param({"16", "100000"})
+    public int keySpace;
+
+    private RateLimiter rateLimiter;
+    private String[] keys;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // A high limit keeps every call on the record path rather than the cheap rejection path
+        rateLimiter = create(implementation, 1_000_000);
+        keys = new String[keySpace];
+        for (int i = 0; i < keySpace; i++) {
+            keys[i] = "ip_10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+        }
+    }
+
+    @Benchmark
+    public boolean allowRequest() {
+        return rateLimiter.allowRequest(keys[ThreadLocalRandom.current().nextInt(keys.length)]);
+    }
+
+    private static RateLimiter create(String implementation, int limit) {
+        return "ringBuffer".equals(implementation)
+                ? new RingBufferRateLimiter(limit)
+                : new LinkedListRateLimiter(limit);
+    }
+
+    /**
+     * Retained heap, in bytes, after filling a limiter with FOOTPRINT_KEYS keys
+     */
+    private static long measureFootprint(IntFunction<RateLimiter> factory) {
+        long before = usedHeap();
+        RateLimiter limiter = factory.apply(10);
+        for (int i = 0; i < FOOTPRINT_KEYS; i++) {
+            String key = "ip_" + i;
+            for (int r = 0; r < REQUESTS_PER_KEY; r++) {
+                limiter.allowRequest(key);
+            }
+        }
+        long after = usedHeap();
+        // Keep the limiter reachable until the measurement is taken
+        limiter.getRemainingRequests("ip_0");
+        return after - before;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        long linkedList = measureFootprint(LinkedListRateLimiter::new);
+        long ringBuffer = measureFootprint(RingBufferRateLimiter::new);
+        System.out.printf("Heap for %,d keys x %d requests: linkedList=%,d MB, ringBuffer=%,d MB%n",
+                FOOTPRINT_KEYS, REQUESTS_PER_KEY, linkedList >> 20, ringBuffer >> 20);
+
+        Options options = new OptionsBuilder()
+                .include(RateLimiterBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,162 @@
+package com.rentkar.controller;
+
+import com.rentkar.dto.BorrowRequestDTO;
+import com.rentkar.dto.CursorPage;
+import com.rentkar.model.BorrowRequest;
+import com.rentkar.model.Item;
+import com.rentkar.model.ItemStatus;
+import com.rentkar.model.RequestStatus;
+import com.rentkar.model.User;
+import com.rentkar.repository.BorrowRequestRepository;
+import com.rentkar.repository.ItemRepository;
+import com.rentkar.repository.UserRepository;
+import com.rentkar.service.BorrowRequestMapper;
+import com.rentkar.service.BorrowRequestService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies borrow request fetch paths load the item, item owner, borrower and lender in one statement,
+ * and that the results can be mapped outside the service transaction without lazy loading
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@TestPropertySource(locations = "classpath:application.properties")
+public class BorrowRequestQueryCountIntegrationTest {
+
+    private static final int BORROWER_COUNT = 4;
+    private static final int ITEM_COUNT = 5;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BorrowRequestRepository borrowRequestRepository;
+
+    @Autowired
+    private BorrowRequestService borrowRequestService;
+
+    @Autowired
+    private BorrowRequestMapper borrowRequestMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User lender;
+    private User firstBorrower;
+    private Long firstRequestId;
+
+    @BeforeEach
+    void setUp() {
+        borrowRequestRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+
+        lender = userRepository.save(createUser("lender"));
+
+        // Distinct items and borrowers so any per-row association load shows up as extra statements
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            Item item = new Item();
+            item.setTitle("Item " + i);
+            item.setDescription("Description " + i);
+            item.setCategory("Electronics");
+            item.setStatus(ItemStatus.AVAILABLE);
+            item.setOwner(lender);
+            item = itemRepository.save(item);
+
+            for (int b = 0; b < BORROWER_COUNT; b++) {
+                User borrower = (i == 0)
+                        ? userRepository.save(createUser("borrower" + b))
+                        : userRepository.findByUsername("borrower" + b).orElseThrow();
+                if (firstBorrower == null) {
+                    firstBorrower = borrower;
+                }
+
+                BorrowRequest request = new BorrowRequest();
+                request.setItem(item);
+                request.setBorrower(borrower);
+                request.setLender(lender);
+                request.setStatus(RequestStatus.PENDING);
+                request.setBorrowDate(LocalDate.now().plusDays(1));
+                request.setReturnDate(LocalDate.now().plusDays(3));
+                request = borrowRequestRepository.save(request);
+                if (firstRequestId == null) {
+                    firstRequestId = request.getId();
+                }
+            }
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testReceivedListUsesSingleStatement() {
+        List<BorrowRequest> requests = borrowRequestService.getReceivedRequests(lender, null);
+        List<BorrowRequestDTO> dtos = requests.stream().map(borrowRequestMapper::toDTO).toList();
+
+        assertThat(dtos).hasSize(ITEM_COUNT * BORROWER_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testReceivedListWithStatusUsesSingleStatement() {
+        List<BorrowRequest> requests = borrowRequestService.getReceivedRequests(lender, RequestStatus.PENDING);
+        List<BorrowRequestDTO> dtos = requests.stream().map(borrowRequestMapper::toDTO).toList();
+
+        assertThat(dtos).hasSize(ITEM_COUNT * BORROWER_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testSentListUsesSingleStatement() {
+        List<BorrowRequest> requests = borrowRequestService.getSentRequests(firstBorrower, null);
+        List<BorrowRequestDTO> dtos = requests.stream().map(borrowRequestMapper::toDTO).toList();
+
+        assertThat(dtos).hasSize(ITEM_COUNT);
+        assertThat(dtos).allSatisfy(dto -> assertThat(dto.getItem().getOwner()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testCursorPageUsesSingleStatement() {
+        CursorPage<BorrowRequestDTO> page = borrowRequestService.getReceivedRequests(lender, null, null, 10);
+
+        assertThat(page.getItems()).hasSize(10);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testSingleFetchUsesSingleStatement() {
+        BorrowRequest request = borrowRequestService.getRequestById(firstRequestId, lender);
+        BorrowRequestDTO dto = borrowRequestMapper.toDTO(request);
+
+        assertThat(dto.getBorrower()).isNotNull();
+        assertThat(dto.getLender()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("hashedPassword");
+        user.setFullName("User " + username);
+        return user;
+    }
+}
@@ -0,0 +1,261 @@
+package com.rentkar.controller;
+
+import com.rentkar.dto.CreateItemRequest;
+import com.rentkar.dto.LoginRequest;
+import com.rentkar.dto.RegisterRequest;
+import com.rentkar.repository.BorrowRequestRepository;
+import com.rentkar.repository.ItemRepository;
+import com.rentkar.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application.properties", properties = {
+    "image.storage.type=local",
+    "image.storage.local.directory=target/test-images",
+    "image.storage.local.base-url=/api/images"
+})
+public class ImageControllerIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BorrowRequestRepository borrowRequestRepository;
+
+    private String baseUrl;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+
+        borrowRequestRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setUsername("imageuser");
+        registerRequest.setEmail("image@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setFullName("Image User");
+        registerRequest.setPhone("1234567890");
+        restTemplate.postForEntity(baseUrl + "/api/auth/register", registerRequest, Map.class);
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("imageuser");
+        loginRequest.setPassword("password123");
+        ResponseEntity<Map> loginResponse = restTemplate.postForEntity(
+            baseUrl + "/api/auth/login", loginRequest, Map.class);
+        token = (String) ((Map<String, Object>) loginResponse.getBody().get("data")).get("token");
+    }
+
+    @Test
+    void testUploadedImageIsServedWithCacheHeaders() throws IOException {
+        String imageUrl = uploadImage();
+        assertThat(imageUrl).startsWith("/api/images/").endsWith(".jpg");
+
+        ResponseEntity<byte[]> response = restTemplate.getForEntity(baseUrl + imageUrl, byte[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_JPEG);
+        assertThat(response.getHeaders().getCacheControl()).contains("max-age=31536000").contains("immutable");
+        assertThat(response.getHeaders().getETag()).isNotNull();
+        assertThat(response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeaders().getContentLength()).isEqualTo(response.getBody().length);
+        BufferedImage image = ImageIO.read(new java.io.ByteArrayInputStream(response.getBody()));
+        assertThat(image.getWidth()).isEqualTo(1600);
+        assertThat(image.getHeight()).isEqualTo(800);
+    }
+
+    @Test
+    void testRangeRequestReturnsPartialContent() throws IOException {
+        String imageUrl = uploadImage();
+        byte[] full = restTemplate.getForEntity(baseUrl + imageUrl, byte[].class).getBody();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setRange(List.of(HttpRange.createByteRange(10, 109)));
+        ResponseEntity<byte[]> response = restTemplate.exchange(
+            baseUrl + imageUrl, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE))
+            .isEqualTo("bytes 10-109/" + full.length);
+        assertThat(response.getBody()).isEqualTo(java.util.Arrays.copyOfRange(full, 10, 110));
+    }
+
+    @Test
+    void testUnchangedImageIsNotSentAgain() throws IOException {
+        String imageUrl = uploadImage();
+        String eTag = restTemplate.getForEntity(baseUrl + imageUrl, byte[].class).getHeaders().getETag();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        ResponseEntity<byte[]> response = restTemplate.exchange(
+            baseUrl + imageUrl, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void testUnknownImageReturnsNotFound() {
+        ResponseEntity<byte[]> response = restTemplate.getForEntity(
+            baseUrl + "/api/images/3f2504e0-4f89-11d3-9a0c-0305e82c3301.jpg", byte[].class);
+        ResponseEntity<byte[]> invalid = restTemplate.getForEntity(
+            baseUrl + "/api/images/application.properties", byte[].class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(invalid.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void testSameImageUploadedAgainReusesStoredImage() throws IOException {
+        String imageUrl = uploadImage();
+
+        Map<String, Object> second = uploadImageData();
+
+        assertThat(second.get("imageUrl")).isEqualTo(imageUrl);
+        assertThat(second.get("duplicate")).isEqualTo(true);
+        assertThat(restTemplate.getForEntity(baseUrl + imageUrl, byte[].class).getStatusCode())
+            .isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void testItemsWithSimilarImagesAreFound() throws IOException {
+        BufferedImage photo = createPhoto();
+        // The same photo with a small sticker on it, uploaded as a different file
+        BufferedImage edited = createPhoto();
+        for (int y = 100; y < 140; y++) {
+            for (int x = 100; x < 140; x++) {
+                edited.setRGB(x, y, Color.RED.getRGB());
+            }
+        }
+        BufferedImage unrelated = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(7);
+        for (int y = 0; y < unrelated.getHeight(); y += 100) {
+            for (int x = 0; x < unrelated.getWidth(); x += 100) {
+                int level = random.nextInt(256);
+                for (int dy = 0; dy < 100; dy++) {
+                    for (int dx = 0; dx < 100; dx++) {
+                        unrelated.setRGB(x + dx, y + dy, new Color(level, level, level).getRGB());
+                    }
+                }
+            }
+        }
+
+        Long original = createItem("Camping tent", (String) uploadImageData(photo).get("imageUrl"));
+        Long repost = createItem("Camping tent for rent", (String) uploadImageData(edited).get("imageUrl"));
+        Long other = createItem("Desk lamp", (String) uploadImageData(unrelated).get("imageUrl"));
+
+        ResponseEntity<Map> response = restTemplate.getForEntity(
+            baseUrl + "/api/items/" + original + "/similar", Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        List<Map<String, Object>> similar = (List<Map<String, Object>>) response.getBody().get("data");
+        assertThat(similar).extracting(item -> ((Number) item.get("id")).longValue())
+            .containsExactly(repost);
+
+        ResponseEntity<Map> unrelatedResponse = restTemplate.getForEntity(
+            baseUrl + "/api/items/" + other + "/similar", Map.class);
+        assertThat((List<?>) unrelatedResponse.getBody().get("data")).isEmpty();
+
+        ResponseEntity<Map> invalid = restTemplate.getForEntity(
+            baseUrl + "/api/items/" + original + "/similar?maxDistance=64", Map.class);
+        ResponseEntity<Map> missing = restTemplate.getForEntity(
+            baseUrl + "/api/items/999999/similar", Map.class);
+        assertThat(invalid.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(missing.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private Long createItem(String title, String imageUrl) {
+        CreateItemRequest request = new CreateItemRequest();
+        request.setTitle(title);
+        request.setDescription("Used a few times");
+        request.setCategory("Other");
+        request.setImageUrl(imageUrl);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        ResponseEntity<Map> response = restTemplate.exchange(
+            baseUrl + "/api/items", HttpMethod.POST, new HttpEntity<>(request, headers), Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Map<String, Object> data = (Map<String, Object>) response.getBody().get("data");
+        return ((Number) data.get("id")).longValue();
+    }
+
+    private String uploadImage() throws IOException {
+        return (String) uploadImageData().get("imageUrl");
+    }
+
+    private Map<String, Object> uploadImageData() throws IOException {
+        return uploadImageData(createPhoto());
+    }
+
+    private BufferedImage createPhoto() {
+        // Larger than the configured maximum, so it is scaled down to 1600x800
+        BufferedImage photo = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < photo.getHeight(); y++) {
+            for (int x = 0; x < photo.getWidth(); x++) {
+                photo.setRGB(x, y, new Color(x % 256, y % 256, 128).getRGB());
+            }
+        }
+        return photo;
+    }
+
+    private Map<String, Object> uploadImageData(BufferedImage photo) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(photo, "png", encoded);
+
+        HttpHeaders partHeaders = new HttpHeaders();
+        partHeaders.setContentType(MediaType.IMAGE_PNG);
+        ByteArrayResource file = new ByteArrayResource(encoded.toByteArray()) {
+            @Override
+            public String getFilename() {
+                return "photo.png";
+            }
+        };
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("file", new HttpEntity<>(file, partHeaders));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + token);
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        ResponseEntity<Map> response = restTemplate.exchange(
+            baseUrl + "/api/items/upload-image", HttpMethod.POST, new HttpEntity<>(body, headers), Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return (Map<String, Object>) response.getBody().get("data");
+    }
+}
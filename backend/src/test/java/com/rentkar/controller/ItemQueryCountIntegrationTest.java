@@ -0,0 +1,160 @@
+package com.rentkar.controller;
+
+import com.rentkar.model.Item;
+import com.rentkar.model.ItemStatus;
+import com.rentkar.model.User;
+import com.rentkar.repository.BorrowRequestRepository;
+import com.rentkar.repository.ItemRepository;
+import com.rentkar.repository.UserRepository;
+import com.rentkar.service.ItemSearchIndex;
+import com.rentkar.service.ItemService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies item listings load their owners in the same statement instead of one query per row
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@TestPropertySource(locations = "classpath:application.properties")
+public class ItemQueryCountIntegrationTest {
+
+    private static final int OWNER_COUNT = 5;
+    private static final int ITEMS_PER_OWNER = 4;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BorrowRequestRepository borrowRequestRepository;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemSearchIndex searchIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String baseUrl;
+    private Statistics statistics;
+    private Long firstOwnerId;
+    private Long firstItemId;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port + "/api/items";
+
+        borrowRequestRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+
+        // Distinct owners so a per-row owner load would show up as extra statements
+        for (int o = 0; o < OWNER_COUNT; o++) {
+            User owner = new User();
+            owner.setUsername("owner" + o);
+            owner.setEmail("owner" + o + "@example.com");
+            owner.setPassword("hashedPassword");
+            owner.setFullName("Owner " + o);
+            owner = userRepository.save(owner);
+            if (firstOwnerId == null) {
+                firstOwnerId = owner.getId();
+            }
+
+            for (int i = 0; i < ITEMS_PER_OWNER; i++) {
+                Item item = new Item();
+                item.setTitle("Camera " + o + "-" + i);
+                item.setDescription("Digital camera in good condition");
+                item.setCategory("Electronics");
+                item.setStatus(ItemStatus.AVAILABLE);
+                item.setOwner(owner);
+                item = itemRepository.save(item);
+                if (firstItemId == null) {
+                    firstItemId = item.getId();
+                }
+            }
+        }
+
+        searchIndex.rebuild();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testPagedListingUsesSelectAndCountOnly() {
+        ResponseEntity<Map> response = restTemplate.getForEntity(baseUrl + "?size=20", Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(listedItems(response)).hasSize(OWNER_COUNT * ITEMS_PER_OWNER);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void testCursorListingUsesSingleStatement() {
+        ResponseEntity<Map> response = restTemplate.getForEntity(baseUrl + "?cursor=&size=20", Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(listedItems(response)).hasSize(OWNER_COUNT * ITEMS_PER_OWNER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testIndexedSearchUsesSingleStatement() {
+        ResponseEntity<Map> response = restTemplate.getForEntity(baseUrl + "?search=camera&size=20", Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(listedItems(response)).hasSize(OWNER_COUNT * ITEMS_PER_OWNER);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testItemDetailUsesSingleStatement() {
+        ResponseEntity<Map> response = restTemplate.getForEntity(baseUrl + "/" + firstItemId, Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Map<String, Object> data = (Map<String, Object>) response.getBody().get("data");
+        assertThat(data.get("owner")).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testOwnerListingUsesSelectAndCountOnly() {
+        itemService.getItemsByOwner(firstOwnerId,
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    private List<Map<String, Object>> listedItems(ResponseEntity<Map> response) {
+        Map<String, Object> data = (Map<String, Object>) response.getBody().get("data");
+        return (List<Map<String, Object>>) data.get("items");
+    }
+}
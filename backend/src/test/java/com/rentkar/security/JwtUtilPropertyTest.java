@@ -118,6 +118,45 @@ public class JwtUtilPropertyTest {
                         name, claims.get("name", String.class));
     }
 
+    /**
+     * Feature: jwt-verification-cache, Property 1: Cached verification returns the same claims and still rejects tampered tokens
+     * Validates: Requirements 8.1, 8.2
+     */
+    @Property(tries = 50)
+    void cachedVerificationMatchesParserAndRejectsTampering(
+            @ForAll("usernames") String username,
+            @ForAll("userIds") Long userId) {
+        JwtUtil jwtUtil = createJwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxEntries", 16);
+        UserDetails userDetails = User.builder()
+                .username(username)
+                .password("password")
+                .authorities(new ArrayList<>())
+                .build();
+        String token = jwtUtil.generateToken(userDetails, java.util.Map.of("userId", userId));
+
+        Claims first = jwtUtil.extractAllClaims(token);
+        Claims second = jwtUtil.extractAllClaims(token);
+
+        assert second.getSubject().equals(username) : "Cached claims should keep the subject";
+        assert second.get("userId", Long.class).equals(userId) : "Cached claims should keep the userId";
+        assert first.getExpiration().equals(second.getExpiration()) : "Cached claims should keep the expiry";
+        assert jwtUtil.validateToken(token, userDetails) : "Cached token should still validate";
+
+        // Change one character inside the signature; the digest no longer matches the cached entry
+        int position = token.lastIndexOf('.') + 5;
+        String tampered = token.substring(0, position) + (token.charAt(position) == 'A' ? 'B' : 'A')
+                + token.substring(position + 1);
+        boolean rejected;
+        try {
+            jwtUtil.extractAllClaims(tampered);
+            rejected = false;
+        } catch (io.jsonwebtoken.JwtException e) {
+            rejected = true;
+        }
+        assert rejected : "Tampered token should be rejected even when the original is cached";
+    }
+
     @Provide
     Arbitrary<String> usernames() {
         return Arbitraries.strings()
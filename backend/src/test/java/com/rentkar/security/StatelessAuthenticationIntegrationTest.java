@@ -0,0 +1,114 @@
+package com.rentkar.security;
+
+import com.rentkar.dto.LoginRequest;
+import com.rentkar.dto.RegisterRequest;
+import com.rentkar.model.User;
+import com.rentkar.repository.BorrowRequestRepository;
+import com.rentkar.repository.ItemRepository;
+import com.rentkar.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.*;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies authenticated requests build the principal from JWT claims without loading the user row
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@TestPropertySource(locations = "classpath:application.properties")
+public class StatelessAuthenticationIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BorrowRequestRepository borrowRequestRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String baseUrl;
+    private String token;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost:" + port;
+        borrowRequestRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setUsername("statelessuser");
+        registerRequest.setEmail("stateless@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setFullName("Stateless User");
+        restTemplate.postForEntity(baseUrl + "/api/auth/register", registerRequest, Map.class);
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("statelessuser");
+        loginRequest.setPassword("password123");
+        ResponseEntity<Map> loginResponse = restTemplate.postForEntity(
+                baseUrl + "/api/auth/login", loginRequest, Map.class);
+        Map<String, Object> loginData = (Map<String, Object>) loginResponse.getBody().get("data");
+        token = (String) loginData.get("token");
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testItemHandlerDoesNotLoadUser() {
+        ResponseEntity<Map> response = get("/api/items/my-items");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(userLoadCount()).isZero();
+    }
+
+    @Test
+    void testRequestHandlerDoesNotLoadUser() {
+        ResponseEntity<Map> response = get("/api/requests/sent");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(userLoadCount()).isZero();
+    }
+
+    @Test
+    void testMissingTokenIsStillRejected() {
+        ResponseEntity<Map> response = restTemplate.getForEntity(baseUrl + "/api/items/my-items", Map.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private ResponseEntity<Map> get(String path) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + token);
+        return restTemplate.exchange(baseUrl + path, HttpMethod.GET, new HttpEntity<>(headers), Map.class);
+    }
+
+    private long userLoadCount() {
+        return statistics.getEntityStatistics(User.class.getName()).getLoadCount()
+                + statistics.getEntityStatistics(User.class.getName()).getFetchCount();
+    }
+}
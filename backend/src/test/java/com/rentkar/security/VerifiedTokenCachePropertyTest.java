@@ -0,0 +1,101 @@
+package com.rentkar.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import net.jqwik.api.*;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VerifiedTokenCachePropertyTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    // Feature: jwt-verification-cache, Property 2: The cache never holds more than its capacity
+    // Validates: Requirements 8.3
+    @Property(tries = 50)
+    void cacheStaysWithinCapacity(
+            @ForAll("capacity") int capacity,
+            @ForAll("tokens") List<String> tokens) {
+
+        VerifiedTokenCache cache = new VerifiedTokenCache(capacity);
+        for (String token : tokens) {
+            cache.put(token, claims(token, NOW + 60_000), NOW);
+            assertThat(cache.size()).isLessThanOrEqualTo(capacity);
+        }
+    }
+
+    // Feature: jwt-verification-cache, Property 3: Entries are never served at or past the token's expiry
+    // Validates: Requirements 8.3
+    @Property(tries = 100)
+    void expiredEntriesAreNotServed(
+            @ForAll("lifetime") long lifetime,
+            @ForAll("lifetime") long elapsed) {
+
+        VerifiedTokenCache cache = new VerifiedTokenCache(8);
+        cache.put("header.payload.signature", claims("user", NOW + lifetime), NOW);
+
+        Claims hit = cache.get("header.payload.signature", NOW + elapsed);
+
+        if (elapsed < lifetime) {
+            assertThat(hit).isNotNull();
+            assertThat(hit.getSubject()).isEqualTo("user");
+        } else {
+            assertThat(hit).isNull();
+        }
+    }
+
+    @Example
+    void leastRecentlyUsedEntryIsEvicted() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("a", claims("a", NOW + 60_000), NOW);
+        cache.put("b", claims("b", NOW + 60_000), NOW);
+
+        // Touch "a" so "b" becomes the eldest
+        cache.get("a", NOW);
+        cache.put("c", claims("c", NOW + 60_000), NOW);
+
+        assertThat(cache.get("a", NOW)).isNotNull();
+        assertThat(cache.get("b", NOW)).isNull();
+        assertThat(cache.get("c", NOW)).isNotNull();
+    }
+
+    @Example
+    void expiredEntriesAreEvictedBeforeLiveOnes() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("live", claims("live", NOW + 60_000), NOW);
+        cache.put("short", claims("short", NOW + 10), NOW);
+
+        // "live" is the eldest, but "short" has expired by the time the cache is full
+        cache.put("new", claims("new", NOW + 60_000), NOW + 20);
+
+        assertThat(cache.get("live", NOW + 20)).isNotNull();
+        assertThat(cache.get("new", NOW + 20)).isNotNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Provide
+    Arbitrary<Integer> capacity() {
+        return Arbitraries.integers().between(1, 20);
+    }
+
+    @Provide
+    Arbitrary<List<String>> tokens() {
+        return Arbitraries.strings().alpha().numeric().ofMinLength(1).ofMaxLength(30)
+                .list().ofMinSize(0).ofMaxSize(60);
+    }
+
+    @Provide
+    Arbitrary<Long> lifetime() {
+        return Arbitraries.longs().between(0L, 120_000L);
+    }
+
+    private Claims claims(String subject, long expiresAt) {
+        return Jwts.claims()
+                .subject(subject)
+                .expiration(new Date(expiresAt))
+                .build();
+    }
+}
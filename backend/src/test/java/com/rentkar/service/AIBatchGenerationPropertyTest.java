@@ -0,0 +1,177 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.AIBatchResult;
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.dto.AIGenerationResponse;
+import com.rentkar.exception.RateLimitExceededException;
+import com.rentkar.support.AIServiceBuilder;
+import net.jqwik.api.*;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Property-based tests for batch AI generation
+ */
+public class AIBatchGenerationPropertyTest {
+
+    private static final String RESPONSE_JSON =
+            "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Engineering Drawing Kit\"}]}}]," +
+            "\"usageMetadata\":{\"totalTokenCount\":15}}";
+
+    // Feature: ai-batch-generation, Property 1: Every item gets one result and the batch is charged once
+    // Validates: Requirements 19.1, 19.2
+    @Property(tries = 30)
+    void everyItemGetsOneResultAndOneCharge(@ForAll("size") int size) {
+        RateLimiter rateLimiter = AIServiceBuilder.allowAll();
+        WebClient webClient = AIServiceBuilder.stubWebClient(Mono.just(RESPONSE_JSON));
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter).webClient(webClient).batchConcurrency(4).build();
+
+        List<AIBatchResult> results = service.generateBatch("title", createRequests(size), "user_1")
+                .collectList().block(Duration.ofSeconds(5));
+
+        assertThat(results).hasSize(size);
+        assertThat(results).allMatch(AIBatchResult::isSuccess);
+        assertThat(results.stream().map(AIBatchResult::getIndex).collect(Collectors.toSet()))
+                .hasSize(size).allMatch(index -> index >= 0 && index < size);
+        verify(rateLimiter, times(1)).allowRequests("user_1", size);
+        verify(rateLimiter, never()).allowRequest(any());
+        verify(webClient, times(size)).post();
+    }
+
+    // Feature: ai-batch-generation, Property 2: Cached items are served first and cost nothing
+    // Validates: Requirements 19.3
+    @Property(tries = 30)
+    void cachedItemsAreFree(@ForAll("size") int size, @ForAll("size") int cachedCount) {
+        int cached = Math.min(size, cachedCount);
+        List<AIGenerationRequest> requests = createRequests(size);
+        AIResponseCache cache = new AIResponseCache(100, 3600, "", System::currentTimeMillis);
+        for (int i = 0; i < cached; i++) {
+            cache.put(AIResponseCache.key("TITLE", requests.get(i)), new AIGenerationResponse("Cached " + i, 5, 10));
+        }
+        RateLimiter rateLimiter = AIServiceBuilder.allowAll();
+        WebClient webClient = AIServiceBuilder.stubWebClient(Mono.just(RESPONSE_JSON));
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter)
+                .webClient(webClient)
+                .responseCache(cache)
+                .batchConcurrency(4)
+                .build();
+
+        List<AIBatchResult> results = service.generateBatch("TITLE", requests, "user_1")
+                .collectList().block(Duration.ofSeconds(5));
+
+        assertThat(results).hasSize(size);
+        for (int i = 0; i < cached; i++) {
+            assertThat(results.get(i).isCached()).isTrue();
+            assertThat(results.get(i).getContent()).isEqualTo("Cached " + results.get(i).getIndex());
+        }
+        assertThat(results.subList(cached, size)).noneMatch(AIBatchResult::isCached);
+        if (cached < size) {
+            verify(rateLimiter).allowRequests("user_1", size - cached);
+        } else {
+            verify(rateLimiter, never()).allowRequests(any(), anyInt());
+        }
+        verify(webClient, times(size - cached)).post();
+    }
+
+    // Feature: ai-batch-generation, Property 3: No more than the concurrency cap of calls are in flight
+    // Validates: Requirements 19.1
+    @Property(tries = 10)
+    void concurrencyIsCapped(@ForAll("size") int size, @ForAll("concurrency") int concurrency) {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        Mono<String> body = Mono.defer(() -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return Mono.delay(Duration.ofMillis(20)).map(tick -> RESPONSE_JSON);
+        }).doFinally(signal -> inFlight.decrementAndGet());
+        AIServiceImpl service = new AIServiceBuilder(AIServiceBuilder.allowAll())
+                .webClient(AIServiceBuilder.stubWebClient(body))
+                .batchConcurrency(concurrency)
+                .build();
+
+        List<AIBatchResult> results = service.generateBatch("description", createRequests(size), "user_1")
+                .collectList().block(Duration.ofSeconds(10));
+
+        assertThat(results).hasSize(size).allMatch(AIBatchResult::isSuccess);
+        assertThat(peak.get()).isLessThanOrEqualTo(concurrency);
+    }
+
+    // Feature: ai-batch-generation, Property 4: A batch larger than the remaining rate limit is refused as a whole
+    // Validates: Requirements 19.2
+    @Property(tries = 30)
+    void oversizedBatchIsRefused(@ForAll("size") int size, @ForAll("size") int limit) {
+        RingBufferRateLimiter rateLimiter = new RingBufferRateLimiter(limit);
+        WebClient webClient = AIServiceBuilder.stubWebClient(Mono.just(RESPONSE_JSON));
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter).webClient(webClient).batchConcurrency(4).build();
+
+        if (size > limit) {
+            assertThatThrownBy(() -> service.generateBatch("title", createRequests(size), "user_1"))
+                    .isInstanceOf(RateLimitExceededException.class);
+            assertThat(rateLimiter.getRemainingRequests("user_1")).isEqualTo(limit);
+            verify(webClient, never()).post();
+        } else {
+            service.generateBatch("title", createRequests(size), "user_1").blockLast(Duration.ofSeconds(5));
+            assertThat(rateLimiter.getRemainingRequests("user_1")).isEqualTo(limit - size);
+        }
+    }
+
+    // Feature: ai-batch-generation, Property 5: Results are emitted in completion order
+    // Validates: Requirements 19.1
+    @Example
+    void resultsArriveAsTheyComplete() {
+        WebClient webClient = AIServiceBuilder.stubWebClient(
+                Mono.delay(Duration.ofMillis(300)).map(tick -> RESPONSE_JSON), Mono.just(RESPONSE_JSON));
+        AIServiceImpl service = new AIServiceBuilder(AIServiceBuilder.allowAll())
+                .webClient(webClient)
+                .batchConcurrency(2)
+                .build();
+
+        List<AIBatchResult> results = service.generateBatch("title", createRequests(2), "user_1")
+                .collectList().block(Duration.ofSeconds(5));
+
+        assertThat(results).extracting(AIBatchResult::getIndex).containsExactly(1, 0);
+    }
+
+    @Example
+    void unknownTypeIsRejected() {
+        AIServiceImpl service = new AIServiceBuilder(AIServiceBuilder.allowAll())
+                .webClient(AIServiceBuilder.stubWebClient(Mono.just(RESPONSE_JSON)))
+                .batchConcurrency(4)
+                .build();
+
+        assertThatThrownBy(() -> service.generateBatch("summary", createRequests(1), "user_1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Provide
+    Arbitrary<Integer> size() {
+        return Arbitraries.integers().between(1, 12);
+    }
+
+    @Provide
+    Arbitrary<Integer> concurrency() {
+        return Arbitraries.integers().between(1, 5);
+    }
+
+    private List<AIGenerationRequest> createRequests(int size) {
+        // Distinct names so coalescing never merges items of one batch
+        List<AIGenerationRequest> requests = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            requests.add(new AIGenerationRequest("Drawing kit " + i, "Tools", null, null, null));
+        }
+        return requests;
+    }
+}
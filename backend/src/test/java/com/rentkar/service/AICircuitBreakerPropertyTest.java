@@ -0,0 +1,284 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.dto.AIGenerationResponse;
+import com.rentkar.dto.AIListingResponse;
+import com.rentkar.support.AIServiceBuilder;
+import net.jqwik.api.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Property-based tests for the circuit breaker, bulkhead and template fallback around the Gemini API
+ */
+public class AICircuitBreakerPropertyTest {
+
+    private static final String RESPONSE_JSON =
+            "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Engineering Drawing Kit\"}]}}]," +
+            "\"usageMetadata\":{\"totalTokenCount\":15}}";
+
+    // Feature: ai-circuit-breaker, Property 1: The breaker opens after exactly the threshold of consecutive failures
+    // Validates: Requirements 15.1
+    @Property(tries = 100)
+    void opensAfterConsecutiveFailures(
+            @ForAll("threshold") int threshold,
+            @ForAll("successesBetween") int successesBetween) {
+
+        AICircuitBreaker breaker = new AICircuitBreaker(threshold, 60_000, 0, () -> 0L);
+
+        // A success in between resets the count
+        for (int i = 0; i < threshold - 1; i++) {
+            breaker.onFailure(acquire(breaker));
+        }
+        for (int i = 0; i < successesBetween; i++) {
+            breaker.onSuccess(acquire(breaker));
+        }
+        if (successesBetween > 0) {
+            assertThat(breaker.getState()).isEqualTo(AICircuitBreaker.State.CLOSED);
+        }
+
+        for (int i = 0; i < threshold && breaker.getState() == AICircuitBreaker.State.CLOSED; i++) {
+            breaker.onFailure(acquire(breaker));
+        }
+
+        assertThat(breaker.getState()).isEqualTo(AICircuitBreaker.State.OPEN);
+        assertThat(breaker.allowsCalls()).isFalse();
+        assertThat(breaker.tryAcquire()).isNull();
+        assertThat(breaker.getRejectedCalls()).isEqualTo(1);
+    }
+
+    // Feature: ai-circuit-breaker, Property 2: After the open period one probe decides whether the breaker closes
+    // Validates: Requirements 15.1
+    @Property(tries = 50)
+    void halfOpenAllowsSingleProbe(@ForAll boolean probeSucceeds, @ForAll("waiting") int waiting) {
+        AtomicLong now = new AtomicLong();
+        AICircuitBreaker breaker = new AICircuitBreaker(1, 1_000, 0, now::get);
+        breaker.onFailure(acquire(breaker));
+
+        now.addAndGet(999);
+        assertThat(breaker.tryAcquire()).isNull();
+
+        now.addAndGet(1);
+        assertThat(breaker.getState()).isEqualTo(AICircuitBreaker.State.HALF_OPEN);
+        AICircuitBreaker.Permit probe = acquire(breaker);
+        assertThat(probe.isProbe()).isTrue();
+        for (int i = 0; i < waiting; i++) {
+            assertThat(breaker.tryAcquire()).isNull();
+        }
+
+        if (probeSucceeds) {
+            breaker.onSuccess(probe);
+            assertThat(breaker.getState()).isEqualTo(AICircuitBreaker.State.CLOSED);
+            assertThat(breaker.tryAcquire()).isNotNull();
+        } else {
+            breaker.onFailure(probe);
+            assertThat(breaker.getState()).isEqualTo(AICircuitBreaker.State.OPEN);
+            assertThat(breaker.tryAcquire()).isNull();
+        }
+    }
+
+    // Feature: ai-circuit-breaker, Property 6: Calls started before the breaker opened do not decide the probe
+    // Validates: Requirements 15.1
+    @Property(tries = 50)
+    void staleCallsDoNotAffectHalfOpenBreaker(
+            @ForAll("staleOutcome") String staleOutcome,
+            @ForAll boolean probeSucceeds) {
+
+        AtomicLong now = new AtomicLong();
+        AICircuitBreaker breaker = new AICircuitBreaker(1, 1_000, 0, now::get);
+        // A slow call starts while the breaker is closed, then another call fails and opens it
+        AICircuitBreaker.Permit slow = acquire(breaker);
+        breaker.onFailure(acquire(breaker));
+        now.addAndGet(1_000);
+        AICircuitBreaker.Permit probe = acquire(breaker);
+
+        switch (staleOutcome) {
+            case "success" -> breaker.onSuccess(slow);
+            case "failure" -> breaker.onFailure(slow);
+            default -> breaker.release(slow);
+        }
+
+        // The probe is still the only call let through
+        assertThat(breaker.getState()).isEqualTo(AICircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isNull();
+
+        if (probeSucceeds) {
+            breaker.onSuccess(probe);
+            assertThat(breaker.getState()).isEqualTo(AICircuitBreaker.State.CLOSED);
+        } else {
+            breaker.onFailure(probe);
+            assertThat(breaker.getState()).isEqualTo(AICircuitBreaker.State.OPEN);
+        }
+    }
+
+    // Feature: ai-circuit-breaker, Property 3: The bulkhead never lets more than its limit in flight
+    // Validates: Requirements 15.2
+    @Property(tries = 100)
+    void bulkheadCapsConcurrentCalls(@ForAll("limit") int limit, @ForAll("attempts") int attempts) {
+        AICircuitBreaker breaker = new AICircuitBreaker(0, 0, limit, () -> 0L);
+
+        List<AICircuitBreaker.Permit> granted = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            AICircuitBreaker.Permit permit = breaker.tryAcquire();
+            if (permit != null) {
+                granted.add(permit);
+            }
+        }
+
+        assertThat(granted).hasSize(Math.min(limit, attempts));
+        assertThat(breaker.getActiveCalls()).isEqualTo(granted.size());
+        assertThat(breaker.getBulkheadRejections()).isEqualTo(attempts - granted.size());
+
+        if (!granted.isEmpty()) {
+            breaker.release(granted.get(0));
+            assertThat(breaker.tryAcquire()).isNotNull();
+        }
+    }
+
+    // Feature: ai-circuit-breaker, Property 4: An open breaker returns the template fallback without calling the API
+    // Validates: Requirements 15.3
+    @Property(tries = 20)
+    void openBreakerServesFallback(@ForAll("category") String category) {
+        RateLimiter rateLimiter = AIServiceBuilder.allowAll();
+        WebClient webClient = AIServiceBuilder.stubWebClient(Mono.error(WebClientResponseException.create(
+                HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", HttpHeaders.EMPTY, new byte[0], null)));
+        AIResponseCache cache = new AIResponseCache(10, 3600, "", System::currentTimeMillis);
+        AICircuitBreaker breaker = new AICircuitBreaker(1, 60_000, 0, () -> 0L);
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter)
+                .webClient(webClient)
+                .responseCache(cache)
+                .circuitBreaker(breaker)
+                .build();
+        AIGenerationRequest request = new AIGenerationRequest("Drawing kit", category, null, "Good", null);
+
+        AIGenerationResponse failed = service.generateDescription(request, "user_1");
+        assertThat(failed.isSuccess()).isFalse();
+        assertThat(service.isAvailable()).isFalse();
+        assertThat(service.getCircuitState()).isEqualTo("OPEN");
+
+        AIGenerationResponse description = service.generateDescription(request, "user_1");
+        AIListingResponse listing = service.generateListing(request, "user_1");
+
+        assertThat(description.isSuccess()).isTrue();
+        assertThat(description.isFallback()).isTrue();
+        assertThat(description.getContent()).startsWith("Drawing kit").contains(category);
+        assertThat(description.getContent()).contains(PromptBuilder.getCategoryInstructions(category));
+        assertThat(listing.isSuccess()).isTrue();
+        assertThat(listing.isFallback()).isTrue();
+        assertThat(listing.getTitle()).isEqualTo("Drawing kit - Good");
+
+        verify(webClient, times(1)).post();
+        verify(rateLimiter, times(1)).allowRequest("user_1");
+        assertThat(cache.size()).isZero();
+    }
+
+    // Feature: ai-circuit-breaker, Property 5: Request errors do not count as upstream failures
+    // Validates: Requirements 15.1
+    @Example
+    void clientErrorsDoNotOpenBreaker() {
+        WebClient webClient = AIServiceBuilder.stubWebClient(Mono.error(WebClientResponseException.create(
+                HttpStatus.BAD_REQUEST.value(), "Bad Request", HttpHeaders.EMPTY, new byte[0], null)));
+        AICircuitBreaker breaker = new AICircuitBreaker(1, 60_000, 0, () -> 0L);
+        AIServiceImpl service = new AIServiceBuilder(AIServiceBuilder.allowAll())
+                .webClient(webClient)
+                .circuitBreaker(breaker)
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            service.generateTitle(new AIGenerationRequest("Kit " + i, "Tools", null, null, null), "user_1");
+        }
+
+        assertThat(breaker.getState()).isEqualTo(AICircuitBreaker.State.CLOSED);
+        verify(webClient, times(3)).post();
+    }
+
+    @Example
+    void probeSuccessClosesBreakerThroughService() {
+        AtomicLong now = new AtomicLong();
+        AICircuitBreaker breaker = new AICircuitBreaker(1, 1_000, 0, now::get);
+        breaker.onFailure(acquire(breaker));
+        WebClient webClient = AIServiceBuilder.stubWebClient(Mono.just(RESPONSE_JSON));
+        AIServiceImpl service = new AIServiceBuilder(AIServiceBuilder.allowAll())
+                .webClient(webClient)
+                .circuitBreaker(breaker)
+                .build();
+        AIGenerationRequest request = new AIGenerationRequest("Drawing kit", "Tools", null, null, null);
+
+        assertThat(service.generateTitle(request, "user_1").isFallback()).isTrue();
+        verify(webClient, never()).post();
+
+        now.addAndGet(1_000);
+        AIGenerationResponse probe = service.generateTitle(request, "user_1");
+
+        assertThat(probe.isFallback()).isFalse();
+        assertThat(probe.getContent()).isEqualTo("Engineering Drawing Kit");
+        assertThat(breaker.getState()).isEqualTo(AICircuitBreaker.State.CLOSED);
+    }
+
+    @Example
+    void fallbackTemplatesUseCategoryGuidelines() {
+        AIGenerationRequest request = new AIGenerationRequest("Guitar", "Musical Instruments", "Nylon strings", null, null);
+
+        String title = PromptBuilder.buildFallbackTitle(request);
+        String description = PromptBuilder.buildFallbackDescription(request);
+
+        assertThat(title).isEqualTo("Guitar");
+        assertThat(description).startsWith("Guitar available to borrow (Musical Instruments).");
+        assertThat(description).contains("- Specify instrument type and brand");
+        assertThat(description.length()).isLessThanOrEqualTo(1000);
+    }
+
+    @Provide
+    Arbitrary<Integer> threshold() {
+        return Arbitraries.integers().between(1, 10);
+    }
+
+    @Provide
+    Arbitrary<Integer> successesBetween() {
+        return Arbitraries.integers().between(0, 3);
+    }
+
+    @Provide
+    Arbitrary<Integer> waiting() {
+        return Arbitraries.integers().between(1, 10);
+    }
+
+    @Provide
+    Arbitrary<String> staleOutcome() {
+        return Arbitraries.of("success", "failure", "release");
+    }
+
+    @Provide
+    Arbitrary<Integer> limit() {
+        return Arbitraries.integers().between(1, 20);
+    }
+
+    @Provide
+    Arbitrary<Integer> attempts() {
+        return Arbitraries.integers().between(0, 40);
+    }
+
+    @Provide
+    Arbitrary<String> category() {
+        return Arbitraries.of("Electronics", "Books", "Sports Equipment", "Tools",
+                "Musical Instruments", "Accessories", "Other");
+    }
+
+    private static AICircuitBreaker.Permit acquire(AICircuitBreaker breaker) {
+        AICircuitBreaker.Permit permit = breaker.tryAcquire();
+        assertThat(permit).isNotNull();
+        return permit;
+    }
+}
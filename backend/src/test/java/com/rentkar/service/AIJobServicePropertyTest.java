@@ -0,0 +1,363 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.AIBatchResult;
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.dto.AIGenerationResponse;
+import com.rentkar.dto.AIJobDTO;
+import com.rentkar.dto.AIListingResponse;
+import com.rentkar.exception.RateLimitExceededException;
+import com.rentkar.model.AIJobStatus;
+import jakarta.persistence.EntityNotFoundException;
+import net.jqwik.api.*;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Property-based tests for background AI generation jobs
+ */
+public class AIJobServicePropertyTest {
+
+    private final AIGenerationRequest request = new AIGenerationRequest("Drawing kit", "Tools", null, null, null);
+
+    // Feature: ai-jobs, Property 1: A job finishes with the generation result and long-polling returns it
+    // Validates: Requirements 18.1
+    @Property(tries = 20)
+    void jobCompletesWithResult(@ForAll("types") String type) throws Exception {
+        AIJobServiceImpl service = createService(new FixedAIService(
+                CompletableFuture.completedFuture(new AIGenerationResponse("Engineering Drawing Kit", 15, 900))),
+                createRateLimiter(10), 2, 10, 3, new AtomicLong());
+        try {
+            AIJobDTO submitted = service.submitJob(type, request, "user_1");
+            assertThat(submitted.getType()).isEqualTo(type.toUpperCase());
+
+            AIJobDTO job = service.getJob(submitted.getId(), "user_1", 5000).get(5, TimeUnit.SECONDS);
+
+            assertThat(job.getStatus()).isEqualTo(AIJobStatus.SUCCEEDED);
+            assertThat(job.getCompletedAt()).isNotNull();
+            if ("listing".equals(type)) {
+                assertThat(job.getResult()).containsEntry("title", "Engineering Drawing Kit");
+            } else {
+                assertThat(job.getResult()).containsEntry("content", "Engineering Drawing Kit");
+            }
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    // Feature: ai-jobs, Property 2: Unfinished jobs per user are capped by the limit and the remaining rate limit
+    // Validates: Requirements 18.2
+    @Property(tries = 30)
+    void pendingJobsAreCappedPerUser(
+            @ForAll("limits") int maxPending,
+            @ForAll("limits") int remaining,
+            @ForAll("limits") int attempts) {
+
+        CompletableFuture<AIGenerationResponse> upstream = new CompletableFuture<>();
+        AIJobServiceImpl service = createService(new FixedAIService(upstream),
+                createRateLimiter(remaining), 2, 50, maxPending, new AtomicLong());
+        try {
+            int accepted = 0;
+            int rejected = 0;
+            for (int i = 0; i < attempts; i++) {
+                try {
+                    service.submitJob("title", request, "user_1");
+                    accepted++;
+                } catch (RateLimitExceededException e) {
+                    assertThat(e.getRetryAfterSeconds()).isPositive();
+                    rejected++;
+                }
+            }
+
+            int allowed = Math.min(attempts, Math.min(maxPending, remaining));
+            assertThat(accepted).isEqualTo(allowed);
+            assertThat(rejected).isEqualTo(attempts - allowed);
+            // Another user is not affected
+            if (allowed > 0) {
+                service.submitJob("title", request, "user_2");
+            }
+        } finally {
+            upstream.complete(new AIGenerationResponse("done", 1, 1));
+            service.shutdown();
+        }
+    }
+
+    // Feature: ai-jobs, Property 3: The worker pool bounds concurrent generations and a full queue refuses jobs
+    // Validates: Requirements 18.1
+    @Property(tries = 10)
+    void workerPoolBoundsConcurrency(@ForAll("workers") int workers) throws Exception {
+        CompletableFuture<AIGenerationResponse> upstream = new CompletableFuture<>();
+        FixedAIService aiService = new FixedAIService(upstream);
+        int queueCapacity = 5;
+        AIJobServiceImpl service = createService(aiService, createRateLimiter(10), workers, queueCapacity, 3,
+                new AtomicLong());
+        try {
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < workers + queueCapacity; i++) {
+                ids.add(service.submitJob("description", request, "user_" + i).getId());
+            }
+            assertThatThrownBy(() -> service.submitJob("description", request, "user_extra"))
+                    .isInstanceOf(RejectedExecutionException.class);
+
+            waitFor(() -> aiService.calls.get() == workers);
+            TimeUnit.MILLISECONDS.sleep(50);
+            assertThat(aiService.calls.get()).isEqualTo(workers);
+            assertThat(service.getQueuedJobs()).isEqualTo(queueCapacity);
+
+            upstream.complete(new AIGenerationResponse("done", 1, 1));
+            for (int i = 0; i < ids.size(); i++) {
+                AIJobDTO job = service.getJob(ids.get(i), "user_" + i, 5000).get(5, TimeUnit.SECONDS);
+                assertThat(job.getStatus()).isEqualTo(AIJobStatus.SUCCEEDED);
+            }
+            assertThat(service.getJobCount()).isEqualTo(workers + queueCapacity);
+        } finally {
+            upstream.complete(new AIGenerationResponse("done", 1, 1));
+            service.shutdown();
+        }
+    }
+
+    // Feature: ai-jobs, Property 4: Finished jobs expire after the TTL; unfinished jobs are kept
+    // Validates: Requirements 18.3
+    @Example
+    void finishedJobsExpireAfterTtl() throws Exception {
+        AtomicLong clock = new AtomicLong(1_000_000);
+        CompletableFuture<AIGenerationResponse> slow = new CompletableFuture<>();
+        AIJobServiceImpl service = createService(new FixedAIService(
+                CompletableFuture.completedFuture(new AIGenerationResponse("Kit", 1, 1))),
+                createRateLimiter(10), 1, 10, 3, clock);
+        AIJobServiceImpl slowService = createService(new FixedAIService(slow), createRateLimiter(10), 1, 10, 3, clock);
+        try {
+            String id = service.submitJob("title", request, "user_1").getId();
+            service.getJob(id, "user_1", 5000).get(5, TimeUnit.SECONDS);
+            String slowId = slowService.submitJob("title", request, "user_1").getId();
+
+            clock.addAndGet(TimeUnit.SECONDS.toMillis(60) - 1);
+            assertThat(service.evictExpired()).isZero();
+
+            clock.addAndGet(1);
+            assertThat(service.evictExpired()).isEqualTo(1);
+            assertThat(slowService.evictExpired()).isZero();
+            assertThatThrownBy(() -> service.getJob(id, "user_1", 0))
+                    .isInstanceOf(EntityNotFoundException.class);
+            assertThat(slowService.getJob(slowId, "user_1", 0).get().getStatus()).isNotEqualTo(AIJobStatus.SUCCEEDED);
+        } finally {
+            slow.complete(new AIGenerationResponse("done", 1, 1));
+            service.shutdown();
+            slowService.shutdown();
+        }
+    }
+
+    // Feature: ai-jobs, Property 5: Long-polling an unfinished job returns it unfinished once the wait runs out
+    // Validates: Requirements 18.1
+    @Example
+    void longPollTimesOut() throws Exception {
+        CompletableFuture<AIGenerationResponse> upstream = new CompletableFuture<>();
+        AIJobServiceImpl service = createService(new FixedAIService(upstream), createRateLimiter(10), 1, 10, 3,
+                new AtomicLong());
+        try {
+            String id = service.submitJob("title", request, "user_1").getId();
+
+            long start = System.nanoTime();
+            AIJobDTO job = service.getJob(id, "user_1", 100).get(5, TimeUnit.SECONDS);
+
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(90);
+            assertThat(job.getStatus()).isIn(AIJobStatus.QUEUED, AIJobStatus.RUNNING);
+            assertThat(job.getResult()).isNull();
+        } finally {
+            upstream.complete(new AIGenerationResponse("done", 1, 1));
+            service.shutdown();
+        }
+    }
+
+    // Feature: ai-jobs, Property 6: Jobs are only visible to their owner
+    // Validates: Requirements 18.2
+    @Example
+    void jobsAreOnlyVisibleToOwner() {
+        AIJobServiceImpl service = createService(new FixedAIService(
+                CompletableFuture.completedFuture(new AIGenerationResponse("Kit", 1, 1))),
+                createRateLimiter(10), 1, 10, 3, new AtomicLong());
+        try {
+            String id = service.submitJob("title", request, "user_1").getId();
+
+            assertThatThrownBy(() -> service.getJob(id, "user_2", 0)).isInstanceOf(EntityNotFoundException.class);
+            assertThatThrownBy(() -> service.getJob("missing", "user_1", 0)).isInstanceOf(EntityNotFoundException.class);
+            assertThatThrownBy(() -> service.submitJob("summary", request, "user_1"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    // Feature: ai-jobs, Property 7: A failed generation fails the job with a user-safe message
+    // Validates: Requirements 18.1
+    @Example
+    void failedGenerationFailsJob() throws Exception {
+        AIJobServiceImpl service = createService(new FixedAIService(
+                CompletableFuture.completedFuture(new AIGenerationResponse("AI service is temporarily unavailable"))),
+                createRateLimiter(10), 1, 10, 3, new AtomicLong());
+        try {
+            String id = service.submitJob("description", request, "user_1").getId();
+
+            AIJobDTO job = service.getJob(id, "user_1", 5000).get(5, TimeUnit.SECONDS);
+
+            assertThat(job.getStatus()).isEqualTo(AIJobStatus.FAILED);
+            assertThat(job.getErrorMessage()).isEqualTo("AI service is temporarily unavailable");
+            assertThat(job.getResult()).isNull();
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    // Feature: ai-jobs, Property 8: A generation that throws an Error still fails the job and frees its slot
+    // Validates: Requirements 18.1
+    @Example
+    void errorInGenerationFailsJob() throws Exception {
+        AIService aiService = new FixedAIService(new CompletableFuture<>()) {
+            @Override
+            public CompletableFuture<AIGenerationResponse> generateTitleAsync(AIGenerationRequest request, String userId) {
+                throw new StackOverflowError();
+            }
+        };
+        AtomicLong clock = new AtomicLong(1_000_000);
+        AIJobServiceImpl service = createService(aiService, createRateLimiter(10), 1, 10, 1, clock);
+        try {
+            String id = service.submitJob("title", request, "user_1").getId();
+
+            long start = System.nanoTime();
+            AIJobDTO job = service.getJob(id, "user_1", 5000).get(5, TimeUnit.SECONDS);
+
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(4000);
+            assertThat(job.getStatus()).isEqualTo(AIJobStatus.FAILED);
+            assertThat(job.getErrorMessage()).isEqualTo("Failed to generate title");
+            // The user's only pending slot is free again, and the finished job expires
+            service.submitJob("title", request, "user_1");
+            clock.addAndGet(TimeUnit.SECONDS.toMillis(60));
+            assertThat(service.evictExpired()).isGreaterThanOrEqualTo(1);
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Provide
+    Arbitrary<String> types() {
+        return Arbitraries.of("title", "description", "listing", "TITLE");
+    }
+
+    @Provide
+    Arbitrary<Integer> limits() {
+        return Arbitraries.integers().between(0, 6);
+    }
+
+    @Provide
+    Arbitrary<Integer> workers() {
+        return Arbitraries.integers().between(1, 4);
+    }
+
+    private RateLimiter createRateLimiter(int remaining) {
+        RateLimiter rateLimiter = mock(RateLimiter.class);
+        when(rateLimiter.allowRequest(any())).thenReturn(true);
+        when(rateLimiter.getRemainingRequests(any())).thenReturn(remaining);
+        when(rateLimiter.getResetTime(any())).thenReturn(1800L);
+        return rateLimiter;
+    }
+
+    private AIJobServiceImpl createService(AIService aiService, RateLimiter rateLimiter, int workers,
+                                           int queueCapacity, int maxPending, AtomicLong clock) {
+        return new AIJobServiceImpl(aiService, rateLimiter, workers, queueCapacity, maxPending, 60, 10_000, 0,
+                clock::get);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+
+    /**
+     * AIService whose generations all complete with the same future
+     */
+    private static class FixedAIService implements AIService {
+
+        private final CompletableFuture<AIGenerationResponse> response;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        FixedAIService(CompletableFuture<AIGenerationResponse> response) {
+            this.response = response;
+        }
+
+        @Override
+        public AIGenerationResponse generateTitle(AIGenerationRequest request, String userId) {
+            return generateTitleAsync(request, userId).join();
+        }
+
+        @Override
+        public AIGenerationResponse generateDescription(AIGenerationRequest request, String userId) {
+            return generateDescriptionAsync(request, userId).join();
+        }
+
+        @Override
+        public CompletableFuture<AIGenerationResponse> generateTitleAsync(AIGenerationRequest request, String userId) {
+            calls.incrementAndGet();
+            return response;
+        }
+
+        @Override
+        public CompletableFuture<AIGenerationResponse> generateDescriptionAsync(AIGenerationRequest request, String userId) {
+            calls.incrementAndGet();
+            return response;
+        }
+
+        @Override
+        public CompletableFuture<AIListingResponse> generateListingAsync(AIGenerationRequest request, String userId) {
+            calls.incrementAndGet();
+            return response.thenApply(result -> result.isSuccess()
+                    ? new AIListingResponse(result.getContent(), result.getContent(),
+                            result.getTokenCount(), result.getResponseTimeMs())
+                    : new AIListingResponse(result.getErrorMessage()));
+        }
+
+        @Override
+        public AIListingResponse generateListing(AIGenerationRequest request, String userId) {
+            return generateListingAsync(request, userId).join();
+        }
+
+        @Override
+        public Flux<String> streamDescription(AIGenerationRequest request, String userId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Flux<AIBatchResult> generateBatch(String type, List<AIGenerationRequest> requests, String userId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public String getCircuitState() {
+            return "CLOSED";
+        }
+
+        @Override
+        public int getRemainingRequests(String userId) {
+            return 10;
+        }
+    }
+}
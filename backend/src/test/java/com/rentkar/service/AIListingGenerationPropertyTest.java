@@ -0,0 +1,131 @@
+package com.rentkar.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.dto.AIListingResponse;
+import com.rentkar.support.AIServiceBuilder;
+import net.jqwik.api.*;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Property-based tests for combined title and description generation
+ */
+public class AIListingGenerationPropertyTest {
+
+    // Feature: ai-listing-generation, Property 1: One call and one rate limit unit yield both fields
+    // Validates: Requirements 13.1
+    @Property(tries = 50)
+    void oneCallYieldsTitleAndDescription(
+            @ForAll("text") String title,
+            @ForAll("text") String description,
+            @ForAll boolean fenced) {
+
+        JsonObject listing = new JsonObject();
+        listing.addProperty("title", title);
+        listing.addProperty("description", description);
+        String modelText = fenced ? "```json\n" + listing + "\n```" : listing.toString();
+
+        RateLimiter rateLimiter = AIServiceBuilder.allowAll();
+        WebClient webClient = AIServiceBuilder.stubWebClient(Mono.just(geminiResponse(modelText)));
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter).webClient(webClient).build();
+
+        AIListingResponse response = service.generateListing(createRequest(), "user_1");
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getTitle()).isEqualTo(title.trim());
+        assertThat(response.getDescription()).isEqualTo(description.trim());
+        assertThat(response.getTokenCount()).isEqualTo(42);
+        verify(webClient, times(1)).post();
+        verify(rateLimiter, times(1)).allowRequest("user_1");
+    }
+
+    // Feature: ai-listing-generation, Property 2: Malformed model output is an error and is never cached
+    // Validates: Requirements 13.2
+    @Property(tries = 50)
+    void malformedOutputIsRejected(@ForAll("malformed") String modelText) {
+        RateLimiter rateLimiter = AIServiceBuilder.allowAll();
+        WebClient webClient = AIServiceBuilder.stubWebClient(Mono.just(geminiResponse(modelText)));
+        AIResponseCache cache = new AIResponseCache(10, 3600, "", System::currentTimeMillis);
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter)
+                .webClient(webClient)
+                .responseCache(cache)
+                .build();
+
+        AIListingResponse response = service.generateListing(createRequest(), "user_1");
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getErrorMessage()).isNotBlank();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Example
+    void requestAsksForJsonResponse() {
+        WebClient webClient = mock(WebClient.class);
+        WebClient.RequestBodyUriSpec requestBodyUriSpec = mock(WebClient.RequestBodyUriSpec.class);
+        WebClient.RequestHeadersSpec<?> requestHeadersSpec = mock(WebClient.RequestHeadersSpec.class);
+        WebClient.ResponseSpec responseSpec = mock(WebClient.ResponseSpec.class);
+        ArgumentCaptor<Object> body = ArgumentCaptor.forClass(Object.class);
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.bodyValue(body.capture())).thenAnswer(inv -> requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class))
+                .thenReturn(Mono.just(geminiResponse("{\"title\":\"Kit\",\"description\":\"A complete drawing kit.\"}")));
+
+        new AIServiceBuilder(AIServiceBuilder.allowAll()).webClient(webClient).build()
+                .generateListing(createRequest(), "user_1");
+
+        JsonObject sent = JsonParser.parseString((String) body.getValue()).getAsJsonObject();
+        assertThat(sent.getAsJsonObject("generationConfig").get("responseMimeType").getAsString())
+                .isEqualTo("application/json");
+        assertThat(sent.getAsJsonObject("generationConfig").get("maxOutputTokens").getAsInt()).isEqualTo(700);
+    }
+
+    @Provide
+    Arbitrary<String> text() {
+        return Arbitraries.strings().alpha().numeric().withChars(' ', '"', '\n', '-')
+                .ofMinLength(1).ofMaxLength(120)
+                .filter(s -> !s.isBlank());
+    }
+
+    @Provide
+    Arbitrary<String> malformed() {
+        return Arbitraries.oneOf(
+                Arbitraries.strings().alpha().ofMinLength(1).ofMaxLength(40),
+                Arbitraries.of("{\"title\": \"Only a title\"}", "{\"title\": \"\", \"description\": \"x\"}",
+                        "{not json}", "[\"title\", \"description\"]"));
+    }
+
+    private String geminiResponse(String modelText) {
+        JsonObject part = new JsonObject();
+        part.addProperty("text", modelText);
+        JsonArray parts = new JsonArray();
+        parts.add(part);
+        JsonObject content = new JsonObject();
+        content.add("parts", parts);
+        JsonObject candidate = new JsonObject();
+        candidate.add("content", content);
+        JsonArray candidates = new JsonArray();
+        candidates.add(candidate);
+        JsonObject usage = new JsonObject();
+        usage.addProperty("totalTokenCount", 42);
+
+        JsonObject response = new JsonObject();
+        response.add("candidates", candidates);
+        response.add("usageMetadata", usage);
+        return response.toString();
+    }
+
+    private AIGenerationRequest createRequest() {
+        return new AIGenerationRequest("Drawing kit", "Tools", "Used for one semester", "Good", null);
+    }
+}
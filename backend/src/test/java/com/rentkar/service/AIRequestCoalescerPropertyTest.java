@@ -0,0 +1,131 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.dto.AIGenerationResponse;
+import com.rentkar.support.AIServiceBuilder;
+import net.jqwik.api.*;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Property-based tests for single-flight coalescing of AI requests
+ */
+public class AIRequestCoalescerPropertyTest {
+
+    private static final String RESPONSE_JSON =
+            "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Engineering Drawing Kit\"}]}}]," +
+            "\"usageMetadata\":{\"totalTokenCount\":15}}";
+
+    // Feature: ai-request-coalescing, Property 1: Identical prompts in flight share one upstream call
+    // Validates: Requirements 12.1
+    @Property(tries = 50)
+    void identicalPromptsShareOneCall(@ForAll("callers") int callers) throws Exception {
+        AIRequestCoalescer coalescer = new AIRequestCoalescer();
+        CompletableFuture<AIGenerationResponse> upstream = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        List<CompletableFuture<AIGenerationResponse>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(coalescer.execute("prompt", 200, () -> {
+                started.incrementAndGet();
+                return upstream;
+            }));
+        }
+        upstream.complete(new AIGenerationResponse("Shared result", 15, 900));
+
+        assertThat(started.get()).isEqualTo(1);
+        for (CompletableFuture<AIGenerationResponse> result : results) {
+            assertThat(result.get(1, TimeUnit.SECONDS).getContent()).isEqualTo("Shared result");
+        }
+        assertThat(coalescer.getUpstreamCalls()).isEqualTo(1);
+        assertThat(coalescer.getCoalescedCalls()).isEqualTo(callers - 1);
+        assertThat(coalescer.getInFlight()).isZero();
+    }
+
+    // Feature: ai-request-coalescing, Property 2: Different prompts or token limits are never coalesced
+    // Validates: Requirements 12.1
+    @Property(tries = 50)
+    void differentPromptsAreNotCoalesced(@ForAll("callers") int callers) {
+        AIRequestCoalescer coalescer = new AIRequestCoalescer();
+        AtomicInteger started = new AtomicInteger();
+
+        for (int i = 0; i < callers; i++) {
+            coalescer.execute("prompt " + i, 200, () -> {
+                started.incrementAndGet();
+                return new CompletableFuture<>();
+            });
+        }
+        coalescer.execute("prompt 0", 500, () -> {
+            started.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+
+        assertThat(started.get()).isEqualTo(callers + 1);
+        assertThat(coalescer.getCoalescedCalls()).isZero();
+    }
+
+    // Feature: ai-request-coalescing, Property 3: Failures reach every waiting caller and the next call starts fresh
+    // Validates: Requirements 12.1
+    @Example
+    void failuresAreSharedAndNotRemembered() {
+        AIRequestCoalescer coalescer = new AIRequestCoalescer();
+        CompletableFuture<AIGenerationResponse> upstream = new CompletableFuture<>();
+
+        CompletableFuture<AIGenerationResponse> first = coalescer.execute("prompt", 200, () -> upstream);
+        CompletableFuture<AIGenerationResponse> second = coalescer.execute("prompt", 200, () -> upstream);
+        upstream.completeExceptionally(new IllegalStateException("boom"));
+
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+
+        AtomicInteger started = new AtomicInteger();
+        coalescer.execute("prompt", 200, () -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture(new AIGenerationResponse("ok", 1, 1));
+        });
+        assertThat(started.get()).isEqualTo(1);
+    }
+
+    // Feature: ai-request-coalescing, Property 4: Every coalesced caller is still rate limited individually
+    // Validates: Requirements 12.2
+    @Property(tries = 10)
+    void coalescedCallersAreRateLimitedIndividually(@ForAll("callers") int callers) throws Exception {
+        RateLimiter rateLimiter = AIServiceBuilder.allowAll();
+        WebClient webClient = AIServiceBuilder.stubWebClient(
+                Mono.delay(Duration.ofMillis(200)).map(tick -> RESPONSE_JSON));
+
+        AIRequestCoalescer coalescer = new AIRequestCoalescer();
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter).coalescer(coalescer).webClient(webClient).build();
+
+        AIGenerationRequest request = new AIGenerationRequest("Drawing kit", "Tools", null, null, null);
+        List<CompletableFuture<AIGenerationResponse>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(service.generateTitleAsync(request, "user_" + i));
+        }
+
+        for (CompletableFuture<AIGenerationResponse> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS).getContent()).isEqualTo("Engineering Drawing Kit");
+        }
+        verify(webClient, times(1)).post();
+        for (int i = 0; i < callers; i++) {
+            verify(rateLimiter).allowRequest("user_" + i);
+        }
+        assertThat(coalescer.getCoalescedCalls()).isEqualTo(callers - 1);
+    }
+
+    @Provide
+    Arbitrary<Integer> callers() {
+        return Arbitraries.integers().between(1, 20);
+    }
+}
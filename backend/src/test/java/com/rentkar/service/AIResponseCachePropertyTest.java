@@ -0,0 +1,151 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.dto.AIGenerationResponse;
+import com.rentkar.support.AIServiceBuilder;
+import net.jqwik.api.*;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Property-based tests for the AI response cache
+ */
+public class AIResponseCachePropertyTest {
+
+    private static final String RESPONSE_JSON =
+            "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"TI-84 Plus Graphing Calculator\"}]}}]," +
+            "\"usageMetadata\":{\"totalTokenCount\":20}}";
+
+    // Feature: ai-response-cache, Property 1: Requests differing only in case and whitespace share a key
+    // Validates: Requirements 11.1
+    @Property(tries = 100)
+    void normalizedRequestsShareKey(
+            @ForAll("words") String itemName,
+            @ForAll("words") String condition,
+            @ForAll("requestType") String requestType) {
+
+        AIGenerationRequest request = new AIGenerationRequest(itemName, "Books", null, condition, null);
+        AIGenerationRequest variant = new AIGenerationRequest(
+                "  " + itemName.toUpperCase().replace(" ", "   ") + " ", " books", null, condition + "\t", null);
+
+        assertThat(AIResponseCache.key(requestType, variant)).isEqualTo(AIResponseCache.key(requestType, request));
+        assertThat(AIResponseCache.key(requestType, request))
+                .isNotEqualTo(AIResponseCache.key(requestType, new AIGenerationRequest(
+                        itemName + " x", "Books", null, condition, null)));
+        assertThat(AIResponseCache.key("TITLE", request)).isNotEqualTo(AIResponseCache.key("DESCRIPTION", request));
+    }
+
+    // Feature: ai-response-cache, Property 2: Cache hits skip the API and the rate limiter
+    // Validates: Requirements 11.2
+    @Property(tries = 20)
+    void cacheHitsSkipApiAndRateLimiter(@ForAll("repeats") int repeats) {
+        RateLimiter rateLimiter = AIServiceBuilder.allowAll();
+        WebClient webClient = AIServiceBuilder.stubWebClient(Mono.just(RESPONSE_JSON));
+        AIResponseCache cache = new AIResponseCache(100, 3600, "", System::currentTimeMillis);
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter)
+                .webClient(webClient)
+                .responseCache(cache)
+                .build();
+
+        AIGenerationRequest request = new AIGenerationRequest("TI-84 calculator", "Electronics", null, null, null);
+        for (int i = 0; i < repeats; i++) {
+            AIGenerationResponse response = service.generateTitle(request, "user_1");
+            assertThat(response.isSuccess()).isTrue();
+            assertThat(response.getContent()).isEqualTo("TI-84 Plus Graphing Calculator");
+        }
+
+        verify(rateLimiter, times(1)).allowRequest("user_1");
+        verify(webClient, times(1)).post();
+        assertThat(cache.getHits()).isEqualTo(repeats - 1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    // Feature: ai-response-cache, Property 3: Entries expire after the TTL and the cache stays within its size
+    // Validates: Requirements 11.3
+    @Property(tries = 50)
+    void entriesExpireAndCacheIsBounded(
+            @ForAll("capacity") int capacity,
+            @ForAll("entryCount") int entryCount) {
+
+        AtomicLong now = new AtomicLong(1_000_000L);
+        AIResponseCache cache = new AIResponseCache(capacity, 60, "", now::get);
+        for (int i = 0; i < entryCount; i++) {
+            cache.put("key" + i, new AIGenerationResponse("content " + i, 10, 500));
+            assertThat(cache.size()).isLessThanOrEqualTo(capacity);
+        }
+
+        String newest = "key" + (entryCount - 1);
+        assertThat(cache.get(newest)).isNotNull();
+        assertThat(cache.getEvictions()).isEqualTo(Math.max(0, entryCount - capacity));
+
+        now.addAndGet(60_000L);
+        assertThat(cache.get(newest)).isNull();
+    }
+
+    @Example
+    void failedResponsesAreNotCached() {
+        AIResponseCache cache = new AIResponseCache(10, 60, "", System::currentTimeMillis);
+        cache.put("key", new AIGenerationResponse("AI service error. Please try again."));
+
+        assertThat(cache.get("key")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Example
+    void cacheSurvivesRestartWhenPersisted() throws Exception {
+        Path file = Files.createTempDirectory("ai-cache").resolve("cache.json");
+        AtomicLong now = new AtomicLong(1_000_000L);
+
+        AIResponseCache first = new AIResponseCache(10, 60, file.toString(), now::get);
+        first.put("live", new AIGenerationResponse("kept", 12, 800));
+        first.put("stale", new AIGenerationResponse("dropped", 12, 800));
+        now.addAndGet(30_000L);
+        first.put("live", new AIGenerationResponse("kept", 12, 800));
+        first.save();
+
+        now.addAndGet(40_000L);
+        AIResponseCache second = new AIResponseCache(10, 60, file.toString(), now::get);
+        second.load();
+
+        assertThat(second.size()).isEqualTo(1);
+        AIGenerationResponse restored = second.get("live");
+        assertThat(restored.getContent()).isEqualTo("kept");
+        assertThat(restored.getTokenCount()).isEqualTo(12);
+        assertThat(second.get("stale")).isNull();
+    }
+
+    @Provide
+    Arbitrary<String> words() {
+        return Arbitraries.strings().alpha().ofMinLength(1).ofMaxLength(10)
+                .list().ofMinSize(1).ofMaxSize(4)
+                .map(list -> String.join(" ", list).toLowerCase());
+    }
+
+    @Provide
+    Arbitrary<String> requestType() {
+        return Arbitraries.of("TITLE", "DESCRIPTION");
+    }
+
+    @Provide
+    Arbitrary<Integer> repeats() {
+        return Arbitraries.integers().between(1, 10);
+    }
+
+    @Provide
+    Arbitrary<Integer> capacity() {
+        return Arbitraries.integers().between(1, 20);
+    }
+
+    @Provide
+    Arbitrary<Integer> entryCount() {
+        return Arbitraries.integers().between(1, 50);
+    }
+}
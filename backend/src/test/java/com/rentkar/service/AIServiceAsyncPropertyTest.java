@@ -0,0 +1,106 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.dto.AIGenerationResponse;
+import com.rentkar.exception.RateLimitExceededException;
+import com.rentkar.support.AIServiceBuilder;
+import net.jqwik.api.*;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Property-based tests for the non-blocking AIService path
+ */
+public class AIServiceAsyncPropertyTest {
+
+    private static final String RESPONSE_JSON =
+            "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Canon DSLR Camera\"}]}}]," +
+            "\"usageMetadata\":{\"totalTokenCount\":12}}";
+
+    // Feature: ai-async-generation, Property 1: The async call returns before the model responds
+    // Validates: Requirements 10.1
+    @Property(tries = 10)
+    void asyncCallReturnsBeforeModelResponds(@ForAll("requestType") String requestType) throws Exception {
+        AIServiceImpl service = createService(30000, Mono.delay(Duration.ofMillis(300)).map(tick -> RESPONSE_JSON));
+
+        CompletableFuture<AIGenerationResponse> future = generate(service, requestType);
+
+        assertThat(future).isNotDone();
+        AIGenerationResponse response = future.get(5, TimeUnit.SECONDS);
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getContent()).isEqualTo("Canon DSLR Camera");
+        assertThat(response.getTokenCount()).isEqualTo(12);
+    }
+
+    // Feature: ai-async-generation, Property 2: ai.request.timeout-ms bounds the wait for the model
+    // Validates: Requirements 10.2
+    @Property(tries = 10)
+    void requestTimeoutIsHonored(@ForAll("timeoutMs") int timeoutMs) throws Exception {
+        AIServiceImpl service = createService(timeoutMs, Mono.never());
+
+        long start = System.currentTimeMillis();
+        AIGenerationResponse response = generate(service, "TITLE").get(5, TimeUnit.SECONDS);
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getErrorMessage()).contains("too long");
+        assertThat(elapsed).isGreaterThanOrEqualTo(timeoutMs).isLessThan(timeoutMs + 2000L);
+    }
+
+    // Feature: ai-async-generation, Property 3: Rate limit rejections are raised before any call is made
+    // Validates: Requirements 10.1
+    @Example
+    void rateLimitIsCheckedSynchronously() {
+        RateLimiter rateLimiter = mock(RateLimiter.class);
+        when(rateLimiter.allowRequest(any())).thenReturn(false);
+        when(rateLimiter.getResetTime(any())).thenReturn(60L);
+
+        WebClient webClient = mock(WebClient.class);
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter).webClient(webClient).build();
+
+        assertThatThrownBy(() -> service.generateTitleAsync(createRequest(), "user_1"))
+                .isInstanceOf(RateLimitExceededException.class);
+        verifyNoInteractions(webClient);
+    }
+
+    @Provide
+    Arbitrary<String> requestType() {
+        return Arbitraries.of("TITLE", "DESCRIPTION");
+    }
+
+    @Provide
+    Arbitrary<Integer> timeoutMs() {
+        return Arbitraries.integers().between(20, 200);
+    }
+
+    private CompletableFuture<AIGenerationResponse> generate(AIServiceImpl service, String requestType) {
+        return "TITLE".equals(requestType)
+                ? service.generateTitleAsync(createRequest(), "user_1")
+                : service.generateDescriptionAsync(createRequest(), "user_1");
+    }
+
+    private AIGenerationRequest createRequest() {
+        AIGenerationRequest request = new AIGenerationRequest();
+        request.setItemName("Camera");
+        request.setCategory("Electronics");
+        return request;
+    }
+
+    private AIServiceImpl createService(int timeoutMs, Mono<String> body) {
+        return new AIServiceBuilder(AIServiceBuilder.allowAll())
+                .timeoutMs(timeoutMs)
+                .webClient(AIServiceBuilder.stubWebClient(body))
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.dto.AIGenerationResponse;
+import com.rentkar.support.AIServiceBuilder;
+import com.rentkar.support.GeminiStubServer;
+import net.jqwik.api.Example;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests of AIServiceImpl over a real HTTP connection to the in-process Gemini stub
+ */
+public class AIServiceHttpStubTest {
+
+    private static final AIGenerationRequest REQUEST =
+            new AIGenerationRequest("Casio FX-991EX", "Electronics", null, "Like New", null);
+
+    // Feature: gemini-stub, Property 1: Responses are decoded from a real connection
+    // Validates: Requirements 17.1
+    @Example
+    void decodesResponseOverHttp() throws Exception {
+        try (GeminiStubServer stub = new GeminiStubServer()) {
+            stub.responseText("Casio FX-991EX Scientific Calculator").slowDrip(3, 20);
+            AIServiceImpl service = createService(stub, 5000, new AICircuitBreaker(0, 0, 0));
+
+            AIGenerationResponse response = service.generateTitle(REQUEST, "user_1");
+
+            assertThat(response.isSuccess()).isTrue();
+            assertThat(response.getContent()).isEqualTo("Casio FX-991EX Scientific Calculator");
+            assertThat(response.getTokenCount()).isEqualTo(165);
+            assertThat(stub.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    // Feature: gemini-stub, Property 2: A body dripping in slower than the timeout fails with the timeout message
+    // Validates: Requirements 17.1
+    @Example
+    void slowDripTimesOut() throws Exception {
+        try (GeminiStubServer stub = new GeminiStubServer()) {
+            stub.slowDrip(5, 200);
+            AIServiceImpl service = createService(stub, 300, new AICircuitBreaker(0, 0, 0));
+
+            long start = System.currentTimeMillis();
+            AIGenerationResponse response = service.generateDescription(REQUEST, "user_1");
+
+            assertThat(response.isSuccess()).isFalse();
+            assertThat(response.getErrorMessage()).isEqualTo("AI service took too long to respond. Please try again.");
+            assertThat(System.currentTimeMillis() - start).isLessThan(800);
+        }
+    }
+
+    // Feature: gemini-stub, Property 3: Upstream 429s are mapped and counted by the circuit breaker
+    // Validates: Requirements 17.1
+    @Example
+    void upstreamRateLimitOpensBreaker() throws Exception {
+        try (GeminiStubServer stub = new GeminiStubServer()) {
+            stub.rateLimitRate(1.0);
+            AICircuitBreaker breaker = new AICircuitBreaker(2, 60_000, 0, System::currentTimeMillis);
+            AIServiceImpl service = createService(stub, 5000, breaker);
+
+            for (int i = 0; i < 2; i++) {
+                AIGenerationResponse response = service.generateTitle(
+                        new AIGenerationRequest("Item " + i, "Tools", null, null, null), "user_1");
+                assertThat(response.getErrorMessage()).isEqualTo("AI service rate limit exceeded. Please try again later.");
+            }
+            AIGenerationResponse fallback = service.generateTitle(REQUEST, "user_1");
+
+            assertThat(breaker.getState()).isEqualTo(AICircuitBreaker.State.OPEN);
+            assertThat(fallback.isFallback()).isTrue();
+            assertThat(stub.getStatusCounts()).containsEntry(429, 2L);
+        }
+    }
+
+    // Feature: gemini-stub, Property 4: The bulkhead bounds concurrent upstream connections
+    // Validates: Requirements 17.1
+    @Example
+    void bulkheadBoundsUpstreamConcurrency() throws Exception {
+        try (GeminiStubServer stub = new GeminiStubServer()) {
+            stub.fixedLatency(300);
+            AIServiceImpl service = createService(stub, 5000, new AICircuitBreaker(0, 0, 2, System::currentTimeMillis));
+
+            List<CompletableFuture<AIGenerationResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                responses.add(service.generateTitleAsync(
+                        new AIGenerationRequest("Item " + i, "Tools", null, null, null), "user_" + i));
+            }
+            long fallbacks = responses.stream().map(CompletableFuture::join).filter(AIGenerationResponse::isFallback).count();
+
+            assertThat(stub.getPeakInFlight()).isLessThanOrEqualTo(2);
+            assertThat(stub.getRequestCount()).isEqualTo(2);
+            assertThat(fallbacks).isEqualTo(4);
+        }
+    }
+
+    // Feature: gemini-stub, Property 5: Streamed events arrive as separate chunks
+    // Validates: Requirements 17.1
+    @Example
+    void streamsEventsOverHttp() throws Exception {
+        try (GeminiStubServer stub = new GeminiStubServer()) {
+            stub.responseText("High-quality scientific calculator for engineering students.").slowDrip(4, 50);
+            AIServiceImpl service = createService(stub, 5000, new AICircuitBreaker(0, 0, 0));
+
+            List<String> chunks = service.streamDescription(REQUEST, "user_1")
+                    .collectList().block(Duration.ofSeconds(5));
+
+            assertThat(chunks).hasSize(4);
+            assertThat(String.join("", chunks)).isEqualTo("High-quality scientific calculator for engineering students.");
+        }
+    }
+
+    private AIServiceImpl createService(GeminiStubServer stub, int timeoutMs, AICircuitBreaker breaker) {
+        return new AIServiceBuilder(AIServiceBuilder.allowAll())
+                .apiEndpoint(stub.getApiEndpoint())
+                .timeoutMs(timeoutMs)
+                .circuitBreaker(breaker)
+                .build();
+    }
+}
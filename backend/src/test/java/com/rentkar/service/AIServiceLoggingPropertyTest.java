@@ -8,6 +8,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.rentkar.dto.AIGenerationRequest;
 import com.rentkar.dto.AIGenerationResponse;
+import com.rentkar.support.AIServiceBuilder;
 import net.jqwik.api.*;
 import org.mockito.Mockito;
 import org.slf4j.LoggerFactory;
@@ -318,19 +319,7 @@ public class AIServiceLoggingPropertyTest {
         // Mock WebClient to return successful responses
         WebClient webClient = createMockWebClient(true);
         
-        AIServiceImpl service = new AIServiceImpl(
-            "test-api-key",
-            "https://test-endpoint.com",
-            "gemini-pro",
-            true,
-            30000,
-            0.7,
-            200,
-            500,
-            8,
-            10,
-            rateLimiter
-        );
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter).build();
         
         // Inject mocked WebClient
         ReflectionTestUtils.setField(service, "webClient", webClient);
@@ -347,19 +336,7 @@ public class AIServiceLoggingPropertyTest {
         // Mock WebClient to return error responses
         WebClient webClient = createMockWebClient(false);
         
-        AIServiceImpl service = new AIServiceImpl(
-            "test-api-key",
-            "https://test-endpoint.com",
-            "gemini-pro",
-            true,
-            30000,
-            0.7,
-            200,
-            500,
-            8,
-            10,
-            rateLimiter
-        );
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter).build();
         
         // Inject mocked WebClient
         ReflectionTestUtils.setField(service, "webClient", webClient);
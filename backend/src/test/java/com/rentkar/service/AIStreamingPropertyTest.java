@@ -0,0 +1,183 @@
+package com.rentkar.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.exception.AIGenerationException;
+import com.rentkar.exception.RateLimitExceededException;
+import com.rentkar.support.AIServiceBuilder;
+import net.jqwik.api.*;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Property-based tests for streaming AI generation
+ */
+public class AIStreamingPropertyTest {
+
+    // Feature: ai-streaming, Property 1: Chunks are forwarded in order and the full text is cached
+    // Validates: Requirements 14.1
+    @Property(tries = 50)
+    void chunksAreForwardedInOrder(@ForAll("chunks") List<String> chunks) {
+        RateLimiter rateLimiter = AIServiceBuilder.allowAll();
+        WebClient webClient = AIServiceBuilder.stubStreamWebClient(Flux.fromIterable(events(chunks)));
+        AIResponseCache cache = new AIResponseCache(10, 3600, "", System::currentTimeMillis);
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter)
+                .streamWebClient(webClient)
+                .responseCache(cache)
+                .build();
+
+        List<String> received = service.streamDescription(createRequest(), "user_1")
+                .collectList().block(Duration.ofSeconds(5));
+
+        assertThat(received).containsExactlyElementsOf(chunks);
+        verify(rateLimiter, times(1)).allowRequest("user_1");
+
+        // A repeat is served from the cache as a single chunk without another call or rate limit unit
+        List<String> cached = service.streamDescription(createRequest(), "user_1")
+                .collectList().block(Duration.ofSeconds(5));
+        assertThat(cached).containsExactly(String.join("", chunks).trim());
+        verify(webClient, times(1)).post();
+        verify(rateLimiter, times(1)).allowRequest("user_1");
+    }
+
+    // Feature: ai-streaming, Property 2: Upstream chunks are only requested as fast as they are consumed
+    // Validates: Requirements 14.2
+    @Property(tries = 20)
+    void backPressureReachesUpstream(@ForAll("chunks") List<String> chunks) {
+        AtomicLong requested = new AtomicLong();
+        Flux<ServerSentEvent<String>> upstream = Flux.fromIterable(events(chunks))
+                .doOnRequest(n -> requested.addAndGet(Math.min(n, Integer.MAX_VALUE)));
+        AIServiceImpl service = new AIServiceBuilder(AIServiceBuilder.allowAll())
+                .streamWebClient(AIServiceBuilder.stubStreamWebClient(upstream))
+                .build();
+
+        List<String> received = new ArrayList<>();
+        service.streamDescription(createRequest(), "user_1").subscribe(new BaseSubscriber<String>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(String chunk) {
+                received.add(chunk);
+            }
+        });
+
+        assertThat(received).containsExactly(chunks.get(0));
+        assertThat(requested.get()).isLessThan(chunks.size());
+    }
+
+    // Feature: ai-streaming, Property 3: Cancelling the stream cancels the upstream call and caches nothing
+    // Validates: Requirements 14.2
+    @Example
+    void cancellationReachesUpstream() {
+        Sinks.Many<ServerSentEvent<String>> sink = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        WebClient webClient = AIServiceBuilder.stubStreamWebClient(
+                sink.asFlux().doOnCancel(() -> cancelled.set(true)));
+        AIResponseCache cache = new AIResponseCache(10, 3600, "", System::currentTimeMillis);
+        AIServiceImpl service = new AIServiceBuilder(AIServiceBuilder.allowAll())
+                .streamWebClient(webClient)
+                .responseCache(cache)
+                .build();
+
+        List<String> received = new ArrayList<>();
+        var subscription = service.streamDescription(createRequest(), "user_1").subscribe(received::add);
+        sink.tryEmitNext(events(List.of("A sturdy ")).get(0));
+        subscription.dispose();
+
+        assertThat(received).containsExactly("A sturdy ");
+        assertThat(cancelled.get()).isTrue();
+        assertThat(cache.size()).isZero();
+    }
+
+    // Feature: ai-streaming, Property 4: Rate limited users are rejected before any call is made
+    // Validates: Requirements 14.3
+    @Example
+    void rateLimitIsCheckedBeforeStreaming() {
+        WebClient webClient = AIServiceBuilder.stubStreamWebClient(Flux.empty());
+        AIServiceImpl service = new AIServiceBuilder(createDenyingRateLimiter()).streamWebClient(webClient).build();
+
+        assertThatThrownBy(() -> service.streamDescription(createRequest(), "user_1"))
+                .isInstanceOf(RateLimitExceededException.class);
+        verify(webClient, never()).post();
+    }
+
+    @Example
+    void emptyStreamIsAnError() {
+        Flux<ServerSentEvent<String>> events = Flux.just(ServerSentEvent.builder("{\"candidates\":[]}").build());
+        AIServiceImpl service = new AIServiceBuilder(AIServiceBuilder.allowAll())
+                .streamWebClient(AIServiceBuilder.stubStreamWebClient(events))
+                .build();
+
+        assertThatThrownBy(() -> service.streamDescription(createRequest(), "user_1").blockLast(Duration.ofSeconds(5)))
+                .isInstanceOf(AIGenerationException.class)
+                .hasMessage("An unexpected error occurred. Please try again.");
+    }
+
+    @Provide
+    Arbitrary<List<String>> chunks() {
+        return Arbitraries.strings().alpha().numeric().withChars(' ', '.', '\n')
+                .ofMinLength(1).ofMaxLength(30)
+                .filter(s -> !s.isBlank())
+                .list().ofMinSize(3).ofMaxSize(15);
+    }
+
+    private List<ServerSentEvent<String>> events(List<String> chunks) {
+        List<ServerSentEvent<String>> events = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            JsonObject part = new JsonObject();
+            part.addProperty("text", chunks.get(i));
+            JsonArray parts = new JsonArray();
+            parts.add(part);
+            JsonObject content = new JsonObject();
+            content.add("parts", parts);
+            JsonObject candidate = new JsonObject();
+            candidate.add("content", content);
+            JsonArray candidates = new JsonArray();
+            candidates.add(candidate);
+
+            JsonObject response = new JsonObject();
+            response.add("candidates", candidates);
+            if (i == chunks.size() - 1) {
+                JsonObject usage = new JsonObject();
+                usage.addProperty("totalTokenCount", 42);
+                response.add("usageMetadata", usage);
+            }
+            events.add(ServerSentEvent.builder(response.toString()).build());
+        }
+        return events;
+    }
+
+    private AIGenerationRequest createRequest() {
+        return new AIGenerationRequest("Drawing kit", "Tools", "Used for one semester", "Good", null);
+    }
+
+    private RateLimiter createDenyingRateLimiter() {
+        RateLimiter rateLimiter = mock(RateLimiter.class);
+        when(rateLimiter.allowRequest(any())).thenReturn(false);
+        when(rateLimiter.getResetTime(any())).thenReturn(60L);
+        return rateLimiter;
+    }
+}
@@ -0,0 +1,281 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.AIGenerationRequest;
+import com.rentkar.dto.AIGenerationResponse;
+import com.rentkar.dto.AIUsageDTO;
+import com.rentkar.exception.RateLimitExceededException;
+import com.rentkar.model.AIUsageEntry;
+import com.rentkar.repository.AIUsageEntryRepository;
+import com.rentkar.support.AIServiceBuilder;
+import net.jqwik.api.*;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Property-based tests for the AI token usage ledger
+ */
+public class AIUsageLedgerPropertyTest {
+
+    private static final long DAY_MS = 86_400_000L;
+
+    private static final String RESPONSE_JSON =
+            "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Engineering Drawing Kit\"}]}}]," +
+            "\"usageMetadata\":{\"totalTokenCount\":15}}";
+
+    // Feature: ai-usage-ledger, Property 1: Flushed rows add up to everything recorded, even under concurrency
+    // Validates: Requirements 20.1, 20.2
+    @Property(tries = 10)
+    void flushedRowsMatchRecordedUsage(
+            @ForAll("threads") int threads,
+            @ForAll("calls") int callsPerThread) throws Exception {
+
+        List<AIUsageEntry> saved = Collections.synchronizedList(new ArrayList<>());
+        AIUsageLedger ledger = new AIUsageLedger(createRepository(saved, new AtomicBoolean()), 0, 0,
+                () -> 1_000_000L, ZoneOffset.UTC);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            AtomicBoolean recording = new AtomicBoolean(true);
+            // Flush while recording so drained and retired counters race with updates
+            Future<?> flusher = executor.submit(() -> {
+                while (recording.get()) {
+                    ledger.flush();
+                }
+            });
+            List<Future<?>> recorders = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String usageKey = "user_" + (t % 3);
+                recorders.add(executor.submit(() -> {
+                    for (int i = 0; i < callsPerThread; i++) {
+                        ledger.record(usageKey, i % 2 == 0 ? "TITLE" : "DESCRIPTION", 10, 100);
+                    }
+                }));
+            }
+            for (Future<?> recorder : recorders) {
+                recorder.get(10, TimeUnit.SECONDS);
+            }
+            recording.set(false);
+            flusher.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        ledger.flush();
+        ledger.flush();
+
+        long expectedCalls = (long) threads * callsPerThread;
+        assertThat(saved.stream().mapToLong(AIUsageEntry::getCalls).sum()).isEqualTo(expectedCalls);
+        assertThat(saved.stream().mapToLong(AIUsageEntry::getTokens).sum()).isEqualTo(expectedCalls * 10);
+        assertThat(saved.stream().mapToLong(AIUsageEntry::getResponseTimeMs).sum()).isEqualTo(expectedCalls * 100);
+        assertThat(ledger.getPendingKeys()).isZero();
+    }
+
+    // Feature: ai-usage-ledger, Property 2: Usage that fails to save is kept and written by the next flush
+    // Validates: Requirements 20.2
+    @Property(tries = 30)
+    void failedFlushIsRetried(@ForAll("calls") int calls) {
+        List<AIUsageEntry> saved = new ArrayList<>();
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AIUsageLedger ledger = new AIUsageLedger(createRepository(saved, failing), 0, 0,
+                () -> 1_000_000L, ZoneOffset.UTC);
+        for (int i = 0; i < calls; i++) {
+            ledger.record("user_1", "LISTING", 7, 50);
+        }
+
+        assertThat(ledger.flush()).isZero();
+        assertThat(ledger.getFailedFlushes()).isEqualTo(1);
+
+        failing.set(false);
+        assertThat(ledger.flush()).isEqualTo(1);
+        assertThat(saved).singleElement().satisfies(entry -> {
+            assertThat(entry.getUsageKey()).isEqualTo("user_1");
+            assertThat(entry.getRequestType()).isEqualTo("LISTING");
+            assertThat(entry.getCalls()).isEqualTo(calls);
+            assertThat(entry.getTokens()).isEqualTo(7L * calls);
+        });
+    }
+
+    // Feature: ai-usage-ledger, Property 3: Usage combines saved rows with calls not flushed yet
+    // Validates: Requirements 20.3
+    @Property(tries = 30)
+    void usageIncludesUnflushedCalls(@ForAll("calls") int savedCalls, @ForAll("calls") int unflushedCalls) {
+        AIUsageEntryRepository repository = mock(AIUsageEntryRepository.class);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"TITLE", (long) savedCalls, savedCalls * 20L, savedCalls * 300L});
+        when(repository.aggregateUsageByType(any(), any())).thenReturn(rows);
+        AIUsageLedger ledger = new AIUsageLedger(repository, 0, 0, () -> 1_000_000L, ZoneOffset.UTC);
+        for (int i = 0; i < unflushedCalls; i++) {
+            ledger.record("user_1", "TITLE", 20, 300);
+            ledger.record("user_2", "TITLE", 99, 999);
+        }
+
+        AIUsageDTO usage = ledger.getUsage("user_1", 7);
+
+        long calls = savedCalls + unflushedCalls;
+        assertThat(usage.getTotal().getCalls()).isEqualTo(calls);
+        assertThat(usage.getTotal().getTokens()).isEqualTo(calls * 20);
+        assertThat(usage.getByType().get("TITLE").getAverageResponseTimeMs()).isEqualTo(calls == 0 ? 0 : 300);
+        assertThat(usage.getSince()).isEqualTo(LocalDateTime.of(1969, 12, 26, 0, 0));
+        assertThat(usage.getDailyTokenBudget()).isNull();
+    }
+
+    // Feature: ai-usage-ledger, Property 4: The daily token budget is reached, starts over at midnight and survives a restart
+    // Validates: Requirements 20.4
+    @Property(tries = 30)
+    void dailyBudgetIsEnforced(@ForAll("calls") int calls) {
+        AtomicLong clock = new AtomicLong(10 * DAY_MS + 1000);
+        long budget = 100;
+        AIUsageEntryRepository repository = mock(AIUsageEntryRepository.class);
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"user_1", 40L});
+        when(repository.aggregateTokensByKey(any())).thenReturn(rows);
+        AIUsageLedger ledger = new AIUsageLedger(repository, 0, budget, clock::get, ZoneOffset.UTC);
+        ledger.load();
+
+        for (int i = 0; i < calls; i++) {
+            ledger.record("user_1", "TITLE", 15, 10);
+        }
+
+        long used = 40 + 15L * calls;
+        assertThat(ledger.getTokensUsedToday("user_1")).isEqualTo(used);
+        assertThat(ledger.isOverBudget("user_1")).isEqualTo(used >= budget);
+        assertThat(ledger.getUsage("user_1", 1).getTokensRemainingToday()).isEqualTo(Math.max(0, budget - used));
+        assertThat(ledger.isOverBudget("user_2")).isFalse();
+
+        clock.addAndGet(DAY_MS);
+        assertThat(ledger.getTokensUsedToday("user_1")).isZero();
+        assertThat(ledger.isOverBudget("user_1")).isFalse();
+    }
+
+    // Feature: ai-usage-ledger, Property 5: The service meters successful calls and refuses users over budget
+    // Validates: Requirements 20.1, 20.4
+    @Example
+    void serviceMetersCallsAndEnforcesBudget() {
+        RateLimiter rateLimiter = AIServiceBuilder.allowAll();
+        AIUsageLedger ledger = new AIUsageLedger(mock(AIUsageEntryRepository.class), 0, 20,
+                System::currentTimeMillis, ZoneOffset.UTC);
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter)
+                .usageLedger(ledger)
+                .webClient(AIServiceBuilder.stubWebClient(Mono.just(RESPONSE_JSON)))
+                .build();
+        AIGenerationRequest request = new AIGenerationRequest("Drawing kit", "Tools", null, null, null);
+
+        service.generateTitle(request, "user_1");
+        service.generateTitle(request, "user_1");
+        assertThat(ledger.getTokensUsedToday("user_1")).isEqualTo(30);
+        assertThat(ledger.getUsage("user_1", 1).getByType().get("TITLE").getCalls()).isEqualTo(2);
+
+        assertThatThrownBy(() -> service.generateTitle(request, "user_1"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds()).isPositive());
+        // Refused before the rate limit is charged
+        verify(rateLimiter, times(2)).allowRequest("user_1");
+    }
+
+    // Feature: ai-usage-ledger, Property 6: Callers sharing one coalesced upstream call are each metered
+    // Validates: Requirements 20.1
+    @Example
+    void coalescedCallersAreEachMetered() {
+        RateLimiter rateLimiter = AIServiceBuilder.allowAll();
+        AIUsageLedger ledger = new AIUsageLedger(mock(AIUsageEntryRepository.class), 0, 0,
+                System::currentTimeMillis, ZoneOffset.UTC);
+        AIRequestCoalescer coalescer = new AIRequestCoalescer();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        WebClient webClient = AIServiceBuilder.stubWebClient(Mono.fromFuture(upstream));
+        AIServiceImpl service = new AIServiceBuilder(rateLimiter)
+                .coalescer(coalescer)
+                .usageLedger(ledger)
+                .webClient(webClient)
+                .build();
+        AIGenerationRequest request = new AIGenerationRequest("Drawing kit", "Tools", null, null, null);
+
+        CompletableFuture<AIGenerationResponse> first = service.generateTitleAsync(request, "user_1");
+        CompletableFuture<AIGenerationResponse> second = service.generateTitleAsync(request, "user_2");
+        upstream.complete(RESPONSE_JSON);
+
+        assertThat(first.join().getContent()).isEqualTo("Engineering Drawing Kit");
+        assertThat(second.join().getContent()).isEqualTo("Engineering Drawing Kit");
+        verify(webClient, times(1)).post();
+        assertThat(coalescer.getCoalescedCalls()).isEqualTo(1);
+        for (String user : List.of("user_1", "user_2")) {
+            assertThat(ledger.getTokensUsedToday(user)).isEqualTo(15);
+            assertThat(ledger.getUsage(user, 1).getByType().get("TITLE").getCalls()).isEqualTo(1);
+        }
+    }
+
+    // Feature: ai-usage-ledger, Property 7: A flush running while usage is read does not drop unflushed calls
+    // Validates: Requirements 20.3
+    @Example
+    void usageReadDuringFlushIsComplete() throws Exception {
+        List<AIUsageEntry> saved = Collections.synchronizedList(new ArrayList<>());
+        AIUsageEntryRepository repository = createRepository(saved, new AtomicBoolean());
+        AtomicReference<AIUsageLedger> ledgerRef = new AtomicReference<>();
+        when(repository.aggregateUsageByType(any(), any())).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>();
+            long savedCalls = saved.stream().mapToLong(AIUsageEntry::getCalls).sum();
+            if (savedCalls > 0) {
+                rows.add(new Object[]{"TITLE", savedCalls, savedCalls * 20, savedCalls * 300});
+            }
+            // A flush starts right after the table was read and gets as long as it needs to finish
+            Thread flusher = new Thread(() -> ledgerRef.get().flush());
+            flusher.start();
+            flusher.join(200);
+            return rows;
+        });
+        AIUsageLedger ledger = new AIUsageLedger(repository, 0, 0, () -> 1_000_000L, ZoneOffset.UTC);
+        ledgerRef.set(ledger);
+        for (int i = 0; i < 3; i++) {
+            ledger.record("user_1", "TITLE", 20, 300);
+        }
+
+        AIUsageDTO usage = ledger.getUsage("user_1", 1);
+
+        assertThat(usage.getTotal().getCalls()).isEqualTo(3);
+        assertThat(usage.getTotal().getTokens()).isEqualTo(60);
+    }
+
+    @Provide
+    Arbitrary<Integer> threads() {
+        return Arbitraries.integers().between(1, 6);
+    }
+
+    @Provide
+    Arbitrary<Integer> calls() {
+        return Arbitraries.integers().between(0, 500);
+    }
+
+    @SuppressWarnings("unchecked")
+    private AIUsageEntryRepository createRepository(List<AIUsageEntry> saved, AtomicBoolean failing) {
+        AIUsageEntryRepository repository = mock(AIUsageEntryRepository.class);
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            if (failing.get()) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            Iterable<AIUsageEntry> entries = invocation.getArgument(0);
+            entries.forEach(saved::add);
+            return saved;
+        });
+        return repository;
+    }
+}
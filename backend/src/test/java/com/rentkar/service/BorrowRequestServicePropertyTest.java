@@ -16,6 +16,8 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 public class BorrowRequestServicePropertyTest {
@@ -56,7 +58,7 @@ public class BorrowRequestServicePropertyTest {
             return request;
         });
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         CreateBorrowRequestDTO dto = new CreateBorrowRequestDTO(borrowDate, returnDate, requestMessage);
         BorrowRequestDTO result = service.createRequest(itemId, dto, borrower);
@@ -104,7 +106,7 @@ public class BorrowRequestServicePropertyTest {
             return request;
         });
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         CreateBorrowRequestDTO dto = new CreateBorrowRequestDTO(borrowDate, returnDate, requestMessage);
         BorrowRequestDTO result = service.createRequest(itemId, dto, borrower);
@@ -138,7 +140,7 @@ public class BorrowRequestServicePropertyTest {
         
         when(mockRequestRepo.findByBorrowerId(borrowerId)).thenReturn(borrowerRequests);
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         List<BorrowRequest> result = service.getSentRequests(borrower, null);
         
@@ -178,7 +180,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.findByLenderIdAndStatus(userId, filterStatus))
                 .thenReturn(lenderRequestsWithStatus);
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         // Test sent requests filtering
         List<BorrowRequest> sentResult = service.getSentRequests(user, filterStatus);
@@ -215,7 +217,7 @@ public class BorrowRequestServicePropertyTest {
         
         when(mockRequestRepo.findByLenderId(lenderId)).thenReturn(lenderRequests);
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         List<BorrowRequest> result = service.getReceivedRequests(lender, null);
         
@@ -259,7 +261,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.save(any(BorrowRequest.class))).thenAnswer(inv -> inv.getArgument(0));
         when(mockItemRepo.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         BorrowRequest result = service.approveRequest(1L, responseMessage, lender);
         
@@ -302,7 +304,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.save(any(BorrowRequest.class))).thenAnswer(inv -> inv.getArgument(0));
         when(mockItemRepo.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         BorrowRequest result = service.approveRequest(1L, responseMessage, lender);
         
@@ -349,7 +351,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.save(any(BorrowRequest.class))).thenAnswer(inv -> inv.getArgument(0));
         when(mockItemRepo.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         BorrowRequest result = service.approveRequest(1L, responseMessage, lender);
         
@@ -395,7 +397,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.findById(1L)).thenReturn(Optional.of(request));
         when(mockRequestRepo.save(any(BorrowRequest.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         BorrowRequest result = service.rejectRequest(1L, responseMessage, lender);
         
@@ -437,7 +439,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.findById(1L)).thenReturn(Optional.of(request));
         when(mockRequestRepo.save(any(BorrowRequest.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         BorrowRequest result = service.rejectRequest(1L, responseMessage, lender);
         
@@ -479,7 +481,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.findById(1L)).thenReturn(Optional.of(request));
         when(mockRequestRepo.save(any(BorrowRequest.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         BorrowRequest result = service.rejectRequest(1L, responseMessage, lender);
         
@@ -523,7 +525,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.save(any(BorrowRequest.class))).thenAnswer(inv -> inv.getArgument(0));
         when(mockItemRepo.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         BorrowRequest result = service.markAsReturned(1L, lender);
         
@@ -565,7 +567,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.save(any(BorrowRequest.class))).thenAnswer(inv -> inv.getArgument(0));
         when(mockItemRepo.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         BorrowRequest result = service.markAsReturned(1L, lender);
         
@@ -607,7 +609,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.save(any(BorrowRequest.class))).thenAnswer(inv -> inv.getArgument(0));
         when(mockItemRepo.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         LocalDateTime beforeReturn = LocalDateTime.now();
         BorrowRequest result = service.markAsReturned(1L, lender);
@@ -652,7 +654,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.save(any(BorrowRequest.class))).thenAnswer(inv -> inv.getArgument(0));
         when(mockItemRepo.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         BorrowRequest result = service.markAsReturned(1L, lender);
         
@@ -696,7 +698,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.findById(1L)).thenReturn(Optional.of(request));
         when(mockRequestRepo.save(any(BorrowRequest.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         BorrowRequest result = service.confirmReturn(1L, borrower);
         
@@ -738,7 +740,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.findById(1L)).thenReturn(Optional.of(request));
         when(mockRequestRepo.save(any(BorrowRequest.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         LocalDateTime beforeCompletion = LocalDateTime.now();
         BorrowRequest result = service.confirmReturn(1L, borrower);
@@ -781,7 +783,7 @@ public class BorrowRequestServicePropertyTest {
         
         when(mockRequestRepo.findById(1L)).thenReturn(Optional.of(request));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         service.cancelRequest(1L, borrower);
         
@@ -824,7 +826,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.findByBorrowerId(borrowerId)).thenReturn(List.of(request));
         when(mockRequestRepo.findByLenderId(lenderId)).thenReturn(List.of(request));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         // Cancel the request
         service.cancelRequest(1L, borrower);
@@ -872,7 +874,7 @@ public class BorrowRequestServicePropertyTest {
         
         when(mockRequestRepo.findById(1L)).thenReturn(Optional.of(request));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         ItemStatus statusBeforeCancel = item.getStatus();
         service.cancelRequest(1L, borrower);
@@ -943,30 +945,17 @@ public class BorrowRequestServicePropertyTest {
                 .filter(r -> r.getStatus() == RequestStatus.COMPLETED)
                 .count();
         
-        // Mock repository responses
-        when(mockRequestRepo.countByBorrowerAndStatus(userId, RequestStatus.PENDING))
-                .thenReturn(sentPending);
-        when(mockRequestRepo.countByBorrowerAndStatus(userId, RequestStatus.APPROVED))
-                .thenReturn(sentApproved);
-        when(mockRequestRepo.countByBorrowerAndStatus(userId, RequestStatus.REJECTED))
-                .thenReturn(sentRejected);
-        when(mockRequestRepo.countByBorrowerAndStatus(userId, RequestStatus.RETURNED))
-                .thenReturn(sentReturned);
-        when(mockRequestRepo.countByBorrowerAndStatus(userId, RequestStatus.COMPLETED))
-                .thenReturn(sentCompleted);
-        
-        when(mockRequestRepo.countByLenderAndStatus(userId, RequestStatus.PENDING))
-                .thenReturn(receivedPending);
-        when(mockRequestRepo.countByLenderAndStatus(userId, RequestStatus.APPROVED))
-                .thenReturn(receivedApproved);
-        when(mockRequestRepo.countByLenderAndStatus(userId, RequestStatus.REJECTED))
-                .thenReturn(receivedRejected);
-        when(mockRequestRepo.countByLenderAndStatus(userId, RequestStatus.RETURNED))
-                .thenReturn(receivedReturned);
-        when(mockRequestRepo.countByLenderAndStatus(userId, RequestStatus.COMPLETED))
-                .thenReturn(receivedCompleted);
-        
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        // Mock the single aggregate query: one (status, sentCount, receivedCount) row per status
+        List<Object[]> aggregateRows = new ArrayList<>();
+        aggregateRows.add(new Object[] { RequestStatus.PENDING, sentPending, receivedPending });
+        aggregateRows.add(new Object[] { RequestStatus.APPROVED, sentApproved, receivedApproved });
+        aggregateRows.add(new Object[] { RequestStatus.REJECTED, sentRejected, receivedRejected });
+        aggregateRows.add(new Object[] { RequestStatus.RETURNED, sentReturned, receivedReturned });
+        aggregateRows.add(new Object[] { RequestStatus.COMPLETED, sentCompleted, receivedCompleted });
+        aggregateRows.removeIf(row -> (long) row[1] == 0 && (long) row[2] == 0);
+        when(mockRequestRepo.aggregateStatusCountsByUser(userId)).thenReturn(aggregateRows);
+        
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         com.rentkar.dto.RequestStatistics stats = service.getStatistics(user);
         
@@ -985,6 +974,100 @@ public class BorrowRequestServicePropertyTest {
         assertThat(stats.getTotalReceived()).isEqualTo((int)expectedTotalReceived);
     }
     
+    // Feature: borrow-workflow, Property 33: Cursor pages cover every matching request once
+    // Validates: Requirements 5.1, 5.2
+    @Property(tries = 50)
+    void cursorPagesCoverEveryMatchingRequestOnce(
+            @ForAll("requestStatuses") List<RequestStatus> statuses,
+            @ForAll("optionalStatus") Optional<RequestStatus> filter,
+            @ForAll("pageSize") int pageSize) {
+        
+        BorrowRequestRepository mockRequestRepo = Mockito.mock(BorrowRequestRepository.class);
+        ItemRepository mockItemRepo = Mockito.mock(ItemRepository.class);
+        BorrowRequestMapper mapper = new BorrowRequestMapper();
+        
+        User lender = createUser(1L, "lender1", "lender1@test.com");
+        User borrower = createUser(2L, "borrower2", "borrower2@test.com");
+        Item item = createItem(10L, "Test Item", lender, ItemStatus.AVAILABLE);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        
+        List<BorrowRequest> stored = new ArrayList<>();
+        for (int i = 0; i < statuses.size(); i++) {
+            BorrowRequest request = new BorrowRequest();
+            setBorrowRequestField(request, "id", (long) i + 1);
+            setBorrowRequestField(request, "item", item);
+            setBorrowRequestField(request, "borrower", borrower);
+            setBorrowRequestField(request, "lender", lender);
+            setBorrowRequestField(request, "status", statuses.get(i));
+            setBorrowRequestField(request, "borrowDate", LocalDate.now().plusDays(1));
+            setBorrowRequestField(request, "returnDate", LocalDate.now().plusDays(5));
+            // Pairs of requests share a timestamp so the id tie-breaker is exercised
+            setBorrowRequestField(request, "createdAt", base.plusMinutes(i / 2));
+            stored.add(request);
+        }
+        
+        Comparator<BorrowRequest> newestFirst = Comparator.comparing(BorrowRequest::getCreatedAt)
+                .thenComparing(BorrowRequest::getId).reversed();
+        
+        when(mockRequestRepo.findFirstPageByLenderId(eq(1L), any()))
+                .thenAnswer(inv -> seek(stored, null, null, null, inv.getArgument(1), newestFirst));
+        when(mockRequestRepo.findFirstPageByLenderIdAndStatus(eq(1L), any(RequestStatus.class), any()))
+                .thenAnswer(inv -> seek(stored, inv.getArgument(1), null, null, inv.getArgument(2), newestFirst));
+        when(mockRequestRepo.findPageByLenderIdAfter(eq(1L), any(LocalDateTime.class), anyLong(), any()))
+                .thenAnswer(inv -> seek(stored, null, inv.getArgument(1), inv.getArgument(2),
+                        inv.getArgument(3), newestFirst));
+        when(mockRequestRepo.findPageByLenderIdAndStatusAfter(eq(1L), any(RequestStatus.class),
+                any(LocalDateTime.class), anyLong(), any()))
+                .thenAnswer(inv -> seek(stored, inv.getArgument(1), inv.getArgument(2), inv.getArgument(3),
+                        inv.getArgument(4), newestFirst));
+        
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
+        
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            com.rentkar.dto.CursorPage<BorrowRequestDTO> page =
+                    service.getReceivedRequests(lender, filter.orElse(null), cursor, pageSize);
+            assertThat(page.getItems().size()).isLessThanOrEqualTo(pageSize);
+            page.getItems().forEach(dto -> seen.add(dto.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        
+        List<Long> expected = stored.stream()
+                .filter(r -> filter.isEmpty() || r.getStatus() == filter.get())
+                .sorted(newestFirst)
+                .map(BorrowRequest::getId)
+                .toList();
+        assertThat(seen).isEqualTo(expected);
+    }
+    
+    private List<BorrowRequest> seek(List<BorrowRequest> stored, RequestStatus status, LocalDateTime createdAt,
+                                     Long id, org.springframework.data.domain.Pageable pageable,
+                                     Comparator<BorrowRequest> order) {
+        return stored.stream()
+                .filter(r -> status == null || r.getStatus() == status)
+                .filter(r -> createdAt == null || r.getCreatedAt().isBefore(createdAt)
+                        || (r.getCreatedAt().isEqual(createdAt) && r.getId() < id))
+                .sorted(order)
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+    
+    @Provide
+    Arbitrary<List<RequestStatus>> requestStatuses() {
+        return Arbitraries.of(RequestStatus.values()).list().ofMinSize(0).ofMaxSize(40);
+    }
+    
+    @Provide
+    Arbitrary<Optional<RequestStatus>> optionalStatus() {
+        return Arbitraries.of(RequestStatus.values()).optional();
+    }
+    
+    @Provide
+    Arbitrary<Integer> pageSize() {
+        return Arbitraries.integers().between(1, 10);
+    }
+    
     // Arbitraries
     @Provide
     Arbitrary<Long> validItemId() {
@@ -1163,7 +1246,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.findById(1L)).thenReturn(Optional.of(pendingRequest));
         when(mockRequestRepo.findById(2L)).thenReturn(Optional.of(approvedRequest));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         // Test: Non-owner cannot approve (Requirement 13.1)
         try {
@@ -1243,7 +1326,7 @@ public class BorrowRequestServicePropertyTest {
         when(mockRequestRepo.findById(1L)).thenReturn(Optional.of(pendingRequest));
         when(mockRequestRepo.findById(2L)).thenReturn(Optional.of(returnedRequest));
         
-        BorrowRequestService service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        BorrowRequestService service = createService(mockRequestRepo, mockItemRepo, mapper);
         
         // Test: Non-borrower cannot cancel (Requirement 13.5)
         try {
@@ -1263,4 +1346,10 @@ public class BorrowRequestServicePropertyTest {
             assertThat(e.getMessage()).contains("borrower");
         }
     }
+
+    private BorrowRequestService createService(BorrowRequestRepository requestRepository,
+                                               ItemRepository itemRepository, BorrowRequestMapper mapper) {
+        return new BorrowRequestServiceImpl(requestRepository, itemRepository, mapper,
+                Mockito.mock(ItemSearchIndex.class), new RequestStatisticsCache(requestRepository, 1000));
+    }
 }
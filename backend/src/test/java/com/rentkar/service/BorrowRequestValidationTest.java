@@ -31,7 +31,7 @@ public class BorrowRequestValidationTest {
         mockItemRepo = Mockito.mock(ItemRepository.class);
         mockRequestRepo = Mockito.mock(BorrowRequestRepository.class);
         mapper = new BorrowRequestMapper();
-        service = new BorrowRequestServiceImpl(mockRequestRepo, mockItemRepo, mapper);
+        service = createService(mockRequestRepo, mockItemRepo, mapper);
     }
     
     /**
@@ -518,4 +518,10 @@ public class BorrowRequestValidationTest {
             throw new RuntimeException(e);
         }
     }
+
+    private BorrowRequestService createService(BorrowRequestRepository requestRepository,
+                                               ItemRepository itemRepository, BorrowRequestMapper mapper) {
+        return new BorrowRequestServiceImpl(requestRepository, itemRepository, mapper,
+                Mockito.mock(ItemSearchIndex.class), new RequestStatisticsCache(requestRepository, 1000));
+    }
 }
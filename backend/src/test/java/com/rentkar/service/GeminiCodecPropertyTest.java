@@ -0,0 +1,140 @@
+package com.rentkar.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import net.jqwik.api.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Property-based tests for the streaming Gemini request/response codec
+ */
+public class GeminiCodecPropertyTest {
+
+    // Feature: gemini-codec, Property 1: Streamed requests match the request tree they replace
+    // Validates: Requirements 16.1
+    @Property(tries = 100)
+    void requestMatchesTree(
+            @ForAll("prompt") String prompt,
+            @ForAll("temperature") double temperature,
+            @ForAll("maxTokens") int maxTokens,
+            @ForAll boolean jsonResponse) {
+
+        JsonObject expected = new JsonObject();
+        JsonObject part = new JsonObject();
+        part.addProperty("text", prompt);
+        JsonArray parts = new JsonArray();
+        parts.add(part);
+        JsonObject content = new JsonObject();
+        content.add("parts", parts);
+        JsonArray contents = new JsonArray();
+        contents.add(content);
+        expected.add("contents", contents);
+        JsonObject generationConfig = new JsonObject();
+        generationConfig.addProperty("temperature", temperature);
+        generationConfig.addProperty("maxOutputTokens", maxTokens);
+        generationConfig.addProperty("topP", 0.8);
+        generationConfig.addProperty("topK", 40);
+        if (jsonResponse) {
+            generationConfig.addProperty("responseMimeType", "application/json");
+        }
+        expected.add("generationConfig", generationConfig);
+
+        String written = GeminiCodec.writeRequest(prompt, temperature, maxTokens, jsonResponse);
+
+        assertThat(JsonParser.parseString(written)).isEqualTo(JsonParser.parseString(expected.toString()));
+    }
+
+    // Feature: gemini-codec, Property 2: Only the first candidate's text and the total token count are extracted
+    // Validates: Requirements 16.1
+    @Property(tries = 100)
+    void responseFieldsAreExtracted(
+            @ForAll("prompt") String text,
+            @ForAll("maxTokens") int tokenCount,
+            @ForAll boolean usageFirst,
+            @ForAll boolean splitParts) {
+
+        JsonObject response = new JsonObject();
+        JsonObject usage = new JsonObject();
+        usage.addProperty("promptTokenCount", 12);
+        usage.addProperty("totalTokenCount", tokenCount);
+        if (usageFirst) {
+            response.add("usageMetadata", usage);
+        }
+        JsonArray candidates = new JsonArray();
+        candidates.add(candidate(text, splitParts));
+        candidates.add(candidate("second candidate", false));
+        response.add("candidates", candidates);
+        JsonObject feedback = new JsonObject();
+        feedback.add("safetyRatings", new JsonArray());
+        response.add("promptFeedback", feedback);
+        if (!usageFirst) {
+            response.add("usageMetadata", usage);
+        }
+
+        GeminiCodec.ParsedResponse parsed = GeminiCodec.readResponse(response.toString());
+
+        assertThat(parsed.getText()).isEqualTo(text);
+        assertThat(parsed.getTokenCount()).isEqualTo(tokenCount);
+    }
+
+    @Example
+    void missingFieldsAreReportedAsAbsent() {
+        GeminiCodec.ParsedResponse parsed = GeminiCodec.readResponse(
+                "{\"candidates\":[{\"finishReason\":\"SAFETY\",\"content\":null}],\"usageMetadata\":{}}");
+
+        assertThat(parsed.getText()).isNull();
+        assertThat(parsed.getTokenCount()).isZero();
+        assertThat(GeminiCodec.readResponse("{}").getText()).isNull();
+    }
+
+    @Example
+    void malformedResponsesAreRejected() {
+        assertThatThrownBy(() -> GeminiCodec.readResponse("{\"candidates\": [")).isInstanceOf(JsonParseException.class);
+        assertThatThrownBy(() -> GeminiCodec.readResponse("[1, 2]")).isInstanceOf(JsonParseException.class);
+    }
+
+    @Provide
+    Arbitrary<String> prompt() {
+        return Arbitraries.strings().all().ofMinLength(1).ofMaxLength(200)
+                .filter(s -> s.chars().noneMatch(Character::isSurrogate));
+    }
+
+    @Provide
+    Arbitrary<Double> temperature() {
+        return Arbitraries.doubles().between(0.0, 1.0).ofScale(2);
+    }
+
+    @Provide
+    Arbitrary<Integer> maxTokens() {
+        return Arbitraries.integers().between(1, 8192);
+    }
+
+    private JsonObject candidate(String text, boolean splitParts) {
+        JsonArray parts = new JsonArray();
+        if (splitParts && text.length() > 1) {
+            int middle = text.length() / 2;
+            parts.add(part(text.substring(0, middle)));
+            parts.add(part(text.substring(middle)));
+        } else {
+            parts.add(part(text));
+        }
+        JsonObject content = new JsonObject();
+        content.add("parts", parts);
+        content.addProperty("role", "model");
+        JsonObject candidate = new JsonObject();
+        candidate.add("content", content);
+        candidate.addProperty("finishReason", "STOP");
+        candidate.add("safetyRatings", new JsonArray());
+        return candidate;
+    }
+
+    private JsonObject part(String text) {
+        JsonObject part = new JsonObject();
+        part.addProperty("text", text);
+        return part;
+    }
+}
@@ -0,0 +1,295 @@
+package com.rentkar.service;
+
+import net.jqwik.api.*;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Property-based tests for downscaling and re-encoding uploaded images
+ */
+public class ImageProcessorPropertyTest {
+
+    private static final String CAMERA = "RentKar Test Camera";
+
+    // Feature: image-processing, Property 1: Processed images fit the maximum size and keep their aspect ratio
+    // Validates: Requirements 22.1
+    @Property(tries = 30)
+    void imagesFitMaxSizeAndKeepAspectRatio(
+            @ForAll("dimensions") int width,
+            @ForAll("dimensions") int height) throws IOException {
+        ImageProcessor processor = new ImageProcessor(true, 400, 300, 0.8f, 2, 16);
+        Path source = write(createPhoto(width, height), "jpeg");
+        try {
+            ImageProcessor.ProcessedImage processed = processor.process(source, "image/jpeg");
+            BufferedImage image = ImageIO.read(processed.getFile().toFile());
+
+            assertThat(processed.getContentType()).isEqualTo("image/jpeg");
+            assertThat(image.getWidth()).isLessThanOrEqualTo(400);
+            assertThat(image.getHeight()).isLessThanOrEqualTo(300);
+            if (width <= 400 && height <= 300) {
+                assertThat(image.getWidth()).isEqualTo(width);
+                assertThat(image.getHeight()).isEqualTo(height);
+            } else {
+                // Within rounding of one pixel in either dimension
+                assertThat(Math.abs((long) image.getWidth() * height - (long) image.getHeight() * width))
+                        .isLessThanOrEqualTo(width + height);
+            }
+            assertThat(processed.getOriginalBytes()).isEqualTo(Files.size(source));
+            assertThat(processed.getBytes()).isEqualTo(Files.size(processed.getFile()));
+            assertThat(processed.getBytesSaved()).isEqualTo(processed.getOriginalBytes() - processed.getBytes());
+            Files.delete(processed.getFile());
+        } finally {
+            Files.delete(source);
+            processor.shutdown();
+        }
+    }
+
+    // Feature: image-processing, Property 2: Images are turned upright and stored without metadata
+    // Validates: Requirements 22.2
+    @Property(tries = 16)
+    void imagesAreTurnedUprightWithoutMetadata(
+            @ForAll("orientations") int orientation,
+            @ForAll boolean littleEndian) throws IOException {
+        ImageProcessor processor = new ImageProcessor(true, 1600, 1600, 0.9f, 2, 16);
+        // Red top-left quadrant on black, 80 pixels wide and 40 high
+        BufferedImage photo = new BufferedImage(80, 40, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = photo.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 40, 20);
+        graphics.dispose();
+        Path source = Files.createTempFile("rentkar-test-", ".jpg");
+        Files.write(source, withExif(encode(photo, "jpeg"), orientation, littleEndian));
+        try {
+            assertThat(ImageProcessor.readExifOrientation(source)).isEqualTo(orientation);
+
+            ImageProcessor.ProcessedImage processed = processor.process(source, "image/jpeg");
+            byte[] stored = Files.readAllBytes(processed.getFile());
+            BufferedImage image = ImageIO.read(processed.getFile().toFile());
+
+            String content = new String(stored, StandardCharsets.ISO_8859_1);
+            assertThat(content).doesNotContain("Exif").doesNotContain(CAMERA);
+            boolean rotated = orientation >= 5;
+            assertThat(image.getWidth()).isEqualTo(rotated ? 40 : 80);
+            assertThat(image.getHeight()).isEqualTo(rotated ? 80 : 40);
+
+            // Where the source's top-left corner ends up once upright
+            boolean right = orientation == 2 || orientation == 3 || orientation == 6 || orientation == 7;
+            boolean bottom = orientation == 3 || orientation == 4 || orientation == 7 || orientation == 8;
+            int x = right ? image.getWidth() - 4 : 3;
+            int y = bottom ? image.getHeight() - 4 : 3;
+            assertThat(new Color(image.getRGB(x, y)).getRed()).isGreaterThan(150);
+            assertThat(new Color(image.getRGB(image.getWidth() - 1 - x, image.getHeight() - 1 - y)).getRed())
+                    .isLessThan(100);
+            Files.delete(processed.getFile());
+        } finally {
+            Files.delete(source);
+            processor.shutdown();
+        }
+    }
+
+    // Feature: image-processing, Property 3: Only images with transparent pixels stay PNG
+    // Validates: Requirements 22.1
+    @Example
+    void onlyTransparentImagesStayPng() throws IOException {
+        ImageProcessor processor = new ImageProcessor(true, 1600, 1600, 0.8f, 2, 16);
+        BufferedImage opaque = new BufferedImage(50, 50, BufferedImage.TYPE_INT_ARGB);
+        opaque.getGraphics().fillRect(0, 0, 50, 50);
+        BufferedImage transparent = new BufferedImage(50, 50, BufferedImage.TYPE_INT_ARGB);
+        transparent.getGraphics().fillRect(0, 0, 25, 50);
+        Path opaqueSource = write(opaque, "png");
+        Path transparentSource = write(transparent, "png");
+        try {
+            ImageProcessor.ProcessedImage opaqueImage = processor.process(opaqueSource, "image/png");
+            ImageProcessor.ProcessedImage transparentImage = processor.process(transparentSource, "image/png");
+
+            assertThat(opaqueImage.getContentType()).isEqualTo("image/jpeg");
+            assertThat(transparentImage.getContentType()).isEqualTo("image/png");
+            assertThat(new Color(ImageIO.read(transparentImage.getFile().toFile()).getRGB(40, 10), true)
+                    .getAlpha()).isZero();
+            Files.delete(opaqueImage.getFile());
+            Files.delete(transparentImage.getFile());
+        } finally {
+            Files.delete(opaqueSource);
+            Files.delete(transparentSource);
+            processor.shutdown();
+        }
+    }
+
+    // Feature: image-processing, Property 4: Images that cannot be processed are stored as they are
+    // Validates: Requirements 22.1
+    @Example
+    void unreadableAndAnimatedImagesAreStoredAsTheyAre() throws IOException {
+        ImageProcessor processor = new ImageProcessor(true, 100, 100, 0.8f, 2, 16);
+        byte[] data = new byte[4096];
+        new Random(7).nextBytes(data);
+        Path webp = Files.createTempFile("rentkar-test-", ".webp");
+        Files.write(webp, data);
+        Path gif = Files.createTempFile("rentkar-test-", ".gif");
+        Files.write(gif, data);
+        try {
+            ImageProcessor.ProcessedImage unreadable = processor.process(webp, "image/webp");
+            ImageProcessor.ProcessedImage animated = processor.process(gif, "image/gif");
+
+            assertThat(unreadable.getFile()).isEqualTo(webp);
+            assertThat(unreadable.getContentType()).isEqualTo("image/webp");
+            assertThat(unreadable.getBytesSaved()).isZero();
+            assertThat(animated.getFile()).isEqualTo(gif);
+            assertThat(animated.getBytesSaved()).isZero();
+            assertThat(unreadable.getPerceptualHash()).isNull();
+            assertThat(animated.getPerceptualHash()).isNull();
+        } finally {
+            Files.delete(webp);
+            Files.delete(gif);
+            processor.shutdown();
+        }
+    }
+
+    // Feature: image-processing, Property 5: Uploads are rejected once all workers are busy and the queue is full
+    // Validates: Requirements 22.3
+    @Example
+    void saturatedPoolRejectsUploads() throws Exception {
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1));
+        ImageProcessor processor = new ImageProcessor(true, 100, 100, 0.8f, workers);
+        CountDownLatch release = new CountDownLatch(1);
+        Path source = write(createPhoto(200, 200), "jpeg");
+        try {
+            workers.execute(() -> awaitQuietly(release));
+            workers.execute(() -> awaitQuietly(release));
+
+            assertThatThrownBy(() -> processor.process(source, "image/jpeg"))
+                    .isInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            while (workers.getActiveCount() > 0 || !workers.getQueue().isEmpty()) {
+                Thread.sleep(5);
+            }
+            ImageProcessor.ProcessedImage processed = processor.process(source, "image/jpeg");
+            assertThat(processed.getBytesSaved()).isPositive();
+            Files.delete(processed.getFile());
+        } finally {
+            release.countDown();
+            Files.delete(source);
+            processor.shutdown();
+        }
+    }
+
+    // Feature: image-processing, Property 6: Processed images carry the perceptual hash of the stored image
+    // Validates: Requirements 25.1
+    @Property(tries = 20)
+    void processedImagesCarryTheirPerceptualHash(
+            @ForAll("hashedDimensions") int width,
+            @ForAll("hashedDimensions") int height) throws IOException {
+        ImageProcessor processor = new ImageProcessor(true, 800, 800, 0.8f, 2, 16);
+        Path source = write(createPhoto(width, height), "jpeg");
+        try {
+            ImageProcessor.ProcessedImage processed = processor.process(source, "image/jpeg");
+            BufferedImage stored = ImageIO.read(processed.getFile().toFile());
+
+            assertThat(processed.getPerceptualHash()).isNotNull();
+            // Hashed before encoding, so only JPEG artifacts may flip a few bits
+            assertThat(PerceptualHash.distance(processed.getPerceptualHash(), PerceptualHash.dHash(stored)))
+                    .isLessThanOrEqualTo(6);
+            Files.delete(processed.getFile());
+        } finally {
+            Files.delete(source);
+            processor.shutdown();
+        }
+    }
+
+    @Provide
+    Arbitrary<Integer> dimensions() {
+        return Arbitraries.integers().between(1, 2400);
+    }
+
+    @Provide
+    Arbitrary<Integer> hashedDimensions() {
+        // Large enough that every hash cell averages many pixels
+        return Arbitraries.integers().between(64, 2400);
+    }
+
+    @Provide
+    Arbitrary<Integer> orientations() {
+        return Arbitraries.integers().between(1, 8);
+    }
+
+    private static BufferedImage createPhoto(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(width * 31L + height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                // Smooth gradient with some noise, like a photo
+                int noise = random.nextInt(16);
+                image.setRGB(x, y, new Color((x * 255 / width + noise) & 0xFF,
+                        (y * 255 / height + noise) & 0xFF, 128).getRGB());
+            }
+        }
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    private static Path write(BufferedImage image, String format) throws IOException {
+        Path file = Files.createTempFile("rentkar-test-", "." + format);
+        Files.write(file, encode(image, format));
+        return file;
+    }
+
+    /**
+     * Insert an EXIF APP1 segment with a camera make and an orientation right after the JPEG's SOI marker
+     */
+    private static byte[] withExif(byte[] jpeg, int orientation, boolean littleEndian) {
+        byte[] make = (CAMERA + "\0").getBytes(StandardCharsets.US_ASCII);
+        // TIFF header, IFD0 with two entries and no next IFD, then the make string
+        int makeOffset = 8 + 2 + 2 * 12 + 4;
+        ByteBuffer tiff = ByteBuffer.allocate(makeOffset + make.length)
+                .order(littleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        tiff.put(littleEndian ? (byte) 'I' : (byte) 'M').put(littleEndian ? (byte) 'I' : (byte) 'M');
+        tiff.putShort((short) 42).putInt(8);
+        tiff.putShort((short) 2);
+        tiff.putShort((short) 0x010F).putShort((short) 2).putInt(make.length).putInt(makeOffset);
+        tiff.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        tiff.putInt(0);
+        tiff.put(make);
+
+        byte[] header = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+        int length = 2 + header.length + tiff.capacity();
+        ByteBuffer result = ByteBuffer.allocate(jpeg.length + 2 + length);
+        result.put(jpeg, 0, 2);
+        result.put((byte) 0xFF).put((byte) 0xE1).putShort((short) length);
+        result.put(header).put(tiff.array());
+        result.put(jpeg, 2, jpeg.length - 2);
+        return result.array();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.rentkar.service;
+
+import com.rentkar.model.Item;
+import com.rentkar.repository.StoredImageRepository;
+import net.jqwik.api.*;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+public class ImageSimilarityIndexPropertyTest {
+
+    // Feature: similar-images, Property 1: Lookups return exactly the items within the distance, nearest first
+    // Validates: Requirements 25.2, 25.3
+    @Property(tries = 100)
+    void lookupsMatchABruteForceScan(
+            @ForAll("seed") long seed,
+            @ForAll("distance") int maxDistance) {
+
+        ImageSimilarityIndex index = new ImageSimilarityIndexImpl(hashingRepository(), 100);
+        Random random = new Random(seed);
+        long query = random.nextLong();
+        List<long[]> items = new ArrayList<>();
+        for (long itemId = 1; itemId <= 500; itemId++) {
+            // Half of the items are near the query, so every distance up to the maximum is covered
+            long hash = itemId % 2 == 0 ? flipBits(query, random.nextInt(20), random) : random.nextLong();
+            items.add(new long[]{itemId, hash});
+            index.index(createItem(itemId, hash));
+        }
+
+        List<Long> expected = items.stream()
+                .filter(item -> PerceptualHash.distance(query, item[1]) <= maxDistance)
+                .sorted(Comparator.comparingInt((long[] item) -> PerceptualHash.distance(query, item[1]))
+                        .thenComparingLong(item -> item[0]))
+                .map(item -> item[0])
+                .toList();
+
+        assertThat(index.findSimilar(query, maxDistance, 1000)).containsExactlyElementsOf(expected);
+        assertThat(index.findSimilar(query, maxDistance, 5))
+                .containsExactlyElementsOf(expected.subList(0, Math.min(5, expected.size())));
+    }
+
+    // Feature: similar-images, Property 2: An item is not similar to itself, and removed or changed images are not found
+    // Validates: Requirements 25.3
+    @Property(tries = 100)
+    void removedAndChangedItemsAreNotReturned(@ForAll("seed") long seed) {
+
+        ImageSimilarityIndex index = new ImageSimilarityIndexImpl(hashingRepository(), 100);
+        Random random = new Random(seed);
+        long hash = random.nextLong();
+        index.index(createItem(1L, hash));
+        index.index(createItem(2L, flipBits(hash, 2, random)));
+        index.index(createItem(3L, flipBits(hash, 4, random)));
+        index.index(createItem(4L, hash));
+
+        index.remove(4L);
+        // Item 3 gets an image far from the others
+        index.index(createItem(3L, ~hash));
+
+        assertThat(index.findSimilarItems(1L, 8, 10)).containsExactly(2L);
+        assertThat(index.findSimilarItems(3L, 8, 10)).isEmpty();
+        assertThat(index.findSimilarItems(4L, 8, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    // Feature: similar-images, Property 3: The index is rebuilt from every page of stored hashes
+    // Validates: Requirements 25.2
+    @Property(tries = 20)
+    void rebuildLoadsEveryPage(@ForAll("itemCount") int itemCount) {
+
+        Random random = new Random(itemCount);
+        List<Object[]> rows = new ArrayList<>();
+        for (long itemId = 1; itemId <= itemCount; itemId++) {
+            rows.add(new Object[]{itemId, random.nextLong()});
+        }
+        StoredImageRepository repository = Mockito.mock(StoredImageRepository.class);
+        when(repository.findItemPerceptualHashes(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            return rows.stream().filter(row -> (Long) row[0] > afterId).limit(pageable.getPageSize()).toList();
+        });
+        ImageSimilarityIndex index = new ImageSimilarityIndexImpl(repository, 7);
+
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.rebuild()).isEqualTo(itemCount);
+        assertThat(index.isReady()).isTrue();
+        for (Object[] row : rows) {
+            assertThat(index.findSimilar((Long) row[1], 0, 1)).containsExactly((Long) row[0]);
+        }
+    }
+
+    @Example
+    void itemsWithoutHashedImagesAreNotIndexed() {
+        StoredImageRepository repository = Mockito.mock(StoredImageRepository.class);
+        when(repository.findPerceptualHashes("https://example.com/hashed.jpg")).thenReturn(List.of(42L));
+        when(repository.findPerceptualHashes("https://example.com/other.jpg")).thenReturn(List.of());
+        ImageSimilarityIndex index = new ImageSimilarityIndexImpl(repository, 100);
+
+        index.index(createItem(1L, "https://example.com/hashed.jpg"));
+        index.index(createItem(2L, "https://example.com/other.jpg"));
+        index.index(createItem(3L, (String) null));
+
+        assertThat(index.findSimilar(42L, 0, 10)).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+        assertThatThrownBy(() -> index.findSimilar(42L, ImageSimilarityIndex.MAX_DISTANCE + 1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Provide
+    Arbitrary<Long> seed() {
+        return Arbitraries.longs();
+    }
+
+    @Provide
+    Arbitrary<Integer> distance() {
+        return Arbitraries.integers().between(0, ImageSimilarityIndex.MAX_DISTANCE);
+    }
+
+    @Provide
+    Arbitrary<Integer> itemCount() {
+        return Arbitraries.integers().between(0, 50);
+    }
+
+    private static long flipBits(long hash, int bits, Random random) {
+        long flipped = hash;
+        while (PerceptualHash.distance(hash, flipped) < bits) {
+            flipped ^= 1L << random.nextInt(64);
+        }
+        return flipped;
+    }
+
+    /**
+     * Repository that answers with the hash encoded in image URLs made by createItem(Long, long)
+     */
+    private static StoredImageRepository hashingRepository() {
+        StoredImageRepository repository = Mockito.mock(StoredImageRepository.class);
+        when(repository.findPerceptualHashes(anyString())).thenAnswer(invocation ->
+                List.of(Long.parseLong(invocation.<String>getArgument(0).substring("hash:".length()))));
+        return repository;
+    }
+
+    private static Item createItem(Long id, long hash) {
+        return createItem(id, "hash:" + hash);
+    }
+
+    private static Item createItem(Long id, String imageUrl) {
+        Item item = new Item();
+        item.setId(id);
+        item.setImageUrl(imageUrl);
+        return item;
+    }
+}
@@ -0,0 +1,439 @@
+package com.rentkar.service;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.Uploader;
+import com.rentkar.dto.ImageUploadDTO;
+import com.rentkar.model.StoredImage;
+import com.rentkar.repository.StoredImageRepository;
+import net.jqwik.api.*;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Property-based tests for ImageUploadService
+ */
+class ImageUploadServicePropertyTest {
+    
+    private ImageUploadService getImageUploadService() {
+        // Initialize with test credentials from application.properties
+        return new ImageUploadService(new CloudinaryImageStorage(
+            "dkoemrt4r",
+            "927145473443144",
+            "iZFBz9wMWACNIB1aMbiNsd1msTY"
+        ), noProcessing(), mock(StoredImageRepository.class));
+    }
+    
+    /**
+     * Feature: item-management, Property 5: Image upload returns Cloudinary URL
+     * Validates: Requirements 2.1, 2.4
+     * 
+     * For any valid image file (JPEG/PNG, < 5MB), uploading should return a Cloudinary URL and public ID.
+     */
+    @Property(tries = 100)
+    void validImageUploadReturnsCloudinaryUrl(
+            @ForAll("validImageFiles") MultipartFile imageFile) throws IOException {
+        
+        ImageUploadService imageUploadService = getImageUploadService();
+        
+        // When: uploading a valid image file
+        String imageUrl = imageUploadService.uploadImage(imageFile).getImageUrl();
+        
+        // Then: should return a valid Cloudinary URL
+        assertNotNull(imageUrl, "Image URL should not be null");
+        assertTrue(imageUrl.startsWith("https://res.cloudinary.com/"), 
+            "Image URL should be a Cloudinary URL");
+        assertTrue(imageUrl.contains("dkoemrt4r"), 
+            "Image URL should contain the cloud name");
+    }
+    
+    @Provide
+    Arbitrary<MultipartFile> validImageFiles() {
+        return Arbitraries.of("image/jpeg", "image/png")
+            .map(contentType -> {
+                // Create minimal valid image files for testing
+                byte[] imageData = createMinimalValidImage(contentType);
+                
+                return new MockMultipartFile(
+                    "file",
+                    "test-image." + getExtension(contentType),
+                    contentType,
+                    imageData
+                );
+            });
+    }
+    
+    private byte[] createMinimalValidImage(String contentType) {
+        if ("image/png".equals(contentType)) {
+            // Minimal valid 1x1 PNG image (67 bytes)
+            return new byte[] {
+                (byte)0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A,
+                0x00, 0x00, 0x00, 0x0D, 0x49, 0x48, 0x44, 0x52,
+                0x00, 0x00, 0x00, 0x01, 0x00, 0x00, 0x00, 0x01,
+                0x08, 0x06, 0x00, 0x00, 0x00, 0x1F, 0x15, (byte)0xC4,
+                (byte)0x89, 0x00, 0x00, 0x00, 0x0A, 0x49, 0x44, 0x41, 0x54,
+                0x78, (byte)0x9C, 0x63, 0x00, 0x01, 0x00, 0x00, 0x05,
+                0x00, 0x01, 0x0D, 0x0A, 0x2D, (byte)0xB4, 0x00, 0x00,
+                0x00, 0x00, 0x49, 0x45, 0x4E, 0x44, (byte)0xAE, 0x42,
+                0x60, (byte)0x82
+            };
+        } else {
+            // Minimal valid 1x1 JPEG image (125 bytes)
+            return new byte[] {
+                (byte)0xFF, (byte)0xD8, (byte)0xFF, (byte)0xE0, 0x00, 0x10, 0x4A, 0x46,
+                0x49, 0x46, 0x00, 0x01, 0x01, 0x00, 0x00, 0x01,
+                0x00, 0x01, 0x00, 0x00, (byte)0xFF, (byte)0xDB, 0x00, 0x43,
+                0x00, 0x03, 0x02, 0x02, 0x02, 0x02, 0x02, 0x03,
+                0x02, 0x02, 0x02, 0x03, 0x03, 0x03, 0x03, 0x04,
+                0x06, 0x04, 0x04, 0x04, 0x04, 0x04, 0x08, 0x06,
+                0x06, 0x05, 0x06, 0x09, 0x08, 0x0A, 0x0A, 0x09,
+                0x08, 0x09, 0x09, 0x0A, 0x0C, 0x0F, 0x0C, 0x0A,
+                0x0B, 0x0E, 0x0B, 0x09, 0x09, 0x0D, 0x11, 0x0D,
+                0x0E, 0x0F, 0x10, 0x10, 0x11, 0x10, 0x0A, 0x0C,
+                0x12, 0x13, 0x12, 0x10, 0x13, 0x0F, 0x10, 0x10,
+                0x10, (byte)0xFF, (byte)0xC0, 0x00, 0x0B, 0x08, 0x00, 0x01,
+                0x00, 0x01, 0x01, 0x01, 0x11, 0x00, (byte)0xFF, (byte)0xC4,
+                0x00, 0x14, 0x00, 0x01, 0x00, 0x00, 0x00, 0x00,
+                0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00,
+                0x00, 0x00, 0x00, 0x03, (byte)0xFF, (byte)0xC4, 0x00, 0x14,
+                0x10, 0x01, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00,
+                0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00,
+                0x00, 0x00, (byte)0xFF, (byte)0xDA, 0x00, 0x08, 0x01, 0x01,
+                0x00, 0x00, 0x3F, 0x00, 0x37, (byte)0xFF, (byte)0xD9
+            };
+        }
+    }
+    
+    private String getExtension(String contentType) {
+        return switch (contentType) {
+            case "image/jpeg" -> "jpg";
+            case "image/png" -> "png";
+            case "image/gif" -> "gif";
+            case "image/webp" -> "webp";
+            default -> "jpg";
+        };
+    }
+    
+    /**
+     * Feature: item-management, Property 6: Large files are rejected
+     * Validates: Requirements 2.2
+     * 
+     * For any file larger than 5MB, upload should be rejected with a file size error.
+     */
+    @Property(tries = 100)
+    void largeFilesAreRejected(@ForAll("largeFiles") MultipartFile largeFile) {
+        
+        ImageUploadService imageUploadService = getImageUploadService();
+        
+        // When: uploading a file larger than 5MB
+        // Then: should throw IllegalArgumentException with file size error
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> imageUploadService.uploadImage(largeFile),
+            "Large files should be rejected"
+        );
+        
+        assertTrue(exception.getMessage().contains("File size exceeds maximum limit"),
+            "Error message should mention file size limit");
+    }
+    
+    @Provide
+    Arbitrary<MultipartFile> largeFiles() {
+        // Generate files larger than 5MB (5 * 1024 * 1024 bytes)
+        return Arbitraries.integers()
+            .between(5 * 1024 * 1024 + 1, 10 * 1024 * 1024) // 5MB+1 to 10MB
+            .map(size -> {
+                byte[] data = new byte[size];
+                return new MockMultipartFile(
+                    "file",
+                    "large-file.jpg",
+                    "image/jpeg",
+                    data
+                );
+            });
+    }
+    
+    /**
+     * Feature: item-management, Property 7: Non-image files are rejected
+     * Validates: Requirements 2.3
+     * 
+     * For any file that is not an image format, upload should be rejected with a file type error.
+     */
+    @Property(tries = 100)
+    void nonImageFilesAreRejected(@ForAll("nonImageFiles") MultipartFile nonImageFile) {
+        
+        ImageUploadService imageUploadService = getImageUploadService();
+        
+        // When: uploading a non-image file
+        // Then: should throw IllegalArgumentException with file type error
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> imageUploadService.uploadImage(nonImageFile),
+            "Non-image files should be rejected"
+        );
+        
+        assertTrue(exception.getMessage().contains("Invalid file type") || 
+                   exception.getMessage().contains("Only image files are allowed"),
+            "Error message should mention invalid file type");
+    }
+    
+    @Provide
+    Arbitrary<MultipartFile> nonImageFiles() {
+        // Generate files with non-image content types
+        return Arbitraries.of(
+            "application/pdf",
+            "text/plain",
+            "application/json",
+            "video/mp4",
+            "audio/mpeg",
+            "application/zip",
+            "text/html",
+            "application/xml"
+        ).map(contentType -> {
+            byte[] data = new byte[1024]; // 1KB of data
+            String extension = getExtensionForContentType(contentType);
+            return new MockMultipartFile(
+                "file",
+                "test-file." + extension,
+                contentType,
+                data
+            );
+        });
+    }
+    
+    private String getExtensionForContentType(String contentType) {
+        return switch (contentType) {
+            case "application/pdf" -> "pdf";
+            case "text/plain" -> "txt";
+            case "application/json" -> "json";
+            case "video/mp4" -> "mp4";
+            case "audio/mpeg" -> "mp3";
+            case "application/zip" -> "zip";
+            case "text/html" -> "html";
+            case "application/xml" -> "xml";
+            default -> "bin";
+        };
+    }
+    
+    /**
+     * Feature: streaming-image-upload, Property 1: Uploads are streamed from a temp file
+     * Validates: Requirements 21.1
+     * 
+     * For any valid image, Cloudinary should receive a file with the same bytes instead of a heap copy,
+     * and the temp file should be gone once the upload returns.
+     */
+    @Property(tries = 50)
+    void uploadsAreStreamedFromTempFile(@ForAll("imageSizes") int size) throws IOException {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        MultipartFile imageFile = spy(new MockMultipartFile("file", "photo.jpg", "image/jpeg", data));
+        List<File> uploaded = new ArrayList<>();
+        Uploader uploader = mock(Uploader.class);
+        when(uploader.upload(any(), anyMap())).thenAnswer(invocation -> {
+            File file = invocation.getArgument(0);
+            assertArrayEquals(data, Files.readAllBytes(file.toPath()), "Uploaded file should hold the image");
+            uploaded.add(file);
+            Map<String, Object> result = new HashMap<>();
+            result.put("secure_url", "https://res.cloudinary.com/test-cloud/image/upload/photo.jpg");
+            return result;
+        });
+        ImageUploadService imageUploadService = new ImageUploadService(createStorage(uploader), noProcessing(),
+            mock(StoredImageRepository.class));
+        
+        String imageUrl = imageUploadService.uploadImage(imageFile).getImageUrl();
+        
+        assertEquals("https://res.cloudinary.com/test-cloud/image/upload/photo.jpg", imageUrl);
+        assertEquals(1, uploaded.size());
+        assertFalse(uploaded.get(0).exists(), "Temp file should be deleted after upload");
+        verify(imageFile, never()).getBytes();
+    }
+    
+    /**
+     * Feature: streaming-image-upload, Property 2: Temp files are removed when the upload fails
+     * Validates: Requirements 21.1
+     */
+    @Example
+    void tempFileIsDeletedWhenUploadFails() throws IOException {
+        List<File> uploaded = new ArrayList<>();
+        Uploader uploader = mock(Uploader.class);
+        when(uploader.upload(any(), anyMap())).thenAnswer(invocation -> {
+            uploaded.add(invocation.getArgument(0));
+            throw new IOException("Connection reset");
+        });
+        ImageUploadService imageUploadService = new ImageUploadService(createStorage(uploader), noProcessing(),
+            mock(StoredImageRepository.class));
+        MultipartFile imageFile = new MockMultipartFile("file", "photo.png", "image/png",
+            createMinimalValidImage("image/png"));
+        
+        assertThrows(IOException.class, () -> imageUploadService.uploadImage(imageFile));
+        assertEquals(1, uploaded.size());
+        assertFalse(uploaded.get(0).exists(), "Temp file should be deleted after a failed upload");
+    }
+    
+    /**
+     * Feature: image-processing, Property 6: The processed image is uploaded and its savings are reported
+     * Validates: Requirements 22.1, 22.4
+     */
+    @Example
+    void processedImageIsUploadedAndReported() throws IOException {
+        BufferedImage photo = new BufferedImage(1200, 900, BufferedImage.TYPE_INT_RGB);
+        // Noise does not compress, so the 3MB PNG stays under the upload limit but well above the JPEG
+        Random random = new Random(3);
+        for (int y = 0; y < photo.getHeight(); y++) {
+            for (int x = 0; x < photo.getWidth(); x++) {
+                photo.setRGB(x, y, random.nextInt());
+            }
+        }
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        ImageIO.write(photo, "png", encoded);
+        MultipartFile imageFile = new MockMultipartFile("file", "photo.png", "image/png", encoded.toByteArray());
+        List<File> uploaded = new ArrayList<>();
+        List<int[]> dimensions = new ArrayList<>();
+        Uploader uploader = mock(Uploader.class);
+        when(uploader.upload(any(), anyMap())).thenAnswer(invocation -> {
+            File file = invocation.getArgument(0);
+            BufferedImage image = ImageIO.read(file);
+            dimensions.add(new int[]{image.getWidth(), image.getHeight()});
+            uploaded.add(file);
+            Map<String, Object> result = new HashMap<>();
+            result.put("secure_url", "https://res.cloudinary.com/test-cloud/image/upload/photo.jpg");
+            return result;
+        });
+        ImageProcessor imageProcessor = new ImageProcessor(true, 800, 800, 0.8f, 1, 1);
+        ImageUploadService imageUploadService = new ImageUploadService(createStorage(uploader), imageProcessor,
+            mock(StoredImageRepository.class));
+        
+        try {
+            ImageUploadDTO upload = imageUploadService.uploadImage(imageFile);
+            
+            assertArrayEquals(new int[]{800, 600}, dimensions.get(0));
+            assertEquals(encoded.size(), upload.getOriginalBytes());
+            assertTrue(upload.getStoredBytes() < upload.getOriginalBytes(), "Stored image should be smaller");
+            assertEquals(upload.getOriginalBytes() - upload.getStoredBytes(), upload.getBytesSaved());
+            assertFalse(uploaded.get(0).exists(), "Processed temp file should be deleted after upload");
+        } finally {
+            imageProcessor.shutdown();
+        }
+    }
+    
+    /**
+     * Feature: image-deduplication, Property 1: An image uploaded again is not stored again
+     * Validates: Requirements 24.1, 24.2
+     * 
+     * For any image, a second upload of the same bytes should return the first URL without calling storage,
+     * and the index should hold the SHA-256 of the uploaded bytes.
+     */
+    @Property(tries = 50)
+    void identicalUploadsAreStoredOnce(@ForAll("imageSizes") int size) throws Exception {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        Map<String, StoredImage> index = new HashMap<>();
+        List<File> uploaded = new ArrayList<>();
+        ImageUploadService imageUploadService = new ImageUploadService(
+            createStorage(countingUploader(uploaded)), noProcessing(), createIndex(index));
+        
+        ImageUploadDTO first = imageUploadService.uploadImage(
+            new MockMultipartFile("file", "photo.jpg", "image/jpeg", data));
+        ImageUploadDTO second = imageUploadService.uploadImage(
+            new MockMultipartFile("file", "copy.jpg", "image/jpeg", data.clone()));
+        
+        assertEquals(1, uploaded.size(), "Storage should only be called for the first upload");
+        assertEquals(first.getImageUrl(), second.getImageUrl());
+        assertFalse(first.isDuplicate());
+        assertTrue(second.isDuplicate());
+        assertEquals(size, second.getOriginalBytes());
+        assertEquals(first.getStoredBytes(), second.getStoredBytes());
+        String sha256 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        assertEquals(1, index.size());
+        assertTrue(index.containsKey(sha256), "Index should be keyed by the SHA-256 of the upload");
+        assertEquals(first.getImageUrl(), index.get(sha256).getImageUrl());
+    }
+    
+    /**
+     * Feature: image-deduplication, Property 2: Different images are stored separately
+     * Validates: Requirements 24.1
+     */
+    @Property(tries = 50)
+    void differentUploadsAreStoredSeparately(@ForAll("imageSizes") int size) throws IOException {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        byte[] changed = data.clone();
+        changed[size / 2]++;
+        Map<String, StoredImage> index = new HashMap<>();
+        List<File> uploaded = new ArrayList<>();
+        ImageUploadService imageUploadService = new ImageUploadService(
+            createStorage(countingUploader(uploaded)), noProcessing(), createIndex(index));
+        
+        ImageUploadDTO first = imageUploadService.uploadImage(
+            new MockMultipartFile("file", "photo.jpg", "image/jpeg", data));
+        ImageUploadDTO second = imageUploadService.uploadImage(
+            new MockMultipartFile("file", "photo.jpg", "image/jpeg", changed));
+        
+        assertEquals(2, uploaded.size());
+        assertNotEquals(first.getImageUrl(), second.getImageUrl());
+        assertFalse(second.isDuplicate());
+        assertEquals(2, index.size());
+    }
+    
+    @Provide
+    Arbitrary<Integer> imageSizes() {
+        return Arbitraries.integers().between(1, 5 * 1024 * 1024);
+    }
+    
+    private Uploader countingUploader(List<File> uploaded) throws IOException {
+        Uploader uploader = mock(Uploader.class);
+        when(uploader.upload(any(), anyMap())).thenAnswer(invocation -> {
+            uploaded.add(invocation.getArgument(0));
+            Map<String, Object> result = new HashMap<>();
+            result.put("secure_url", "https://res.cloudinary.com/test-cloud/image/upload/" + uploaded.size() + ".jpg");
+            return result;
+        });
+        return uploader;
+    }
+    
+    private ImageProcessor noProcessing() {
+        return new ImageProcessor(false, 0, 0, 0, null);
+    }
+    
+    private StoredImageRepository createIndex(Map<String, StoredImage> index) {
+        StoredImageRepository repository = mock(StoredImageRepository.class);
+        when(repository.findBySha256(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(index.get(invocation.<String>getArgument(0))));
+        when(repository.save(any(StoredImage.class))).thenAnswer(invocation -> {
+            StoredImage storedImage = invocation.getArgument(0);
+            index.put(storedImage.getSha256(), storedImage);
+            return storedImage;
+        });
+        return repository;
+    }
+    
+    private ImageStorage createStorage(Uploader uploader) {
+        Cloudinary cloudinary = mock(Cloudinary.class);
+        when(cloudinary.uploader()).thenReturn(uploader);
+        return new CloudinaryImageStorage(cloudinary);
+    }
+}
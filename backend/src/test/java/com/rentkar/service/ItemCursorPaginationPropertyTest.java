@@ -0,0 +1,166 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.CursorPage;
+import com.rentkar.dto.ItemDTO;
+import com.rentkar.model.Item;
+import com.rentkar.model.ItemStatus;
+import com.rentkar.model.Role;
+import com.rentkar.model.User;
+import com.rentkar.repository.ItemRepository;
+import com.rentkar.repository.UserRepository;
+import net.jqwik.api.*;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+public class ItemCursorPaginationPropertyTest {
+
+    // Feature: cursor-pagination, Property 1: Cursor encoding round-trips
+    // Validates: Requirements 2.1
+    @Property(tries = 100)
+    void cursorEncodingRoundTrips(
+            @ForAll("createdAt") LocalDateTime createdAt,
+            @ForAll("itemId") Long id) {
+
+        PageCursor decoded = PageCursor.decode(new PageCursor(createdAt, id).encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo(id);
+    }
+
+    // Feature: cursor-pagination, Property 2: Malformed cursors are rejected
+    // Validates: Requirements 2.2
+    @Property(tries = 100)
+    void malformedCursorsAreRejected(@ForAll("garbage") String token) {
+        assertThatThrownBy(() -> PageCursor.decode(token))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Feature: cursor-pagination, Property 3: Walking all pages returns every item once, newest first
+    // Validates: Requirements 2.1, 2.3
+    @Property(tries = 50)
+    void walkingAllPagesReturnsEveryItemOnce(
+            @ForAll("itemCount") int itemCount,
+            @ForAll("pageSize") int pageSize) {
+
+        User owner = createUser(7L);
+        List<Item> stored = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (long id = 1; id <= itemCount; id++) {
+            // Every third item shares a timestamp with its neighbour to exercise the id tie-breaker
+            stored.add(createItem(id, base.plusMinutes(id - (id % 3 == 0 ? 1 : 0)), owner));
+        }
+        stored.sort(Comparator.comparing(Item::getCreatedAt).thenComparing(Item::getId).reversed());
+
+        ItemRepository mockItemRepo = Mockito.mock(ItemRepository.class);
+        when(mockItemRepo.findFirstPageByOwnerId(eq(7L), any(Pageable.class))).thenAnswer(inv ->
+                limit(stored, inv.getArgument(1)));
+        when(mockItemRepo.findPageByOwnerIdAfter(eq(7L), any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> {
+                    LocalDateTime createdAt = inv.getArgument(1);
+                    Long id = inv.getArgument(2);
+                    List<Item> after = stored.stream()
+                            .filter(item -> item.getCreatedAt().isBefore(createdAt)
+                                    || (item.getCreatedAt().isEqual(createdAt) && item.getId() < id))
+                            .toList();
+                    return limit(after, inv.getArgument(3));
+                });
+
+        ItemService service = createService(mockItemRepo, Mockito.mock(UserRepository.class));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            CursorPage<ItemDTO> page = service.getItemsByOwner(7L, cursor, pageSize);
+            assertThat(page.getItems().size()).isLessThanOrEqualTo(pageSize);
+            page.getItems().forEach(item -> seen.add(item.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).isEqualTo(stored.stream().map(Item::getId).toList());
+        assertThat(pages).isEqualTo(Math.max(1, (itemCount + pageSize - 1) / pageSize));
+    }
+
+    @Example
+    void nonPositivePageSizeIsRejected() {
+        ItemService service = createService(Mockito.mock(ItemRepository.class),
+                Mockito.mock(UserRepository.class));
+
+        assertThatThrownBy(() -> service.getAllItems(ItemStatus.AVAILABLE, null, null, "", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Provide
+    Arbitrary<LocalDateTime> createdAt() {
+        return Arbitraries.longs().between(0L, 2_000_000_000L)
+                .flatMap(seconds -> Arbitraries.integers().between(0, 999_999_999)
+                        .map(nanos -> LocalDateTime.of(2020, 1, 1, 0, 0).plusSeconds(seconds).withNano(nanos)));
+    }
+
+    @Provide
+    Arbitrary<Long> itemId() {
+        return Arbitraries.longs().between(1L, Long.MAX_VALUE);
+    }
+
+    @Provide
+    Arbitrary<String> garbage() {
+        return Arbitraries.strings().alpha().numeric().ofMinLength(1).ofMaxLength(40)
+                .filter(s -> !s.isBlank());
+    }
+
+    @Provide
+    Arbitrary<Integer> itemCount() {
+        return Arbitraries.integers().between(0, 60);
+    }
+
+    @Provide
+    Arbitrary<Integer> pageSize() {
+        return Arbitraries.integers().between(1, 15);
+    }
+
+    private List<Item> limit(List<Item> items, Pageable pageable) {
+        return new ArrayList<>(items.subList(0, Math.min(items.size(), pageable.getPageSize())));
+    }
+
+    private Item createItem(Long id, LocalDateTime createdAt, User owner) {
+        Item item = new Item();
+        item.setId(id);
+        item.setTitle("Item " + id);
+        item.setDescription("Description " + id);
+        item.setCategory("Other");
+        item.setStatus(ItemStatus.AVAILABLE);
+        item.setOwner(owner);
+        item.setCreatedAt(createdAt);
+        item.setUpdatedAt(createdAt);
+        return item;
+    }
+
+    private User createUser(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("owner" + id);
+        user.setEmail("owner" + id + "@test.com");
+        user.setPassword("hashedPassword");
+        user.setFullName("Test User " + id);
+        user.setRole(Role.USER);
+        return user;
+    }
+
+    private ItemService createService(ItemRepository itemRepository, UserRepository userRepository) {
+        return new ItemServiceImpl(itemRepository, userRepository,
+                Mockito.mock(ItemSearchIndex.class), Mockito.mock(ImageSimilarityIndex.class));
+    }
+}
@@ -0,0 +1,170 @@
+package com.rentkar.service;
+
+import com.rentkar.model.Item;
+import com.rentkar.model.ItemStatus;
+import com.rentkar.repository.ItemRepository;
+import net.jqwik.api.*;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+public class ItemSearchIndexPropertyTest {
+
+    // Feature: item-search-index, Property 1: Indexed items are found by their title terms
+    // Validates: Requirements 1.1, 1.2
+    @Property(tries = 100)
+    void indexedItemsAreFoundByTitleTerms(
+            @ForAll("word") String word,
+            @ForAll("category") String category) {
+
+        ItemSearchIndex index = new ItemSearchIndexImpl(Mockito.mock(ItemRepository.class), 100);
+        index.index(createItem(1L, "Vintage " + word, "Lightly used", category, ItemStatus.AVAILABLE));
+        index.index(createItem(2L, "Garden hose", "Twenty metres long", category, ItemStatus.AVAILABLE));
+
+        ItemSearchIndex.SearchHits exact = index.search(word, ItemStatus.AVAILABLE, null, 0, 10);
+        assertThat(exact.getItemIds()).containsExactly(1L);
+
+        // A prefix of the term matches as well
+        ItemSearchIndex.SearchHits prefix = index.search(word.substring(0, 3), ItemStatus.AVAILABLE, null, 0, 10);
+        assertThat(prefix.getItemIds()).contains(1L);
+    }
+
+    // Feature: item-search-index, Property 2: Removed items are no longer returned
+    // Validates: Requirements 1.3
+    @Property(tries = 100)
+    void removedItemsAreNotReturned(@ForAll("word") String word) {
+
+        ItemSearchIndex index = new ItemSearchIndexImpl(Mockito.mock(ItemRepository.class), 100);
+        index.index(createItem(1L, word, "First copy", "Books", ItemStatus.AVAILABLE));
+        index.index(createItem(2L, word, "Second copy", "Books", ItemStatus.AVAILABLE));
+
+        index.remove(1L);
+
+        ItemSearchIndex.SearchHits hits = index.search(word, ItemStatus.AVAILABLE, null, 0, 10);
+        assertThat(hits.getItemIds()).containsExactly(2L);
+        assertThat(hits.getTotalHits()).isEqualTo(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    // Feature: item-search-index, Property 3: Status and category filters are applied
+    // Validates: Requirements 1.4
+    @Property(tries = 100)
+    void statusAndCategoryFiltersAreApplied(@ForAll("word") String word) {
+
+        ItemSearchIndex index = new ItemSearchIndexImpl(Mockito.mock(ItemRepository.class), 100);
+        index.index(createItem(1L, word, "", "Books", ItemStatus.AVAILABLE));
+        index.index(createItem(2L, word, "", "Tools", ItemStatus.AVAILABLE));
+        index.index(createItem(3L, word, "", "Books", ItemStatus.AVAILABLE));
+
+        index.updateStatus(3L, ItemStatus.BORROWED);
+
+        assertThat(index.search(word, ItemStatus.AVAILABLE, "Books", 0, 10).getItemIds()).containsExactly(1L);
+        assertThat(index.search(word, ItemStatus.BORROWED, null, 0, 10).getItemIds()).containsExactly(3L);
+        assertThat(index.search(word, null, null, 0, 10).getTotalHits()).isEqualTo(3);
+    }
+
+    // Feature: item-search-index, Property 4: Title matches rank above description matches
+    // Validates: Requirements 1.5
+    @Property(tries = 100)
+    void titleMatchesRankAboveDescriptionMatches(@ForAll("word") String word) {
+
+        ItemSearchIndex index = new ItemSearchIndexImpl(Mockito.mock(ItemRepository.class), 100);
+        index.index(createItem(1L, "Something else", "Comes with a " + word, "Other", ItemStatus.AVAILABLE));
+        index.index(createItem(2L, word + " kit", "Complete set", "Other", ItemStatus.AVAILABLE));
+
+        ItemSearchIndex.SearchHits hits = index.search(word, ItemStatus.AVAILABLE, null, 0, 10);
+        assertThat(hits.getItemIds()).containsExactly(2L, 1L);
+    }
+
+    // Feature: item-search-index, Property 5: Paging over ranked hits is consistent
+    // Validates: Requirements 1.5
+    @Property(tries = 50)
+    void pagingOverRankedHitsIsConsistent(
+            @ForAll("word") String word,
+            @ForAll("itemCount") int itemCount) {
+
+        ItemSearchIndex index = new ItemSearchIndexImpl(Mockito.mock(ItemRepository.class), 100);
+        for (long id = 1; id <= itemCount; id++) {
+            index.index(createItem(id, word + " number " + id, "", "Other", ItemStatus.AVAILABLE));
+        }
+
+        List<Long> all = index.search(word, ItemStatus.AVAILABLE, null, 0, itemCount).getItemIds();
+        List<Long> paged = new ArrayList<>();
+        for (int offset = 0; offset < itemCount; offset += 7) {
+            paged.addAll(index.search(word, ItemStatus.AVAILABLE, null, offset, 7).getItemIds());
+        }
+
+        assertThat(all).hasSize(itemCount);
+        assertThat(paged).isEqualTo(all);
+    }
+
+    // Feature: item-search-index, Property 6: Rebuild indexes every stored item
+    // Validates: Requirements 1.6
+    @Property(tries = 20)
+    void rebuildIndexesEveryStoredItem(@ForAll("itemCount") int itemCount) {
+
+        List<Item> stored = new ArrayList<>();
+        for (long id = 1; id <= itemCount; id++) {
+            stored.add(createItem(id, "Item " + id, "Stored item", "Other", ItemStatus.AVAILABLE));
+        }
+
+        ItemRepository mockItemRepo = Mockito.mock(ItemRepository.class);
+        when(mockItemRepo.findAll(any(Pageable.class))).thenAnswer(inv -> {
+            Pageable pageable = inv.getArgument(0);
+            int from = (int) Math.min(pageable.getOffset(), stored.size());
+            int to = Math.min(from + pageable.getPageSize(), stored.size());
+            return new PageImpl<>(stored.subList(from, to), pageable, stored.size());
+        });
+
+        ItemSearchIndex index = new ItemSearchIndexImpl(mockItemRepo, 10);
+        assertThat(index.isReady()).isFalse();
+
+        int indexed = index.rebuild();
+
+        assertThat(indexed).isEqualTo(itemCount);
+        assertThat(index.isReady()).isTrue();
+        assertThat(index.search("stored", ItemStatus.AVAILABLE, null, 0, itemCount).getTotalHits())
+                .isEqualTo(itemCount);
+    }
+
+    @Example
+    void queryWithoutSearchableTermsReturnsNull() {
+        ItemSearchIndex index = new ItemSearchIndexImpl(Mockito.mock(ItemRepository.class), 100);
+        assertThat(index.search("the a ?", ItemStatus.AVAILABLE, null, 0, 10)).isNull();
+    }
+
+    @Provide
+    Arbitrary<String> word() {
+        return Arbitraries.strings().withCharRange('a', 'z').ofMinLength(4).ofMaxLength(12)
+                .map(s -> "q" + s);
+    }
+
+    @Provide
+    Arbitrary<String> category() {
+        return Arbitraries.of("Electronics", "Books", "Accessories", "Sports Equipment", "Tools", "Other");
+    }
+
+    @Provide
+    Arbitrary<Integer> itemCount() {
+        return Arbitraries.integers().between(1, 60);
+    }
+
+    private Item createItem(Long id, String title, String description, String category, ItemStatus status) {
+        Item item = new Item();
+        item.setId(id);
+        item.setTitle(title);
+        item.setDescription(description);
+        item.setCategory(category);
+        item.setStatus(status);
+        item.setCreatedAt(LocalDateTime.now().minusMinutes(id));
+        return item;
+    }
+}
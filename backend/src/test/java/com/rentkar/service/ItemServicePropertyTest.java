@@ -72,7 +72,7 @@ public class ItemServicePropertyTest {
             return item;
         });
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         CreateItemRequest request = new CreateItemRequest();
         request.setTitle(title);
@@ -262,7 +262,7 @@ public class ItemServicePropertyTest {
         when(mockItemRepo.findWithFilters(ItemStatus.AVAILABLE, null, null, pageable))
                 .thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getAllItems(null, null, null, pageable);
         
@@ -287,7 +287,7 @@ public class ItemServicePropertyTest {
         when(mockItemRepo.findWithFilters(any(), any(), any(), any()))
                 .thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getAllItems(ItemStatus.AVAILABLE, null, null, pageable);
         
@@ -315,7 +315,7 @@ public class ItemServicePropertyTest {
         when(mockItemRepo.findWithFilters(any(), any(), any(), any()))
                 .thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getAllItems(ItemStatus.AVAILABLE, null, null, pageable);
         
@@ -341,7 +341,7 @@ public class ItemServicePropertyTest {
         when(mockItemRepo.findWithFilters(any(), any(), any(), any()))
                 .thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getAllItems(ItemStatus.AVAILABLE, null, null, pageable);
         
@@ -369,7 +369,7 @@ public class ItemServicePropertyTest {
         when(mockItemRepo.findWithFilters(any(), any(), any(), any()))
                 .thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getAllItems(ItemStatus.AVAILABLE, null, null, pageable);
         
@@ -402,4 +402,9 @@ public class ItemServicePropertyTest {
             return item;
         }).list().ofMinSize(0).ofMaxSize(20);
     }
+
+    private ItemService createService(ItemRepository itemRepository, UserRepository userRepository) {
+        return new ItemServiceImpl(itemRepository, userRepository,
+                Mockito.mock(ItemSearchIndex.class), Mockito.mock(ImageSimilarityIndex.class));
+    }
 }
@@ -58,7 +58,7 @@ public class ItemServicePropertyTest2 {
         when(mockItemRepo.findWithFilters(any(), any(), any(), any()))
                 .thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getAllItems(ItemStatus.AVAILABLE, null, keyword, pageable);
         
@@ -84,7 +84,7 @@ public class ItemServicePropertyTest2 {
         when(mockItemRepo.findWithFilters(any(), any(), any(), any()))
                 .thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         // Test with null keyword
         Page<ItemDTO> result1 = service.getAllItems(ItemStatus.AVAILABLE, null, null, pageable);
@@ -116,7 +116,7 @@ public class ItemServicePropertyTest2 {
         when(mockItemRepo.findWithFilters(any(), any(), any(), any()))
                 .thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getAllItems(ItemStatus.AVAILABLE, category, null, pageable);
         
@@ -147,7 +147,7 @@ public class ItemServicePropertyTest2 {
         when(mockItemRepo.findWithFilters(any(), any(), any(), any()))
                 .thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getAllItems(ItemStatus.AVAILABLE, category, keyword, pageable);
         
@@ -179,7 +179,7 @@ public class ItemServicePropertyTest2 {
         when(mockItemRepo.findWithFilters(any(), any(), any(), any()))
                 .thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getAllItems(status, null, null, pageable);
         
@@ -212,7 +212,7 @@ public class ItemServicePropertyTest2 {
         when(mockItemRepo.findWithFilters(any(), any(), any(), any()))
                 .thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getAllItems(status, category, keyword, pageable);
         
@@ -244,7 +244,7 @@ public class ItemServicePropertyTest2 {
         
         when(mockItemRepo.findById(itemId)).thenReturn(Optional.of(item));
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         ItemDTO result = service.getItemById(itemId);
         
@@ -271,7 +271,7 @@ public class ItemServicePropertyTest2 {
         
         when(mockItemRepo.findById(itemId)).thenReturn(Optional.empty());
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         assertThatThrownBy(() -> service.getItemById(itemId))
                 .isInstanceOf(EntityNotFoundException.class);
@@ -296,7 +296,7 @@ public class ItemServicePropertyTest2 {
         when(mockItemRepo.findById(itemId)).thenReturn(Optional.of(item));
         when(mockItemRepo.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         UpdateItemRequest request = new UpdateItemRequest();
         request.setTitle(newTitle);
@@ -328,7 +328,7 @@ public class ItemServicePropertyTest2 {
         
         when(mockItemRepo.findById(itemId)).thenReturn(Optional.of(item));
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         UpdateItemRequest request = new UpdateItemRequest();
         request.setTitle("New Title");
@@ -375,7 +375,7 @@ public class ItemServicePropertyTest2 {
         when(mockItemRepo.findById(itemId)).thenReturn(Optional.of(item));
         when(mockItemRepo.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         UpdateItemRequest request = new UpdateItemRequest();
         request.setStatus(newStatus);
@@ -410,7 +410,7 @@ public class ItemServicePropertyTest2 {
             return savedItem;
         });
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         UpdateItemRequest request = new UpdateItemRequest();
         request.setTitle(newTitle);
@@ -437,7 +437,7 @@ public class ItemServicePropertyTest2 {
         
         when(mockItemRepo.findById(itemId)).thenReturn(Optional.of(item));
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         // Should not throw exception
         service.deleteItem(itemId, ownerId);
@@ -462,7 +462,7 @@ public class ItemServicePropertyTest2 {
         
         when(mockItemRepo.findById(itemId)).thenReturn(Optional.of(item));
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         assertThatThrownBy(() -> service.deleteItem(itemId, nonOwnerId))
                 .isInstanceOf(AccessDeniedException.class);
@@ -478,7 +478,7 @@ public class ItemServicePropertyTest2 {
         
         when(mockItemRepo.findById(itemId)).thenReturn(Optional.empty());
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         assertThatThrownBy(() -> service.getItemById(itemId))
                 .isInstanceOf(EntityNotFoundException.class);
@@ -503,7 +503,7 @@ public class ItemServicePropertyTest2 {
         
         when(mockItemRepo.findByOwnerId(ownerId, pageable)).thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getItemsByOwner(ownerId, pageable);
         
@@ -531,7 +531,7 @@ public class ItemServicePropertyTest2 {
         
         when(mockItemRepo.findByOwnerId(ownerId, pageable)).thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getItemsByOwner(ownerId, pageable);
         
@@ -553,7 +553,7 @@ public class ItemServicePropertyTest2 {
         
         when(mockItemRepo.findByOwnerId(ownerId, pageable)).thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getItemsByOwner(ownerId, pageable);
         
@@ -593,7 +593,7 @@ public class ItemServicePropertyTest2 {
         
         when(mockItemRepo.findByOwnerId(ownerId, pageable)).thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getItemsByOwner(ownerId, pageable);
         
@@ -692,7 +692,7 @@ public class ItemServicePropertyTest2 {
             return item;
         });
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         CreateItemRequest request = new CreateItemRequest();
         request.setTitle(title);
@@ -723,7 +723,7 @@ public class ItemServicePropertyTest2 {
         
         when(mockItemRepo.findById(itemId)).thenReturn(Optional.of(item));
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         ItemDTO result = service.getItemById(itemId);
         
@@ -756,7 +756,7 @@ public class ItemServicePropertyTest2 {
         
         when(mockItemRepo.findByOwnerId(ownerId, pageable)).thenReturn(page);
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         Page<ItemDTO> result = service.getItemsByOwner(ownerId, pageable);
         
@@ -784,7 +784,7 @@ public class ItemServicePropertyTest2 {
         
         when(mockItemRepo.findById(itemId)).thenReturn(Optional.of(item));
         
-        ItemService service = new ItemServiceImpl(mockItemRepo, mockUserRepo);
+        ItemService service = createService(mockItemRepo, mockUserRepo);
         
         // Owner should be able to update
         when(mockItemRepo.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -1023,4 +1023,9 @@ public class ItemServicePropertyTest2 {
             throw new RuntimeException(e);
         }
     }
+
+    private ItemService createService(ItemRepository itemRepository, UserRepository userRepository) {
+        return new ItemServiceImpl(itemRepository, userRepository,
+                Mockito.mock(ItemSearchIndex.class), Mockito.mock(ImageSimilarityIndex.class));
+    }
 }
@@ -0,0 +1,111 @@
+package com.rentkar.service;
+
+import net.jqwik.api.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Property-based tests for storing images on local disk
+ */
+public class LocalImageStoragePropertyTest {
+
+    // Feature: image-storage, Property 1: A stored image can be found again by the name in its URL
+    // Validates: Requirements 23.1, 23.2
+    @Property(tries = 30)
+    void storedImagesResolveFromTheirUrl(
+            @ForAll("contents") byte[] content,
+            @ForAll("contentTypes") String contentType) throws IOException {
+        Path directory = Files.createTempDirectory("rentkar-images-");
+        Path upload = Files.createTempFile("rentkar-upload-", ".tmp");
+        try {
+            Files.write(upload, content);
+            LocalImageStorage storage = new LocalImageStorage(directory.toString(), "http://localhost:8080/api/images/");
+
+            String url = storage.store(upload, contentType);
+
+            assertThat(url).startsWith("http://localhost:8080/api/images/").doesNotContain("images//");
+            String name = url.substring(url.lastIndexOf('/') + 1);
+            Path stored = storage.resolve(name);
+            assertThat(stored).isNotNull();
+            assertThat(Files.readAllBytes(stored)).isEqualTo(content);
+            // The caller's file is left for the caller to delete, and no temp files are left behind
+            assertThat(upload).exists();
+            try (Stream<Path> files = Files.list(directory)) {
+                assertThat(files).containsExactly(stored);
+            }
+        } finally {
+            Files.deleteIfExists(upload);
+            deleteRecursively(directory);
+        }
+    }
+
+    // Feature: image-storage, Property 2: Only names of stored images resolve
+    // Validates: Requirements 23.2
+    @Property(tries = 30)
+    void otherNamesDoNotResolve(@ForAll("invalidNames") String name) throws IOException {
+        Path directory = Files.createTempDirectory("rentkar-images-");
+        try {
+            Files.writeString(directory.resolve(".store-1.tmp"), "partial");
+            LocalImageStorage storage = new LocalImageStorage(directory.toString(), "/api/images");
+
+            assertThat(storage.resolve(name)).isNull();
+        } finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Example
+    void nonImageContentTypesAreRejected() throws IOException {
+        Path directory = Files.createTempDirectory("rentkar-images-");
+        Path upload = Files.createTempFile("rentkar-upload-", ".tmp");
+        try {
+            LocalImageStorage storage = new LocalImageStorage(directory.toString(), "/api/images");
+
+            assertThatThrownBy(() -> storage.store(upload, "text/html"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            Files.deleteIfExists(upload);
+            deleteRecursively(directory);
+        }
+    }
+
+    @Provide
+    Arbitrary<byte[]> contents() {
+        return Arbitraries.bytes().array(byte[].class).ofMinSize(0).ofMaxSize(64 * 1024);
+    }
+
+    @Provide
+    Arbitrary<String> contentTypes() {
+        return Arbitraries.of("image/jpeg", "image/jpg", "image/png", "image/gif", "image/webp");
+    }
+
+    @Provide
+    Arbitrary<String> invalidNames() {
+        return Arbitraries.of(
+                "../application.properties",
+                "..%2Fapplication.properties",
+                "/etc/passwd",
+                ".store-1.tmp",
+                "3f2504e0-4f89-11d3-9a0c-0305e82c3301.html",
+                "3F2504E0-4F89-11D3-9A0C-0305E82C3301.jpg",
+                "3f2504e0-4f89-11d3-9a0c-0305e82c3301.jpg",
+                "3f2504e0-4f89-11d3-9a0c-0305e82c3301.jpg/..",
+                "",
+                "image.jpg");
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
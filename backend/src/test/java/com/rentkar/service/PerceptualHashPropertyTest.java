@@ -0,0 +1,125 @@
+package com.rentkar.service;
+
+import net.jqwik.api.*;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property-based tests for the difference hash of images
+ */
+public class PerceptualHashPropertyTest {
+
+    // Feature: similar-images, Property 4: Rescaled and recompressed copies of an image hash alike
+    // Validates: Requirements 25.1
+    @Property(tries = 30)
+    void rescaledCopiesHashAlike(@ForAll("seed") long seed) throws IOException {
+        BufferedImage photo = createScene(seed, 640, 480);
+
+        BufferedImage copy = decode(encode(scale(photo, 300, 225), "jpeg"));
+
+        assertThat(PerceptualHash.distance(PerceptualHash.dHash(photo), PerceptualHash.dHash(copy)))
+                .isLessThanOrEqualTo(6);
+    }
+
+    // Feature: similar-images, Property 5: Different images hash far apart
+    // Validates: Requirements 25.1
+    @Property(tries = 30)
+    void differentImagesHashFarApart(@ForAll("seed") long seed) {
+        // Blocks of random brightness make every bit a coin flip, so unrelated images differ in about half
+        BufferedImage photo = createBlocks(new Random(seed), 640, 480);
+        BufferedImage other = createBlocks(new Random(~seed), 640, 480);
+
+        assertThat(PerceptualHash.distance(PerceptualHash.dHash(photo), PerceptualHash.dHash(other)))
+                .isGreaterThanOrEqualTo(12);
+    }
+
+    @Example
+    void tinyImagesCanBeHashed() {
+        BufferedImage pixel = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        pixel.setRGB(0, 0, 0x80FF0000);
+
+        // Cells without pixels count as black, so nothing is darker than its right neighbour
+        assertThat(PerceptualHash.dHash(pixel)).isZero();
+        assertThat(PerceptualHash.distance(0L, -1L)).isEqualTo(64);
+    }
+
+    @Provide
+    Arbitrary<Long> seed() {
+        return Arbitraries.longs();
+    }
+
+    /**
+     * A few translucent shapes on a gradient, so no two neighbouring cells have the same brightness
+     */
+    private static BufferedImage createScene(long seed, int width, int height) {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        boolean rising = random.nextBoolean();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int level = (rising ? x : width - 1 - x) * 160 / width + y * 60 / height;
+                image.setRGB(x, y, new Color(level, level, level).getRGB());
+            }
+        }
+        Graphics2D graphics = image.createGraphics();
+        try {
+            for (int i = 0; i < 6; i++) {
+                graphics.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256), 128));
+                graphics.fillOval(random.nextInt(width), random.nextInt(height),
+                        40 + random.nextInt(width / 3), 40 + random.nextInt(height / 3));
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static BufferedImage createBlocks(Random random, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            for (int y = 0; y < 8; y++) {
+                for (int x = 0; x < 9; x++) {
+                    int level = random.nextInt(256);
+                    graphics.setColor(new Color(level, level, level));
+                    graphics.fillRect(x * width / 9, y * height / 8, width / 9 + 1, height / 8 + 1);
+                }
+            }
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    private static BufferedImage decode(byte[] data) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(data));
+    }
+}
@@ -15,7 +15,7 @@ public class RateLimiterPropertyTest {
             @ForAll("requestCount") int requestCount) {
         
         // Create rate limiter with high limit for testing
-        RateLimiter rateLimiter = new RateLimiterImpl(100);
+        RateLimiter rateLimiter = new RingBufferRateLimiter(100);
         
         // Make requestCount requests
         for (int i = 0; i < requestCount; i++) {
@@ -34,7 +34,7 @@ public class RateLimiterPropertyTest {
     void rateLimitEnforcement(@ForAll("userId") String userId) {
         
         // Create rate limiter with limit of 10
-        RateLimiter rateLimiter = new RateLimiterImpl(10);
+        RateLimiter rateLimiter = new RingBufferRateLimiter(10);
         
         // Make 10 requests - all should succeed
         for (int i = 0; i < 10; i++) {
@@ -59,7 +59,7 @@ public class RateLimiterPropertyTest {
         // Create rate limiter with limit of 5 and short window for testing
         // Note: We can't easily test the full 1-hour window in unit tests
         // This test verifies the reset time calculation logic
-        RateLimiter rateLimiter = new RateLimiterImpl(5);
+        RateLimiter rateLimiter = new RingBufferRateLimiter(5);
         
         // Make 5 requests
         for (int i = 0; i < 5; i++) {
@@ -90,7 +90,7 @@ public class RateLimiterPropertyTest {
         // Skip if users are the same
         Assume.that(!userId1.equals(userId2));
         
-        RateLimiter rateLimiter = new RateLimiterImpl(10);
+        RateLimiter rateLimiter = new RingBufferRateLimiter(10);
         
         // User 1 makes 10 requests
         for (int i = 0; i < 10; i++) {
@@ -117,7 +117,7 @@ public class RateLimiterPropertyTest {
         // Skip if IPs are the same
         Assume.that(!ip1.equals(ip2));
         
-        RateLimiter rateLimiter = new RateLimiterImpl(10);
+        RateLimiter rateLimiter = new RingBufferRateLimiter(10);
         
         // IP 1 makes 10 requests
         for (int i = 0; i < 10; i++) {
@@ -0,0 +1,201 @@
+package com.rentkar.service;
+
+import com.rentkar.dto.RequestStatistics;
+import com.rentkar.model.RequestStatus;
+import com.rentkar.repository.BorrowRequestRepository;
+import net.jqwik.api.*;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RequestStatisticsCachePropertyTest {
+
+    private static final long USER_ID = 1L;
+    private static final long OTHER_ID = 2L;
+    private static final int USERS = 6;
+
+    // Feature: request-statistics, Property 1: Incremental counters match a full recount
+    // Validates: Requirements 4.1, 4.2
+    @Property(tries = 100)
+    void incrementalCountersMatchFullRecount(
+            @ForAll("operations") List<Integer> operations,
+            @ForAll("loadPoint") int loadPoint) {
+
+        // Simulated table: each row is {borrowerId, lenderId, status}
+        List<Object[]> requests = new ArrayList<>();
+        BorrowRequestRepository mockRequestRepo = Mockito.mock(BorrowRequestRepository.class);
+        when(mockRequestRepo.aggregateStatusCountsByUser(anyLong()))
+                .thenAnswer(inv -> aggregate(requests, inv.getArgument(0)));
+
+        RequestStatisticsCache cache = new RequestStatisticsCache(mockRequestRepo, 1000);
+
+        for (int step = 0; step < operations.size(); step++) {
+            if (step == Math.min(loadPoint, operations.size() - 1)) {
+                cache.getStatistics(USER_ID);
+            }
+            applyOperation(operations.get(step), requests, cache);
+        }
+
+        RequestStatistics cached = cache.getStatistics(USER_ID);
+        RequestStatistics recounted = new RequestStatisticsCache(mockRequestRepo, 1000).getStatistics(USER_ID);
+
+        assertThat(cached).usingRecursiveComparison().isEqualTo(recounted);
+    }
+
+    // Feature: request-statistics, Property 2: Statistics are read with one query and then served from memory
+    // Validates: Requirements 4.3
+    @Property(tries = 50)
+    void statisticsAreLoadedOnce(@ForAll("readCount") int readCount) {
+
+        BorrowRequestRepository mockRequestRepo = Mockito.mock(BorrowRequestRepository.class);
+        when(mockRequestRepo.aggregateStatusCountsByUser(USER_ID)).thenReturn(new ArrayList<>());
+
+        RequestStatisticsCache cache = new RequestStatisticsCache(mockRequestRepo, 1000);
+        for (int i = 0; i < readCount; i++) {
+            cache.getStatistics(USER_ID);
+        }
+
+        verify(mockRequestRepo, times(1)).aggregateStatusCountsByUser(USER_ID);
+    }
+
+    // Feature: request-statistics, Property 3: Counters are kept for at most maxUsers users and still match a recount
+    // Validates: Requirements 4.1, 4.3
+    @Property(tries = 100)
+    void boundedCountersMatchFullRecount(
+            @ForAll("operations") List<Integer> operations,
+            @ForAll("maxUsers") int maxUsers) {
+
+        List<Object[]> requests = new ArrayList<>();
+        BorrowRequestRepository mockRequestRepo = Mockito.mock(BorrowRequestRepository.class);
+        when(mockRequestRepo.aggregateStatusCountsByUser(anyLong()))
+                .thenAnswer(inv -> aggregate(requests, inv.getArgument(0)));
+
+        RequestStatisticsCache cache = new RequestStatisticsCache(mockRequestRepo, maxUsers);
+        for (int operation : operations) {
+            long borrowerId = operation % USERS + 1;
+            long lenderId = (operation / USERS) % USERS + 1;
+            requests.add(new Object[] { borrowerId, lenderId, RequestStatus.PENDING });
+            cache.recordChange(borrowerId, lenderId, null, RequestStatus.PENDING);
+            cache.getStatistics(borrowerId);
+            assertThat(cache.size()).isLessThanOrEqualTo(maxUsers);
+        }
+
+        RequestStatisticsCache recount = new RequestStatisticsCache(mockRequestRepo, USERS);
+        for (long userId = 1; userId <= USERS; userId++) {
+            assertThat(cache.getStatistics(userId)).usingRecursiveComparison()
+                    .isEqualTo(recount.getStatistics(userId));
+        }
+    }
+
+    // Feature: request-statistics, Property 4: Counters a transaction has yet to update are not evicted
+    // Validates: Requirements 4.1
+    @Example
+    void pendingChangeSurvivesEviction() {
+        List<Object[]> requests = new ArrayList<>();
+        BorrowRequestRepository mockRequestRepo = Mockito.mock(BorrowRequestRepository.class);
+        when(mockRequestRepo.aggregateStatusCountsByUser(anyLong()))
+                .thenAnswer(inv -> aggregate(requests, inv.getArgument(0)));
+
+        RequestStatisticsCache cache = new RequestStatisticsCache(mockRequestRepo, 2);
+        cache.getStatistics(USER_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.recordChange(USER_ID, OTHER_ID, null, RequestStatus.PENDING);
+            // Crowd the cache while the transaction is open; reading before commit does not see the row
+            for (long userId = 3; userId <= 10; userId++) {
+                cache.getStatistics(userId);
+            }
+            assertThat(cache.getStatistics(USER_ID).getTotalSent()).isZero();
+
+            requests.add(new Object[] { USER_ID, OTHER_ID, RequestStatus.PENDING });
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.beforeCommit(false);
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.getStatistics(USER_ID).getTotalSent()).isEqualTo(1);
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+    }
+
+    @Provide
+    Arbitrary<List<Integer>> operations() {
+        return Arbitraries.integers().between(0, 1000).list().ofMinSize(1).ofMaxSize(40);
+    }
+
+    @Provide
+    Arbitrary<Integer> loadPoint() {
+        return Arbitraries.integers().between(0, 40);
+    }
+
+    @Provide
+    Arbitrary<Integer> maxUsers() {
+        return Arbitraries.integers().between(1, USERS);
+    }
+
+    @Provide
+    Arbitrary<Integer> readCount() {
+        return Arbitraries.integers().between(1, 20);
+    }
+
+    /**
+     * Apply one random workflow step (create, advance or cancel) to the simulated table and the cache
+     */
+    private void applyOperation(int operation, List<Object[]> requests, RequestStatisticsCache cache) {
+        int kind = operation % 3;
+        if (kind == 0 || requests.isEmpty()) {
+            boolean userBorrows = operation % 2 == 0;
+            long borrowerId = userBorrows ? USER_ID : OTHER_ID;
+            long lenderId = userBorrows ? OTHER_ID : USER_ID;
+            requests.add(new Object[] { borrowerId, lenderId, RequestStatus.PENDING });
+            cache.recordChange(borrowerId, lenderId, null, RequestStatus.PENDING);
+            return;
+        }
+
+        Object[] request = requests.get(operation % requests.size());
+        long borrowerId = (long) request[0];
+        long lenderId = (long) request[1];
+        RequestStatus from = (RequestStatus) request[2];
+
+        if (kind == 2 && from == RequestStatus.PENDING) {
+            requests.remove(request);
+            cache.recordChange(borrowerId, lenderId, from, null);
+            return;
+        }
+
+        RequestStatus to = switch (from) {
+            case PENDING -> operation % 2 == 0 ? RequestStatus.APPROVED : RequestStatus.REJECTED;
+            case APPROVED -> RequestStatus.RETURNED;
+            case RETURNED -> RequestStatus.COMPLETED;
+            default -> null;
+        };
+        if (to != null) {
+            request[2] = to;
+            cache.recordChange(borrowerId, lenderId, from, to);
+        }
+    }
+
+    private List<Object[]> aggregate(List<Object[]> requests, long userId) {
+        List<Object[]> rows = new ArrayList<>();
+        for (RequestStatus status : RequestStatus.values()) {
+            long sent = requests.stream().filter(r -> r[2] == status && (long) r[0] == userId).count();
+            long received = requests.stream().filter(r -> r[2] == status && (long) r[1] == userId).count();
+            if (sent + received > 0) {
+                rows.add(new Object[] { status, sent, received });
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,148 @@
+package com.rentkar.service;
+
+import net.jqwik.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RingBufferRateLimiterPropertyTest {
+
+    private static final long HOUR_MS = 3600000L;
+
+    // Feature: rate-limiter-memory, Property 1: Ring buffer decisions match an exact sliding window
+    // Validates: Requirements 9.1
+    @Property(tries = 100)
+    void decisionsMatchExactSlidingWindow(
+            @ForAll("limit") int limit,
+            @ForAll("gaps") List<Long> gaps) {
+
+        AtomicLong now = new AtomicLong(1_000_000L);
+        RingBufferRateLimiter rateLimiter = new RingBufferRateLimiter(limit, 0, now::get);
+        List<Long> accepted = new ArrayList<>();
+
+        for (long gap : gaps) {
+            now.addAndGet(gap);
+            long cutoff = now.get() - HOUR_MS;
+            accepted.removeIf(timestamp -> timestamp < cutoff);
+            boolean expected = accepted.size() < limit;
+
+            assertThat(rateLimiter.allowRequest("user")).isEqualTo(expected);
+            if (expected) {
+                accepted.add(now.get());
+            }
+            assertThat(rateLimiter.getRemainingRequests("user")).isEqualTo(limit - accepted.size());
+        }
+    }
+
+    // Feature: rate-limiter-memory, Property 2: Idle keys are evicted and then behave like new keys
+    // Validates: Requirements 9.2
+    @Property(tries = 50)
+    void idleKeysAreEvicted(
+            @ForAll("keyCount") int keyCount,
+            @ForAll("limit") int limit) {
+
+        AtomicLong now = new AtomicLong(1_000_000L);
+        RingBufferRateLimiter rateLimiter = new RingBufferRateLimiter(limit, 0, now::get);
+        for (int i = 0; i < keyCount; i++) {
+            rateLimiter.allowRequest("ip_10.0.0." + i);
+        }
+
+        // Keys are still inside their window, so nothing is evicted yet
+        now.addAndGet(HOUR_MS - 1);
+        rateLimiter.allowRequest("active");
+        assertThat(rateLimiter.evictIdle()).isZero();
+
+        now.addAndGet(2);
+        assertThat(rateLimiter.evictIdle()).isEqualTo(keyCount);
+        assertThat(rateLimiter.trackedKeys()).isEqualTo(1);
+        assertThat(rateLimiter.getRemainingRequests("ip_10.0.0.0")).isEqualTo(limit);
+        assertThat(rateLimiter.getResetTime("ip_10.0.0.0")).isZero();
+    }
+
+    // Feature: rate-limiter-memory, Property 3: Concurrent callers on one key never exceed the limit
+    // Validates: Requirements 9.3
+    @Property(tries = 10)
+    void concurrentCallersNeverExceedLimit(@ForAll("limit") int limit) throws Exception {
+        RingBufferRateLimiter rateLimiter = new RingBufferRateLimiter(limit);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < limit * 2; i++) {
+                        if (rateLimiter.allowRequest("shared")) {
+                            allowed.incrementAndGet();
+                        }
+                        // Sweeping concurrently must not lose or duplicate a recorded request
+                        rateLimiter.evictIdle();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(allowed.get()).isEqualTo(limit);
+        assertThat(rateLimiter.getRemainingRequests("shared")).isZero();
+    }
+
+    // Feature: ai-batch-generation, Property 4: A batch of permits is granted whole or not at all
+    // Validates: Requirements 19.2
+    @Property(tries = 100)
+    void batchesAreAllOrNothing(
+            @ForAll("limit") int limit,
+            @ForAll("batches") List<Integer> batches) {
+
+        RingBufferRateLimiter rateLimiter = new RingBufferRateLimiter(limit, 0, () -> 1_000_000L);
+        int used = 0;
+
+        for (int permits : batches) {
+            boolean expected = used + permits <= limit;
+
+            assertThat(rateLimiter.allowRequests("user", permits)).isEqualTo(expected);
+            if (expected) {
+                used += permits;
+            }
+            assertThat(rateLimiter.getRemainingRequests("user")).isEqualTo(limit - used);
+        }
+    }
+
+    @Provide
+    Arbitrary<Integer> limit() {
+        return Arbitraries.integers().between(1, 20);
+    }
+
+    @Provide
+    Arbitrary<List<Long>> gaps() {
+        return Arbitraries.longs().between(0L, HOUR_MS / 4).list().ofMinSize(1).ofMaxSize(80);
+    }
+
+    @Provide
+    Arbitrary<Integer> keyCount() {
+        return Arbitraries.integers().between(1, 200);
+    }
+
+    @Provide
+    Arbitrary<List<Integer>> batches() {
+        return Arbitraries.integers().between(0, 8).list().ofMinSize(1).ofMaxSize(20);
+    }
+}
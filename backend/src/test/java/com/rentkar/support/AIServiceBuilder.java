@@ -0,0 +1,151 @@
+package com.rentkar.support;
+
+import com.rentkar.service.AICircuitBreaker;
+import com.rentkar.service.AIRequestCoalescer;
+import com.rentkar.service.AIResponseCache;
+import com.rentkar.service.AIServiceImpl;
+import com.rentkar.service.AIUsageLedger;
+import com.rentkar.service.RateLimiter;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Builds an AIServiceImpl for tests with the settings from the test application.properties.
+ * By default the response cache is disabled, the circuit breaker never opens, the bulkhead is unlimited
+ * and the usage ledger is a mock without a token budget; tests replace only the collaborators they exercise.
+ * The Gemini WebClients can be swapped for stubs that answer every call with a given body.
+ */
+public class AIServiceBuilder {
+
+    private final RateLimiter rateLimiter;
+    private String apiEndpoint = "https://test-endpoint.com";
+    private int timeoutMs = 30000;
+    private AIResponseCache responseCache = noCache();
+    private AIRequestCoalescer coalescer = new AIRequestCoalescer();
+    private AICircuitBreaker circuitBreaker = new AICircuitBreaker(0, 0, 0);
+    private int batchConcurrency = 4;
+    private AIUsageLedger usageLedger = mock(AIUsageLedger.class);
+    private WebClient webClient;
+    private WebClient streamWebClient;
+
+    public AIServiceBuilder(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public AIServiceBuilder apiEndpoint(String apiEndpoint) {
+        this.apiEndpoint = apiEndpoint;
+        return this;
+    }
+
+    public AIServiceBuilder timeoutMs(int timeoutMs) {
+        this.timeoutMs = timeoutMs;
+        return this;
+    }
+
+    public AIServiceBuilder responseCache(AIResponseCache responseCache) {
+        this.responseCache = responseCache;
+        return this;
+    }
+
+    public AIServiceBuilder coalescer(AIRequestCoalescer coalescer) {
+        this.coalescer = coalescer;
+        return this;
+    }
+
+    public AIServiceBuilder circuitBreaker(AICircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+        return this;
+    }
+
+    public AIServiceBuilder batchConcurrency(int batchConcurrency) {
+        this.batchConcurrency = batchConcurrency;
+        return this;
+    }
+
+    public AIServiceBuilder usageLedger(AIUsageLedger usageLedger) {
+        this.usageLedger = usageLedger;
+        return this;
+    }
+
+    public AIServiceBuilder webClient(WebClient webClient) {
+        this.webClient = webClient;
+        return this;
+    }
+
+    public AIServiceBuilder streamWebClient(WebClient streamWebClient) {
+        this.streamWebClient = streamWebClient;
+        return this;
+    }
+
+    /**
+     * A response cache with no capacity, so every generation goes to the API
+     */
+    public static AIResponseCache noCache() {
+        return new AIResponseCache(0, 0, "");
+    }
+
+    /**
+     * A rate limiter mock that allows every request and reports 5 remaining
+     */
+    public static RateLimiter allowAll() {
+        RateLimiter rateLimiter = mock(RateLimiter.class);
+        when(rateLimiter.allowRequest(any())).thenReturn(true);
+        when(rateLimiter.allowRequests(any(), anyInt())).thenReturn(true);
+        when(rateLimiter.getRemainingRequests(any())).thenReturn(5);
+        when(rateLimiter.getResetTime(any())).thenReturn(60L);
+        return rateLimiter;
+    }
+
+    /**
+     * A WebClient whose POSTs answer with the given bodies, one per call, repeating the last
+     */
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    public static WebClient stubWebClient(Mono<String> body, Mono<String>... next) {
+        WebClient.ResponseSpec responseSpec = mock(WebClient.ResponseSpec.class);
+        when(responseSpec.bodyToMono(String.class)).thenReturn(body, next);
+        return stubPost(responseSpec);
+    }
+
+    /**
+     * A WebClient whose POSTs stream the given server-sent events
+     */
+    @SuppressWarnings("unchecked")
+    public static WebClient stubStreamWebClient(Flux<ServerSentEvent<String>> events) {
+        WebClient.ResponseSpec responseSpec = mock(WebClient.ResponseSpec.class);
+        when(responseSpec.bodyToFlux(any(ParameterizedTypeReference.class))).thenReturn((Flux) events);
+        return stubPost(responseSpec);
+    }
+
+    public AIServiceImpl build() {
+        AIServiceImpl service = new AIServiceImpl("test-api-key", apiEndpoint, "gemini-pro", true, timeoutMs, 0.7,
+                200, 500, 8, 10, rateLimiter, responseCache, coalescer, circuitBreaker, batchConcurrency, usageLedger);
+        if (webClient != null) {
+            ReflectionTestUtils.setField(service, "webClient", webClient);
+        }
+        if (streamWebClient != null) {
+            ReflectionTestUtils.setField(service, "streamWebClient", streamWebClient);
+        }
+        return service;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static WebClient stubPost(WebClient.ResponseSpec responseSpec) {
+        WebClient webClient = mock(WebClient.class);
+        WebClient.RequestBodyUriSpec requestBodyUriSpec = mock(WebClient.RequestBodyUriSpec.class);
+        WebClient.RequestHeadersSpec requestHeadersSpec = mock(WebClient.RequestHeadersSpec.class);
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        return webClient;
+    }
+}
@@ -0,0 +1,271 @@
+package com.rentkar.support;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process HTTP stub of the Gemini {@code :generateContent} and {@code :streamGenerateContent?alt=sse}
+ * endpoints, so AIServiceImpl can be exercised over a real socket with its real codecs and timeouts.
+ * Latency, error rates, upstream 429s and slow-drip bodies can be changed while the server runs.
+ *
+ * Point the service at {@link #getApiEndpoint()}; any model name is accepted.
+ */
+public class GeminiStubServer implements AutoCloseable {
+
+    private static final String DEFAULT_TEXT = "Scientific Calculator - Casio FX-991EX (Like New)";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private volatile LongSupplier latencyMs = () -> 0;
+    private volatile double errorRate;
+    private volatile double rateLimitRate;
+    private volatile int dripChunks = 1;
+    private volatile long dripDelayMs;
+    private volatile String responseText = DEFAULT_TEXT;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+
+    /**
+     * Start a stub on an ephemeral loopback port
+     */
+    public GeminiStubServer() throws IOException {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "gemini-stub-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * Base URL to use as gemini.api-endpoint
+     */
+    public String getApiEndpoint() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/v1beta";
+    }
+
+    /**
+     * Delay before the response starts, drawn per request
+     */
+    public GeminiStubServer latency(LongSupplier latencyMs) {
+        this.latencyMs = latencyMs;
+        return this;
+    }
+
+    public GeminiStubServer fixedLatency(long millis) {
+        return latency(() -> millis);
+    }
+
+    public GeminiStubServer uniformLatency(long minMillis, long maxMillis) {
+        return latency(() -> ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1));
+    }
+
+    /**
+     * Log-normal latency around a median, the usual shape of model latency with a long tail
+     * @param sigma Spread of the underlying normal distribution; 0.5 puts p99 at about 3.2x the median
+     */
+    public GeminiStubServer logNormalLatency(long medianMillis, double sigma) {
+        return latency(() -> Math.round(medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian())));
+    }
+
+    /**
+     * Fraction of requests answered with 500
+     */
+    public GeminiStubServer errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * Fraction of requests answered with 429 RESOURCE_EXHAUSTED
+     */
+    public GeminiStubServer rateLimitRate(double rateLimitRate) {
+        this.rateLimitRate = rateLimitRate;
+        return this;
+    }
+
+    /**
+     * Send successful bodies in slices with a pause between them; streamed responses send one event per slice
+     */
+    public GeminiStubServer slowDrip(int chunks, long delayMillis) {
+        this.dripChunks = Math.max(1, chunks);
+        this.dripDelayMs = delayMillis;
+        return this;
+    }
+
+    public GeminiStubServer responseText(String responseText) {
+        this.responseText = responseText;
+        return this;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Most requests the stub was serving at the same time
+     */
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    /**
+     * Responses sent per HTTP status, in status order
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            try (InputStream body = exchange.getRequestBody()) {
+                body.readAllBytes();
+            }
+
+            sleep(latencyMs.getAsLong());
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < rateLimitRate) {
+                sendError(exchange, 429, "RESOURCE_EXHAUSTED", "Resource has been exhausted (e.g. check quota).");
+            } else if (roll < rateLimitRate + errorRate) {
+                sendError(exchange, 500, "INTERNAL", "An internal error has occurred.");
+            } else if (exchange.getRequestURI().getPath().endsWith(":streamGenerateContent")) {
+                sendStream(exchange);
+            } else {
+                sendResponse(exchange);
+            }
+        } finally {
+            exchange.close();
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void sendResponse(HttpExchange exchange) throws IOException {
+        byte[] body = response(responseText, true).toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        count(200);
+
+        OutputStream out = exchange.getResponseBody();
+        int slice = (body.length + dripChunks - 1) / dripChunks;
+        for (int offset = 0; offset < body.length; offset += slice) {
+            if (offset > 0) {
+                sleep(dripDelayMs);
+            }
+            out.write(body, offset, Math.min(slice, body.length - offset));
+            out.flush();
+        }
+    }
+
+    private void sendStream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        count(200);
+
+        String text = responseText;
+        int slice = (text.length() + dripChunks - 1) / dripChunks;
+        OutputStream out = exchange.getResponseBody();
+        for (int offset = 0; offset < text.length(); offset += slice) {
+            if (offset > 0) {
+                sleep(dripDelayMs);
+            }
+            int end = Math.min(offset + slice, text.length());
+            String event = "data: " + response(text.substring(offset, end), end == text.length()) + "\r\n\r\n";
+            out.write(event.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String reason, String message) throws IOException {
+        JsonObject error = new JsonObject();
+        error.addProperty("code", status);
+        error.addProperty("message", message);
+        error.addProperty("status", reason);
+        JsonObject body = new JsonObject();
+        body.add("error", error);
+
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        count(status);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static JsonObject response(String text, boolean withUsage) {
+        JsonObject part = new JsonObject();
+        part.addProperty("text", text);
+        JsonArray parts = new JsonArray();
+        parts.add(part);
+        JsonObject content = new JsonObject();
+        content.add("parts", parts);
+        content.addProperty("role", "model");
+        JsonObject candidate = new JsonObject();
+        candidate.add("content", content);
+        candidate.addProperty("finishReason", "STOP");
+        JsonArray candidates = new JsonArray();
+        candidates.add(candidate);
+
+        JsonObject response = new JsonObject();
+        response.add("candidates", candidates);
+        if (withUsage) {
+            JsonObject usage = new JsonObject();
+            usage.addProperty("promptTokenCount", 120);
+            usage.addProperty("totalTokenCount", 165);
+            response.add("usageMetadata", usage);
+        }
+        return response;
+    }
+
+    private void count(int status) {
+        statusCounts.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}